@@ -106,6 +106,6 @@ abstract class AbstractMarkupAdapter<
       throw new IOException(ex);
     }
 
-    generator.writeString(markupString.toMarkdown().trim());
+    generator.writeString(markupString.toMarkdownPreservingSource().trim());
   }
 }
@@ -40,6 +40,7 @@ import java.io.IOException;
 import java.nio.charset.StandardCharsets;
 import java.util.List;
 import java.util.function.Predicate;
+import java.util.function.Supplier;
 import java.util.regex.Pattern;
 import java.util.stream.Stream;
 import java.util.stream.StreamSupport;
@@ -51,6 +52,7 @@ import javax.xml.stream.XMLStreamWriter;
 
 import edu.umd.cs.findbugs.annotations.NonNull;
 import edu.umd.cs.findbugs.annotations.Nullable;
+import nl.talsmasoftware.lazy4j.Lazy;
 
 /**
  * The common base for all markup implementations.
@@ -66,14 +68,29 @@ public abstract class AbstractMarkupString<TYPE extends AbstractMarkupString<TYP
   private static final Pattern QUOTE_TAG_REPLACEMENT_PATTERN
       = Pattern.compile("</?q>");
 
+  /**
+   * Punctuation that has no markdown, typographic, or escaping significance when
+   * it appears after the first character of a single line of text.
+   */
+  private static final String PLAIN_PUNCTUATION = ".,;:?()/%$@=-";
+
   //
   // @NonNull
   // private static final String DEFAULT_HTML_NS = "http://www.w3.org/1999/xhtml";
   // @NonNull
   // private static final String DEFAULT_HTML_PREFIX = "";
 
+  /**
+   * The AST graph, which is built on first access.
+   */
   @NonNull
-  private final Document document;
+  private final Lazy<Document> document;
+  /**
+   * The markdown text this markup was created from, or {@code null} if the
+   * markup was created from another representation.
+   */
+  @Nullable
+  private final String markdown;
 
   /**
    * Construct a new markup string based on the provided flexmark AST graph.
@@ -82,12 +99,45 @@ public abstract class AbstractMarkupString<TYPE extends AbstractMarkupString<TYP
    *          the AST graph representing Markdown text
    */
   protected AbstractMarkupString(@NonNull Document document) {
-    this.document = document;
+    this.document = ObjectUtils.notNull(Lazy.lazy(() -> document));
+    this.markdown = null;
+  }
+
+  /**
+   * Construct a new markup string whose flexmark AST graph is built when first
+   * accessed.
+   * <p>
+   * Deferring the parsing avoids its cost for markup values that are only
+   * passed through, such as when converting or validating content.
+   *
+   * @param parser
+   *          used to build the AST graph representing Markdown text
+   * @param markdown
+   *          the markdown text the markup is created from, or {@code null} if
+   *          the markup is created from another representation
+   * @since 2.0.0
+   */
+  protected AbstractMarkupString(@NonNull Supplier<Document> parser, @Nullable String markdown) {
+    this.document = ObjectUtils.notNull(Lazy.lazy(parser));
+    this.markdown = markdown;
+  }
+
+  /**
+   * Construct a new markup string that shares the AST graph of the provided
+   * markup string, including any AST graph that has not been built yet.
+   *
+   * @param other
+   *          the markup string to share the AST graph with
+   * @since 2.0.0
+   */
+  protected AbstractMarkupString(@NonNull AbstractMarkupString<TYPE> other) {
+    this.document = other.document;
+    this.markdown = other.markdown;
   }
 
   @Override
   public Document getDocument() {
-    return document;
+    return ObjectUtils.notNull(document.get());
   }
 
   @Override
@@ -99,7 +149,9 @@ public abstract class AbstractMarkupString<TYPE extends AbstractMarkupString<TYP
    * Parse HTML-based text into markdown as a flexmark AST graph.
    * <p>
    * This method uses a two-step approach that first translates the HTML into
-   * markdown, and then parses the markdown into an AST graph.
+   * markdown, and then parses the markdown into an AST graph. HTML that is only
+   * plain text is parsed directly as markdown, since the translation would not
+   * change the text.
    *
    * @param html
    *          the HTML text to parse
@@ -112,6 +164,12 @@ public abstract class AbstractMarkupString<TYPE extends AbstractMarkupString<TYP
   @NonNull
   protected static Document parseHtml(@NonNull String html, @NonNull FlexmarkHtmlConverter htmlParser,
       @NonNull Parser markdownParser) {
+    String plainText = toPlainText(html);
+    if (plainText != null) {
+      // the markdown for plain text is the text itself
+      return parseMarkdown(plainText, markdownParser);
+    }
+
     org.jsoup.nodes.Document document = Jsoup.parse(html);
 
     // Fix for usnistgov/liboscal-java#5
@@ -145,6 +203,48 @@ public abstract class AbstractMarkupString<TYPE extends AbstractMarkupString<TYP
     return parseMarkdown(markdown, markdownParser);
   }
 
+  /**
+   * Get the text of HTML that consists of plain text, optionally wrapped in a
+   * single paragraph.
+   * <p>
+   * The text must start with a letter and contain only letters, digits,
+   * whitespace, and {@link #PLAIN_PUNCTUATION}. Such text is unchanged when
+   * converted to markdown, other than the whitespace normalization performed
+   * for HTML, allowing the HTML to markdown conversion to be skipped.
+   *
+   * @param html
+   *          the HTML text
+   * @return the normalized text, or {@code null} if the HTML is not plain text
+   */
+  @SuppressWarnings("PMD.OnlyOneReturn") // readability
+  @Nullable
+  private static String toPlainText(@NonNull String html) {
+    String text = html.trim();
+    if (text.startsWith("<p>") && text.endsWith("</p>")) {
+      text = text.substring(3, text.length() - 4);
+    }
+
+    StringBuilder builder = new StringBuilder(text.length());
+    boolean pendingSpace = false;
+    for (int index = 0; index < text.length(); index++) {
+      char ch = text.charAt(index);
+      if (Character.isWhitespace(ch)) {
+        pendingSpace = builder.length() > 0;
+      } else if (builder.length() == 0
+          ? Character.isLetter(ch)
+          : Character.isLetterOrDigit(ch) || PLAIN_PUNCTUATION.indexOf(ch) >= 0) {
+        if (pendingSpace) {
+          builder.append(' ');
+          pendingSpace = false;
+        }
+        builder.append(ch);
+      } else {
+        return null;
+      }
+    }
+    return builder.length() == 0 ? null : builder.toString();
+  }
+
   /**
    * Parse markdown-based text into a flexmark AST graph.
    *
@@ -214,9 +314,16 @@ public abstract class AbstractMarkupString<TYPE extends AbstractMarkupString<TYP
     return ObjectUtils.notNull(formatter.render(getDocument()));
   }
 
+  @Override
+  public String toMarkdownPreservingSource() {
+    String source = markdown;
+    // once built, the AST graph may have been modified
+    return source == null || document.isAvailable() ? toMarkdown() : source;
+  }
+
   @Override
   public String toText() {
-    return ObjectUtils.notNull(new TextCollectingVisitor().collectAndGetText(document));
+    return ObjectUtils.notNull(new TextCollectingVisitor().collectAndGetText(getDocument()));
   }
 
   @Override
@@ -103,6 +103,21 @@ public interface IMarkupString<TYPE extends IMarkupString<TYPE>>
   @NonNull
   String toMarkdown(@NonNull Formatter formatter);
 
+  /**
+   * Get the markdown representation of this markup for serialization.
+   * <p>
+   * If this markup was created from markdown text and its AST graph has not been
+   * built, the original markdown text is returned without parsing or rendering
+   * it. Otherwise, this is the same as {@link #toMarkdown()}.
+   *
+   * @return the Markdown
+   * @since 2.0.0
+   */
+  @NonNull
+  default String toMarkdownPreservingSource() {
+    return toMarkdown();
+  }
+
   /**
    * Converts the markup content to plain text.
    *
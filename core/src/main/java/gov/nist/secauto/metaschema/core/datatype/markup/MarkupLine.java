@@ -17,12 +17,16 @@ import com.vladsch.flexmark.util.misc.Extension;
 import gov.nist.secauto.metaschema.core.datatype.markup.flexmark.FlexmarkFactory;
 import gov.nist.secauto.metaschema.core.datatype.markup.flexmark.impl.FlexmarkConfiguration;
 import gov.nist.secauto.metaschema.core.datatype.markup.flexmark.impl.SuppressPTagExtension;
+import gov.nist.secauto.metaschema.core.util.ObjectUtils;
 
 import java.util.Collection;
 import java.util.LinkedList;
 import java.util.List;
+import java.util.function.Supplier;
+import java.util.regex.Pattern;
 
 import edu.umd.cs.findbugs.annotations.NonNull;
+import edu.umd.cs.findbugs.annotations.Nullable;
 
 /**
  * Supports a data value which is a single line of markup.
@@ -38,6 +42,19 @@ public final class MarkupLine
   @NonNull
   private static final FlexmarkFactory FLEXMARK_FACTORY = FlexmarkFactory.newInstance(FLEXMARK_CONFIG);
 
+  /**
+   * Matches the start tag of an HTML element that may result in a separate
+   * block, or a blank line that may separate paragraphs. HTML that does not match
+   * contains only inline content, which results in a single block.
+   */
+  @NonNull
+  private static final Pattern HTML_BLOCK_PATTERN = ObjectUtils.notNull(Pattern.compile(
+      "<(?:address|article|aside|blockquote|div|dl|fieldset|figure|footer|form|h[1-6]|header|hr|li|nav|ol|p|pre"
+          + "|section|table|ul)\\b|\\n\\s*\\n",
+      Pattern.CASE_INSENSITIVE));
+
+  private static final String MULTIPLE_BLOCKS_MESSAGE = "multiple blocks not allowed";
+
   @SuppressWarnings("null")
   @NonNull
   private static DataSet newParserOptions() {
@@ -62,11 +79,16 @@ public final class MarkupLine
    * @param html
    *          the HTML
    * @return the markup instance
+   * @throws IllegalStateException
+   *           if the markup contains multiple blocks
    */
   @NonNull
   public static MarkupLine fromHtml(@NonNull String html) {
+    Supplier<Document> parser
+        = () -> parseHtml(html, FLEXMARK_FACTORY.getFlexmarkHtmlConverter(), FLEXMARK_FACTORY.getMarkdownParser());
     return new MarkupLine(
-        parseHtml(html, FLEXMARK_FACTORY.getFlexmarkHtmlConverter(), FLEXMARK_FACTORY.getMarkdownParser()));
+        HTML_BLOCK_PATTERN.matcher(html).find() ? parseNow(parser) : parser,
+        null);
   }
 
   /**
@@ -75,10 +97,22 @@ public final class MarkupLine
    * @param markdown
    *          the markup
    * @return the markup instance
+   * @throws IllegalStateException
+   *           if the markup contains multiple blocks
    */
   @NonNull
   public static MarkupLine fromMarkdown(@NonNull String markdown) {
-    return new MarkupLine(parseMarkdown(markdown, FLEXMARK_FACTORY.getMarkdownParser()));
+    Supplier<Document> parser = () -> parseMarkdown(markdown, FLEXMARK_FACTORY.getMarkdownParser());
+    switch (checkMarkdown(markdown)) {
+    case SINGLE_BLOCK:
+      break;
+    case MULTIPLE_BLOCKS:
+      throw new IllegalStateException(MULTIPLE_BLOCKS_MESSAGE);
+    default:
+      parser = parseNow(parser);
+      break;
+    }
+    return new MarkupLine(parser, markdown);
   }
 
   @Override
@@ -93,22 +127,127 @@ public final class MarkupLine
    *          the parsed markup AST
    */
   protected MarkupLine(@NonNull Document astNode) {
-    super(astNode);
+    super(checkSingleBlock(astNode));
+  }
+
+  /**
+   * Construct a new single line markup instance, whose AST is parsed on first
+   * use.
+   * <p>
+   * The source of the markup must already be checked to be a single line, using
+   * {@link #parseNow(Supplier)} if the source cannot be checked without parsing
+   * it.
+   *
+   * @param parser
+   *          used to parse the markup AST
+   * @param markdown
+   *          the markdown text the markup is created from, or {@code null} if
+   *          the markup is created from another representation
+   */
+  private MarkupLine(@NonNull Supplier<Document> parser, @Nullable String markdown) {
+    super(() -> checkSingleBlock(ObjectUtils.notNull(parser.get())), markdown);
+  }
+
+  private MarkupLine(@NonNull MarkupLine other) {
+    super(other);
+  }
+
+  @NonNull
+  private static Document checkSingleBlock(@NonNull Document astNode) {
     Node child = astNode.getFirstChild();
     if (child instanceof Block && child.getNext() != null) {
-      throw new IllegalStateException("multiple blocks not allowed");
+      throw new IllegalStateException(MULTIPLE_BLOCKS_MESSAGE);
     } // else empty markdown
+    return astNode;
+  }
+
+  /**
+   * Parse the markup immediately, checking that it is a single line.
+   *
+   * @param parser
+   *          used to parse the markup AST
+   * @return a supplier of the parsed markup AST
+   * @throws IllegalStateException
+   *           if the markup contains multiple blocks
+   */
+  @NonNull
+  private static Supplier<Document> parseNow(@NonNull Supplier<Document> parser) {
+    Document document = checkSingleBlock(ObjectUtils.notNull(parser.get()));
+    return () -> document;
+  }
+
+  /**
+   * Check the markdown source for multiple blocks without parsing it.
+   * <p>
+   * Lines that contain only text are continuations of the same paragraph, unless
+   * they are separated by a blank line. Lines that may start other block syntax
+   * require the markdown to be parsed to be checked.
+   *
+   * @param markdown
+   *          the markdown source
+   * @return the result of the check
+   */
+  @NonNull
+  private static SourceCheck checkMarkdown(@NonNull String markdown) {
+    SourceCheck retval;
+    if (markdown.indexOf('\n') < 0 && markdown.indexOf('\r') < 0) {
+      // a single line cannot contain more than one block
+      retval = SourceCheck.SINGLE_BLOCK;
+    } else {
+      retval = SourceCheck.SINGLE_BLOCK;
+      boolean content = false;
+      boolean blankAfterContent = false;
+      for (String line : (Iterable<String>) markdown.lines()::iterator) {
+        if (line.isBlank()) {
+          blankAfterContent = content;
+        } else if (startsBlock(ObjectUtils.notNull(line))) {
+          retval = SourceCheck.INCONCLUSIVE;
+          break;
+        } else {
+          if (blankAfterContent) {
+            // paragraphs are separated by a blank line
+            retval = SourceCheck.MULTIPLE_BLOCKS;
+          }
+          content = true;
+        }
+      }
+    }
+    return retval;
+  }
+
+  private static boolean startsBlock(@NonNull String line) {
+    int index = 0;
+    while (line.charAt(index) == ' ') {
+      index++;
+    }
+    // indented code or a character that may start block syntax
+    return index > 3 || !Character.isLetterOrDigit(line.charAt(index));
   }
 
   @Override
   public MarkupLine copy() {
     // TODO: find a way to do a deep copy
     // this is a shallow copy that uses the same underlying Document object
-    return new MarkupLine(getDocument());
+    return new MarkupLine(this);
   }
 
   @Override
   public boolean isBlock() {
     return false;
   }
+
+  private enum SourceCheck {
+    /**
+     * The markup contains at most a single block.
+     */
+    SINGLE_BLOCK,
+    /**
+     * The markup contains multiple blocks.
+     */
+    MULTIPLE_BLOCKS,
+    /**
+     * The markup must be parsed to determine the blocks it contains.
+     */
+    INCONCLUSIVE
+  }
 }
@@ -9,7 +9,10 @@ import com.vladsch.flexmark.util.ast.Document;
 
 import gov.nist.secauto.metaschema.core.datatype.markup.flexmark.FlexmarkFactory;
 
+import java.util.function.Supplier;
+
 import edu.umd.cs.findbugs.annotations.NonNull;
+import edu.umd.cs.findbugs.annotations.Nullable;
 
 /**
  * Supports a data value which may be multiple lines of markup.
@@ -32,10 +35,11 @@ public class MarkupMultiline
   @NonNull
   public static MarkupMultiline fromHtml(@NonNull String html) {
     return new MarkupMultiline(
-        parseHtml(
+        () -> parseHtml(
             html,
             FLEXMARK_FACTORY.getFlexmarkHtmlConverter(),
-            FLEXMARK_FACTORY.getMarkdownParser()));
+            FLEXMARK_FACTORY.getMarkdownParser()),
+        null);
   }
 
   /**
@@ -48,7 +52,8 @@ public class MarkupMultiline
   @NonNull
   public static MarkupMultiline fromMarkdown(@NonNull String markdown) {
     return new MarkupMultiline(
-        parseMarkdown(markdown, FLEXMARK_FACTORY.getMarkdownParser()));
+        () -> parseMarkdown(markdown, FLEXMARK_FACTORY.getMarkdownParser()),
+        markdown);
   }
 
   /**
@@ -61,6 +66,32 @@ public class MarkupMultiline
     super(astNode);
   }
 
+  /**
+   * Construct a new multiline markup instance, whose AST is parsed on first use.
+   *
+   * @param parser
+   *          used to parse the markup AST
+   * @param markdown
+   *          the markdown text the markup is created from, or {@code null} if
+   *          the markup is created from another representation
+   * @since 2.0.0
+   */
+  protected MarkupMultiline(@NonNull Supplier<Document> parser, @Nullable String markdown) {
+    super(parser, markdown);
+  }
+
+  /**
+   * Construct a new multiline markup instance that shares the AST of the
+   * provided markup.
+   *
+   * @param other
+   *          the markup to share the AST with
+   * @since 2.0.0
+   */
+  protected MarkupMultiline(@NonNull MarkupMultiline other) {
+    super(other);
+  }
+
   @Override
   public FlexmarkFactory getFlexmarkFactory() {
     return FLEXMARK_FACTORY;
@@ -70,7 +101,7 @@ public class MarkupMultiline
   public MarkupMultiline copy() {
     // TODO: find a way to do a deep copy
     // this is a shallow copy that uses the same underlying Document object
-    return new MarkupMultiline(getDocument());
+    return new MarkupMultiline(this);
   }
 
   @Override
@@ -14,6 +14,7 @@ import gov.nist.secauto.metaschema.core.metapath.function.CalledContext;
 import gov.nist.secauto.metaschema.core.metapath.function.IFunction;
 import gov.nist.secauto.metaschema.core.metapath.function.IFunction.FunctionProperty;
 import gov.nist.secauto.metaschema.core.metapath.item.ISequence;
+import gov.nist.secauto.metaschema.core.metapath.item.node.DescendantIndex;
 import gov.nist.secauto.metaschema.core.metapath.item.node.IDocumentNodeItem;
 import gov.nist.secauto.metaschema.core.model.IUriResolver;
 import gov.nist.secauto.metaschema.core.qname.IEnhancedQName;
@@ -29,7 +30,6 @@ import java.util.ArrayDeque;
 import java.util.ArrayList;
 import java.util.Collections;
 import java.util.Deque;
-import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.concurrent.ConcurrentHashMap;
@@ -73,6 +73,11 @@ public class DynamicContext { // NOPMD - intentional data class
     this.sharedState = context.sharedState;
   }
 
+  private DynamicContext(@NonNull DynamicContext context, @NonNull SharedState sharedState) {
+    this.letVariableMap = new ConcurrentHashMap<>(context.letVariableMap);
+    this.sharedState = sharedState;
+  }
+
   private static class SharedState {
     @NonNull
     private final StaticContext staticContext;
@@ -84,6 +89,10 @@ public class DynamicContext { // NOPMD - intentional data class
     private final Map<URI, IDocumentNodeItem> availableDocuments;
     @NonNull
     private final Map<CalledContext, ISequence<?>> functionResultCache;
+    @NonNull
+    private final Map<IDocumentNodeItem, DescendantIndex> descendantIndexes;
+    @NonNull
+    private final Map<IDocumentNodeItem, Map<IExpression, ISequence<?>>> documentResults;
     @Nullable
     private CachingLoader documentLoader;
     @NonNull
@@ -98,14 +107,35 @@ public class DynamicContext { // NOPMD - intentional data class
 
       this.implicitTimeZone = ObjectUtils.notNull(clock.getZone());
       this.currentDateTime = ObjectUtils.notNull(ZonedDateTime.now(clock));
-      this.availableDocuments = new HashMap<>();
+      this.availableDocuments = new ConcurrentHashMap<>();
       this.functionResultCache = ObjectUtils.notNull(Caffeine.newBuilder()
           .maximumSize(5000)
           .expireAfterAccess(10, TimeUnit.MINUTES)
           .<CalledContext, ISequence<?>>build().asMap());
+      this.descendantIndexes = new ConcurrentHashMap<>();
+      this.documentResults = new ConcurrentHashMap<>();
       this.configuration = new DefaultConfiguration<>();
       this.configuration.enableFeature(MetapathEvaluationFeature.METAPATH_EVALUATE_PREDICATES);
     }
+
+    /**
+     * Construct a new shared state that shares the caches and configuration of
+     * the provided state, but has its own execution stack.
+     *
+     * @param other
+     *          the state to share
+     */
+    public SharedState(@NonNull SharedState other) {
+      this.staticContext = other.staticContext;
+      this.implicitTimeZone = other.implicitTimeZone;
+      this.currentDateTime = other.currentDateTime;
+      this.availableDocuments = other.availableDocuments;
+      this.functionResultCache = other.functionResultCache;
+      this.descendantIndexes = other.descendantIndexes;
+      this.documentResults = other.documentResults;
+      this.documentLoader = other.documentLoader;
+      this.configuration = other.configuration;
+    }
   }
 
   /**
@@ -123,6 +153,22 @@ public class DynamicContext { // NOPMD - intentional data class
     return new DynamicContext(this);
   }
 
+  /**
+   * Generate a new dynamic context that is a copy of this dynamic context, which
+   * can be used for evaluation on a different thread.
+   * <p>
+   * The new context shares the loaded documents, function result cache, and
+   * configuration of this context, but maintains a separate execution stack.
+   * This allows Metapath evaluation to be performed concurrently using this
+   * context and the new context.
+   *
+   * @return a new dynamic context
+   */
+  @NonNull
+  public DynamicContext concurrentSubContext() {
+    return new DynamicContext(this, new SharedState(sharedState));
+  }
+
   /**
    * Get the static context associated with this dynamic context.
    *
@@ -219,8 +265,135 @@ public class DynamicContext { // NOPMD - intentional data class
    *          the function call result
    */
   public void cacheResult(@NonNull CalledContext callingContext, @NonNull ISequence<?> result) {
-    ISequence<?> old = sharedState.functionResultCache.put(callingContext, result);
-    assert old == null;
+    cacheIfAbsent(sharedState.functionResultCache, callingContext, result);
+  }
+
+  /**
+   * Get the index of the nodes of the provided document, building the index if
+   * it has not been built by this context already.
+   *
+   * @param document
+   *          the document to get the index for
+   * @return the index
+   * @see MetapathEvaluationFeature#METAPATH_INDEX_DESCENDANTS
+   */
+  @NonNull
+  public DescendantIndex getDescendantIndex(@NonNull IDocumentNodeItem document) {
+    return ObjectUtils.notNull(sharedState.descendantIndexes.computeIfAbsent(document, DescendantIndex::build));
+  }
+
+  /**
+   * Get the memoized result of evaluating the provided expression against the
+   * provided document.
+   *
+   * @param document
+   *          the document the expression was evaluated against
+   * @param expression
+   *          the expression, whose result must only depend on the document
+   * @return the memoized result, or {@code null} if no result is memoized
+   * @see MetapathEvaluationFeature#METAPATH_MEMOIZE_DOCUMENT_PATHS
+   */
+  @Nullable
+  public ISequence<?> getDocumentResult(@NonNull IDocumentNodeItem document, @NonNull IExpression expression) {
+    Map<IExpression, ISequence<?>> results = sharedState.documentResults.get(document);
+    return results == null ? null : results.get(expression);
+  }
+
+  /**
+   * Memoize the result of evaluating the provided expression against the
+   * provided document.
+   *
+   * @param document
+   *          the document the expression was evaluated against
+   * @param expression
+   *          the expression, whose result must only depend on the document
+   * @param result
+   *          the result, which must be reusable
+   * @see MetapathEvaluationFeature#METAPATH_MEMOIZE_DOCUMENT_PATHS
+   */
+  public void cacheDocumentResult(
+      @NonNull IDocumentNodeItem document,
+      @NonNull IExpression expression,
+      @NonNull ISequence<?> result) {
+    cacheIfAbsent(
+        ObjectUtils.notNull(sharedState.documentResults.computeIfAbsent(document, key -> new ConcurrentHashMap<>())),
+        expression,
+        result);
+  }
+
+  /**
+   * Cache a computed value, unless a value is already cached for the key.
+   * <p>
+   * Each value cached by this context is fully determined by its key, so when
+   * concurrent evaluations compute the same value more than once, the value that
+   * is not cached is equivalent to the one that is.
+   *
+   * @param <K>
+   *          the type of the cache's keys
+   * @param <V>
+   *          the type of the cache's values
+   * @param cache
+   *          the concurrent cache to add the value to
+   * @param key
+   *          the key identifying the value
+   * @param value
+   *          the computed value
+   */
+  private static <K, V> void cacheIfAbsent(@NonNull Map<K, V> cache, @NonNull K key, @NonNull V value) {
+    cache.putIfAbsent(key, value);
+  }
+
+  /**
+   * Discard the descendant index and the memoized results retained by this
+   * context for the provided document.
+   * <p>
+   * This must be called when a document is changed while this context is used.
+   *
+   * @param document
+   *          the changed document
+   */
+  public void invalidateDocument(@NonNull IDocumentNodeItem document) {
+    sharedState.descendantIndexes.remove(document);
+    sharedState.documentResults.remove(document);
+  }
+
+  /**
+   * Used to enable the memoization of the results of absolute paths that only
+   * depend on the document they are evaluated against.
+   *
+   * @return this dynamic context
+   * @see MetapathEvaluationFeature#METAPATH_MEMOIZE_DOCUMENT_PATHS
+   */
+  @NonNull
+  public DynamicContext enableDocumentPathMemoization() {
+    this.sharedState.configuration.enableFeature(MetapathEvaluationFeature.METAPATH_MEMOIZE_DOCUMENT_PATHS);
+    return this;
+  }
+
+  /**
+   * Used to enable the use of a per-document index when evaluating {@code //}
+   * paths with a name test.
+   *
+   * @return this dynamic context
+   * @see MetapathEvaluationFeature#METAPATH_INDEX_DESCENDANTS
+   */
+  @NonNull
+  public DynamicContext enableDescendantIndex() {
+    this.sharedState.configuration.enableFeature(MetapathEvaluationFeature.METAPATH_INDEX_DESCENDANTS);
+    return this;
+  }
+
+  /**
+   * Used to enable the compilation of frequently evaluated expressions into
+   * specialized evaluators.
+   *
+   * @return this dynamic context
+   * @see MetapathEvaluationFeature#METAPATH_COMPILE_HOT_EXPRESSIONS
+   */
+  @NonNull
+  public DynamicContext enableExpressionCompilation() {
+    this.sharedState.configuration.enableFeature(MetapathEvaluationFeature.METAPATH_COMPILE_HOT_EXPRESSIONS);
+    return this;
   }
 
   /**
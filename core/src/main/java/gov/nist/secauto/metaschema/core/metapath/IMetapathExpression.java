@@ -100,6 +100,39 @@ public interface IMetapathExpression {
     }
   }
 
+  /**
+   * Identifies the extent of a document that may be accessed when evaluating an
+   * expression relative to a focus node.
+   * <p>
+   * Values are ordered from the most to the least restrictive.
+   */
+  enum NodeAccess {
+    /**
+     * Only the focus node and its flags are accessed.
+     */
+    FOCUS,
+    /**
+     * Only the focus node, its flags, and its descendants are accessed.
+     */
+    SUBTREE,
+    /**
+     * Any node in the document, or in another document, may be accessed.
+     */
+    DOCUMENT;
+
+    /**
+     * Get the least restrictive of this and the provided access.
+     *
+     * @param other
+     *          the access to combine with
+     * @return the combined access
+     */
+    @NonNull
+    public NodeAccess combine(@NonNull NodeAccess other) {
+      return compareTo(other) >= 0 ? this : other;
+    }
+  }
+
   /**
    * Get the Metapath expression identifying the current context node.
    *
@@ -173,6 +206,20 @@ public interface IMetapathExpression {
   @NonNull
   StaticContext getStaticContext();
 
+  /**
+   * Determine the extent of a document that may be accessed when evaluating
+   * this expression relative to a focus node.
+   * <p>
+   * This is a conservative static analysis of the expression. Implementations
+   * that cannot perform this analysis must return {@link NodeAccess#DOCUMENT}.
+   *
+   * @return the node access
+   */
+  @NonNull
+  default NodeAccess getNodeAccess() {
+    return NodeAccess.DOCUMENT;
+  }
+
   /**
    * Evaluate this Metapath expression without a specific focus. The required
    * result type will be determined by the {@code resultType} argument.
@@ -26,6 +26,42 @@ public final class MetapathEvaluationFeature<V>
   public static final MetapathEvaluationFeature<Boolean> METAPATH_EVALUATE_PREDICATES
       = new MetapathEvaluationFeature<>("evaluate-predicates", Boolean.class, true);
 
+  /**
+   * If enabled, build an index of the nodes of each document by name the first
+   * time a {@code //} path with a name test is evaluated against the document,
+   * and use the index to evaluate such paths.
+   * <p>
+   * The index is retained by the dynamic context, so the document must not be
+   * changed while this context is used.
+   */
+  @NonNull
+  public static final MetapathEvaluationFeature<Boolean> METAPATH_INDEX_DESCENDANTS
+      = new MetapathEvaluationFeature<>("index-descendants", Boolean.class, false);
+
+  /**
+   * If enabled, the result of an absolute path, such as {@code //party}, is
+   * computed once for each document and reused by later evaluations that use the
+   * same compiled path, including paths bound by {@code let}. Only paths whose
+   * result depends on nothing but the document are memoized.
+   * <p>
+   * The results are retained by the dynamic context, so the document must not
+   * be changed while this context is used, unless
+   * {@link DynamicContext#invalidateDocument} is called.
+   */
+  @NonNull
+  public static final MetapathEvaluationFeature<Boolean> METAPATH_MEMOIZE_DOCUMENT_PATHS
+      = new MetapathEvaluationFeature<>("memoize-document-paths", Boolean.class, false);
+
+  /**
+   * If enabled, compile expressions that are evaluated frequently into
+   * specialized evaluators for common shapes, such as {@code @name = 'x'},
+   * {@code count(x) > 0}, and simple paths. Other expressions continue to be
+   * interpreted.
+   */
+  @NonNull
+  public static final MetapathEvaluationFeature<Boolean> METAPATH_COMPILE_HOT_EXPRESSIONS
+      = new MetapathEvaluationFeature<>("compile-hot-expressions", Boolean.class, false);
+
   private MetapathEvaluationFeature(
       @NonNull String name,
       @NonNull Class<V> valueClass,
@@ -10,7 +10,11 @@ import gov.nist.secauto.metaschema.core.metapath.antlr.Metapath10;
 import gov.nist.secauto.metaschema.core.metapath.antlr.Metapath10Lexer;
 import gov.nist.secauto.metaschema.core.metapath.antlr.ParseTreePrinter;
 import gov.nist.secauto.metaschema.core.metapath.cst.BuildCSTVisitor;
+import gov.nist.secauto.metaschema.core.metapath.cst.CSTOptimizer;
 import gov.nist.secauto.metaschema.core.metapath.cst.CSTPrinter;
+import gov.nist.secauto.metaschema.core.metapath.cst.ExpressionCompiler;
+import gov.nist.secauto.metaschema.core.metapath.cst.ExpressionCompiler.ICompiledExpression;
+import gov.nist.secauto.metaschema.core.metapath.cst.NodeAccessAnalyzer;
 import gov.nist.secauto.metaschema.core.metapath.cst.path.ContextItem;
 import gov.nist.secauto.metaschema.core.metapath.item.IItem;
 import gov.nist.secauto.metaschema.core.metapath.item.ISequence;
@@ -48,6 +52,17 @@ class MetapathExpression implements IMetapathExpression {
   public static final MetapathExpression CONTEXT_NODE
       = new MetapathExpression(".", ContextItem.instance(), StaticContext.instance());
   private static final Logger LOGGER = LogManager.getLogger(MetapathExpression.class);
+  /**
+   * The number of evaluations after which an expression is compiled, when
+   * {@link MetapathEvaluationFeature#METAPATH_COMPILE_HOT_EXPRESSIONS} is
+   * enabled.
+   */
+  private static final int COMPILE_THRESHOLD = 64;
+  /**
+   * Marks an expression whose shape is not supported by the compiler.
+   */
+  @NonNull
+  private static final ICompiledExpression NOT_COMPILABLE = focus -> null;
 
   @NonNull
   private final String path;
@@ -55,9 +70,19 @@ class MetapathExpression implements IMetapathExpression {
   private final IExpression expression;
   @NonNull
   private final StaticContext staticContext;
+  @Nullable
+  private volatile NodeAccess nodeAccess;
+  @Nullable
+  private volatile ICompiledExpression compiledExpression;
+  // only used to decide when to compile, so lost updates are harmless
+  private int evaluationCount;
 
   /**
    * Compiles a Metapath expression string using the provided static context.
+   * <p>
+   * Compiled expressions are cached using the {@link MetapathExpressionCache},
+   * so repeated compilation of the same expression and static context returns
+   * the previously compiled expression.
    *
    * @param path
    *          the metapath expression
@@ -69,36 +94,50 @@ class MetapathExpression implements IMetapathExpression {
    */
   @NonNull
   public static MetapathExpression compile(@NonNull String path, @NonNull StaticContext context) {
-    @NonNull
-    MetapathExpression retval;
-    if (".".equals(path)) {
-      retval = CONTEXT_NODE;
-    } else {
-      try {
-        Metapath10 parser = newParser(path);
-        ParseTree tree = ObjectUtils.notNull(parser.metapath());
-        logAst(tree);
-        IExpression expr = new BuildCSTVisitor(context).visit(tree);
-        logCst(expr);
-        retval = new MetapathExpression(path, expr, context);
-      } catch (StaticMetapathException ex) {
-        String message = ex.getMessageText();
-        throw new StaticMetapathException(
-            ex.getCode(),
-            String.format("Unable to compile path '%s'.%s", path, message == null ? "" : " " + message),
-            ex);
-      } catch (MetapathException | ParseCancellationException ex) {
-        String msg = String.format("Unable to compile Metapath '%s'", path);
-        LOGGER.atError().withThrowable(ex).log(msg);
-        throw new StaticMetapathException(StaticMetapathException.INVALID_PATH_GRAMMAR, msg, ex);
-      }
+    return ".".equals(path)
+        ? CONTEXT_NODE
+        : MetapathExpressionCache.instance().get(path, context,
+            key -> parse(key.getPath(), key.getStaticContext()));
+  }
+
+  /**
+   * Parses and compiles a Metapath expression string using the provided static
+   * context, without using the cache.
+   *
+   * @param path
+   *          the metapath expression
+   * @param context
+   *          the static evaluation context
+   * @return the compiled expression object
+   * @throws MetapathException
+   *           if an error occurred while compiling the Metapath expression
+   */
+  @NonNull
+  static MetapathExpression parse(@NonNull String path, @NonNull StaticContext context) {
+    try {
+      Metapath10 parser = newParser(path);
+      ParseTree tree = ObjectUtils.notNull(parser.metapath());
+      logAst(tree);
+      IExpression cst = new BuildCSTVisitor(context).visit(tree);
+      IExpression expr = CSTOptimizer.optimize(cst, context);
+      logCst(cst, expr);
+      return new MetapathExpression(path, expr, context);
+    } catch (StaticMetapathException ex) {
+      String message = ex.getMessageText();
+      throw new StaticMetapathException(
+          ex.getCode(),
+          String.format("Unable to compile path '%s'.%s", path, message == null ? "" : " " + message),
+          ex);
+    } catch (MetapathException | ParseCancellationException ex) {
+      String msg = String.format("Unable to compile Metapath '%s'", path);
+      LOGGER.atError().withThrowable(ex).log(msg);
+      throw new StaticMetapathException(StaticMetapathException.INVALID_PATH_GRAMMAR, msg, ex);
     }
-    return retval;
   }
 
-  private static void logCst(@NonNull IExpression expr) {
+  private static void logCst(@NonNull IExpression cst, @NonNull IExpression optimized) {
     if (LOGGER.isDebugEnabled()) {
-      LOGGER.atDebug().log(String.format("Metapath CST:%n%s", CSTPrinter.toString(expr)));
+      LOGGER.atDebug().log(String.format("Metapath CST:%n%s", CSTPrinter.toString(cst, optimized)));
     }
   }
 
@@ -176,6 +215,38 @@ class MetapathExpression implements IMetapathExpression {
     return staticContext;
   }
 
+  @Override
+  public NodeAccess getNodeAccess() {
+    NodeAccess retval = nodeAccess;
+    if (retval == null) {
+      // benign race, since the result is always the same
+      retval = NodeAccessAnalyzer.analyze(getCSTNode());
+      nodeAccess = retval;
+    }
+    return retval;
+  }
+
+  /**
+   * Get the compiled form of this expression, compiling the expression once it
+   * has been evaluated frequently enough.
+   *
+   * @return the compiled expression, or {@code null} if the expression has not
+   *         been compiled yet
+   */
+  @Nullable
+  private ICompiledExpression getCompiledExpression() {
+    ICompiledExpression retval = compiledExpression;
+    if (retval == null && ++evaluationCount >= COMPILE_THRESHOLD) {
+      // benign race, since the result is always the same
+      retval = ExpressionCompiler.compile(getCSTNode());
+      if (retval == null) {
+        retval = NOT_COMPILABLE;
+      }
+      compiledExpression = retval;
+    }
+    return retval;
+  }
+
   @Override
   public String toString() {
     return CSTPrinter.toString(getCSTNode());
@@ -187,7 +258,18 @@ class MetapathExpression implements IMetapathExpression {
       @Nullable IItem focus,
       @NonNull DynamicContext dynamicContext) {
     try {
-      return ObjectUtils.asType(getCSTNode().accept(dynamicContext, ISequence.of(focus)).reusable());
+      ISequence<?> result = null;
+      if (dynamicContext.getConfiguration()
+          .isFeatureEnabled(MetapathEvaluationFeature.METAPATH_COMPILE_HOT_EXPRESSIONS)) {
+        ICompiledExpression compiled = getCompiledExpression();
+        if (compiled != null) {
+          result = compiled.evaluate(focus);
+        }
+      }
+      if (result == null) {
+        result = getCSTNode().accept(dynamicContext, ISequence.of(focus));
+      }
+      return ObjectUtils.asType(result.reusable());
     } catch (MetapathException ex) {
       throw new MetapathException(
           String.format("An error occurred while evaluating the expression '%s'. %s",
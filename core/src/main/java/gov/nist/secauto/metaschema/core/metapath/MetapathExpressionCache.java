@@ -0,0 +1,183 @@
+/*
+ * SPDX-FileCopyrightText: none
+ * SPDX-License-Identifier: CC0-1.0
+ */
+
+package gov.nist.secauto.metaschema.core.metapath;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.stats.CacheStats;
+
+import gov.nist.secauto.metaschema.core.util.ObjectUtils;
+
+import java.util.Objects;
+import java.util.function.Function;
+
+import edu.umd.cs.findbugs.annotations.NonNull;
+
+/**
+ * A process-wide, bounded cache of compiled Metapath expressions.
+ * <p>
+ * Compiled expressions are keyed by the Metapath string and the
+ * {@link StaticContext} used to compile it, so the cost of parsing a given
+ * expression is paid once per distinct expression and static context.
+ * <p>
+ * The maximum number of cached expressions defaults to
+ * {@value #DEFAULT_MAXIMUM_SIZE}, which can be changed using the
+ * {@value #MAXIMUM_SIZE_PROPERTY} system property or at runtime using
+ * {@link #setMaximumSize(long)}. A size of {@code 0} disables caching.
+ * <p>
+ * This class is thread safe.
+ */
+public final class MetapathExpressionCache {
+  /**
+   * The system property used to configure the maximum number of cached
+   * expressions.
+   */
+  @NonNull
+  public static final String MAXIMUM_SIZE_PROPERTY = "metaschema.metapath.cache.maximum-size";
+  /**
+   * The default maximum number of cached expressions.
+   */
+  public static final long DEFAULT_MAXIMUM_SIZE = 2000;
+
+  @NonNull
+  private static final MetapathExpressionCache INSTANCE
+      = new MetapathExpressionCache(Long.getLong(MAXIMUM_SIZE_PROPERTY, DEFAULT_MAXIMUM_SIZE));
+
+  @NonNull
+  private final Cache<Key, MetapathExpression> cache;
+
+  /**
+   * Get the singleton cache instance.
+   *
+   * @return the cache
+   */
+  @NonNull
+  public static MetapathExpressionCache instance() {
+    return INSTANCE;
+  }
+
+  private MetapathExpressionCache(long maximumSize) {
+    this.cache = ObjectUtils.notNull(Caffeine.newBuilder()
+        .maximumSize(maximumSize)
+        .recordStats()
+        .build());
+  }
+
+  /**
+   * Get the compiled expression for the provided Metapath and static context,
+   * compiling it if it is not already cached.
+   *
+   * @param path
+   *          the Metapath expression
+   * @param staticContext
+   *          the static context used to compile the expression
+   * @param compiler
+   *          the function used to compile the expression on a cache miss
+   * @return the compiled expression
+   * @throws MetapathException
+   *           if an error occurred while compiling the Metapath expression
+   */
+  @NonNull
+  MetapathExpression get(
+      @NonNull String path,
+      @NonNull StaticContext staticContext,
+      @NonNull Function<Key, MetapathExpression> compiler) {
+    return ObjectUtils.notNull(cache.get(new Key(path, staticContext), compiler));
+  }
+
+  /**
+   * Get the maximum number of expressions that will be cached.
+   *
+   * @return the maximum size
+   */
+  public long getMaximumSize() {
+    return cache.policy().eviction()
+        .map(eviction -> eviction.getMaximum())
+        .orElse(Long.MAX_VALUE);
+  }
+
+  /**
+   * Set the maximum number of expressions that will be cached. If the cache
+   * currently holds more expressions, the least recently used expressions are
+   * evicted.
+   *
+   * @param maximumSize
+   *          the new maximum size, or {@code 0} to disable caching
+   */
+  public void setMaximumSize(long maximumSize) {
+    cache.policy().eviction().ifPresent(eviction -> eviction.setMaximum(maximumSize));
+  }
+
+  /**
+   * Get the approximate number of cached expressions.
+   *
+   * @return the number of expressions
+   */
+  public long size() {
+    return cache.estimatedSize();
+  }
+
+  /**
+   * Remove all cached expressions.
+   */
+  public void clear() {
+    cache.invalidateAll();
+  }
+
+  /**
+   * Get the cache hit, miss, and eviction statistics accumulated since this
+   * cache was created.
+   *
+   * @return the statistics
+   */
+  @NonNull
+  public CacheStats getStatistics() {
+    return ObjectUtils.notNull(cache.stats());
+  }
+
+  /**
+   * The cache key, which identifies a Metapath compiled using a specific static
+   * context.
+   */
+  static final class Key {
+    @NonNull
+    private final String path;
+    @NonNull
+    private final StaticContext staticContext;
+
+    private Key(@NonNull String path, @NonNull StaticContext staticContext) {
+      this.path = path;
+      this.staticContext = staticContext;
+    }
+
+    @NonNull
+    public String getPath() {
+      return path;
+    }
+
+    @NonNull
+    public StaticContext getStaticContext() {
+      return staticContext;
+    }
+
+    @Override
+    public int hashCode() {
+      return Objects.hash(path, System.identityHashCode(staticContext));
+    }
+
+    @Override
+    public boolean equals(Object obj) {
+      if (this == obj) {
+        return true;
+      }
+      if (!(obj instanceof Key)) {
+        return false;
+      }
+      Key other = (Key) obj;
+      return path.equals(other.path) && staticContext == other.staticContext;
+    }
+  }
+}
@@ -0,0 +1,557 @@
+/*
+ * SPDX-FileCopyrightText: none
+ * SPDX-License-Identifier: CC0-1.0
+ */
+
+package gov.nist.secauto.metaschema.core.metapath.cst;
+
+import gov.nist.secauto.metaschema.core.metapath.DynamicContext;
+import gov.nist.secauto.metaschema.core.metapath.IExpression;
+import gov.nist.secauto.metaschema.core.metapath.MetapathConstants;
+import gov.nist.secauto.metaschema.core.metapath.MetapathException;
+import gov.nist.secauto.metaschema.core.metapath.StaticContext;
+import gov.nist.secauto.metaschema.core.metapath.cst.items.DecimalLiteral;
+import gov.nist.secauto.metaschema.core.metapath.cst.items.EmptySequence;
+import gov.nist.secauto.metaschema.core.metapath.cst.items.ILiteralExpression;
+import gov.nist.secauto.metaschema.core.metapath.cst.items.IntegerLiteral;
+import gov.nist.secauto.metaschema.core.metapath.cst.items.StringConcat;
+import gov.nist.secauto.metaschema.core.metapath.cst.items.StringLiteral;
+import gov.nist.secauto.metaschema.core.metapath.cst.logic.AbstractComparison;
+import gov.nist.secauto.metaschema.core.metapath.cst.logic.And;
+import gov.nist.secauto.metaschema.core.metapath.cst.logic.GeneralComparison;
+import gov.nist.secauto.metaschema.core.metapath.cst.logic.If;
+import gov.nist.secauto.metaschema.core.metapath.cst.logic.Or;
+import gov.nist.secauto.metaschema.core.metapath.cst.logic.PredicateExpression;
+import gov.nist.secauto.metaschema.core.metapath.cst.logic.ValueComparison;
+import gov.nist.secauto.metaschema.core.metapath.cst.math.AbstractArithmeticExpression;
+import gov.nist.secauto.metaschema.core.metapath.cst.math.Addition;
+import gov.nist.secauto.metaschema.core.metapath.cst.math.Division;
+import gov.nist.secauto.metaschema.core.metapath.cst.math.IntegerDivision;
+import gov.nist.secauto.metaschema.core.metapath.cst.math.Modulo;
+import gov.nist.secauto.metaschema.core.metapath.cst.math.Multiplication;
+import gov.nist.secauto.metaschema.core.metapath.cst.math.Negate;
+import gov.nist.secauto.metaschema.core.metapath.cst.math.Subtraction;
+import gov.nist.secauto.metaschema.core.metapath.cst.path.AbstractRelativePathExpression;
+import gov.nist.secauto.metaschema.core.metapath.cst.path.ContextItem;
+import gov.nist.secauto.metaschema.core.metapath.cst.path.FlagStep;
+import gov.nist.secauto.metaschema.core.metapath.cst.path.ModelInstanceStep;
+import gov.nist.secauto.metaschema.core.metapath.cst.path.RelativeSlashPath;
+import gov.nist.secauto.metaschema.core.metapath.cst.path.Step;
+import gov.nist.secauto.metaschema.core.metapath.function.IFunction;
+import gov.nist.secauto.metaschema.core.metapath.function.library.FnBoolean;
+import gov.nist.secauto.metaschema.core.metapath.item.IItem;
+import gov.nist.secauto.metaschema.core.metapath.item.ISequence;
+import gov.nist.secauto.metaschema.core.metapath.item.atomic.IBooleanItem;
+import gov.nist.secauto.metaschema.core.metapath.item.atomic.IDecimalItem;
+import gov.nist.secauto.metaschema.core.metapath.item.atomic.IIntegerItem;
+import gov.nist.secauto.metaschema.core.metapath.item.atomic.INumericItem;
+import gov.nist.secauto.metaschema.core.metapath.item.atomic.IStringItem;
+import gov.nist.secauto.metaschema.core.metapath.type.Occurrence;
+import gov.nist.secauto.metaschema.core.qname.IEnhancedQName;
+import gov.nist.secauto.metaschema.core.util.CollectionUtil;
+import gov.nist.secauto.metaschema.core.util.ObjectUtils;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import edu.umd.cs.findbugs.annotations.NonNull;
+import edu.umd.cs.findbugs.annotations.Nullable;
+
+/**
+ * Rewrites a Metapath compact syntax tree (CST) produced by the
+ * {@link BuildCSTVisitor} into an equivalent tree that is cheaper to evaluate.
+ * <p>
+ * The following rewrites are performed:
+ * <ul>
+ * <li>Constant folding of literal arithmetic, string concatenation, and calls
+ * to deterministic functions that do not depend on the dynamic context or
+ * focus, such as {@code 1 + 2} or {@code not(true())}.</li>
+ * <li>Dead-branch elimination for {@code if}, {@code and}, and {@code or}
+ * expressions with constant operands.</li>
+ * <li>Removal of redundant {@code boolean()} calls, for example
+ * {@code boolean(exists(x))} becomes {@code exists(x)}.</li>
+ * <li>Removal of redundant context item steps, for example {@code ./x} and
+ * {@code x/.} become {@code x}.</li>
+ * <li>Predicate simplification, where {@code [true()]} is removed.</li>
+ * </ul>
+ * <p>
+ * Only node types that are known to the optimizer are rewritten. Other nodes,
+ * and their children, are left as they are. An expression whose constant
+ * evaluation raises an error is not folded, so the error is still raised when
+ * the expression is evaluated.
+ */
+@SuppressWarnings("PMD.CouplingBetweenObjects") // necessary to handle the node types
+public final class CSTOptimizer {
+  @NonNull
+  private static final IEnhancedQName FN_BOOLEAN
+      = IEnhancedQName.of(MetapathConstants.NS_METAPATH_FUNCTIONS, "boolean");
+  @NonNull
+  private static final IEnhancedQName FN_TRUE = IEnhancedQName.of(MetapathConstants.NS_METAPATH_FUNCTIONS, "true");
+  @NonNull
+  private static final IEnhancedQName FN_FALSE = IEnhancedQName.of(MetapathConstants.NS_METAPATH_FUNCTIONS, "false");
+
+  @NonNull
+  private final StaticContext staticContext;
+
+  /**
+   * Optimize the provided expression.
+   *
+   * @param expr
+   *          the expression to optimize
+   * @param staticContext
+   *          the static context the expression was compiled with
+   * @return the optimized expression, which may be the provided expression if no
+   *         rewrite applied
+   */
+  @NonNull
+  public static IExpression optimize(@NonNull IExpression expr, @NonNull StaticContext staticContext) {
+    return new CSTOptimizer(staticContext).rewrite(expr);
+  }
+
+  private CSTOptimizer(@NonNull StaticContext staticContext) {
+    this.staticContext = staticContext;
+  }
+
+  @SuppressWarnings("PMD.CognitiveComplexity") // a simple dispatch
+  @NonNull
+  private IExpression rewrite(@NonNull IExpression expr) {
+    IExpression retval;
+    if (expr instanceof And) {
+      retval = rewriteAnd((And) expr);
+    } else if (expr instanceof Or) {
+      retval = rewriteOr((Or) expr);
+    } else if (expr instanceof If) {
+      retval = rewriteIf((If) expr);
+    } else if (expr instanceof PredicateExpression) {
+      retval = rewritePredicate((PredicateExpression) expr);
+    } else if (expr instanceof RelativeSlashPath) {
+      retval = rewriteRelativeSlashPath((RelativeSlashPath) expr);
+    } else if (expr instanceof StaticFunctionCall) {
+      retval = rewriteFunctionCall((StaticFunctionCall) expr);
+    } else if (expr instanceof GeneralComparison || expr instanceof ValueComparison) {
+      retval = rewriteComparison((AbstractComparison) expr);
+    } else if (expr instanceof AbstractArithmeticExpression || expr instanceof Negate
+        || expr instanceof StringConcat) {
+      retval = rewriteOperation(expr);
+    } else {
+      retval = expr;
+    }
+    return retval;
+  }
+
+  @NonNull
+  private List<IExpression> rewriteChildren(@NonNull IExpression expr) {
+    List<IExpression> retval = new ArrayList<>(expr.getChildren().size());
+    for (IExpression child : expr.getChildren()) {
+      assert child != null;
+      retval.add(rewrite(child));
+    }
+    return retval;
+  }
+
+  private static boolean isSame(@NonNull List<IExpression> rewritten, @NonNull IExpression expr) {
+    List<? extends IExpression> children = expr.getChildren();
+    boolean retval = rewritten.size() == children.size();
+    for (int i = 0; retval && i < children.size(); i++) {
+      retval = rewritten.get(i) == children.get(i);
+    }
+    return retval;
+  }
+
+  // ============================================================
+  // Constant folding
+  // ============================================================
+
+  /**
+   * Determine if the expression always produces the same result, regardless of
+   * the dynamic context and focus.
+   *
+   * @param expr
+   *          the expression to check
+   * @return {@code true} if the expression is constant, or {@code false}
+   *         otherwise
+   */
+  private static boolean isConstant(@NonNull IExpression expr) {
+    boolean retval;
+    if (expr instanceof ILiteralExpression) {
+      retval = true;
+    } else if (expr instanceof AbstractArithmeticExpression || expr instanceof Negate
+        || expr instanceof StringConcat) {
+      retval = areConstant(expr.getChildren());
+    } else if (expr instanceof StaticFunctionCall) {
+      IFunction function = getFunction((StaticFunctionCall) expr);
+      retval = function != null
+          && function.isDeterministic()
+          && !function.isContextDepenent()
+          && !function.isFocusDependent()
+          && areConstant(expr.getChildren());
+    } else {
+      retval = false;
+    }
+    return retval;
+  }
+
+  private static boolean areConstant(@NonNull List<? extends IExpression> exprs) {
+    return exprs.stream().allMatch(child -> {
+      assert child != null;
+      return isConstant(child);
+    });
+  }
+
+  @Nullable
+  private static IFunction getFunction(@NonNull StaticFunctionCall call) {
+    IFunction retval;
+    try {
+      retval = call.getFunction();
+    } catch (MetapathException ex) {
+      // leave the error to be reported during evaluation
+      retval = null;
+    }
+    return retval;
+  }
+
+  /**
+   * Evaluate a constant expression.
+   *
+   * @param expr
+   *          the constant expression
+   * @return the result, or {@code null} if the evaluation raised an error
+   */
+  @Nullable
+  private ISequence<?> evaluateConstant(@NonNull IExpression expr) {
+    ISequence<?> retval;
+    try {
+      retval = expr.accept(new DynamicContext(staticContext), ISequence.empty()).reusable();
+    } catch (MetapathException ex) {
+      // leave the error to be reported during evaluation
+      retval = null;
+    }
+    return retval;
+  }
+
+  /**
+   * Replace a constant expression with a literal representing its result, if the
+   * result can be represented as a literal.
+   *
+   * @param expr
+   *          the constant expression
+   * @return the literal, or the provided expression if it cannot be folded
+   */
+  @NonNull
+  private IExpression fold(@NonNull IExpression expr) {
+    ISequence<?> result = expr instanceof ILiteralExpression ? null : evaluateConstant(expr);
+
+    IExpression retval = expr;
+    if (result != null) {
+      String text = expr.getText();
+      if (result.isEmpty()) {
+        retval = EmptySequence.instance();
+      } else if (result.size() == 1) {
+        IItem item = result.getFirstItem(true);
+        if (item instanceof IBooleanItem) {
+          retval = newBooleanCall(text, ((IBooleanItem) item).toBoolean());
+        } else if (item instanceof IIntegerItem && IIntegerItem.type().equals(item.getType())) {
+          retval = new IntegerLiteral(text, ((IIntegerItem) item).asInteger());
+        } else if (item instanceof IDecimalItem && IDecimalItem.type().equals(item.getType())) {
+          retval = new DecimalLiteral(text, ((INumericItem) item).asDecimal());
+        } else if (item instanceof IStringItem && IStringItem.type().equals(item.getType())) {
+          // the literal removes the enclosing quotes
+          retval = new StringLiteral(text, "'" + ((IStringItem) item).asString() + "'");
+        }
+      }
+    }
+    return retval;
+  }
+
+  @NonNull
+  private static StaticFunctionCall newBooleanCall(@NonNull String text, boolean value) {
+    IEnhancedQName name = value ? FN_TRUE : FN_FALSE;
+    return new StaticFunctionCall(
+        text,
+        () -> StaticContext.lookupFunction(name, 0),
+        CollectionUtil.emptyList());
+  }
+
+  /**
+   * Get the effective boolean value of a constant expression.
+   *
+   * @param expr
+   *          the expression
+   * @return the effective boolean value, or {@code null} if the expression is not
+   *         constant or its value could not be determined
+   */
+  @Nullable
+  private Boolean getConstantBoolean(@NonNull IExpression expr) {
+    Boolean retval = null;
+    if (isConstant(expr)) {
+      ISequence<?> result = evaluateConstant(expr);
+      if (result != null) {
+        try {
+          retval = FnBoolean.fnBooleanAsPrimitive(result);
+        } catch (MetapathException ex) {
+          // no effective boolean value
+          retval = null;
+        }
+      }
+    }
+    return retval;
+  }
+
+  /**
+   * Determine if the expression always produces a single boolean.
+   *
+   * @param expr
+   *          the expression
+   * @return {@code true} if the expression produces a single boolean, or
+   *         {@code false} otherwise
+   */
+  private static boolean isSingleBoolean(@NonNull IExpression expr) {
+    boolean retval;
+    if (expr instanceof And || expr instanceof Or || expr instanceof GeneralComparison) {
+      retval = true;
+    } else if (expr instanceof StaticFunctionCall) {
+      IFunction function = getFunction((StaticFunctionCall) expr);
+      retval = function != null
+          && IBooleanItem.class.equals(function.getResult().getType().getItemClass())
+          && Occurrence.ONE.equals(function.getResult().getOccurrence());
+    } else {
+      retval = false;
+    }
+    return retval;
+  }
+
+  /**
+   * Remove a {@code boolean()} call from an expression used where only its
+   * effective boolean value matters.
+   *
+   * @param expr
+   *          the expression
+   * @return the argument of the call, or the provided expression if it is not a
+   *         {@code boolean()} call
+   */
+  @NonNull
+  private static IExpression unwrapBoolean(@NonNull IExpression expr) {
+    IExpression retval = expr;
+    if (isFunction(expr, FN_BOOLEAN, 1)) {
+      retval = ObjectUtils.notNull(expr.getChildren().get(0));
+    }
+    return retval;
+  }
+
+  private static boolean isFunction(@NonNull IExpression expr, @NonNull IEnhancedQName name, int arity) {
+    boolean retval = false;
+    if (expr instanceof StaticFunctionCall && expr.getChildren().size() == arity) {
+      IFunction function = getFunction((StaticFunctionCall) expr);
+      retval = function != null && name.equals(function.getQName());
+    }
+    return retval;
+  }
+
+  // ============================================================
+  // Node rewrites
+  // ============================================================
+
+  @NonNull
+  private IExpression rewriteOperation(@NonNull IExpression expr) {
+    List<IExpression> children = rewriteChildren(expr);
+
+    IExpression retval = expr;
+    if (!isSame(children, expr)) {
+      String text = expr.getText();
+      if (expr instanceof Addition) {
+        retval = new Addition(text, children.get(0), children.get(1));
+      } else if (expr instanceof Subtraction) {
+        retval = new Subtraction(text, children.get(0), children.get(1));
+      } else if (expr instanceof Multiplication) {
+        retval = new Multiplication(text, children.get(0), children.get(1));
+      } else if (expr instanceof Division) {
+        retval = new Division(text, children.get(0), children.get(1));
+      } else if (expr instanceof IntegerDivision) {
+        retval = new IntegerDivision(text, children.get(0), children.get(1));
+      } else if (expr instanceof Modulo) {
+        retval = new Modulo(text, children.get(0), children.get(1));
+      } else if (expr instanceof Negate) {
+        retval = new Negate(text, children.get(0));
+      } else if (expr instanceof StringConcat) {
+        retval = new StringConcat(text, children);
+      }
+    }
+    return isConstant(retval) ? fold(retval) : retval;
+  }
+
+  @NonNull
+  private IExpression rewriteFunctionCall(@NonNull StaticFunctionCall call) {
+    List<IExpression> arguments = rewriteChildren(call);
+
+    IExpression retval = call;
+    if (!isSame(arguments, call)) {
+      retval = new StaticFunctionCall(
+          call.getText(),
+          call::getFunction,
+          CollectionUtil.unmodifiableList(arguments));
+    }
+
+    if (isFunction(retval, FN_BOOLEAN, 1) && isSingleBoolean(ObjectUtils.notNull(arguments.get(0)))) {
+      // boolean(exists(x)) is exists(x)
+      retval = ObjectUtils.notNull(arguments.get(0));
+    } else if (!arguments.isEmpty() && isConstant(retval)) {
+      // calls without arguments, like true(), are left as they are
+      retval = fold(retval);
+    }
+    return retval;
+  }
+
+  @NonNull
+  private IExpression rewriteComparison(@NonNull AbstractComparison comparison) {
+    List<IExpression> children = rewriteChildren(comparison);
+
+    IExpression retval = comparison;
+    if (!isSame(children, comparison)) {
+      retval = comparison instanceof GeneralComparison
+          ? new GeneralComparison(comparison.getText(), children.get(0), comparison.getOperator(), children.get(1))
+          : new ValueComparison(comparison.getText(), children.get(0), comparison.getOperator(), children.get(1));
+    }
+    return areConstant(children) ? fold(retval) : retval;
+  }
+
+  @NonNull
+  private IExpression rewriteAnd(@NonNull And and) {
+    List<IExpression> operands = new ArrayList<>();
+    for (IExpression child : and.getChildren()) {
+      assert child != null;
+      IExpression operand = unwrapBoolean(rewrite(child));
+      Boolean value = getConstantBoolean(operand);
+      if (value == null) {
+        operands.add(operand);
+      } else if (!value) {
+        // the result is false regardless of the other operands
+        return newBooleanCall(and.getText(), false); // NOPMD - readability
+      }
+      // a true operand has no effect
+    }
+    return newLogicExpression(and, operands, true);
+  }
+
+  @NonNull
+  private IExpression rewriteOr(@NonNull Or or) {
+    List<IExpression> operands = new ArrayList<>();
+    for (IExpression child : or.getChildren()) {
+      assert child != null;
+      IExpression operand = unwrapBoolean(rewrite(child));
+      Boolean value = getConstantBoolean(operand);
+      if (value == null) {
+        operands.add(operand);
+      } else if (value) {
+        // the result is true regardless of the other operands
+        return newBooleanCall(or.getText(), true); // NOPMD - readability
+      }
+      // a false operand has no effect
+    }
+    return newLogicExpression(or, operands, false);
+  }
+
+  @NonNull
+  private IExpression newLogicExpression(
+      @NonNull IExpression original,
+      @NonNull List<IExpression> operands,
+      boolean isAnd) {
+    IExpression retval;
+    if (operands.isEmpty()) {
+      // every operand was the identity value
+      retval = newBooleanCall(original.getText(), isAnd);
+    } else if (operands.size() == 1 && isSingleBoolean(ObjectUtils.notNull(operands.get(0)))) {
+      retval = ObjectUtils.notNull(operands.get(0));
+    } else if (isSame(operands, original)) {
+      retval = original;
+    } else {
+      List<IExpression> children = CollectionUtil.unmodifiableList(operands);
+      retval = isAnd
+          ? new And(original.getText(), children)
+          : new Or(original.getText(), children);
+    }
+    return retval;
+  }
+
+  @NonNull
+  private IExpression rewriteIf(@NonNull If expr) {
+    List<IExpression> children = rewriteChildren(expr);
+    IExpression test = unwrapBoolean(ObjectUtils.notNull(children.get(0)));
+    IExpression thenExpr = ObjectUtils.notNull(children.get(1));
+    IExpression elseExpr = ObjectUtils.notNull(children.get(2));
+
+    Boolean value = getConstantBoolean(test);
+
+    IExpression retval;
+    if (value != null) {
+      retval = value ? thenExpr : elseExpr;
+    } else if (test == expr.getChildren().get(0) && isSame(children, expr)) {
+      retval = expr;
+    } else {
+      retval = new If(expr.getText(), test, thenExpr, elseExpr);
+    }
+    return retval;
+  }
+
+  @NonNull
+  private IExpression rewritePredicate(@NonNull PredicateExpression expr) {
+    IExpression base = rewrite(expr.getBase());
+
+    List<IExpression> predicates = new ArrayList<>(expr.getPredicates().size());
+    for (IExpression predicate : expr.getPredicates()) {
+      assert predicate != null;
+      IExpression rewritten = rewrite(predicate);
+      // only a boolean true can be removed, since a numeric value is positional
+      if (!isConstantTrue(rewritten)) {
+        predicates.add(rewritten);
+      }
+    }
+
+    IExpression retval;
+    if (predicates.isEmpty()) {
+      retval = base;
+    } else if (base == expr.getBase() && predicates.equals(expr.getPredicates())) {
+      retval = expr;
+    } else {
+      retval = new PredicateExpression(expr.getText(), base, CollectionUtil.unmodifiableList(predicates));
+    }
+    return retval;
+  }
+
+  private boolean isConstantTrue(@NonNull IExpression expr) {
+    boolean retval = false;
+    if (isConstant(expr)) {
+      ISequence<?> result = evaluateConstant(expr);
+      retval = result != null
+          && result.size() == 1
+          && IBooleanItem.TRUE.equals(result.getFirstItem(true));
+    }
+    return retval;
+  }
+
+  @NonNull
+  private IExpression rewriteRelativeSlashPath(@NonNull RelativeSlashPath expr) {
+    IExpression left = rewrite(expr.getLeft());
+    IExpression right = rewrite(expr.getRight());
+
+    IExpression retval;
+    if (right instanceof ContextItem) {
+      // x/. selects the same items as x
+      retval = left;
+    } else if (left instanceof ContextItem && isStep(right)) {
+      // ./x selects the same items as x
+      retval = right;
+    } else if (left == expr.getLeft() && right == expr.getRight()) {
+      retval = expr;
+    } else {
+      retval = new RelativeSlashPath(expr.getText(), left, right);
+    }
+    return retval;
+  }
+
+  private static boolean isStep(@NonNull IExpression expr) {
+    return expr instanceof FlagStep
+        || expr instanceof ModelInstanceStep
+        || expr instanceof Step
+        || expr instanceof AbstractRelativePathExpression;
+  }
+}
@@ -77,6 +77,22 @@ public final class CSTPrinter {
     return new CSTPrinterVisitor().visit(expr);
   }
 
+  /**
+   * Generate a string representation of a CST tree before and after it was
+   * rewritten by the {@link CSTOptimizer}.
+   *
+   * @param original
+   *          the tree produced by the {@link BuildCSTVisitor}
+   * @param optimized
+   *          the tree produced by the {@link CSTOptimizer}
+   * @return a string representation of both CST graphs
+   */
+  public static String toString(@NonNull IExpression original, @NonNull IExpression optimized) {
+    return String.format("Before optimization:%n%s%nAfter optimization:%n%s",
+        toString(original),
+        original == optimized ? "(unchanged)" : toString(optimized));
+  }
+
   @SuppressWarnings("PMD.ExcessivePublicCount")
   private static final class CSTPrinterVisitor
       extends AbstractExpressionVisitor<String, State> {
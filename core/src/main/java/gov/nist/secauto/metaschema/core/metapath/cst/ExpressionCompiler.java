@@ -0,0 +1,406 @@
+/*
+ * SPDX-FileCopyrightText: none
+ * SPDX-License-Identifier: CC0-1.0
+ */
+
+package gov.nist.secauto.metaschema.core.metapath.cst;
+
+import gov.nist.secauto.metaschema.core.metapath.IExpression;
+import gov.nist.secauto.metaschema.core.metapath.MetapathConstants;
+import gov.nist.secauto.metaschema.core.metapath.StaticMetapathException;
+import gov.nist.secauto.metaschema.core.metapath.cst.items.ILiteralExpression;
+import gov.nist.secauto.metaschema.core.metapath.cst.items.IntegerLiteral;
+import gov.nist.secauto.metaschema.core.metapath.cst.logic.AbstractComparison;
+import gov.nist.secauto.metaschema.core.metapath.cst.logic.GeneralComparison;
+import gov.nist.secauto.metaschema.core.metapath.cst.logic.ValueComparison;
+import gov.nist.secauto.metaschema.core.metapath.cst.path.ContextItem;
+import gov.nist.secauto.metaschema.core.metapath.cst.path.FlagStep;
+import gov.nist.secauto.metaschema.core.metapath.cst.path.ModelInstanceStep;
+import gov.nist.secauto.metaschema.core.metapath.cst.path.NameNodeTest;
+import gov.nist.secauto.metaschema.core.metapath.cst.path.RelativeSlashPath;
+import gov.nist.secauto.metaschema.core.metapath.function.ComparisonFunctions;
+import gov.nist.secauto.metaschema.core.metapath.function.IFunction;
+import gov.nist.secauto.metaschema.core.metapath.item.IItem;
+import gov.nist.secauto.metaschema.core.metapath.item.ISequence;
+import gov.nist.secauto.metaschema.core.metapath.item.atomic.IAnyAtomicItem;
+import gov.nist.secauto.metaschema.core.metapath.item.atomic.IBooleanItem;
+import gov.nist.secauto.metaschema.core.metapath.item.node.IFlagNodeItem;
+import gov.nist.secauto.metaschema.core.metapath.item.node.INodeItem;
+import gov.nist.secauto.metaschema.core.qname.IEnhancedQName;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import edu.umd.cs.findbugs.annotations.NonNull;
+import edu.umd.cs.findbugs.annotations.Nullable;
+
+/**
+ * Compiles common shapes of Metapath compact syntax tree (CST) into specialized
+ * evaluators, which avoid the sequence and stream handling performed when
+ * interpreting the CST.
+ * <p>
+ * The following shapes are supported:
+ * <ul>
+ * <li>Simple paths, like {@code a/b/@c}, consisting of the context item and
+ * child or flag steps using a name test.</li>
+ * <li>General and value comparisons between a simple path ending in a flag step
+ * and a literal, like {@code @name = 'x'}.</li>
+ * <li>Comparisons of the count of a simple path with zero, like
+ * {@code count(x) > 0}, which are evaluated as an existence check.</li>
+ * </ul>
+ * <p>
+ * A compiled expression produces the same result as the interpreter. When the
+ * focus of an evaluation is not supported by a compiled expression, no result
+ * is produced and the CST must be interpreted instead.
+ */
+public final class ExpressionCompiler {
+  @NonNull
+  private static final IEnhancedQName FN_COUNT = IEnhancedQName.of(MetapathConstants.NS_METAPATH_FUNCTIONS, "count");
+
+  /**
+   * An evaluator for a compiled expression.
+   */
+  @FunctionalInterface
+  public interface ICompiledExpression {
+    /**
+     * Evaluate the compiled expression against the provided focus.
+     *
+     * @param focus
+     *          the focus of the evaluation
+     * @return the result of the evaluation, or {@code null} if the focus is not
+     *         supported and the expression must be interpreted instead
+     */
+    @Nullable
+    ISequence<?> evaluate(@Nullable IItem focus);
+  }
+
+  /**
+   * A compiled simple path, which is evaluated against a single node.
+   */
+  private interface IPath {
+    /**
+     * Add the nodes selected by the path to the provided results.
+     *
+     * @param focus
+     *          the node to evaluate the path against
+     * @param results
+     *          the list to add the selected nodes to, in order
+     */
+    void collect(@NonNull INodeItem focus, @NonNull List<INodeItem> results);
+
+    /**
+     * Determine if the path selects at least one node.
+     *
+     * @param focus
+     *          the node to evaluate the path against
+     * @return {@code true} if a node is selected, or {@code false} otherwise
+     */
+    boolean exists(@NonNull INodeItem focus);
+  }
+
+  private ExpressionCompiler() {
+    // disable construction
+  }
+
+  /**
+   * Compile the provided expression into a specialized evaluator.
+   *
+   * @param expr
+   *          the expression to compile
+   * @return the compiled expression, or {@code null} if the expression's shape
+   *         is not supported
+   */
+  @Nullable
+  public static ICompiledExpression compile(@NonNull IExpression expr) {
+    ICompiledExpression retval = null;
+    if (expr instanceof GeneralComparison || expr instanceof ValueComparison) {
+      AbstractComparison comparison = (AbstractComparison) expr;
+      retval = compileCountComparison(comparison);
+      if (retval == null) {
+        retval = compileFlagComparison(comparison);
+      }
+    } else {
+      IPath path = compilePath(expr);
+      if (path != null) {
+        retval = focus -> {
+          ISequence<?> result = null;
+          if (focus instanceof INodeItem) {
+            List<INodeItem> nodes = new ArrayList<>();
+            path.collect((INodeItem) focus, nodes);
+            result = ISequence.ofCollection(nodes);
+          }
+          return result;
+        };
+      }
+    }
+    return retval;
+  }
+
+  /**
+   * Compile a simple path.
+   *
+   * @param expr
+   *          the path expression
+   * @return the compiled path, or {@code null} if the expression is not a simple
+   *         path
+   */
+  @Nullable
+  private static IPath compilePath(@NonNull IExpression expr) {
+    IPath retval = null;
+    if (expr instanceof ContextItem) {
+      retval = new ContextItemPath();
+    } else if (expr instanceof ModelInstanceStep) {
+      IEnhancedQName name = getName((ModelInstanceStep) expr);
+      if (name != null) {
+        retval = new ModelInstanceStepPath(name);
+      }
+    } else if (expr instanceof FlagStep) {
+      IEnhancedQName name = getName((FlagStep) expr);
+      if (name != null) {
+        retval = new FlagStepPath(name);
+      }
+    } else if (expr instanceof RelativeSlashPath) {
+      RelativeSlashPath slashPath = (RelativeSlashPath) expr;
+      IPath left = compilePath(slashPath.getLeft());
+      IPath right = left == null ? null : compilePath(slashPath.getRight());
+      if (right != null) {
+        retval = new RelativePath(left, right);
+      }
+    }
+    return retval;
+  }
+
+  @Nullable
+  private static IEnhancedQName getName(@NonNull FlagStep step) {
+    return step.getTest() instanceof NameNodeTest ? ((NameNodeTest) step.getTest()).getName() : null;
+  }
+
+  @Nullable
+  private static IEnhancedQName getName(@NonNull ModelInstanceStep step) {
+    return step.getTest() instanceof NameNodeTest ? ((NameNodeTest) step.getTest()).getName() : null;
+  }
+
+  /**
+   * Compile a comparison of the count of a simple path with zero, like
+   * {@code count(x) > 0} or {@code count(x) = 0}.
+   *
+   * @param comparison
+   *          the comparison expression
+   * @return the compiled expression, or {@code null} if the comparison does not
+   *         have this shape
+   */
+  @Nullable
+  private static ICompiledExpression compileCountComparison(@NonNull AbstractComparison comparison) {
+    IPath path = comparison.getLeft() instanceof StaticFunctionCall
+        ? compileCountArgument((StaticFunctionCall) comparison.getLeft())
+        : null;
+    if (path == null
+        || !(comparison.getRight() instanceof IntegerLiteral)
+        || ((IntegerLiteral) comparison.getRight()).getValue().asInteger().signum() != 0) {
+      return null; // NOPMD - readability
+    }
+
+    boolean expectExists;
+    switch (comparison.getOperator()) {
+    case GT:
+    case NE:
+      expectExists = true;
+      break;
+    case EQ:
+    case LE:
+      expectExists = false;
+      break;
+    default:
+      return null; // NOPMD - readability
+    }
+
+    return focus -> focus instanceof INodeItem
+        ? ISequence.of(IBooleanItem.valueOf(path.exists((INodeItem) focus) == expectExists))
+        : null;
+  }
+
+  @Nullable
+  private static IPath compileCountArgument(@NonNull StaticFunctionCall call) {
+    IFunction function;
+    try {
+      function = call.getFunction();
+    } catch (StaticMetapathException ex) {
+      // leave the error to be reported by the interpreter
+      return null; // NOPMD - readability
+    }
+    return FN_COUNT.equals(function.getQName()) && call.getChildren().size() == 1
+        ? compilePath(call.getChildren().get(0))
+        : null;
+  }
+
+  /**
+   * Compile a comparison between a simple path ending in a flag step and a
+   * literal, like {@code @name = 'x'}.
+   *
+   * @param comparison
+   *          the comparison expression
+   * @return the compiled expression, or {@code null} if the comparison does not
+   *         have this shape
+   */
+  @Nullable
+  private static ICompiledExpression compileFlagComparison(@NonNull AbstractComparison comparison) {
+    IExpression left = comparison.getLeft();
+    IExpression right = comparison.getRight();
+
+    ICompiledExpression retval = null;
+    if (right instanceof ILiteralExpression && isFlagPath(left)) {
+      IPath path = compilePath(left);
+      if (path != null) {
+        retval = newFlagComparison(
+            path,
+            comparison,
+            ((ILiteralExpression<?>) right).getValue(),
+            true);
+      }
+    } else if (left instanceof ILiteralExpression && isFlagPath(right)) {
+      IPath path = compilePath(right);
+      if (path != null) {
+        retval = newFlagComparison(
+            path,
+            comparison,
+            ((ILiteralExpression<?>) left).getValue(),
+            false);
+      }
+    }
+    return retval;
+  }
+
+  private static boolean isFlagPath(@NonNull IExpression expr) {
+    return expr instanceof FlagStep
+        || expr instanceof RelativeSlashPath && isFlagPath(((RelativeSlashPath) expr).getRight());
+  }
+
+  @NonNull
+  private static ICompiledExpression newFlagComparison(
+      @NonNull IPath path,
+      @NonNull AbstractComparison comparison,
+      @NonNull IAnyAtomicItem literal,
+      boolean flagOnLeft) {
+    ComparisonFunctions.Operator operator = comparison.getOperator();
+    ISequence<IAnyAtomicItem> literalSequence = ISequence.of(literal);
+    boolean general = comparison instanceof GeneralComparison;
+
+    return focus -> {
+      if (!(focus instanceof INodeItem)) {
+        return null; // NOPMD - readability
+      }
+
+      List<INodeItem> flags = new ArrayList<>();
+      path.collect((INodeItem) focus, flags);
+
+      ISequence<? extends IBooleanItem> retval;
+      if (general) {
+        // match the interpreter by comparing every flag value
+        IBooleanItem result = IBooleanItem.FALSE;
+        for (INodeItem flag : flags) {
+          ISequence<IAnyAtomicItem> value = ISequence.of(flag.toAtomicItem());
+          IBooleanItem match = flagOnLeft
+              ? ComparisonFunctions.generalComparison(value, operator, literalSequence)
+              : ComparisonFunctions.generalComparison(literalSequence, operator, value);
+          if (IBooleanItem.TRUE.equals(match)) {
+            result = IBooleanItem.TRUE;
+          }
+        }
+        retval = ISequence.of(result);
+      } else if (flags.isEmpty()) {
+        retval = ISequence.empty();
+      } else {
+        IAnyAtomicItem value = flags.get(0).toAtomicItem();
+        retval = ISequence.of(flagOnLeft
+            ? ComparisonFunctions.valueCompairison(value, operator, literal)
+            : ComparisonFunctions.valueCompairison(literal, operator, value));
+      }
+      return retval;
+    };
+  }
+
+  private static final class ContextItemPath implements IPath {
+    @Override
+    public void collect(INodeItem focus, List<INodeItem> results) {
+      results.add(focus);
+    }
+
+    @Override
+    public boolean exists(INodeItem focus) {
+      return true;
+    }
+  }
+
+  private static final class ModelInstanceStepPath implements IPath {
+    @NonNull
+    private final IEnhancedQName name;
+
+    private ModelInstanceStepPath(@NonNull IEnhancedQName name) {
+      this.name = name;
+    }
+
+    @Override
+    public void collect(INodeItem focus, List<INodeItem> results) {
+      results.addAll(focus.getModelItemsByName(name));
+    }
+
+    @Override
+    public boolean exists(INodeItem focus) {
+      return !focus.getModelItemsByName(name).isEmpty();
+    }
+  }
+
+  private static final class FlagStepPath implements IPath {
+    @NonNull
+    private final IEnhancedQName name;
+
+    private FlagStepPath(@NonNull IEnhancedQName name) {
+      this.name = name;
+    }
+
+    @Override
+    public void collect(INodeItem focus, List<INodeItem> results) {
+      IFlagNodeItem flag = focus.getFlagByName(name);
+      if (flag != null) {
+        results.add(flag);
+      }
+    }
+
+    @Override
+    public boolean exists(INodeItem focus) {
+      return focus.getFlagByName(name) != null;
+    }
+  }
+
+  private static final class RelativePath implements IPath {
+    @NonNull
+    private final IPath left;
+    @NonNull
+    private final IPath right;
+
+    private RelativePath(@NonNull IPath left, @NonNull IPath right) {
+      this.left = left;
+      this.right = right;
+    }
+
+    @Override
+    public void collect(INodeItem focus, List<INodeItem> results) {
+      List<INodeItem> nodes = new ArrayList<>();
+      left.collect(focus, nodes);
+      for (INodeItem node : nodes) {
+        assert node != null;
+        right.collect(node, results);
+      }
+    }
+
+    @Override
+    public boolean exists(INodeItem focus) {
+      List<INodeItem> nodes = new ArrayList<>();
+      left.collect(focus, nodes);
+      return nodes.stream().anyMatch(node -> {
+        assert node != null;
+        return right.exists(node);
+      });
+    }
+  }
+}
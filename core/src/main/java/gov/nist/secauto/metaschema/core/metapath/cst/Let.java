@@ -148,9 +148,10 @@ public class Let
         @NonNull ISequence<?> focus,
         @NonNull DynamicContext boundDynamicContext) {
 
-      ISequence<?> result = getBoundExpression().accept(evaluationDynamicContext, focus)
-          // ensure this sequence is list backed
-          .reusable();
+      // the bound value is shared by each reference to the variable, so it must be
+      // fully evaluated
+      ISequence<?> result = ISequence.ofCollection(
+          getBoundExpression().accept(evaluationDynamicContext, focus).getValue());
       boundDynamicContext.bindVariableValue(getName(), result);
     }
   }
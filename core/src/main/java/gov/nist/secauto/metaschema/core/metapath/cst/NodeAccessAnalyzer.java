@@ -0,0 +1,221 @@
+/*
+ * SPDX-FileCopyrightText: none
+ * SPDX-License-Identifier: CC0-1.0
+ */
+
+package gov.nist.secauto.metaschema.core.metapath.cst;
+
+import gov.nist.secauto.metaschema.core.metapath.IExpression;
+import gov.nist.secauto.metaschema.core.metapath.IMetapathExpression.NodeAccess;
+import gov.nist.secauto.metaschema.core.metapath.MetapathConstants;
+import gov.nist.secauto.metaschema.core.metapath.cst.items.Quantified;
+import gov.nist.secauto.metaschema.core.metapath.cst.path.FlagStep;
+import gov.nist.secauto.metaschema.core.metapath.cst.path.ModelInstanceStep;
+import gov.nist.secauto.metaschema.core.metapath.cst.path.RootDoubleSlashPath;
+import gov.nist.secauto.metaschema.core.metapath.cst.path.RootSlashOnlyPath;
+import gov.nist.secauto.metaschema.core.metapath.cst.path.RootSlashPath;
+import gov.nist.secauto.metaschema.core.metapath.cst.path.Step;
+import gov.nist.secauto.metaschema.core.metapath.function.IFunction;
+import gov.nist.secauto.metaschema.core.qname.IEnhancedQName;
+import gov.nist.secauto.metaschema.core.util.CollectionUtil;
+import gov.nist.secauto.metaschema.core.util.ObjectUtils;
+
+import java.util.HashSet;
+import java.util.Map;
+import java.util.Set;
+
+import edu.umd.cs.findbugs.annotations.NonNull;
+
+/**
+ * Performs a conservative static analysis of a Metapath compact syntax tree
+ * (CST) to determine the extent of a document that may be accessed when the
+ * expression is evaluated relative to a focus node.
+ */
+public final class NodeAccessAnalyzer {
+  /**
+   * Functions that access nodes outside of the focus node's subtree, regardless
+   * of their arguments.
+   */
+  @NonNull
+  private static final Set<String> NON_LOCAL_FUNCTIONS = CollectionUtil.unmodifiableSet(ObjectUtils.notNull(
+      Set.of("root", "doc", "doc-available", "recurse-depth")));
+
+  private NodeAccessAnalyzer() {
+    // disable construction
+  }
+
+  /**
+   * Determine the extent of a document that may be accessed when evaluating the
+   * provided expression.
+   *
+   * @param expr
+   *          the expression to analyze
+   * @return the node access
+   */
+  @NonNull
+  public static NodeAccess analyze(@NonNull IExpression expr) {
+    return ObjectUtils.notNull(new Visitor().visit(expr, CollectionUtil.emptySet()));
+  }
+
+  private static final class Visitor
+      extends AbstractExpressionVisitor<NodeAccess, Set<IEnhancedQName>> {
+
+    @Override
+    protected NodeAccess defaultResult() {
+      return NodeAccess.FOCUS;
+    }
+
+    @Override
+    protected NodeAccess aggregateResult(
+        NodeAccess result,
+        NodeAccess nextResult,
+        Set<IEnhancedQName> context) {
+      return ObjectUtils.notNull(result).combine(ObjectUtils.notNull(nextResult));
+    }
+
+    @Override
+    protected boolean shouldVisitNextChild(
+        IExpression parent,
+        IExpression child,
+        NodeAccess result,
+        Set<IEnhancedQName> context) {
+      // no need to continue once the least restrictive access is reached
+      return result != NodeAccess.DOCUMENT;
+    }
+
+    @NonNull
+    private static Set<IEnhancedQName> bind(
+        @NonNull Set<IEnhancedQName> context,
+        @NonNull IEnhancedQName name) {
+      Set<IEnhancedQName> retval = new HashSet<>(context);
+      retval.add(name);
+      return retval;
+    }
+
+    @Override
+    public NodeAccess visitStep(Step expr, Set<IEnhancedQName> context) {
+      NodeAccess retval;
+      switch (expr.getAxis()) {
+      case SELF:
+      case FLAG:
+        retval = NodeAccess.FOCUS;
+        break;
+      case CHILDREN:
+      case DESCENDANT:
+      case DESCENDANT_OR_SELF:
+        retval = NodeAccess.SUBTREE;
+        break;
+      default:
+        // parent, ancestor, sibling, preceding, and following axes
+        return NodeAccess.DOCUMENT;
+      }
+      return retval.combine(ObjectUtils.notNull(visitChildren(expr, context)));
+    }
+
+    @Override
+    public NodeAccess visitFlagStep(FlagStep expr, Set<IEnhancedQName> context) {
+      return visitChildren(expr, context);
+    }
+
+    @Override
+    public NodeAccess visitModelInstanceStep(ModelInstanceStep expr, Set<IEnhancedQName> context) {
+      return NodeAccess.SUBTREE.combine(ObjectUtils.notNull(visitChildren(expr, context)));
+    }
+
+    @Override
+    public NodeAccess visitRootDoubleSlashPath(RootDoubleSlashPath expr, Set<IEnhancedQName> context) {
+      return NodeAccess.DOCUMENT;
+    }
+
+    @Override
+    public NodeAccess visitRootSlashOnlyPath(RootSlashOnlyPath expr, Set<IEnhancedQName> context) {
+      return NodeAccess.DOCUMENT;
+    }
+
+    @Override
+    public NodeAccess visitRootSlashPath(RootSlashPath expr, Set<IEnhancedQName> context) {
+      return NodeAccess.DOCUMENT;
+    }
+
+    @Override
+    public NodeAccess visitStaticFunctionCall(StaticFunctionCall expr, Set<IEnhancedQName> context) {
+      IFunction function = expr.getFunction();
+      IEnhancedQName qname = function.getQName();
+
+      NodeAccess retval;
+      if (MetapathConstants.NS_METAPATH_FUNCTIONS.equals(qname.getNamespace())
+          && NON_LOCAL_FUNCTIONS.contains(qname.getLocalName())) {
+        retval = NodeAccess.DOCUMENT;
+      } else {
+        // focus dependent functions, like fn:has-children(), may access the focus
+        // node's children
+        retval = function.isFocusDependent() ? NodeAccess.SUBTREE : NodeAccess.FOCUS;
+        retval = retval.combine(ObjectUtils.notNull(visitChildren(expr, context)));
+      }
+      return retval;
+    }
+
+    @Override
+    public NodeAccess visitDynamicFunctionCall(DynamicFunctionCall expr, Set<IEnhancedQName> context) {
+      // the function called cannot be determined statically
+      return NodeAccess.DOCUMENT;
+    }
+
+    @Override
+    public NodeAccess visitAnonymousFunctionCall(AnonymousFunctionCall expr, Set<IEnhancedQName> context) {
+      return NodeAccess.DOCUMENT;
+    }
+
+    @Override
+    public NodeAccess visitNamedFunctionReference(NamedFunctionReference expr, Set<IEnhancedQName> context) {
+      return NodeAccess.DOCUMENT;
+    }
+
+    @Override
+    public NodeAccess visitFunctionCallAccessor(FunctionCallAccessor expr, Set<IEnhancedQName> context) {
+      return NodeAccess.DOCUMENT;
+    }
+
+    @Override
+    public NodeAccess visitVariableReference(VariableReference expr, Set<IEnhancedQName> context) {
+      // variables bound outside of the expression may refer to any node
+      return context.contains(expr.getName()) ? NodeAccess.FOCUS : NodeAccess.DOCUMENT;
+    }
+
+    @Override
+    public NodeAccess visitLet(Let expr, Set<IEnhancedQName> context) {
+      Let.VariableDeclaration variable = expr.getVariable();
+      NodeAccess retval = visit(variable.getBoundExpression(), context);
+      if (retval != NodeAccess.DOCUMENT) {
+        retval = retval.combine(visit(expr.getReturnExpression(), bind(context, variable.getName())));
+      }
+      return retval;
+    }
+
+    @Override
+    public NodeAccess visitFor(For expr, Set<IEnhancedQName> context) {
+      Let.VariableDeclaration variable = expr.getVariable();
+      NodeAccess retval = visit(variable.getBoundExpression(), context);
+      if (retval != NodeAccess.DOCUMENT) {
+        retval = retval.combine(visit(expr.getReturnExpression(), bind(context, variable.getName())));
+      }
+      return retval;
+    }
+
+    @Override
+    public NodeAccess visitQuantified(Quantified expr, Set<IEnhancedQName> context) {
+      NodeAccess retval = NodeAccess.FOCUS;
+      Set<IEnhancedQName> bound = new HashSet<>(context);
+      for (Map.Entry<IEnhancedQName, IExpression> entry : expr.getInClauses().entrySet()) {
+        // each in clause can refer to the variables bound by the previous clauses
+        retval = retval.combine(visit(ObjectUtils.notNull(entry.getValue()), bound));
+        bound.add(entry.getKey());
+      }
+
+      if (retval != NodeAccess.DOCUMENT) {
+        retval = retval.combine(visit(expr.getSatisfies(), bound));
+      }
+      return retval;
+    }
+  }
+}
@@ -141,10 +141,22 @@ public class Quantified
         .collect(Collectors.toMap(Map.Entry::getKey, Map.Entry::getValue, (e1, e2) -> e1, LinkedHashMap::new));
 
     List<IEnhancedQName> clauseKeys = new ArrayList<>(clauses.keySet());
-    List<? extends Collection<? extends IItem>> clauseValues = new ArrayList<>(clauses.values());
+    List<? extends ISequence<? extends IItem>> clauseValues = new ArrayList<>(clauses.values());
+
+    Iterable<List<IItem>> products;
+    if (clauseValues.size() == 1) {
+      // pull the items of a single clause as needed, allowing evaluation to stop
+      // without computing all items
+      ISequence<? extends IItem> values = ObjectUtils.notNull(clauseValues.get(0));
+      products = () -> ObjectUtils.notNull(values.stream()
+          .map(item -> List.<IItem>of(item))
+          .iterator());
+    } else {
+      products = new CartesianProduct<>(clauseValues);
+    }
 
     boolean retval = true;
-    for (List<IItem> product : new CartesianProduct<>(clauseValues)) {
+    for (List<IItem> product : products) {
       DynamicContext subDynamicContext = dynamicContext.subContext();
       for (int idx = 0; idx < product.size(); idx++) {
         IEnhancedQName var = clauseKeys.get(idx);
@@ -41,6 +41,11 @@ public class PredicateExpression
   private final IExpression base;
   @NonNull
   private final List<IExpression> predicates;
+  /**
+   * The number of base items that need to be evaluated, based on the positional
+   * predicates, or {@code -1} if all items need to be evaluated.
+   */
+  private final long positionLimit;
 
   /**
    * Construct a new predicate expression.
@@ -59,6 +64,29 @@ public class PredicateExpression
     super(text);
     this.base = base;
     this.predicates = predicates;
+    this.positionLimit = toPositionLimit(predicates);
+  }
+
+  /**
+   * Determine the number of base items that can match the provided predicates.
+   * <p>
+   * An item can only match if its position is equal to every integer literal
+   * predicate, so items after the smallest such position never match.
+   *
+   * @param predicates
+   *          the predicates to check
+   * @return the number of items to evaluate, or {@code -1} if all items need to
+   *         be evaluated
+   */
+  private static long toPositionLimit(@NonNull List<IExpression> predicates) {
+    return predicates.stream()
+        .filter(IntegerLiteral.class::isInstance)
+        .map(predicate -> ((IntegerLiteral) predicate).getValue().asInteger())
+        .min(BigInteger::compareTo)
+        .map(position -> position.signum() <= 0
+            ? 0L
+            : position.min(BigInteger.valueOf(Long.MAX_VALUE)).longValueExact())
+        .orElse(-1L);
   }
 
   /**
@@ -87,18 +115,47 @@ public class PredicateExpression
         Stream.concat(Stream.of(getBase()), getPredicates().stream()).collect(Collectors.toList()));
   }
 
+  /**
+   * Determine if any of the predicates select items by their position.
+   *
+   * @return {@code true} if a predicate is positional, or {@code false} otherwise
+   */
+  public boolean isPositional() {
+    return positionLimit >= 0;
+  }
+
   @Override
   protected ISequence<?> evaluate(@NonNull DynamicContext dynamicContext,
       @NonNull ISequence<?> focus) {
+    return filter(dynamicContext, getBase().accept(dynamicContext, focus));
+  }
 
-    ISequence<?> retval = getBase().accept(dynamicContext, focus);
+  /**
+   * Filter the provided items using the predicates.
+   *
+   * @param dynamicContext
+   *          the dynamic evaluation context
+   * @param items
+   *          the items to filter, as if they were produced by the base
+   *          expression
+   * @return the items that match all predicates
+   */
+  @NonNull
+  public ISequence<?> filter(@NonNull DynamicContext dynamicContext, @NonNull ISequence<?> items) {
+    ISequence<?> retval = items;
 
     if (dynamicContext.getConfiguration().isFeatureEnabled(MetapathEvaluationFeature.METAPATH_EVALUATE_PREDICATES)) {
       // evaluate the predicates for this step
       AtomicInteger index = new AtomicInteger();
 
+      Stream<? extends IItem> baseStream = retval.stream();
+      if (positionLimit >= 0) {
+        // stop evaluating the base once no later items can match
+        baseStream = baseStream.limit(positionLimit);
+      }
+
       Stream<? extends IItem> stream = ObjectUtils.notNull(
-          retval.stream().map(item -> Map.entry(BigInteger.valueOf(index.incrementAndGet()), item)).filter(entry -> {
+          baseStream.map(item -> Map.entry(BigInteger.valueOf(index.incrementAndGet()), item)).filter(entry -> {
             @SuppressWarnings("null")
             @NonNull
             IItem item = entry.getValue();
@@ -5,13 +5,25 @@
 
 package gov.nist.secauto.metaschema.core.metapath.cst.path;
 
+import gov.nist.secauto.metaschema.core.metapath.DynamicContext;
 import gov.nist.secauto.metaschema.core.metapath.IExpression;
+import gov.nist.secauto.metaschema.core.metapath.MetapathEvaluationFeature;
+import gov.nist.secauto.metaschema.core.metapath.cst.AnonymousFunctionCall;
+import gov.nist.secauto.metaschema.core.metapath.cst.DynamicFunctionCall;
 import gov.nist.secauto.metaschema.core.metapath.cst.ExpressionUtils;
+import gov.nist.secauto.metaschema.core.metapath.cst.StaticFunctionCall;
+import gov.nist.secauto.metaschema.core.metapath.cst.VariableReference;
+import gov.nist.secauto.metaschema.core.metapath.item.IItem;
+import gov.nist.secauto.metaschema.core.metapath.item.ISequence;
+import gov.nist.secauto.metaschema.core.metapath.item.node.IDocumentNodeItem;
 import gov.nist.secauto.metaschema.core.metapath.item.node.INodeItem;
+import gov.nist.secauto.metaschema.core.util.ObjectUtils;
 
 import java.util.List;
 
 import edu.umd.cs.findbugs.annotations.NonNull;
+import edu.umd.cs.findbugs.annotations.Nullable;
+import nl.talsmasoftware.lazy4j.Lazy;
 
 /**
  * A base class for Metapath expressions based on the XPath 3.1
@@ -22,6 +34,14 @@ public abstract class AbstractRootPathExpression
     extends AbstractSearchPathExpression {
   @NonNull
   private final IExpression expression;
+  /**
+   * Indicates if the result of this expression depends only on the document
+   * being queried, allowing the result to be memoized per document.
+   * <p>
+   * This is determined lazily, since static functions are resolved on first use.
+   */
+  @NonNull
+  private final Lazy<Boolean> documentDependentOnly;
 
   /**
    * Construct a new relative path expression of "/expression".
@@ -37,6 +57,7 @@ public abstract class AbstractRootPathExpression
       @NonNull IExpression expression) {
     super(text, ExpressionUtils.analyzeStaticResultType(INodeItem.class, List.of(expression)));
     this.expression = expression;
+    this.documentDependentOnly = ObjectUtils.notNull(Lazy.lazy(() -> isDocumentDependentOnly(expression)));
   }
 
   /**
@@ -54,4 +75,73 @@ public abstract class AbstractRootPathExpression
   public List<? extends IExpression> getChildren() {
     return List.of(expression);
   }
+
+  /**
+   * {@inheritDoc}
+   * <p>
+   * When {@link MetapathEvaluationFeature#METAPATH_MEMOIZE_DOCUMENT_PATHS} is
+   * enabled, the result of an absolute path that does not reference variables
+   * is computed once per document and reused for every later evaluation against
+   * a node in the same document.
+   */
+  @Override
+  public ISequence<?> accept(DynamicContext dynamicContext, ISequence<?> focus) {
+    if (!dynamicContext.getConfiguration().isFeatureEnabled(
+            MetapathEvaluationFeature.METAPATH_MEMOIZE_DOCUMENT_PATHS)
+        || !documentDependentOnly.get()) {
+      return super.accept(dynamicContext, focus);
+    }
+
+    ISequence<?> reusableFocus = focus.reusable();
+    IDocumentNodeItem document = getFocusDocument(reusableFocus);
+    if (document == null) {
+      return super.accept(dynamicContext, reusableFocus);
+    }
+
+    ISequence<?> retval = dynamicContext.getDocumentResult(document, this);
+    if (retval == null) {
+      // the result is shared with concurrent evaluations, so it is collected into a
+      // list rather than being lazily evaluated by whichever evaluation reads it
+      // first
+      retval = ISequence.ofCollection(super.accept(dynamicContext, reusableFocus).getValue());
+      dynamicContext.cacheDocumentResult(document, this, retval);
+    }
+    return retval;
+  }
+
+  @Nullable
+  private static IDocumentNodeItem getFocusDocument(@NonNull ISequence<?> focus) {
+    IDocumentNodeItem retval = null;
+    if (focus.size() == 1) {
+      IItem item = focus.getFirstItem(false);
+      if (item instanceof INodeItem) {
+        retval = getDocument((INodeItem) item);
+      }
+    }
+    return retval;
+  }
+
+  /**
+   * Determine if the result of the provided expression depends only on the
+   * document it is evaluated against.
+   * <p>
+   * Variable references and dynamic function calls may produce different
+   * results for the same document, as may non-deterministic functions.
+   *
+   * @param expression
+   *          the expression to check
+   * @return {@code true} if the result only depends on the document, or
+   *         {@code false} otherwise
+   */
+  private static boolean isDocumentDependentOnly(@NonNull IExpression expression) {
+    if (expression instanceof VariableReference
+        || expression instanceof DynamicFunctionCall
+        || expression instanceof AnonymousFunctionCall
+        || expression instanceof StaticFunctionCall
+            && !((StaticFunctionCall) expression).getFunction().isDeterministic()) {
+      return false;
+    }
+    return expression.getChildren().stream()
+        .allMatch(AbstractRootPathExpression::isDocumentDependentOnly);
+  }
 }
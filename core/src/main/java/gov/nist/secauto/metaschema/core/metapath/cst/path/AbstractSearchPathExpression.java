@@ -7,15 +7,31 @@ package gov.nist.secauto.metaschema.core.metapath.cst.path;
 
 import gov.nist.secauto.metaschema.core.metapath.DynamicContext;
 import gov.nist.secauto.metaschema.core.metapath.IExpression;
+import gov.nist.secauto.metaschema.core.metapath.MetapathEvaluationFeature;
+import gov.nist.secauto.metaschema.core.metapath.cst.logic.PredicateExpression;
+import gov.nist.secauto.metaschema.core.metapath.item.IItem;
 import gov.nist.secauto.metaschema.core.metapath.item.ISequence;
 import gov.nist.secauto.metaschema.core.metapath.item.ItemUtils;
+import gov.nist.secauto.metaschema.core.metapath.item.node.DescendantIndex;
 import gov.nist.secauto.metaschema.core.metapath.item.node.ICycledAssemblyNodeItem;
+import gov.nist.secauto.metaschema.core.metapath.item.node.IDocumentNodeItem;
 import gov.nist.secauto.metaschema.core.metapath.item.node.INodeItem;
+import gov.nist.secauto.metaschema.core.qname.IEnhancedQName;
+import gov.nist.secauto.metaschema.core.util.CollectionUtil;
 import gov.nist.secauto.metaschema.core.util.ObjectUtils;
 
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.function.Supplier;
+import java.util.stream.Collectors;
 import java.util.stream.Stream;
 
 import edu.umd.cs.findbugs.annotations.NonNull;
+import edu.umd.cs.findbugs.annotations.Nullable;
+import nl.talsmasoftware.lazy4j.Lazy;
 
 /**
  * A base class for Metapath expressions based on the XPath 3.1 <a href=
@@ -69,36 +85,232 @@ public abstract class AbstractSearchPathExpression
       @NonNull IExpression expression,
       @NonNull DynamicContext dynamicContext,
       @NonNull ISequence<?> outerFocus) {
-    // ensure the sequence is backed by a list
+    Stream<? extends INodeItem> retval = null;
+    if (dynamicContext.getConfiguration().isFeatureEnabled(MetapathEvaluationFeature.METAPATH_INDEX_DESCENDANTS)) {
+      retval = searchIndex(expression, dynamicContext, outerFocus);
+    }
+    return retval == null ? searchTree(expression, dynamicContext, outerFocus) : retval;
+  }
+
+  /**
+   * Search the descendants of the focus using the descendant index of the
+   * focus's document, if the expression is a name test on the flag or model
+   * axis, optionally followed by non-positional predicates.
+   * <p>
+   * The matches are produced in document order.
+   *
+   * @param expression
+   *          the expression to evaluate
+   * @param dynamicContext
+   *          the evaluation context
+   * @param outerFocus
+   *          the current context node
+   * @return the matching nodes, or {@code null} if the index cannot be used
+   */
+  @SuppressWarnings({ "unchecked", "PMD.OnlyOneReturn" })
+  @Nullable
+  private static Stream<? extends INodeItem> searchIndex(
+      @NonNull IExpression expression,
+      @NonNull DynamicContext dynamicContext,
+      @NonNull ISequence<?> outerFocus) {
+    PredicateExpression predicate = null;
+    IExpression step = expression;
+    if (expression instanceof PredicateExpression && !((PredicateExpression) expression).isPositional()) {
+      predicate = (PredicateExpression) expression;
+      step = predicate.getBase();
+    }
+
+    if (!(step instanceof ModelInstanceStep || step instanceof FlagStep)
+        || !(((AbstractStepExpression<?>) step).getTest() instanceof NameNodeTest)) {
+      return null;
+    }
+    IEnhancedQName name = ((NameNodeTest) ((AbstractStepExpression<?>) step).getTest()).getName();
+    boolean flags = step instanceof FlagStep;
+
+    // every focus node must be part of an indexed document; the focus is reused
+    // if the tree needs to be searched instead
+    List<Map.Entry<DescendantIndex, INodeItem>> targets = new ArrayList<>();
+    for (IItem item : CollectionUtil.toIterable(outerFocus.reusable().stream())) {
+      INodeItem node = ItemUtils.checkItemIsNodeItemForStep(item);
+      IDocumentNodeItem document = getDocument(node);
+      if (document == null) {
+        return null;
+      }
+      DescendantIndex index = dynamicContext.getDescendantIndex(document);
+      if (!index.contains(node)) {
+        return null;
+      }
+      targets.add(Map.entry(index, node));
+    }
+
+    Stream<? extends INodeItem> retval = CollectionUtil.flatMapLazily(targets.stream(), target -> {
+      DescendantIndex index = target.getKey();
+      INodeItem node = ObjectUtils.notNull(target.getValue());
+      Stream<? extends INodeItem> matches = flags
+          ? index.getDescendantFlags(node, name)
+          : index.getDescendantModelItems(node, name);
+      return matches;
+    });
+    if (targets.size() > 1) {
+      // the subtrees of the focus nodes may overlap
+      retval = retval.distinct();
+    }
+    if (predicate != null) {
+      retval = (Stream<? extends INodeItem>) predicate.filter(dynamicContext, ISequence.of(retval)).stream();
+    }
+    return retval;
+  }
+
+  /**
+   * Get the document node at the root of the provided node's ancestry.
+   *
+   * @param node
+   *          the node to find the document for
+   * @return the document node, or {@code null} if the root of the node's
+   *         ancestry is not a document
+   */
+  @Nullable
+  protected static IDocumentNodeItem getDocument(@NonNull INodeItem node) {
+    INodeItem current = node;
+    for (INodeItem parent = current.getParentNodeItem(); parent != null; parent = parent.getParentNodeItem()) {
+      current = parent;
+    }
+    return current instanceof IDocumentNodeItem ? (IDocumentNodeItem) current : null;
+  }
+
+  /**
+   * Search the focus and its descendants by evaluating the expression against
+   * the focus and the children of each searched node.
+   * <p>
+   * If the expression only selects the flags or model items of the nodes it is
+   * evaluated against, the matches are produced in document order, consistent
+   * with {@link #searchIndex(IExpression, DynamicContext, ISequence)}.
+   * Otherwise, the matches of the expression evaluated against a set of
+   * siblings are produced before the matches of their descendants.
+   *
+   * @param expression
+   *          the expression to evaluate
+   * @param dynamicContext
+   *          the evaluation context
+   * @param outerFocus
+   *          the current context node
+   * @return the matching nodes
+   */
+  @NonNull
+  private Stream<? extends INodeItem> searchTree(
+      @NonNull IExpression expression,
+      @NonNull DynamicContext dynamicContext,
+      @NonNull ISequence<?> outerFocus) {
+    // ensure the sequence can be streamed multiple times
     ISequence<?> focus = outerFocus.reusable();
 
-    // check the current focus
-    @SuppressWarnings("unchecked")
-    Stream<? extends INodeItem> nodeMatches
-        = (Stream<? extends INodeItem>) expression.accept(dynamicContext, focus).stream();
-
-    Stream<? extends INodeItem> childMatches = focus.stream()
-        .map(ItemUtils::checkItemIsNodeItemForStep)
-        .flatMap(focusedNode -> {
-
-          Stream<? extends INodeItem> matches;
-          if (focusedNode instanceof ICycledAssemblyNodeItem) {
-            // prevent stack overflow
-            matches = Stream.empty();
-          } else {
-            assert focusedNode != null; // may be null?
-            // create a stream of flags and model elements to check
-            Stream<? extends INodeItem> flags = focusedNode.flags();
-            Stream<? extends INodeItem> modelItems = focusedNode.modelItems();
-
-            matches = search(
-                expression,
-                dynamicContext,
-                ISequence.of(ObjectUtils.notNull(Stream.concat(flags, modelItems))));
-          }
-          return matches;
-        });
-
-    return ObjectUtils.notNull(Stream.concat(nodeMatches, childMatches).distinct());
+    Stream<? extends INodeItem> retval;
+    if (isChildStep(expression)) {
+      Lazy<Set<INodeItem>> matches = ObjectUtils.notNull(Lazy.lazy(() -> match(expression, dynamicContext, focus)));
+      retval = CollectionUtil.flatMapLazily(focus.stream()
+          .map(ItemUtils::checkItemIsNodeItemForStep),
+          focusedNode -> searchChildren(expression, dynamicContext, ObjectUtils.notNull(focusedNode), matches));
+    } else {
+      // check the current focus
+      @SuppressWarnings("unchecked")
+      Stream<? extends INodeItem> nodeMatches
+          = (Stream<? extends INodeItem>) expression.accept(dynamicContext, focus).stream();
+
+      // the children are searched lazily, allowing the search to stop early when
+      // only the first few matches are needed
+      Stream<? extends INodeItem> childMatches = CollectionUtil.flatMapLazily(focus.stream()
+          .map(ItemUtils::checkItemIsNodeItemForStep),
+          focusedNode -> {
+            Stream<? extends INodeItem> matches;
+            if (focusedNode instanceof ICycledAssemblyNodeItem) {
+              // prevent stack overflow
+              matches = Stream.empty();
+            } else {
+              assert focusedNode != null; // may be null?
+              matches = searchTree(
+                  expression,
+                  dynamicContext,
+                  ISequence.ofCollection(getChildren(focusedNode)));
+            }
+            return matches;
+          });
+      retval = Stream.concat(nodeMatches, childMatches);
+    }
+    return ObjectUtils.notNull(retval.distinct());
+  }
+
+  /**
+   * Search the flags and model items of the provided node and their descendants
+   * in document order.
+   * <p>
+   * Each matching child is produced before the matches of its descendants. The
+   * expression is evaluated against all the children of a node at once, which is
+   * required by positional predicates.
+   *
+   * @param expression
+   *          the expression to evaluate, which only selects the flags or model
+   *          items of the nodes it is evaluated against
+   * @param dynamicContext
+   *          the evaluation context
+   * @param node
+   *          the node whose children are to be searched
+   * @param matches
+   *          provides the nodes matched by evaluating the expression against the
+   *          node and its siblings
+   * @return the matching nodes
+   */
+  @NonNull
+  private static Stream<? extends INodeItem> searchChildren(
+      @NonNull IExpression expression,
+      @NonNull DynamicContext dynamicContext,
+      @NonNull INodeItem node,
+      @NonNull Supplier<Set<INodeItem>> matches) {
+    Stream<? extends INodeItem> retval;
+    if (node instanceof ICycledAssemblyNodeItem) {
+      // prevent stack overflow
+      retval = Stream.empty();
+    } else {
+      List<INodeItem> children = getChildren(node);
+      Lazy<Set<INodeItem>> childMatches = ObjectUtils.notNull(
+          Lazy.lazy(() -> match(expression, dynamicContext, ISequence.ofCollection(children))));
+      retval = CollectionUtil.flatMapLazily(children.stream(), child -> Stream.concat(
+          matches.get().contains(child) ? Stream.of(child) : Stream.empty(),
+          searchChildren(expression, dynamicContext, ObjectUtils.notNull(child), childMatches)));
+    }
+    return retval;
+  }
+
+  /**
+   * Determine if the provided expression only selects the flags or model items
+   * of the nodes it is evaluated against.
+   *
+   * @param expression
+   *          the expression to check
+   * @return {@code true} if the expression selects only children, or
+   *         {@code false} otherwise
+   */
+  private static boolean isChildStep(@NonNull IExpression expression) {
+    IExpression step = expression instanceof PredicateExpression
+        ? ((PredicateExpression) expression).getBase()
+        : expression;
+    return step instanceof ModelInstanceStep || step instanceof FlagStep;
+  }
+
+  @NonNull
+  private static List<INodeItem> getChildren(@NonNull INodeItem node) {
+    // create a list of flags and model elements to check
+    Stream<? extends INodeItem> flags = node.flags();
+    Stream<? extends INodeItem> modelItems = node.modelItems();
+    return ObjectUtils.notNull(Stream.<INodeItem>concat(flags, modelItems).collect(Collectors.toList()));
+  }
+
+  @NonNull
+  private static Set<INodeItem> match(
+      @NonNull IExpression expression,
+      @NonNull DynamicContext dynamicContext,
+      @NonNull ISequence<?> focus) {
+    return ObjectUtils.notNull(expression.accept(dynamicContext, focus).stream()
+        .map(INodeItem.class::cast)
+        .collect(Collectors.toCollection(HashSet::new)));
   }
 }
@@ -11,7 +11,7 @@ import gov.nist.secauto.metaschema.core.metapath.item.ISequence;
 import gov.nist.secauto.metaschema.core.metapath.item.ItemUtils;
 import gov.nist.secauto.metaschema.core.metapath.item.node.INodeItem;
 import gov.nist.secauto.metaschema.core.qname.IEnhancedQName;
-import gov.nist.secauto.metaschema.core.util.ObjectUtils;
+import gov.nist.secauto.metaschema.core.util.CollectionUtil;
 
 import java.util.List;
 import java.util.stream.Stream;
@@ -66,12 +66,12 @@ public abstract class AbstractStepExpression<RESULT_TYPE extends INodeItem>
   protected ISequence<? extends RESULT_TYPE> evaluate(
       DynamicContext dynamicContext,
       ISequence<?> focus) {
-    return ISequence.of(ObjectUtils.notNull(focus.stream()
-        .map(ItemUtils::checkItemIsNodeItemForStep)
-        .flatMap(item -> {
+    return ISequence.of(CollectionUtil.flatMapLazily(focus.stream()
+        .map(ItemUtils::checkItemIsNodeItemForStep),
+        item -> {
           assert item != null;
           return match(item);
-        })));
+        }));
   }
 
   /**
@@ -52,7 +52,8 @@ public class RelativeSlashPath
       ISequence<?> focus) {
     ISequence<?> leftResult = getLeft().accept(dynamicContext, focus);
 
-    // ensures the left sequence is list backed
+    // checking for an empty sequence evaluates only the first item of the left
+    // sequence, the remaining items are evaluated as the right side consumes them
     return leftResult.isEmpty()
         ? ISequence.empty()
         : getRight().accept(dynamicContext, leftResult);
@@ -114,9 +114,9 @@ public class Step
     if (focus.isEmpty()) {
       axisResult = ISequence.empty();
     } else {
-      axisResult = ISequence.of(ObjectUtils.notNull(focus.stream()
-          .map(ItemUtils::checkItemIsNodeItemForStep)
-          .flatMap(item -> {
+      axisResult = ISequence.of(ObjectUtils.notNull(CollectionUtil.flatMapLazily(focus.stream()
+          .map(ItemUtils::checkItemIsNodeItemForStep),
+          item -> {
             assert item != null;
             return axis.execute(item);
           }).distinct()));
@@ -37,6 +37,15 @@ import edu.umd.cs.findbugs.annotations.Nullable;
  * functions.
  */
 public abstract class AbstractFunction implements IFunction {
+  /**
+   * The maximum number of items an argument may have for the result of a
+   * deterministic function call to be cached.
+   * <p>
+   * Caching requires computing all items of each argument, which would defeat
+   * functions that only need the first few items of a large argument.
+   */
+  private static final int MAX_CACHED_ARGUMENT_SIZE = 32;
+
   @NonNull
   private final IEnhancedQName qname;
   @NonNull
@@ -240,7 +249,7 @@ public abstract class AbstractFunction implements IFunction {
 
       CalledContext callingContext = null;
       ISequence<?> result = null;
-      if (isDeterministic()) {
+      if (isDeterministic() && isCacheable(convertedArguments)) {
         // check cache
         callingContext = new CalledContext(this, convertedArguments, contextItem);
         // TODO: implement something like computeIfAbsent
@@ -255,8 +264,8 @@ public abstract class AbstractFunction implements IFunction {
           // add result to cache
           dynamicContext.cacheResult(
               callingContext,
-              // ensure the result sequence is list backed
-              result.reusable());
+              // the cached result is shared, so it must be fully evaluated
+              ISequence.ofCollection(result.getValue()));
         }
       }
 
@@ -274,6 +283,20 @@ public abstract class AbstractFunction implements IFunction {
     }
   }
 
+  /**
+   * Determine if the result of a call using the provided arguments can be cached,
+   * pulling at most {@link #MAX_CACHED_ARGUMENT_SIZE} items from each argument.
+   *
+   * @param arguments
+   *          the converted function arguments
+   * @return {@code true} if all arguments are small enough to be used as a cache
+   *         key, or {@code false} otherwise
+   */
+  private static boolean isCacheable(@NonNull List<ISequence<?>> arguments) {
+    return arguments.stream()
+        .allMatch(argument -> argument.safeStream().skip(MAX_CACHED_ARGUMENT_SIZE).findAny().isEmpty());
+  }
+
   /**
    * Execute the provided function using the provided arguments, dynamic context,
    * and focus.
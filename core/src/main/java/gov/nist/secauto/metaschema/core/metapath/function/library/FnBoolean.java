@@ -97,7 +97,8 @@ public final class FnBoolean {
     if (first != null) {
       if (first instanceof INodeItem) {
         retval = true;
-      } else if (sequence.size() == 1) {
+      } else if (sequence.safeStream().skip(1).findAny().isEmpty()) {
+        // a singleton; avoid computing the size of the sequence
         retval = fnBooleanAsPrimitive(first);
       }
     }
@@ -146,7 +146,7 @@ public final class MpRecurseDepth {
           @NonNull
           ISequence<INodeItem> metapathResult = recursionMetapath.evaluate(item, dynamicContext);
           ISequence<INodeItem> result = recurseDepth(
-              // ensure the sequence is list backed
+              // the sequence is streamed once for each recursion
               metapathResult.reusable(),
               recursionMetapath,
               dynamicContext);
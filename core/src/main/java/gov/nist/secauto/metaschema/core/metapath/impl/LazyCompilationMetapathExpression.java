@@ -61,6 +61,11 @@ public class LazyCompilationMetapathExpression implements IMetapathExpression {
     return ObjectUtils.notNull(compiledMetapath.get());
   }
 
+  @Override
+  public NodeAccess getNodeAccess() {
+    return getCompiledMetapath().getNodeAccess();
+  }
+
   @Override
   public <T extends IItem> ISequence<T> evaluate(IItem focus, DynamicContext dynamicContext) {
     return getCompiledMetapath().evaluate(focus, dynamicContext);
@@ -7,20 +7,35 @@ package gov.nist.secauto.metaschema.core.metapath.impl;
 
 import gov.nist.secauto.metaschema.core.metapath.item.IItem;
 import gov.nist.secauto.metaschema.core.metapath.item.ISequence;
+import gov.nist.secauto.metaschema.core.util.CollectionUtil;
 import gov.nist.secauto.metaschema.core.util.ObjectUtils;
 
+import java.util.ArrayList;
 import java.util.List;
 import java.util.Objects;
+import java.util.Spliterator;
+import java.util.Spliterators;
 import java.util.concurrent.locks.Lock;
 import java.util.concurrent.locks.ReentrantLock;
-import java.util.stream.Collectors;
+import java.util.function.Consumer;
 import java.util.stream.Stream;
+import java.util.stream.StreamSupport;
 
 import edu.umd.cs.findbugs.annotations.NonNull;
+import edu.umd.cs.findbugs.annotations.Nullable;
 
 /**
  * A Metapath sequence supporting an unbounded number of items backed initially
  * by a stream.
+ * <p>
+ * The stream is consumed lazily. If the stream is requested before any other
+ * access, it is handed over directly and the sequence cannot be used again.
+ * Otherwise, items are pulled from the stream into a buffer only as they are
+ * needed, which allows operations such as {@link #isEmpty()},
+ * {@link #get(int)}, and {@link #getFirstItem(boolean)} to complete without
+ * evaluating the remainder of the stream. Once {@link #reusable()} has been
+ * called, each call to {@link #stream()} returns a new stream over the buffered
+ * items that continues to pull items as needed.
  *
  * @param <ITEM>
  *          the Java type of the items
@@ -28,7 +43,23 @@ import edu.umd.cs.findbugs.annotations.NonNull;
 public class StreamSequence<ITEM extends IItem>
     extends AbstractSequence<ITEM> {
 
+  /**
+   * The stream backing this sequence, or {@code null} once items have been
+   * requested.
+   */
   private Stream<ITEM> stream;
+  /**
+   * The source of items not yet buffered, or {@code null} if the items are not
+   * being buffered or all items have been buffered.
+   */
+  private Spliterator<ITEM> source;
+  /**
+   * The items pulled from the source so far.
+   */
+  private List<ITEM> buffer;
+  /**
+   * The complete list of items, once the source has been exhausted.
+   */
   private List<ITEM> list;
   @NonNull
   private final Lock instanceLock = new ReentrantLock();
@@ -44,18 +75,16 @@ public class StreamSequence<ITEM extends IItem>
     this.stream = stream;
   }
 
-  @SuppressWarnings("PMD.NullAssignment")
   @Override
   protected List<ITEM> asList() {
     instanceLock.lock();
     try {
       if (list == null) {
-        if (stream == null) {
-          throw new IllegalStateException(
-              "Unable to collect items into a list because the stream was already consumed.");
+        startBuffering("Unable to collect items into a list because the stream was already consumed.");
+        while (source.tryAdvance(buffer::add)) {
+          // keep pulling items
         }
-        list = stream.collect(Collectors.toUnmodifiableList());
-        stream = null;
+        complete();
       }
     } finally {
       instanceLock.unlock();
@@ -64,10 +93,101 @@ public class StreamSequence<ITEM extends IItem>
     return list;
   }
 
+  /**
+   * Switch from the backing stream to buffering the stream's items as they are
+   * pulled, if this hasn't happened already.
+   * <p>
+   * Must be called while holding the instance lock.
+   *
+   * @param message
+   *          the error message to use if the stream was already handed over
+   */
+  @SuppressWarnings("PMD.NullAssignment")
+  private void startBuffering(@NonNull String message) {
+    if (source == null && list == null) {
+      if (stream == null) {
+        throw new IllegalStateException(message);
+      }
+      source = stream.spliterator();
+      buffer = new ArrayList<>();
+      stream = null;
+    }
+  }
+
+  /**
+   * Mark all items as buffered.
+   * <p>
+   * Must be called while holding the instance lock.
+   */
+  @SuppressWarnings("PMD.NullAssignment")
+  private void complete() {
+    list = CollectionUtil.unmodifiableList(buffer);
+    buffer = null;
+    source = null;
+  }
+
+  /**
+   * Get the item at the provided position, pulling items from the stream until
+   * the item is available.
+   *
+   * @param index
+   *          the zero-based position of the item
+   * @return the item, or {@code null} if the sequence has fewer items
+   */
+  @Nullable
+  private ITEM pull(int index) {
+    instanceLock.lock();
+    try {
+      startBuffering("Unable to access items because the stream was already consumed.");
+      ITEM retval = null;
+      if (list == null) {
+        while (buffer.size() <= index && source.tryAdvance(buffer::add)) {
+          // keep pulling items
+        }
+        if (buffer.size() > index) {
+          retval = buffer.get(index);
+        } else {
+          complete();
+        }
+      } else if (index < list.size()) {
+        retval = list.get(index);
+      }
+      return retval;
+    } finally {
+      instanceLock.unlock();
+    }
+  }
+
+  @Override
+  public boolean isEmpty() {
+    return pull(0) == null;
+  }
+
+  @Override
+  public ITEM get(int index) {
+    ITEM retval = index < 0 ? null : pull(index);
+    if (retval == null) {
+      throw new IndexOutOfBoundsException(index);
+    }
+    return retval;
+  }
+
+  /**
+   * {@inheritDoc}
+   * <p>
+   * This sequence is returned without evaluating the stream. The items are
+   * buffered as they are pulled, so an error raised while evaluating an item
+   * occurs when that item is first consumed from this sequence.
+   */
   @Override
   public ISequence<ITEM> reusable() {
-    // force the stream to be backed by a list
-    asList();
+    instanceLock.lock();
+    try {
+      // items will be buffered as they are pulled, allowing multiple streams
+      startBuffering("The stream is already consumed.");
+    } finally {
+      instanceLock.unlock();
+    }
     return this;
   }
 
@@ -78,19 +198,43 @@ public class StreamSequence<ITEM extends IItem>
     // Ensure thread safety and prevent multiple consumptions of the stream
     instanceLock.lock();
     try {
-      if (list == null) {
-        if (stream == null) {
-          throw new IllegalStateException("The stream is already consumed.");
-        }
-        assert stream != null;
+      if (list != null) {
+        retval = ObjectUtils.notNull(list.stream());
+      } else if (source != null) {
+        retval = ObjectUtils.notNull(StreamSupport.stream(new BufferSpliterator(), false));
+      } else if (stream == null) {
+        throw new IllegalStateException("The stream is already consumed.");
+      } else {
         retval = stream;
         stream = null; // NOPMD - readability
-      } else {
-        retval = ObjectUtils.notNull(list.stream());
       }
     } finally {
       instanceLock.unlock();
     }
     return retval;
   }
+
+  /**
+   * Iterates over the items of the sequence, pulling items from the stream as
+   * needed.
+   */
+  private final class BufferSpliterator
+      extends Spliterators.AbstractSpliterator<ITEM> {
+    private int index;
+
+    private BufferSpliterator() {
+      super(Long.MAX_VALUE, Spliterator.ORDERED | Spliterator.NONNULL);
+    }
+
+    @Override
+    public boolean tryAdvance(Consumer<? super ITEM> action) {
+      ITEM item = pull(index);
+      boolean retval = item != null;
+      if (retval) {
+        index++;
+        action.accept(item);
+      }
+      return retval;
+    }
+  }
 }
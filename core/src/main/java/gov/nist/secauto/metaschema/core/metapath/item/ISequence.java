@@ -62,8 +62,11 @@ public interface ISequence<ITEM extends IItem> extends List<ITEM>, ICollectionVa
    * Ensure the sequence is able to be iterated over multiple times.
    * <p>
    * This method can be used to ensure that the sequence can be streamed or
-   * iterated over multiple times. Implementations should make sure that when this
-   * method is called, the resulting stream is supported by an underlying list.
+   * iterated over multiple times. Implementations may continue to evaluate items
+   * lazily as they are first needed, so errors raised while evaluating an item
+   * can occur when the resulting sequence is consumed. Where a sequence is stored
+   * or shared, use {@link #ofCollection(Collection)} with the items of this
+   * sequence to fully evaluate it instead.
    *
    * @return a sequence with the same contents, which may be the same sequence
    */
@@ -73,11 +76,11 @@ public interface ISequence<ITEM extends IItem> extends List<ITEM>, ICollectionVa
   }
 
   /**
-   * Get a stream guaranteed to be backed by a list.
+   * Get a stream over a sequence that can be streamed multiple times.
    * <p>
-   * This call ensures that the sequence is backed by a {@link List} and not a
-   * {@link Stream}, so the underlying collection can be reused. This is done by
-   * first calling {@link #reusable()}.
+   * This call ensures that the sequence is not consumed by the returned stream,
+   * so the sequence can be reused. This is done by first calling
+   * {@link #reusable()}.
    *
    * @return the stream
    */
@@ -0,0 +1,108 @@
+/*
+ * SPDX-FileCopyrightText: none
+ * SPDX-License-Identifier: CC0-1.0
+ */
+
+package gov.nist.secauto.metaschema.core.metapath.item.node;
+
+import gov.nist.secauto.metaschema.core.metapath.StaticContext;
+import gov.nist.secauto.metaschema.core.model.IModelDefinition;
+import gov.nist.secauto.metaschema.core.model.INamedModelInstance;
+import gov.nist.secauto.metaschema.core.qname.IEnhancedQName;
+
+import java.net.URI;
+import java.util.Collection;
+import java.util.List;
+import java.util.stream.Stream;
+
+import edu.umd.cs.findbugs.annotations.NonNull;
+
+/**
+ * A model node item that is a view over a node of a {@link CompactNodeTree}.
+ *
+ * @param <D>
+ *          the Java type of the definition
+ * @param <I>
+ *          the Java type of the instance
+ */
+abstract class AbstractCompactModelNodeItem<D extends IModelDefinition, I extends INamedModelInstance>
+    extends AbstractNodeItem
+    implements IModelNodeItem<D, I> {
+  @NonNull
+  private final CompactNodeTree tree;
+  private final int index;
+
+  protected AbstractCompactModelNodeItem(@NonNull CompactNodeTree tree, int index) {
+    this.tree = tree;
+    this.index = index;
+  }
+
+  @NonNull
+  protected CompactNodeTree getTree() {
+    return tree;
+  }
+
+  protected int getIndex() {
+    return index;
+  }
+
+  @Override
+  public Object getValue() {
+    return tree.getValue(index);
+  }
+
+  @Override
+  public int getPosition() {
+    return tree.getPosition(index);
+  }
+
+  @Override
+  public URI getBaseUri() {
+    return tree.getBaseUri();
+  }
+
+  @Override
+  public StaticContext getStaticContext() {
+    return tree.getStaticContext();
+  }
+
+  @Override
+  public Collection<? extends IFlagNodeItem> getFlags() {
+    return tree.getFlags(index);
+  }
+
+  @Override
+  public IFlagNodeItem getFlagByName(IEnhancedQName name) {
+    return tree.getFlagByName(index, name);
+  }
+
+  @Override
+  public Collection<? extends List<? extends IModelNodeItem<?, ?>>> getModelItems() {
+    return tree.getModelItems(index);
+  }
+
+  @Override
+  public List<? extends IModelNodeItem<?, ?>> getModelItemsByName(IEnhancedQName name) {
+    return tree.getModelItemsByName(index, name);
+  }
+
+  @Override
+  public Stream<? extends IModelNodeItem<?, ?>> modelItems() {
+    return tree.modelItems(index);
+  }
+
+  @Override
+  public Stream<? extends IModelNodeItem<?, ?>> descendant() {
+    return tree.descendant(index);
+  }
+
+  @Override
+  public Stream<? extends IModelNodeItem<?, ?>> followingSibling() {
+    return tree.followingSibling(index);
+  }
+
+  @Override
+  public Stream<? extends IModelNodeItem<?, ?>> precedingSibling() {
+    return tree.precedingSibling(index);
+  }
+}
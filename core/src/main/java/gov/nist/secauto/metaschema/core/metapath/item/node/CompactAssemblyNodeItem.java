@@ -0,0 +1,59 @@
+/*
+ * SPDX-FileCopyrightText: none
+ * SPDX-License-Identifier: CC0-1.0
+ */
+
+package gov.nist.secauto.metaschema.core.metapath.item.node;
+
+import gov.nist.secauto.metaschema.core.model.IAssemblyDefinition;
+import gov.nist.secauto.metaschema.core.model.IAssemblyInstance;
+import gov.nist.secauto.metaschema.core.util.ObjectUtils;
+
+import java.util.stream.Collectors;
+
+import edu.umd.cs.findbugs.annotations.NonNull;
+
+/**
+ * An assembly node item, other than the root assembly, that is a view over a
+ * node of a {@link CompactNodeTree}.
+ */
+final class CompactAssemblyNodeItem
+    extends AbstractCompactModelNodeItem<IAssemblyDefinition, IAssemblyInstance>
+    implements IAssemblyNodeItem, IFeatureChildNodeItem {
+
+  CompactAssemblyNodeItem(@NonNull CompactNodeTree tree, int index) {
+    super(tree, index);
+  }
+
+  @Override
+  public IAssemblyInstance getInstance() {
+    return (IAssemblyInstance) ObjectUtils.requireNonNull(getTree().getInstance(getIndex()));
+  }
+
+  @Override
+  public IAssemblyDefinition getDefinition() {
+    return getInstance().getDefinition();
+  }
+
+  @Override
+  public IAssemblyNodeItem getParentNodeItem() {
+    return getParentContentNodeItem();
+  }
+
+  @Override
+  public IAssemblyNodeItem getParentContentNodeItem() {
+    return (IAssemblyNodeItem) ObjectUtils.requireNonNull(getTree().getParentNodeItem(getIndex()));
+  }
+
+  @Override
+  public String stringValue() {
+    return ObjectUtils.notNull(modelItems()
+        .map(INodeItem::stringValue)
+        .collect(Collectors.joining()));
+  }
+
+  @Override
+  protected String getValueSignature() {
+    return null;
+  }
+}
@@ -0,0 +1,118 @@
+/*
+ * SPDX-FileCopyrightText: none
+ * SPDX-License-Identifier: CC0-1.0
+ */
+
+package gov.nist.secauto.metaschema.core.metapath.item.node;
+
+import gov.nist.secauto.metaschema.core.metapath.StaticContext;
+import gov.nist.secauto.metaschema.core.model.IAssemblyDefinition;
+import gov.nist.secauto.metaschema.core.model.IResourceLocation;
+import gov.nist.secauto.metaschema.core.qname.IEnhancedQName;
+import gov.nist.secauto.metaschema.core.util.CollectionUtil;
+import gov.nist.secauto.metaschema.core.util.ObjectUtils;
+
+import java.net.URI;
+import java.util.Collection;
+import java.util.List;
+import java.util.stream.Stream;
+
+import edu.umd.cs.findbugs.annotations.NonNull;
+
+/**
+ * A document node item whose nodes are stored in a {@link CompactNodeTree}.
+ */
+final class CompactDocumentNodeItem
+    extends AbstractNodeItem
+    implements IDocumentNodeItem {
+  @NonNull
+  private final URI documentUri;
+  @NonNull
+  private final StaticContext staticContext;
+  @NonNull
+  private final CompactNodeTree tree;
+
+  CompactDocumentNodeItem(
+      @NonNull IAssemblyDefinition root,
+      @NonNull Object rootValue,
+      @NonNull URI documentUri,
+      @NonNull AbstractNodeItemFactory factory) {
+    this.documentUri = documentUri;
+    this.staticContext = StaticContext.builder()
+        .baseUri(documentUri)
+        .defaultModelNamespace(ObjectUtils.requireNonNull(root.getRootQName().getNamespace()))
+        .build();
+    this.tree = new CompactNodeTree(this, root, rootValue, factory);
+  }
+
+  @Override
+  public IRootAssemblyNodeItem getRootAssemblyNodeItem() {
+    return tree.getRootAssemblyNodeItem();
+  }
+
+  @Override
+  public URI getDocumentUri() {
+    return documentUri;
+  }
+
+  @Override
+  public Object getValue() {
+    return getRootAssemblyNodeItem().getValue();
+  }
+
+  @Override
+  public IResourceLocation getLocation() {
+    return getRootAssemblyNodeItem().getLocation();
+  }
+
+  @Override
+  public StaticContext getStaticContext() {
+    return staticContext;
+  }
+
+  @Override
+  public Collection<? extends IFlagNodeItem> getFlags() {
+    // a document does not have flags
+    return CollectionUtil.emptyList();
+  }
+
+  @Override
+  public IFlagNodeItem getFlagByName(IEnhancedQName name) {
+    // a document does not have flags
+    return null;
+  }
+
+  @Override
+  public Collection<? extends List<? extends IModelNodeItem<?, ?>>> getModelItems() {
+    return CollectionUtil.singletonList(CollectionUtil.singletonList(getRootAssemblyNodeItem()));
+  }
+
+  @Override
+  public List<? extends IModelNodeItem<?, ?>> getModelItemsByName(IEnhancedQName name) {
+    IRootAssemblyNodeItem root = getRootAssemblyNodeItem();
+    return root.getQName().getIndexPosition() == name.getIndexPosition()
+        ? CollectionUtil.singletonList(root)
+        : CollectionUtil.emptyList();
+  }
+
+  @Override
+  public Stream<? extends IModelNodeItem<?, ?>> modelItems() {
+    return ObjectUtils.notNull(Stream.of(getRootAssemblyNodeItem()));
+  }
+
+  @Override
+  public Stream<? extends IModelNodeItem<?, ?>> descendant() {
+    IRootAssemblyNodeItem root = getRootAssemblyNodeItem();
+    return ObjectUtils.notNull(Stream.concat(Stream.of(root), root.descendant()));
+  }
+
+  @Override
+  public String stringValue() {
+    return getRootAssemblyNodeItem().stringValue();
+  }
+
+  @Override
+  protected String getValueSignature() {
+    return null;
+  }
+}
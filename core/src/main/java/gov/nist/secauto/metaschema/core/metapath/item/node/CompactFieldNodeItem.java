@@ -0,0 +1,74 @@
+/*
+ * SPDX-FileCopyrightText: none
+ * SPDX-License-Identifier: CC0-1.0
+ */
+
+package gov.nist.secauto.metaschema.core.metapath.item.node;
+
+import gov.nist.secauto.metaschema.core.metapath.item.atomic.IAnyAtomicItem;
+import gov.nist.secauto.metaschema.core.model.IFieldDefinition;
+import gov.nist.secauto.metaschema.core.model.IFieldInstance;
+import gov.nist.secauto.metaschema.core.util.ObjectUtils;
+
+import edu.umd.cs.findbugs.annotations.NonNull;
+
+/**
+ * A field node item that is a view over a node of a {@link CompactNodeTree}.
+ */
+final class CompactFieldNodeItem
+    extends AbstractCompactModelNodeItem<IFieldDefinition, IFieldInstance>
+    implements IFieldNodeItem, IFeatureAtomicValuedItem, IFeatureChildNodeItem {
+  /**
+   * Caches this node's atomic item, as described by {@link CompactNodeTree}.
+   */
+  private IAnyAtomicItem atomicItem;
+
+  CompactFieldNodeItem(@NonNull CompactNodeTree tree, int index) {
+    super(tree, index);
+  }
+
+  @Override
+  public IFieldInstance getInstance() {
+    return (IFieldInstance) ObjectUtils.requireNonNull(getTree().getInstance(getIndex()));
+  }
+
+  @Override
+  public IFieldDefinition getDefinition() {
+    return getInstance().getDefinition();
+  }
+
+  @Override
+  public IAssemblyNodeItem getParentNodeItem() {
+    return getParentContentNodeItem();
+  }
+
+  @Override
+  public IAssemblyNodeItem getParentContentNodeItem() {
+    return (IAssemblyNodeItem) ObjectUtils.requireNonNull(getTree().getParentNodeItem(getIndex()));
+  }
+
+  @Override
+  public Object getAtomicValue() {
+    return getDefinition().getFieldValue(getValue());
+  }
+
+  @Override
+  public IAnyAtomicItem toAtomicItem() {
+    IAnyAtomicItem retval = atomicItem;
+    if (retval == null) {
+      retval = newAtomicItem();
+      atomicItem = retval;
+    }
+    return retval;
+  }
+
+  @Override
+  public String stringValue() {
+    return toAtomicItem().asString();
+  }
+
+  @Override
+  protected String getValueSignature() {
+    return toAtomicItem().toSignature();
+  }
+}
@@ -0,0 +1,96 @@
+/*
+ * SPDX-FileCopyrightText: none
+ * SPDX-License-Identifier: CC0-1.0
+ */
+
+package gov.nist.secauto.metaschema.core.metapath.item.node;
+
+import gov.nist.secauto.metaschema.core.metapath.StaticContext;
+import gov.nist.secauto.metaschema.core.metapath.item.atomic.IAnyAtomicItem;
+import gov.nist.secauto.metaschema.core.model.IFlagDefinition;
+import gov.nist.secauto.metaschema.core.model.IFlagInstance;
+import gov.nist.secauto.metaschema.core.util.ObjectUtils;
+
+import java.net.URI;
+
+import edu.umd.cs.findbugs.annotations.NonNull;
+
+/**
+ * A flag node item that is a view over a node of a {@link CompactNodeTree}.
+ */
+final class CompactFlagNodeItem
+    extends AbstractNodeItem
+    implements IFlagNodeItem, IFeatureAtomicValuedItem, IFeatureChildNodeItem {
+  @NonNull
+  private final CompactNodeTree tree;
+  private final int index;
+  /**
+   * Caches this node's atomic item, as described by {@link CompactNodeTree}.
+   */
+  private IAnyAtomicItem atomicItem;
+
+  CompactFlagNodeItem(@NonNull CompactNodeTree tree, int index) {
+    this.tree = tree;
+    this.index = index;
+  }
+
+  @Override
+  public IFlagInstance getInstance() {
+    return (IFlagInstance) ObjectUtils.requireNonNull(tree.getInstance(index));
+  }
+
+  @Override
+  public IFlagDefinition getDefinition() {
+    return getInstance().getDefinition();
+  }
+
+  @Override
+  public IModelNodeItem<?, ?> getParentNodeItem() {
+    return getParentContentNodeItem();
+  }
+
+  @Override
+  public IModelNodeItem<?, ?> getParentContentNodeItem() {
+    return ObjectUtils.requireNonNull(tree.getParentNodeItem(index));
+  }
+
+  @Override
+  public URI getBaseUri() {
+    return tree.getBaseUri();
+  }
+
+  @Override
+  public StaticContext getStaticContext() {
+    return tree.getStaticContext();
+  }
+
+  @Override
+  public Object getValue() {
+    return tree.getValue(index);
+  }
+
+  @Override
+  public Object getAtomicValue() {
+    return getValue();
+  }
+
+  @Override
+  public IAnyAtomicItem toAtomicItem() {
+    IAnyAtomicItem retval = atomicItem;
+    if (retval == null) {
+      retval = newAtomicItem();
+      atomicItem = retval;
+    }
+    return retval;
+  }
+
+  @Override
+  public String stringValue() {
+    return toAtomicItem().asString();
+  }
+
+  @Override
+  protected String getValueSignature() {
+    return toAtomicItem().toSignature();
+  }
+}
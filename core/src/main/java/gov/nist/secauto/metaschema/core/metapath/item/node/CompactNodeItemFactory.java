@@ -0,0 +1,98 @@
+/*
+ * SPDX-FileCopyrightText: none
+ * SPDX-License-Identifier: CC0-1.0
+ */
+
+package gov.nist.secauto.metaschema.core.metapath.item.node;
+
+import gov.nist.secauto.metaschema.core.metapath.item.node.IFeatureFlagContainerItem.FlagContainer;
+import gov.nist.secauto.metaschema.core.metapath.item.node.IFeatureModelContainerItem.ModelContainer;
+import gov.nist.secauto.metaschema.core.model.IAssemblyDefinition;
+import gov.nist.secauto.metaschema.core.model.IAssemblyInstanceGrouped;
+
+import java.net.URI;
+import java.util.function.Supplier;
+
+import edu.umd.cs.findbugs.annotations.NonNull;
+
+/**
+ * A node factory that stores the nodes of a document in a
+ * {@link CompactNodeTree}, which avoids the per-node containers, maps, and lists
+ * allocated by the node items of the default factory.
+ * <p>
+ * The complete document is indexed when the document node item is created. The
+ * data of an assembly definition that is not part of a document is indexed in
+ * the same way when its node item is created. Other node items, which are not
+ * based on document data, are created in the same way as the default factory.
+ */
+final class CompactNodeItemFactory
+    extends AbstractNodeItemFactory {
+  @NonNull
+  private static final CompactNodeItemFactory SINGLETON = new CompactNodeItemFactory();
+
+  /**
+   * Get the singleton instance of this node factory.
+   *
+   * @return the node factory instance
+   */
+  @NonNull
+  public static CompactNodeItemFactory instance() {
+    return SINGLETON;
+  }
+
+  private CompactNodeItemFactory() {
+    // prevent construction
+  }
+
+  @Override
+  public IDocumentNodeItem newDocumentNodeItem(
+      IAssemblyDefinition definition,
+      URI documentUri,
+      Object value) {
+    return new CompactDocumentNodeItem(definition, value, documentUri, this);
+  }
+
+  @Override
+  public IAssemblyNodeItem newAssemblyNodeItem(
+      IAssemblyDefinition definition,
+      URI baseUri,
+      Object value) {
+    return new CompactNodeTree(definition, baseUri, value, this).getRootNodeItem();
+  }
+
+  @Override
+  public Supplier<FlagContainer> newDataModelSupplier(IFieldNodeItem item) {
+    return DefaultNodeItemFactory.instance().newDataModelSupplier(item);
+  }
+
+  @Override
+  public Supplier<ModelContainer> newDataModelSupplier(IAssemblyNodeItem item) {
+    return DefaultNodeItemFactory.instance().newDataModelSupplier(item);
+  }
+
+  @Override
+  public Supplier<ModelContainer> newDataModelSupplier(IRootAssemblyNodeItem item) {
+    return DefaultNodeItemFactory.instance().newDataModelSupplier(item);
+  }
+
+  @Override
+  public Supplier<FlagContainer> newMetaschemaModelSupplier(IFieldNodeItem item) {
+    return DefaultNodeItemFactory.instance().newMetaschemaModelSupplier(item);
+  }
+
+  @Override
+  public Supplier<ModelContainer> newMetaschemaModelSupplier(IAssemblyNodeItem item) {
+    return DefaultNodeItemFactory.instance().newMetaschemaModelSupplier(item);
+  }
+
+  @Override
+  public Supplier<ModelContainer> newMetaschemaModelSupplier(IModuleNodeItem item) {
+    return DefaultNodeItemFactory.instance().newMetaschemaModelSupplier(item);
+  }
+
+  @Override
+  public IAssemblyNodeItem newAssemblyNodeItem(IAssemblyInstanceGrouped instance, IAssemblyNodeItem parent,
+      int position, Object value) {
+    return DefaultNodeItemFactory.instance().newAssemblyNodeItem(instance, parent, position, value);
+  }
+}
@@ -0,0 +1,586 @@
+/*
+ * SPDX-FileCopyrightText: none
+ * SPDX-License-Identifier: CC0-1.0
+ */
+
+package gov.nist.secauto.metaschema.core.metapath.item.node;
+
+import gov.nist.secauto.metaschema.core.metapath.StaticContext;
+import gov.nist.secauto.metaschema.core.model.IAssemblyDefinition;
+import gov.nist.secauto.metaschema.core.model.IChoiceGroupInstance;
+import gov.nist.secauto.metaschema.core.model.IFieldInstance;
+import gov.nist.secauto.metaschema.core.model.IFlagInstance;
+import gov.nist.secauto.metaschema.core.model.IModelDefinition;
+import gov.nist.secauto.metaschema.core.model.IModelInstance;
+import gov.nist.secauto.metaschema.core.model.INamedInstance;
+import gov.nist.secauto.metaschema.core.model.INamedModelInstance;
+import gov.nist.secauto.metaschema.core.model.INamedModelInstanceAbsolute;
+import gov.nist.secauto.metaschema.core.model.INamedModelInstanceGrouped;
+import gov.nist.secauto.metaschema.core.qname.IEnhancedQName;
+import gov.nist.secauto.metaschema.core.util.CollectionUtil;
+import gov.nist.secauto.metaschema.core.util.ObjectUtils;
+
+import java.net.URI;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+import java.util.stream.IntStream;
+import java.util.stream.Stream;
+
+import edu.umd.cs.findbugs.annotations.NonNull;
+import edu.umd.cs.findbugs.annotations.Nullable;
+
+/**
+ * Stores the nodes of a document in flat arrays, where each node is identified
+ * by its index in document order.
+ * <p>
+ * The first node is either the root assembly of a document or an assembly
+ * definition's data that is not part of a document.
+ * <p>
+ * The structure of the document is recorded using the parent, first child, and
+ * next sibling index of each node, while the instance and value of each node are
+ * referenced by index. The flags of a node are its first children, followed by
+ * its model children. Since the nodes are stored in document order, the
+ * descendants of a node are the contiguous range of nodes that follow it,
+ * allowing axis navigation to be performed using index arithmetic.
+ * <p>
+ * Node items are lightweight views over a node index. A node item is created
+ * when first requested and is then reused, ensuring that a node is always
+ * represented by the same object. As a result, the tree holds one node item
+ * for each node that has been visited.
+ * <p>
+ * A node item may cache a value it derives from the tree, such as its atomic
+ * item, in an unsynchronized field. Because the tree's data does not change,
+ * concurrent initialization of such a field can only store equal values.
+ * <p>
+ * The tree reflects the data at the time the tree was built. Changes made to
+ * the data afterwards are not reflected.
+ */
+final class CompactNodeTree {
+  private static final int NONE = -1;
+  private static final int ROOT = 0;
+
+  @Nullable
+  private final CompactDocumentNodeItem document;
+  @Nullable
+  private final URI baseUri;
+  @NonNull
+  private final StaticContext staticContext;
+  @NonNull
+  private final IAssemblyDefinition rootDefinition;
+  @NonNull
+  private final INamedInstance[] instances;
+  @NonNull
+  private final int[] parents;
+  @NonNull
+  private final int[] firstChildren;
+  @NonNull
+  private final int[] nextSiblings;
+  @NonNull
+  private final int[] instanceIds;
+  @NonNull
+  private final int[] positions;
+  @NonNull
+  private final Object[] values;
+  @NonNull
+  private final AtomicReferenceArray<INodeItem> nodeItems;
+
+  /**
+   * Build a new tree for the provided document data.
+   *
+   * @param document
+   *          the document node item the tree belongs to
+   * @param rootDefinition
+   *          the definition of the document's root assembly
+   * @param rootValue
+   *          the data of the document's root assembly
+   * @param factory
+   *          the factory used to determine the model instances of an assembly
+   */
+  CompactNodeTree(
+      @NonNull CompactDocumentNodeItem document,
+      @NonNull IAssemblyDefinition rootDefinition,
+      @NonNull Object rootValue,
+      @NonNull AbstractNodeItemFactory factory) {
+    this(document, document.getDocumentUri(), document.getStaticContext(), rootDefinition, rootValue, factory);
+  }
+
+  /**
+   * Build a new tree for the provided assembly data, which is not part of a
+   * document.
+   *
+   * @param rootDefinition
+   *          the definition of the assembly
+   * @param baseUri
+   *          the base URI to use for the nodes of the tree
+   * @param rootValue
+   *          the data of the assembly
+   * @param factory
+   *          the factory used to determine the model instances of an assembly
+   */
+  CompactNodeTree(
+      @NonNull IAssemblyDefinition rootDefinition,
+      @Nullable URI baseUri,
+      @NonNull Object rootValue,
+      @NonNull AbstractNodeItemFactory factory) {
+    this(null, baseUri, newStaticContext(rootDefinition, baseUri), rootDefinition, rootValue, factory);
+  }
+
+  private CompactNodeTree(
+      @Nullable CompactDocumentNodeItem document,
+      @Nullable URI baseUri,
+      @NonNull StaticContext staticContext,
+      @NonNull IAssemblyDefinition rootDefinition,
+      @NonNull Object rootValue,
+      @NonNull AbstractNodeItemFactory factory) {
+    this.document = document;
+    this.baseUri = baseUri;
+    this.staticContext = staticContext;
+    this.rootDefinition = rootDefinition;
+
+    Builder builder = new Builder(factory);
+    int root = builder.addNode(NONE, NONE, 1, rootValue);
+    builder.addChildren(root, rootDefinition, rootValue);
+
+    int size = builder.size;
+    this.instances = ObjectUtils.notNull(builder.instances.toArray(new INamedInstance[0]));
+    this.parents = ObjectUtils.notNull(Arrays.copyOf(builder.parents, size));
+    this.firstChildren = ObjectUtils.notNull(Arrays.copyOf(builder.firstChildren, size));
+    this.nextSiblings = ObjectUtils.notNull(Arrays.copyOf(builder.nextSiblings, size));
+    this.instanceIds = ObjectUtils.notNull(Arrays.copyOf(builder.instanceIds, size));
+    this.positions = ObjectUtils.notNull(Arrays.copyOf(builder.positions, size));
+    this.values = ObjectUtils.notNull(Arrays.copyOf(builder.values, size));
+    this.nodeItems = new AtomicReferenceArray<>(size);
+  }
+
+  @NonNull
+  private static StaticContext newStaticContext(@NonNull IAssemblyDefinition definition, @Nullable URI baseUri) {
+    StaticContext.Builder builder = StaticContext.builder()
+        .defaultModelNamespace(ObjectUtils.notNull(definition.getQName().getNamespace()));
+    if (baseUri != null) {
+      builder.baseUri(baseUri);
+    }
+    return builder.build();
+  }
+
+  /**
+   * Get the document the tree belongs to.
+   *
+   * @return the document node item, or {@code null} if the tree is not part of a
+   *         document
+   */
+  @Nullable
+  CompactDocumentNodeItem getDocument() {
+    return document;
+  }
+
+  @Nullable
+  URI getBaseUri() {
+    return baseUri;
+  }
+
+  @NonNull
+  StaticContext getStaticContext() {
+    return staticContext;
+  }
+
+  @NonNull
+  IAssemblyDefinition getRootDefinition() {
+    return rootDefinition;
+  }
+
+  /**
+   * Get the number of nodes in the tree, excluding the document node.
+   *
+   * @return the number of nodes
+   */
+  int size() {
+    return values.length;
+  }
+
+  /**
+   * Get the node item of the tree's first node, which is an
+   * {@link IRootAssemblyNodeItem} if the tree belongs to a document.
+   *
+   * @return the node item
+   */
+  @NonNull
+  IAssemblyNodeItem getRootNodeItem() {
+    return (IAssemblyNodeItem) getNodeItem(ROOT);
+  }
+
+  @NonNull
+  IRootAssemblyNodeItem getRootAssemblyNodeItem() {
+    return (IRootAssemblyNodeItem) getRootNodeItem();
+  }
+
+  /**
+   * Get the node item for the node with the provided index, creating it if
+   * needed.
+   *
+   * @param index
+   *          the node index
+   * @return the node item
+   */
+  @NonNull
+  INodeItem getNodeItem(int index) {
+    INodeItem retval = nodeItems.get(index);
+    if (retval == null) {
+      INodeItem item = newNodeItem(index);
+      // another thread may have created the item first, in which case its item is
+      // used to keep node items unique
+      retval = nodeItems.compareAndExchange(index, null, item);
+      if (retval == null) {
+        retval = item;
+      }
+    }
+    return retval;
+  }
+
+  @NonNull
+  private INodeItem newNodeItem(int index) {
+    INodeItem retval;
+    if (index == ROOT) {
+      retval = document == null
+          ? new CompactOrphanedAssemblyNodeItem(this)
+          : new CompactRootAssemblyNodeItem(this);
+    } else {
+      INamedInstance instance = instances[instanceIds[index]];
+      if (instance instanceof IFlagInstance) {
+        retval = new CompactFlagNodeItem(this, index);
+      } else if (instance instanceof IFieldInstance) {
+        retval = new CompactFieldNodeItem(this, index);
+      } else {
+        retval = new CompactAssemblyNodeItem(this, index);
+      }
+    }
+    return retval;
+  }
+
+  @NonNull
+  private IModelNodeItem<?, ?> getModelNodeItem(int index) {
+    return (IModelNodeItem<?, ?>) getNodeItem(index);
+  }
+
+  @NonNull
+  private IFlagNodeItem getFlagNodeItem(int index) {
+    return (IFlagNodeItem) getNodeItem(index);
+  }
+
+  /**
+   * Get the instance of the node with the provided index.
+   *
+   * @param index
+   *          the node index
+   * @return the instance, or {@code null} for the root assembly, which has no
+   *         instance
+   */
+  @Nullable
+  INamedInstance getInstance(int index) {
+    int instanceId = instanceIds[index];
+    return instanceId == NONE ? null : instances[instanceId];
+  }
+
+  @NonNull
+  Object getValue(int index) {
+    return ObjectUtils.notNull(values[index]);
+  }
+
+  int getPosition(int index) {
+    return positions[index];
+  }
+
+  /**
+   * Get the node item of the assembly containing the node with the provided
+   * index.
+   *
+   * @param index
+   *          the node index
+   * @return the parent node item, or {@code null} for the root assembly
+   */
+  @Nullable
+  IModelNodeItem<?, ?> getParentNodeItem(int index) {
+    int parent = parents[index];
+    return parent == NONE ? null : getModelNodeItem(parent);
+  }
+
+  private boolean isFlag(int index) {
+    return index != ROOT && instances[instanceIds[index]] instanceof IFlagInstance;
+  }
+
+  private int getFirstModelChild(int index) {
+    int child = firstChildren[index];
+    while (child != NONE && isFlag(child)) {
+      child = nextSiblings[child];
+    }
+    return child;
+  }
+
+  /**
+   * Get the index following the last descendant of the node with the provided
+   * index.
+   *
+   * @param index
+   *          the node index
+   * @return the exclusive end index of the node's descendants
+   */
+  private int getDescendantsEnd(int index) {
+    // the first node following a node's descendants is the next sibling of the
+    // node or of its closest ancestor having one
+    for (int node = index; node != NONE; node = parents[node]) {
+      int sibling = nextSiblings[node];
+      if (sibling != NONE) {
+        return sibling;
+      }
+    }
+    return size();
+  }
+
+  @NonNull
+  private Stream<IModelNodeItem<?, ?>> getSiblingsFrom(int index) {
+    return ObjectUtils.notNull(IntStream.iterate(index, node -> node != NONE, node -> nextSiblings[node])
+        .mapToObj(this::getModelNodeItem));
+  }
+
+  @NonNull
+  List<IFlagNodeItem> getFlags(int index) {
+    int child = firstChildren[index];
+    if (child == NONE || !isFlag(child)) {
+      return CollectionUtil.emptyList();
+    }
+
+    List<IFlagNodeItem> retval = new ArrayList<>();
+    for (; child != NONE && isFlag(child); child = nextSiblings[child]) {
+      retval.add(getFlagNodeItem(child));
+    }
+    return CollectionUtil.unmodifiableList(retval);
+  }
+
+  @Nullable
+  IFlagNodeItem getFlagByName(int index, @NonNull IEnhancedQName name) {
+    int position = name.getIndexPosition();
+    for (int child = firstChildren[index]; child != NONE && isFlag(child); child = nextSiblings[child]) {
+      if (instances[instanceIds[child]].getQName().getIndexPosition() == position) {
+        return getFlagNodeItem(child);
+      }
+    }
+    return null;
+  }
+
+  @NonNull
+  Stream<IModelNodeItem<?, ?>> modelItems(int index) {
+    return getSiblingsFrom(getFirstModelChild(index));
+  }
+
+  @NonNull
+  Collection<List<IModelNodeItem<?, ?>>> getModelItems(int index) {
+    int child = getFirstModelChild(index);
+    if (child == NONE) {
+      return CollectionUtil.emptyList();
+    }
+
+    // the items of an instance are contiguous
+    List<List<IModelNodeItem<?, ?>>> retval = new ArrayList<>();
+    List<IModelNodeItem<?, ?>> items = new ArrayList<>();
+    int instanceId = instanceIds[child];
+    for (; child != NONE; child = nextSiblings[child]) {
+      if (instanceIds[child] != instanceId) {
+        retval.add(CollectionUtil.unmodifiableList(items));
+        items = new ArrayList<>(); // NOPMD - intentional
+        instanceId = instanceIds[child];
+      }
+      items.add(getModelNodeItem(child));
+    }
+    retval.add(CollectionUtil.unmodifiableList(items));
+    return CollectionUtil.unmodifiableList(retval);
+  }
+
+  @NonNull
+  List<IModelNodeItem<?, ?>> getModelItemsByName(int index, @NonNull IEnhancedQName name) {
+    int position = name.getIndexPosition();
+    List<IModelNodeItem<?, ?>> retval = null;
+    for (int child = getFirstModelChild(index); child != NONE; child = nextSiblings[child]) {
+      if (instances[instanceIds[child]].getQName().getIndexPosition() == position) {
+        if (retval == null) {
+          retval = new ArrayList<>();
+        }
+        retval.add(getModelNodeItem(child));
+      }
+    }
+    return retval == null ? CollectionUtil.emptyList() : CollectionUtil.unmodifiableList(retval);
+  }
+
+  @NonNull
+  Stream<IModelNodeItem<?, ?>> followingSibling(int index) {
+    return getSiblingsFrom(nextSiblings[index]);
+  }
+
+  @NonNull
+  Stream<IModelNodeItem<?, ?>> precedingSibling(int index) {
+    int parent = parents[index];
+    return parent == NONE
+        ? ObjectUtils.notNull(Stream.empty())
+        : ObjectUtils.notNull(IntStream.iterate(getFirstModelChild(parent), node -> node != index,
+            node -> nextSiblings[node])
+            .mapToObj(this::getModelNodeItem));
+  }
+
+  @NonNull
+  Stream<IModelNodeItem<?, ?>> descendant(int index) {
+    return ObjectUtils.notNull(IntStream.range(index + 1, getDescendantsEnd(index))
+        .filter(node -> !isFlag(node))
+        .mapToObj(this::getModelNodeItem));
+  }
+
+  /**
+   * Accumulates the nodes of a tree in document order.
+   */
+  private static final class Builder {
+    private static final int INITIAL_CAPACITY = 64;
+
+    @NonNull
+    private final AbstractNodeItemFactory factory;
+    @NonNull
+    private final List<INamedInstance> instances = new ArrayList<>();
+    @NonNull
+    private final Map<INamedInstance, Integer> instanceIdMap = new HashMap<>();
+    @NonNull
+    private int[] parents = new int[INITIAL_CAPACITY];
+    @NonNull
+    private int[] firstChildren = new int[INITIAL_CAPACITY];
+    @NonNull
+    private int[] nextSiblings = new int[INITIAL_CAPACITY];
+    @NonNull
+    private int[] instanceIds = new int[INITIAL_CAPACITY];
+    @NonNull
+    private int[] positions = new int[INITIAL_CAPACITY];
+    @NonNull
+    private Object[] values = new Object[INITIAL_CAPACITY];
+    private int size;
+
+    private Builder(@NonNull AbstractNodeItemFactory factory) {
+      this.factory = factory;
+    }
+
+    private int getInstanceId(@NonNull INamedInstance instance) {
+      return instanceIdMap.computeIfAbsent(instance, key -> {
+        instances.add(key);
+        return instances.size() - 1;
+      });
+    }
+
+    private int addNode(int parent, int instanceId, int position, @NonNull Object value) {
+      if (size == values.length) {
+        int capacity = size * 2;
+        parents = ObjectUtils.notNull(Arrays.copyOf(parents, capacity));
+        firstChildren = ObjectUtils.notNull(Arrays.copyOf(firstChildren, capacity));
+        nextSiblings = ObjectUtils.notNull(Arrays.copyOf(nextSiblings, capacity));
+        instanceIds = ObjectUtils.notNull(Arrays.copyOf(instanceIds, capacity));
+        positions = ObjectUtils.notNull(Arrays.copyOf(positions, capacity));
+        values = ObjectUtils.notNull(Arrays.copyOf(values, capacity));
+      }
+
+      int index = size++;
+      parents[index] = parent;
+      firstChildren[index] = NONE;
+      nextSiblings[index] = NONE;
+      instanceIds[index] = instanceId;
+      positions[index] = position;
+      values[index] = value;
+      return index;
+    }
+
+    private int addChild(int parent, int previous, int instanceId, int position, @NonNull Object value) {
+      int child = addNode(parent, instanceId, position, value);
+      if (previous == NONE) {
+        firstChildren[parent] = child;
+      } else {
+        nextSiblings[previous] = child;
+      }
+      return child;
+    }
+
+    /**
+     * Add the flags and model items of a node, using the same order as the
+     * default node item factory.
+     *
+     * @param index
+     *          the node to add the children of
+     * @param definition
+     *          the node's definition
+     * @param value
+     *          the node's data
+     */
+    private void addChildren(int index, @NonNull IModelDefinition definition, @NonNull Object value) {
+      int previous = NONE;
+      for (IFlagInstance instance : definition.getFlagInstances()) {
+        Object flagValue = instance.getValue(value);
+        if (flagValue != null) {
+          previous = addChild(index, previous, getInstanceId(instance), 1, flagValue);
+        }
+      }
+
+      if (definition instanceof IAssemblyDefinition) {
+        for (IModelInstance instance : CollectionUtil.toIterable(
+            factory.getValuedModelInstances((IAssemblyDefinition) definition))) {
+          if (instance instanceof INamedModelInstanceAbsolute) {
+            INamedModelInstanceAbsolute namedInstance = (INamedModelInstanceAbsolute) instance;
+
+            Object instanceValue = namedInstance.getValue(value);
+            if (instanceValue != null) {
+              previous = addModelItems(index, previous, namedInstance, namedInstance.getItemValues(instanceValue));
+            }
+          } else if (instance instanceof IChoiceGroupInstance) {
+            previous = addChoiceGroupItems(index, previous, (IChoiceGroupInstance) instance, value);
+          }
+        }
+      }
+    }
+
+    @SuppressWarnings("PMD.UseConcurrentHashMap") // need an ordered map
+    private int addChoiceGroupItems(
+        int index,
+        int previous,
+        @NonNull IChoiceGroupInstance instance,
+        @NonNull Object value) {
+      int retval = previous;
+      Object instanceValue = instance.getValue(value);
+      if (instanceValue != null) {
+        // the items of each grouped instance are kept together
+        Map<INamedModelInstanceGrouped, List<Object>> instanceMap = new LinkedHashMap<>();
+        for (Object item : instance.getItemValues(instanceValue)) {
+          assert item != null;
+          instanceMap.computeIfAbsent(instance.getItemInstance(item), key -> new ArrayList<>()).add(item);
+        }
+
+        for (Map.Entry<INamedModelInstanceGrouped, List<Object>> entry : instanceMap.entrySet()) {
+          retval = addModelItems(index, retval, ObjectUtils.notNull(entry.getKey()),
+              ObjectUtils.notNull(entry.getValue()));
+        }
+      }
+      return retval;
+    }
+
+    private int addModelItems(
+        int index,
+        int previous,
+        @NonNull INamedModelInstance instance,
+        @NonNull Collection<?> itemValues) {
+      int instanceId = getInstanceId(instance);
+      IModelDefinition definition = instance.getDefinition();
+      int position = 0;
+      int retval = previous;
+      for (Object itemValue : itemValues) {
+        assert itemValue != null;
+        retval = addChild(index, retval, instanceId, ++position, itemValue);
+        addChildren(retval, definition, itemValue);
+      }
+      return retval;
+    }
+  }
+}
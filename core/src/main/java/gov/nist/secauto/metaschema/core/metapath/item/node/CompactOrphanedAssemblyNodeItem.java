@@ -0,0 +1,51 @@
+/*
+ * SPDX-FileCopyrightText: none
+ * SPDX-License-Identifier: CC0-1.0
+ */
+
+package gov.nist.secauto.metaschema.core.metapath.item.node;
+
+import gov.nist.secauto.metaschema.core.model.IAssemblyDefinition;
+import gov.nist.secauto.metaschema.core.model.IAssemblyInstance;
+import gov.nist.secauto.metaschema.core.util.ObjectUtils;
+
+import java.util.stream.Collectors;
+
+import edu.umd.cs.findbugs.annotations.NonNull;
+
+/**
+ * An assembly node item for data that is not part of a document, which is a
+ * view over the first node of a {@link CompactNodeTree}.
+ */
+final class CompactOrphanedAssemblyNodeItem
+    extends AbstractCompactModelNodeItem<IAssemblyDefinition, IAssemblyInstance>
+    implements IAssemblyNodeItem,
+    IFeatureOrhpanedDefinitionModelNodeItem<IAssemblyDefinition, IAssemblyInstance> {
+
+  CompactOrphanedAssemblyNodeItem(@NonNull CompactNodeTree tree) {
+    super(tree, 0);
+  }
+
+  @Override
+  public IAssemblyDefinition getDefinition() {
+    return getTree().getRootDefinition();
+  }
+
+  @Override
+  public INodeItem getParentNodeItem() {
+    // no parent
+    return null;
+  }
+
+  @Override
+  public String stringValue() {
+    return ObjectUtils.notNull(modelItems()
+        .map(INodeItem::stringValue)
+        .collect(Collectors.joining()));
+  }
+
+  @Override
+  protected String getValueSignature() {
+    return null;
+  }
+}
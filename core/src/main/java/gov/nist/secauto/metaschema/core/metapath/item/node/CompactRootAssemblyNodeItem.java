@@ -0,0 +1,49 @@
+/*
+ * SPDX-FileCopyrightText: none
+ * SPDX-License-Identifier: CC0-1.0
+ */
+
+package gov.nist.secauto.metaschema.core.metapath.item.node;
+
+import gov.nist.secauto.metaschema.core.model.IAssemblyDefinition;
+import gov.nist.secauto.metaschema.core.model.IAssemblyInstance;
+import gov.nist.secauto.metaschema.core.util.ObjectUtils;
+
+import java.util.stream.Collectors;
+
+import edu.umd.cs.findbugs.annotations.NonNull;
+
+/**
+ * The root assembly node item of a document, which is a view over the first
+ * node of a {@link CompactNodeTree}.
+ */
+final class CompactRootAssemblyNodeItem
+    extends AbstractCompactModelNodeItem<IAssemblyDefinition, IAssemblyInstance>
+    implements IRootAssemblyNodeItem {
+
+  CompactRootAssemblyNodeItem(@NonNull CompactNodeTree tree) {
+    super(tree, 0);
+  }
+
+  @Override
+  public IAssemblyDefinition getDefinition() {
+    return getTree().getRootDefinition();
+  }
+
+  @Override
+  public IDocumentNodeItem getDocumentNodeItem() {
+    return ObjectUtils.requireNonNull(getTree().getDocument());
+  }
+
+  @Override
+  public String stringValue() {
+    return ObjectUtils.notNull(modelItems()
+        .map(INodeItem::stringValue)
+        .collect(Collectors.joining()));
+  }
+
+  @Override
+  protected String getValueSignature() {
+    return null;
+  }
+}
@@ -0,0 +1,206 @@
+/*
+ * SPDX-FileCopyrightText: none
+ * SPDX-License-Identifier: CC0-1.0
+ */
+
+package gov.nist.secauto.metaschema.core.metapath.item.node;
+
+import gov.nist.secauto.metaschema.core.qname.IEnhancedQName;
+import gov.nist.secauto.metaschema.core.util.ObjectUtils;
+
+import java.util.ArrayDeque;
+import java.util.Arrays;
+import java.util.Deque;
+import java.util.HashMap;
+import java.util.IdentityHashMap;
+import java.util.Iterator;
+import java.util.Map;
+import java.util.stream.IntStream;
+import java.util.stream.Stream;
+
+import edu.umd.cs.findbugs.annotations.NonNull;
+import edu.umd.cs.findbugs.annotations.Nullable;
+
+/**
+ * An index of the flag and model nodes of a document by name, supporting the
+ * retrieval of the descendants of a node with a given name without traversing
+ * the node's subtree.
+ * <p>
+ * Each node is numbered in document order. The nodes with a given name are kept
+ * in document order, so the matching descendants of a node are a contiguous
+ * range of these nodes, which is located using a binary search.
+ * <p>
+ * The index reflects the document at the time the index was built. Changes
+ * made to the document afterwards are not reflected.
+ */
+public final class DescendantIndex {
+  @NonNull
+  private final Map<INodeItem, Range> nodeRanges = new IdentityHashMap<>();
+  @NonNull
+  private final Map<IEnhancedQName, Entries> modelItemsByName = new HashMap<>();
+  @NonNull
+  private final Map<IEnhancedQName, Entries> flagsByName = new HashMap<>();
+
+  /**
+   * Build an index of the provided document.
+   *
+   * @param document
+   *          the document to index
+   * @return the new index
+   */
+  @NonNull
+  public static DescendantIndex build(@NonNull IDocumentNodeItem document) {
+    DescendantIndex retval = new DescendantIndex();
+    retval.index(document);
+    return retval;
+  }
+
+  private DescendantIndex() {
+    // use build()
+  }
+
+  private void index(@NonNull IDocumentNodeItem document) {
+    int position = 0;
+    Deque<Frame> stack = new ArrayDeque<>();
+    stack.push(new Frame(document, position));
+
+    while (!stack.isEmpty()) {
+      Frame frame = ObjectUtils.notNull(stack.peek());
+      if (frame.children.hasNext()) {
+        IModelNodeItem<?, ?> child = ObjectUtils.notNull(frame.children.next());
+        Frame childFrame = new Frame(child, ++position);
+        modelItemsByName.computeIfAbsent(child.getQName(), key -> new Entries()).add(child, position);
+
+        for (IFlagNodeItem flag : child.getFlags()) {
+          flagsByName.computeIfAbsent(flag.getQName(), key -> new Entries()).add(flag, ++position);
+        }
+        stack.push(childFrame);
+      } else {
+        stack.pop();
+        nodeRanges.put(frame.node, new Range(frame.position, position));
+      }
+    }
+  }
+
+  /**
+   * Determine if the provided node is part of the indexed document.
+   *
+   * @param node
+   *          the node to check
+   * @return {@code true} if the node is indexed, or {@code false} otherwise
+   */
+  public boolean contains(@NonNull INodeItem node) {
+    return nodeRanges.containsKey(node);
+  }
+
+  /**
+   * Get the descendant model items of the provided node that have the provided
+   * name, in document order.
+   *
+   * @param node
+   *          the node whose descendants are to be retrieved, which must be
+   *          indexed
+   * @param name
+   *          the name of the model items to retrieve
+   * @return the matching model items
+   */
+  @SuppressWarnings("unchecked")
+  @NonNull
+  public Stream<? extends IModelNodeItem<?, ?>> getDescendantModelItems(
+      @NonNull INodeItem node,
+      @NonNull IEnhancedQName name) {
+    return (Stream<? extends IModelNodeItem<?, ?>>) getDescendants(modelItemsByName.get(name), node);
+  }
+
+  /**
+   * Get the flags of the provided node and of its descendants that have the
+   * provided name, in document order.
+   *
+   * @param node
+   *          the node whose flags and descendants are to be searched, which must
+   *          be indexed
+   * @param name
+   *          the name of the flags to retrieve
+   * @return the matching flags
+   */
+  @NonNull
+  public Stream<? extends IFlagNodeItem> getDescendantFlags(
+      @NonNull INodeItem node,
+      @NonNull IEnhancedQName name) {
+    return getDescendants(flagsByName.get(name), node).map(IFlagNodeItem.class::cast);
+  }
+
+  @NonNull
+  private Stream<? extends INodeItem> getDescendants(@Nullable Entries entries, @NonNull INodeItem node) {
+    Range range = nodeRanges.get(node);
+    if (range == null) {
+      throw new IllegalArgumentException(
+          String.format("The node '%s' is not part of the indexed document.", node.getMetapath()));
+    }
+    return entries == null ? Stream.empty() : entries.range(range.start + 1, range.end);
+  }
+
+  /**
+   * A node being traversed while building the index.
+   */
+  private static final class Frame {
+    @NonNull
+    private final INodeItem node;
+    private final int position;
+    @NonNull
+    private final Iterator<? extends IModelNodeItem<?, ?>> children;
+
+    private Frame(@NonNull INodeItem node, int position) {
+      this.node = node;
+      this.position = position;
+      // cycled nodes are not expanded, consistent with searching
+      this.children = ObjectUtils.notNull(node instanceof ICycledAssemblyNodeItem
+          ? Stream.<IModelNodeItem<?, ?>>empty().iterator()
+          : node.modelItems().iterator());
+    }
+  }
+
+  /**
+   * The position of a node and of its last descendant in document order.
+   */
+  private static final class Range {
+    private final int start;
+    private final int end;
+
+    private Range(int start, int end) {
+      this.start = start;
+      this.end = end;
+    }
+  }
+
+  /**
+   * The nodes with a given name, along with their positions, in document order.
+   */
+  private static final class Entries {
+    @NonNull
+    private INodeItem[] nodes = new INodeItem[4];
+    @NonNull
+    private int[] positions = new int[4];
+    private int size;
+
+    private void add(@NonNull INodeItem node, int position) {
+      if (size == nodes.length) {
+        nodes = Arrays.copyOf(nodes, size * 2);
+        positions = Arrays.copyOf(positions, size * 2);
+      }
+      nodes[size] = node;
+      positions[size++] = position;
+    }
+
+    @NonNull
+    private Stream<INodeItem> range(int start, int end) {
+      int from = Arrays.binarySearch(positions, 0, size, start);
+      if (from < 0) {
+        from = -from - 1;
+      }
+      int to = Arrays.binarySearch(positions, from, size, end);
+      to = to < 0 ? -to - 1 : to + 1;
+      return ObjectUtils.notNull(IntStream.range(from, to).mapToObj(index -> nodes[index]));
+    }
+  }
+}
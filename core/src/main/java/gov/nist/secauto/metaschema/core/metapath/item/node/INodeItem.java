@@ -9,6 +9,7 @@ import gov.nist.secauto.metaschema.core.metapath.item.IItemVisitor;
 import gov.nist.secauto.metaschema.core.metapath.type.IItemType;
 import gov.nist.secauto.metaschema.core.model.IResourceLocation;
 import gov.nist.secauto.metaschema.core.qname.IEnhancedQName;
+import gov.nist.secauto.metaschema.core.util.CollectionUtil;
 import gov.nist.secauto.metaschema.core.util.ObjectUtils;
 
 import java.net.URI;
@@ -221,10 +222,10 @@ public interface INodeItem extends IItem, IPathSegment, INodeItemVisitable {
   static Stream<? extends IModelNodeItem<?, ?>> decendantsOf(@NonNull INodeItem item) {
     Stream<? extends IModelNodeItem<?, ?>> children = item.modelItems();
 
-    return ObjectUtils.notNull(children.flatMap(child -> {
+    return CollectionUtil.flatMapLazily(children, child -> {
       assert child != null;
       return Stream.concat(Stream.of(child), decendantsOf(child));
-    }));
+    });
   }
 
   /**
@@ -35,6 +35,23 @@ public interface INodeItemFactory {
     return DefaultNodeItemFactory.instance();
   }
 
+  /**
+   * Get the singleton instance of a node factory that stores the nodes of a
+   * document in a compact form.
+   * <p>
+   * This factory is intended for large documents, since it avoids the per-node
+   * containers, maps, and lists allocated by the default factory. The complete
+   * document is indexed when a document node item is created, so changes made to
+   * the data afterwards are not reflected by the document's node items. Each
+   * node item is retained by the document once created.
+   *
+   * @return the node factory instance
+   */
+  @NonNull
+  static INodeItemFactory compactInstance() {
+    return CompactNodeItemFactory.instance();
+  }
+
   /**
    * Create a new document node item for the provided {@code definition}.
    *
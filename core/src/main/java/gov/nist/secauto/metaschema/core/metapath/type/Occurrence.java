@@ -84,22 +84,20 @@ public enum Occurrence {
 
   @NonNull
   private static <T extends IItem> ISequence<T> handleZero(@NonNull ISequence<T> sequence) {
-    int size = sequence.size();
-    if (size != 0) {
+    if (!sequence.isEmpty()) {
       throw new InvalidTypeMetapathException(
           null,
-          String.format("an empty sequence expected, but size is '%d'", size));
+          String.format("an empty sequence expected, but size is '%d'", sequence.size()));
     }
     return ISequence.empty();
   }
 
   @NonNull
   private static <T extends IItem> ISequence<T> handleOne(@NonNull ISequence<T> sequence) {
-    int size = sequence.size();
-    if (size != 1) {
+    if (sequence.isEmpty() || hasMoreThanOne(sequence)) {
       throw new InvalidTypeMetapathException(
           null,
-          String.format("a sequence of one expected, but size is '%d'", size));
+          String.format("a sequence of one expected, but size is '%d'", sequence.size()));
     }
 
     T item = sequence.getFirstItem(true);
@@ -108,11 +106,10 @@ public enum Occurrence {
 
   @NonNull
   private static <T extends IItem> ISequence<T> handleZeroOrOne(@NonNull ISequence<T> sequence) {
-    int size = sequence.size();
-    if (size > 1) {
+    if (hasMoreThanOne(sequence)) {
       throw new InvalidTypeMetapathException(
           null,
-          String.format("a sequence of zero or one expected, but size is '%d'", size));
+          String.format("a sequence of zero or one expected, but size is '%d'", sequence.size()));
     }
 
     T item = sequence.getFirstItem(false);
@@ -126,15 +123,27 @@ public enum Occurrence {
 
   @NonNull
   private static <T extends IItem> ISequence<T> handleOneOrMore(@NonNull ISequence<T> sequence) {
-    int size = sequence.size();
-    if (size < 1) {
+    if (sequence.isEmpty()) {
       throw new InvalidTypeMetapathException(
           null,
-          String.format("a sequence of one or more expected, but size is '%d'", size));
+          "a sequence of one or more expected, but size is '0'");
     }
     return sequence;
   }
 
+  /**
+   * Determine if the sequence has more than one item, without computing the size
+   * of the whole sequence.
+   *
+   * @param sequence
+   *          the sequence to check
+   * @return {@code true} if the sequence has more than one item, or
+   *         {@code false} otherwise
+   */
+  private static boolean hasMoreThanOne(@NonNull ISequence<?> sequence) {
+    return sequence.safeStream().skip(1).findAny().isPresent();
+  }
+
   /**
    * Used to check that a provided sequence matches an associated occurrence
    * value.
@@ -136,8 +136,8 @@ public class SequenceTypeImpl implements ISequenceType {
     ISequence<?> sequence = item instanceof IItem ? ((IItem) item).toSequence() : (ISequence<?>) item;
 
     boolean retval;
-    // check the occurrence matches
-    int size = sequence.size();
+    // check the occurrence matches, only pulling as many items as needed
+    long size = sequence.safeStream().limit(2).count();
     switch (getOccurrence()) {
     case ONE:
       retval = size == 1;
@@ -159,10 +159,10 @@ public class SequenceTypeImpl implements ISequenceType {
           String.format("Unsupported occurrence type '%s'.", getOccurrence().name()));
     }
 
-    if (retval) {
-      // check the item type matches
-      IItemType type = getType();
-      retval = sequence.stream().allMatch(type::isInstance);
+    IItemType type = getType();
+    if (retval && !IItemType.item().equals(type)) {
+      // check the item type matches, which is not needed if any item matches
+      retval = sequence.safeStream().allMatch(type::isInstance);
     }
     return retval;
   }
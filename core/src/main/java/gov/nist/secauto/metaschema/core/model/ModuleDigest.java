@@ -0,0 +1,161 @@
+/*
+ * SPDX-FileCopyrightText: none
+ * SPDX-License-Identifier: CC0-1.0
+ */
+
+package gov.nist.secauto.metaschema.core.model;
+
+import gov.nist.secauto.metaschema.core.MetaschemaJavaVersion;
+import gov.nist.secauto.metaschema.core.model.constraint.IConstraintSet;
+import gov.nist.secauto.metaschema.core.util.IVersionInfo;
+import gov.nist.secauto.metaschema.core.util.ObjectUtils;
+
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.net.URI;
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.Collection;
+import java.util.HashSet;
+import java.util.Set;
+
+import edu.umd.cs.findbugs.annotations.NonNull;
+import edu.umd.cs.findbugs.annotations.Nullable;
+
+/**
+ * Computes a digest identifying the content of a module, for use as the key of
+ * a cache of resources derived from the module.
+ * <p>
+ * The digest covers the resource of the module, the resources of the modules it
+ * imports, the resources of the provided constraint sets, the version of this
+ * library, and any additional values provided by the caller.
+ */
+public final class ModuleDigest {
+  private static final Logger LOGGER = LogManager.getLogger(ModuleDigest.class);
+  private static final char[] HEX = "0123456789abcdef".toCharArray();
+
+  @NonNull
+  private final MessageDigest digest;
+  @NonNull
+  private final Set<URI> visited = new HashSet<>();
+  private boolean readable = true;
+
+  /**
+   * Compute the digest of the provided module.
+   *
+   * @param module
+   *          the module to compute the digest for
+   * @param constraintSets
+   *          the constraint sets applied to the module
+   * @param values
+   *          additional values that affect the derived resources
+   * @return the hex-encoded digest, or {@code null} if a resource of the module
+   *         or constraint sets cannot be read
+   */
+  @Nullable
+  public static String digest(
+      @NonNull IModule module,
+      @NonNull Collection<IConstraintSet> constraintSets,
+      @NonNull String... values) {
+    ModuleDigest retval = new ModuleDigest();
+    for (String value : values) {
+      retval.update(ObjectUtils.notNull(value));
+    }
+    retval.updateModule(module);
+    for (IConstraintSet constraintSet : constraintSets) {
+      retval.updateConstraintSet(ObjectUtils.notNull(constraintSet));
+    }
+    return retval.readable ? toHex(retval.digest.digest()) : null;
+  }
+
+  /**
+   * Compute the digest of the provided constraint sets, without a module.
+   *
+   * @param constraintSets
+   *          the constraint sets to compute the digest for
+   * @param values
+   *          additional values that affect the derived resources
+   * @return the hex-encoded digest, or {@code null} if a resource of the
+   *         constraint sets cannot be read
+   * @since 2.0.0
+   */
+  @Nullable
+  public static String digest(
+      @NonNull Collection<IConstraintSet> constraintSets,
+      @NonNull String... values) {
+    ModuleDigest retval = new ModuleDigest();
+    for (String value : values) {
+      retval.update(ObjectUtils.notNull(value));
+    }
+    for (IConstraintSet constraintSet : constraintSets) {
+      retval.updateConstraintSet(ObjectUtils.notNull(constraintSet));
+    }
+    return retval.readable ? toHex(retval.digest.digest()) : null;
+  }
+
+  private ModuleDigest() {
+    try {
+      digest = ObjectUtils.notNull(MessageDigest.getInstance("SHA-256"));
+    } catch (NoSuchAlgorithmException ex) {
+      throw new IllegalStateException(ex);
+    }
+
+    IVersionInfo version = new MetaschemaJavaVersion();
+    update(version.getVersion());
+    update(version.getGitCommit());
+    update(version.getBuildTimestamp());
+  }
+
+  private void updateModule(@NonNull IModule module) {
+    updateResource(module.getLocation());
+    for (IModule imported : module.getImportedModules()) {
+      updateModule(ObjectUtils.notNull(imported));
+    }
+  }
+
+  private void updateConstraintSet(@NonNull IConstraintSet constraintSet) {
+    updateResource(constraintSet.getSource().getSource());
+    for (IConstraintSet imported : constraintSet.getImportedConstraintSets()) {
+      updateConstraintSet(ObjectUtils.notNull(imported));
+    }
+  }
+
+  private void updateResource(@Nullable URI location) {
+    if (location == null) {
+      readable = false;
+    } else if (readable && visited.add(location)) {
+      update(location.toString());
+      try (InputStream is = location.toURL().openStream()) {
+        byte[] buffer = new byte[8192];
+        int read;
+        while ((read = is.read(buffer)) != -1) {
+          digest.update(buffer, 0, read);
+        }
+      } catch (IOException | IllegalArgumentException ex) {
+        if (LOGGER.isDebugEnabled()) {
+          LOGGER.atDebug().withThrowable(ex).log("Unable to read '{}'.", location);
+        }
+        readable = false;
+      }
+    }
+  }
+
+  private void update(@NonNull String value) {
+    digest.update(value.getBytes(StandardCharsets.UTF_8));
+    // separate values
+    digest.update((byte) 0);
+  }
+
+  @NonNull
+  private static String toHex(@NonNull byte[] bytes) {
+    StringBuilder builder = new StringBuilder(bytes.length * 2);
+    for (byte value : bytes) {
+      builder.append(HEX[(value >> 4) & 0xF]).append(HEX[value & 0xF]);
+    }
+    return ObjectUtils.notNull(builder.toString());
+  }
+}
@@ -46,6 +46,21 @@ public class UsedDefinitionModelWalker
     return walker.getDefinitions();
   }
 
+  /**
+   * Get the collection of all definitions used directly and transitively by the
+   * provided definition, including the definition itself.
+   *
+   * @param definition
+   *          the definition to generate used definitions from
+   * @return the collection of used definitions
+   */
+  @NonNull
+  public static Collection<? extends IDefinition> collectUsedDefinitions(@NonNull IDefinition definition) {
+    UsedDefinitionModelWalker walker = new UsedDefinitionModelWalker();
+    walker.walkDefinition(definition);
+    return walker.getDefinitions();
+  }
+
   /**
    * Collect the globally defined Metaschema definitions from the provided
    * Metaschema modules, and any Metaschema modules imported directly or
@@ -11,6 +11,7 @@ import gov.nist.secauto.metaschema.core.configuration.IMutableConfiguration;
 import gov.nist.secauto.metaschema.core.datatype.IDataTypeAdapter;
 import gov.nist.secauto.metaschema.core.metapath.DynamicContext;
 import gov.nist.secauto.metaschema.core.metapath.IMetapathExpression;
+import gov.nist.secauto.metaschema.core.metapath.IMetapathExpression.NodeAccess;
 import gov.nist.secauto.metaschema.core.metapath.MetapathException;
 import gov.nist.secauto.metaschema.core.metapath.function.library.FnBoolean;
 import gov.nist.secauto.metaschema.core.metapath.item.ISequence;
@@ -19,11 +20,16 @@ import gov.nist.secauto.metaschema.core.metapath.item.node.IAssemblyNodeItem;
 import gov.nist.secauto.metaschema.core.metapath.item.node.IDefinitionNodeItem;
 import gov.nist.secauto.metaschema.core.metapath.item.node.IFieldNodeItem;
 import gov.nist.secauto.metaschema.core.metapath.item.node.IFlagNodeItem;
+import gov.nist.secauto.metaschema.core.metapath.item.node.IModelNodeItem;
 import gov.nist.secauto.metaschema.core.metapath.item.node.IModuleNodeItem;
 import gov.nist.secauto.metaschema.core.metapath.item.node.INodeItem;
 import gov.nist.secauto.metaschema.core.model.IAssemblyDefinition;
+import gov.nist.secauto.metaschema.core.model.IDefinition;
 import gov.nist.secauto.metaschema.core.model.IFieldDefinition;
 import gov.nist.secauto.metaschema.core.model.IFlagDefinition;
+import gov.nist.secauto.metaschema.core.model.UsedDefinitionModelWalker;
+import gov.nist.secauto.metaschema.core.model.constraint.ValidationPlan.PlannedConstraint;
+import gov.nist.secauto.metaschema.core.model.constraint.ValidationPlan.TargetResolver;
 import gov.nist.secauto.metaschema.core.qname.IEnhancedQName;
 import gov.nist.secauto.metaschema.core.util.CollectionUtil;
 import gov.nist.secauto.metaschema.core.util.ObjectUtils;
@@ -39,6 +45,9 @@ import java.util.LinkedList;
 import java.util.List;
 import java.util.Map;
 import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.ForkJoinTask;
+import java.util.concurrent.RecursiveAction;
 import java.util.regex.Pattern;
 import java.util.stream.Collectors;
 import java.util.stream.Stream;
@@ -49,6 +58,13 @@ import edu.umd.cs.findbugs.annotations.Nullable;
 /**
  * Used to perform constraint validation over one or more node items.
  * <p>
+ * If {@link ValidationFeature#VALIDATE_PARALLEL_THREADS} is configured with a
+ * value greater than {@code 1}, independent subtrees are validated
+ * concurrently using a worker pool that is shared by all validators using the
+ * same number of threads. Findings are reported to the handler by one thread at
+ * a time, which may be a worker thread, in the same order as sequential
+ * validation.
+ * <p>
  * This class is not thread safe.
  */
 @SuppressWarnings({
@@ -58,17 +74,53 @@ import edu.umd.cs.findbugs.annotations.Nullable;
 public class DefaultConstraintValidator
     implements IConstraintValidator, IMutableConfiguration<ValidationFeature<?>> { // NOPMD - intentional
   private static final Logger LOGGER = LogManager.getLogger(DefaultConstraintValidator.class);
+  /**
+   * The maximum number of nested levels at which subtrees are split for parallel
+   * validation.
+   */
+  private static final int PARALLEL_SPLIT_DEPTH = 3;
+  /**
+   * The number of subtree tasks to create per worker thread when splitting the
+   * children of a node.
+   */
+  private static final int TASKS_PER_THREAD = 4;
+  /**
+   * The worker pools used for parallel validation, by number of threads.
+   * <p>
+   * The pools are reused by all validations. Idle workers are released by the
+   * pool, and the workers are daemon threads, so the pools are never shut down.
+   */
+  @NonNull
+  private static final Map<Integer, ForkJoinPool> WORKER_POOLS = new ConcurrentHashMap<>();
 
+  /**
+   * The validation plans compiled for each definition, which are shared with any
+   * subtree validators.
+   */
+  @NonNull
+  private final Map<IDefinition, ValidationPlan> validationPlans;
+  /**
+   * The node access computed for each definition and its descendant definitions.
+   */
+  @NonNull
+  private final Map<IDefinition, NodeAccess> subtreeNodeAccess = new ConcurrentHashMap<>();
   @NonNull
   private final Map<INodeItem, ValueStatus> valueMap = new LinkedHashMap<>(); // NOPMD - intentional
   @NonNull
-  private final Map<String, IIndex> indexNameToIndexMap = new ConcurrentHashMap<>();
+  private final Map<String, IIndex> indexNameToIndexMap = new LinkedHashMap<>(); // NOPMD - intentional
   @NonNull
-  private final Map<String, List<KeyRef>> indexNameToKeyRefMap = new ConcurrentHashMap<>();
+  private final Map<String, List<KeyRef>> indexNameToKeyRefMap = new LinkedHashMap<>(); // NOPMD - intentional
   @NonNull
   private final IConstraintValidationHandler handler;
   @NonNull
   private final IMutableConfiguration<ValidationFeature<?>> configuration;
+  /**
+   * The validation steps of a subtree validator that depend on nodes outside of
+   * the subtree, whose evaluation is deferred until the subtree is merged, or
+   * {@code null} if this is not a subtree validator.
+   */
+  @Nullable
+  private final List<DeferredAction> deferredActions;
 
   /**
    * Construct a new constraint validator instance.
@@ -78,8 +130,17 @@ public class DefaultConstraintValidator
    */
   public DefaultConstraintValidator(
       @NonNull IConstraintValidationHandler handler) {
+    this(handler, new ConcurrentHashMap<>(), null);
+  }
+
+  private DefaultConstraintValidator(
+      @NonNull IConstraintValidationHandler handler,
+      @NonNull Map<IDefinition, ValidationPlan> validationPlans,
+      @Nullable List<DeferredAction> deferredActions) {
     this.handler = handler;
     this.configuration = new DefaultConfiguration<>();
+    this.validationPlans = validationPlans;
+    this.deferredActions = deferredActions;
   }
 
   /**
@@ -139,7 +200,256 @@ public class DefaultConstraintValidator
   public void validate(
       @NonNull INodeItem item,
       @NonNull DynamicContext dynamicContext) {
-    item.accept(new Visitor(), dynamicContext);
+    int parallelism = getParallelism();
+    if (parallelism > 1) {
+      validateInParallel(item, dynamicContext, parallelism);
+    } else {
+      item.accept(new Visitor(), dynamicContext);
+    }
+  }
+
+  /**
+   * Get the number of worker threads to use for validation, as configured by
+   * {@link ValidationFeature#VALIDATE_PARALLEL_THREADS}.
+   * <p>
+   * Extending classes that do not support parallel validation can override this
+   * method to return {@code 1}.
+   *
+   * @return the number of threads
+   */
+  protected int getParallelism() {
+    Integer threads = getConfiguration().get(ValidationFeature.VALIDATE_PARALLEL_THREADS);
+    return threads == null ? 1 : threads;
+  }
+
+  /**
+   * Validate the provided item, splitting the validation of independent subtrees
+   * across a pool of worker threads.
+   * <p>
+   * The allowed values of an item are evaluated once the subtree containing the
+   * item has been merged, using the constraints registered by all nodes that
+   * precede the item in the document, including those in other subtrees.
+   * Indexes are also built once the subtree defining them has been merged, so
+   * that an index is only built if no preceding node defined an index with the
+   * same name. This produces the same results as sequential validation.
+   *
+   * @param item
+   *          the item to validate
+   * @param dynamicContext
+   *          the Metapath dynamic execution context to use for Metapath
+   *          evaluation
+   * @param parallelism
+   *          the number of worker threads to use
+   */
+  private void validateInParallel(
+      @NonNull INodeItem item,
+      @NonNull DynamicContext dynamicContext,
+      int parallelism) {
+    ForkJoinPool pool = WORKER_POOLS.computeIfAbsent(parallelism, threads -> new ForkJoinPool(threads));
+    pool.invoke(new SubtreeValidationTask(
+        this,
+        CollectionUtil.singletonList(item),
+        dynamicContext,
+        PARALLEL_SPLIT_DEPTH,
+        parallelism));
+  }
+
+  /**
+   * Create a new validator used to validate a subtree on a worker thread.
+   * <p>
+   * The new validator records all handler calls, so that they can be replayed
+   * against this validator's handler when the subtree is merged.
+   *
+   * @return the new validator
+   */
+  @NonNull
+  private DefaultConstraintValidator newSubtreeValidator() {
+    DefaultConstraintValidator retval = new DefaultConstraintValidator(
+        new DeferredConstraintValidationHandler(),
+        validationPlans,
+        new ArrayList<>());
+    retval.applyConfiguration(getConfiguration());
+    retval.set(ValidationFeature.VALIDATE_PARALLEL_THREADS, 1);
+    return retval;
+  }
+
+  /**
+   * Merge the state and results of a validator used to validate a subtree into
+   * this validator.
+   * <p>
+   * The deferred steps of the subtree, such as evaluating the allowed values of
+   * the items visited by the subtree, are completed, or deferred again if this is
+   * also a subtree validator, at the point they were deferred, so the results are
+   * reported in document order.
+   *
+   * @param subtreeValidator
+   *          the subtree validator to merge
+   * @param dynamicContext
+   *          the Metapath dynamic execution context to use for Metapath
+   *          evaluation
+   */
+  @SuppressWarnings("PMD.AvoidCatchingGenericException")
+  private void mergeSubtree(
+      @NonNull DefaultConstraintValidator subtreeValidator,
+      @NonNull DynamicContext dynamicContext) {
+    IConstraintValidationHandler handler = getConstraintValidationHandler();
+    DeferredConstraintValidationHandler calls
+        = (DeferredConstraintValidationHandler) subtreeValidator.getConstraintValidationHandler();
+    int position = 0;
+    for (DeferredAction action : ObjectUtils.notNull(subtreeValidator.deferredActions)) {
+      calls.forward(handler, position, action.getPosition());
+      position = action.getPosition();
+      action.complete(this, dynamicContext);
+    }
+    calls.forward(handler, position, calls.size());
+
+    // indexes are never built by a subtree validator
+    assert subtreeValidator.indexNameToIndexMap.isEmpty();
+
+    for (Map.Entry<String, List<KeyRef>> entry : subtreeValidator.indexNameToKeyRefMap.entrySet()) {
+      indexNameToKeyRefMap.computeIfAbsent(entry.getKey(), key -> new LinkedList<>()).addAll(entry.getValue());
+    }
+
+    // allowed values targeting items that were not visited by the subtree
+    for (ValueStatus status : subtreeValidator.valueMap.values()) {
+      status.transferTo(this, dynamicContext);
+    }
+  }
+
+  /**
+   * Complete the validation of the allowed values of an item that was visited.
+   * <p>
+   * A subtree validator defers the evaluation, since nodes in other subtrees that
+   * precede the item may register allowed values constraints targeting the item.
+   *
+   * @param item
+   *          the visited item
+   * @param dynamicContext
+   *          the Metapath dynamic execution context to use for Metapath
+   *          evaluation
+   */
+  private void completeAllowedValues(
+      @NonNull INodeItem item,
+      @NonNull DynamicContext dynamicContext) {
+    List<DeferredAction> actions = deferredActions;
+    if (actions == null) {
+      handleAllowedValues(item, dynamicContext);
+    } else {
+      actions.add(new DeferredTarget(getDeferredPosition(), item, valueMap.remove(item)));
+    }
+  }
+
+  /**
+   * Get the number of handler calls recorded by this subtree validator, which
+   * identifies the point at which a deferred step is to be completed.
+   *
+   * @return the position
+   */
+  private int getDeferredPosition() {
+    return ((DeferredConstraintValidationHandler) getConstraintValidationHandler()).size();
+  }
+
+  /**
+   * Complete the validation of the allowed values of an item visited by a merged
+   * subtree validator.
+   * <p>
+   * The constraints registered with this validator for the item precede those
+   * registered by the subtree in document order.
+   *
+   * @param target
+   *          the item visited by the subtree validator
+   * @param dynamicContext
+   *          the Metapath dynamic execution context to use for Metapath
+   *          evaluation
+   */
+  private void completeDeferredAllowedValues(
+      @NonNull DeferredTarget target,
+      @NonNull DynamicContext dynamicContext) {
+    ValueStatus status = target.getStatus();
+    if (status != null) {
+      status.transferTo(this, dynamicContext);
+    }
+    completeAllowedValues(target.getItem(), dynamicContext);
+  }
+
+  /**
+   * Complete the validation of an index constraint evaluated by a merged subtree
+   * validator, building the index if no index with the same name was defined
+   * by a preceding node.
+   *
+   * @param deferred
+   *          the index constraint evaluated by the subtree validator
+   */
+  @SuppressWarnings("PMD.AvoidCatchingGenericException")
+  private void completeDeferredIndex(@NonNull DeferredIndex deferred) {
+    IIndexConstraint constraint = deferred.getConstraint();
+    IAssemblyNodeItem node = deferred.getNode();
+    // use the context the constraint was evaluated with, including its variables
+    DynamicContext dynamicContext = deferred.getDynamicContext();
+    try {
+      validateIndex(constraint, node, ISequence.ofCollection(deferred.getTargets()), dynamicContext);
+    } catch (RuntimeException ex) {
+      handleError(constraint, node, ex, dynamicContext);
+    }
+  }
+
+  /**
+   * Get the validation plan for the provided definition, compiling the plan if
+   * needed.
+   *
+   * @param definition
+   *          the definition to get the plan for
+   * @return the plan
+   */
+  @NonNull
+  private ValidationPlan getValidationPlan(@NonNull IDefinition definition) {
+    return ObjectUtils.notNull(validationPlans.computeIfAbsent(
+        definition,
+        key -> definition instanceof IAssemblyDefinition
+            ? ValidationPlan.compile((IAssemblyDefinition) definition)
+            : ValidationPlan.compile(definition)));
+  }
+
+  /**
+   * Determine the extent of a document that may be accessed when validating a
+   * node based on the provided definition.
+   * <p>
+   * This considers the constraints and let statements of the definition, but not
+   * those of any descendant nodes.
+   *
+   * @param definition
+   *          the definition to analyze
+   * @return the node access
+   */
+  @NonNull
+  public NodeAccess getNodeAccess(@NonNull IDefinition definition) {
+    NodeAccess retval = getValidationPlan(definition).getNodeAccess();
+    for (ILet let : definition.getLetExpressions().values()) {
+      retval = retval.combine(let.getValueExpression().getNodeAccess());
+    }
+    return retval;
+  }
+
+  /**
+   * Determine the extent of a document that may be accessed when validating a
+   * node based on the provided definition, along with all of the node's
+   * descendants.
+   * <p>
+   * A result of {@link NodeAccess#SUBTREE} or better indicates that the node can
+   * be validated independently of the rest of the document, which allows the
+   * node to be released once it has been validated.
+   *
+   * @param definition
+   *          the definition to analyze
+   * @return the node access
+   */
+  @NonNull
+  public NodeAccess getSubtreeNodeAccess(@NonNull IDefinition definition) {
+    return ObjectUtils.notNull(subtreeNodeAccess.computeIfAbsent(
+        definition,
+        key -> UsedDefinitionModelWalker.collectUsedDefinitions(definition).stream()
+            .map(def -> getNodeAccess(ObjectUtils.notNull(def)))
+            .reduce(NodeAccess.FOCUS, NodeAccess::combine)));
   }
 
   /**
@@ -158,11 +468,8 @@ public class DefaultConstraintValidator
       @NonNull IFlagNodeItem item,
       @NonNull DynamicContext dynamicContext) {
     IFlagDefinition definition = item.getDefinition();
-
-    validateExpect(definition.getExpectConstraints(), item, dynamicContext);
-    validateAllowedValues(definition.getAllowedValuesConstraints(), item, dynamicContext);
-    validateIndexHasKey(definition.getIndexHasKeyConstraints(), item, dynamicContext);
-    validateMatches(definition.getMatchesConstraints(), item, dynamicContext);
+    ValidationPlan plan = getValidationPlan(definition);
+    validateValueConstraints(plan, item, dynamicContext);
   }
 
   /**
@@ -181,11 +488,8 @@ public class DefaultConstraintValidator
       @NonNull IFieldNodeItem item,
       @NonNull DynamicContext dynamicContext) {
     IFieldDefinition definition = item.getDefinition();
-
-    validateExpect(definition.getExpectConstraints(), item, dynamicContext);
-    validateAllowedValues(definition.getAllowedValuesConstraints(), item, dynamicContext);
-    validateIndexHasKey(definition.getIndexHasKeyConstraints(), item, dynamicContext);
-    validateMatches(definition.getMatchesConstraints(), item, dynamicContext);
+    ValidationPlan plan = getValidationPlan(definition);
+    validateValueConstraints(plan, item, dynamicContext);
   }
 
   /**
@@ -204,14 +508,46 @@ public class DefaultConstraintValidator
       @NonNull IAssemblyNodeItem item,
       @NonNull DynamicContext dynamicContext) {
     IAssemblyDefinition definition = item.getDefinition();
+    ValidationPlan plan = getValidationPlan(definition);
+    if (!plan.isEmpty()) {
+      TargetResolver targets = plan.newTargetResolver(item, dynamicContext);
+      validateValueConstraints(plan, targets, item, dynamicContext);
+      validateHasCardinality(plan.getHasCardinalityConstraints(), targets, item, dynamicContext);
+      validateIndex(plan.getIndexConstraints(), targets, item, dynamicContext);
+      validateUnique(plan.getUniqueConstraints(), targets, item, dynamicContext);
+    }
+  }
+
+  /**
+   * Validate the provided item against the value constraints in the provided
+   * plan.
+   *
+   * @param plan
+   *          the validation plan for the item's definition
+   * @param item
+   *          the item to validate
+   * @param dynamicContext
+   *          the Metapath dynamic execution context to use for Metapath
+   *          evaluation
+   */
+  private void validateValueConstraints(
+      @NonNull ValidationPlan plan,
+      @NonNull IDefinitionNodeItem<?, ?> item,
+      @NonNull DynamicContext dynamicContext) {
+    if (!plan.isEmpty()) {
+      validateValueConstraints(plan, plan.newTargetResolver(item, dynamicContext), item, dynamicContext);
+    }
+  }
 
-    validateExpect(definition.getExpectConstraints(), item, dynamicContext);
-    validateAllowedValues(definition.getAllowedValuesConstraints(), item, dynamicContext);
-    validateIndexHasKey(definition.getIndexHasKeyConstraints(), item, dynamicContext);
-    validateMatches(definition.getMatchesConstraints(), item, dynamicContext);
-    validateHasCardinality(definition.getHasCardinalityConstraints(), item, dynamicContext);
-    validateIndex(definition.getIndexConstraints(), item, dynamicContext);
-    validateUnique(definition.getUniqueConstraints(), item, dynamicContext);
+  private void validateValueConstraints(
+      @NonNull ValidationPlan plan,
+      @NonNull TargetResolver targets,
+      @NonNull IDefinitionNodeItem<?, ?> item,
+      @NonNull DynamicContext dynamicContext) {
+    validateExpect(plan.getExpectConstraints(), targets, item, dynamicContext);
+    validateAllowedValues(plan.getAllowedValuesConstraints(), targets, item, dynamicContext);
+    validateIndexHasKey(plan.getIndexHasKeyConstraints(), targets, item, dynamicContext);
+    validateMatches(plan.getMatchesConstraints(), targets, item, dynamicContext);
   }
 
   /**
@@ -220,6 +556,8 @@ public class DefaultConstraintValidator
    *
    * @param constraints
    *          the constraints to execute
+   * @param targetResolver
+   *          used to evaluate the targets of the constraints
    * @param item
    *          the focus of Metapath evaluation
    * @param dynamicContext
@@ -228,14 +566,15 @@ public class DefaultConstraintValidator
    */
   @SuppressWarnings("PMD.AvoidCatchingGenericException")
   private void validateHasCardinality( // NOPMD false positive
-      @NonNull List<? extends ICardinalityConstraint> constraints,
+      @NonNull List<PlannedConstraint<ICardinalityConstraint>> constraints,
+      @NonNull TargetResolver targetResolver,
       @NonNull IAssemblyNodeItem item,
       @NonNull DynamicContext dynamicContext) {
-    for (ICardinalityConstraint constraint : constraints) {
-      assert constraint != null;
+    for (PlannedConstraint<ICardinalityConstraint> planned : constraints) {
+      ICardinalityConstraint constraint = planned.getConstraint();
 
       try {
-        ISequence<? extends IDefinitionNodeItem<?, ?>> targets = constraint.matchTargets(item, dynamicContext);
+        ISequence<? extends IDefinitionNodeItem<?, ?>> targets = targetResolver.getTargets(planned);
         validateHasCardinality(constraint, item, targets, dynamicContext);
       } catch (RuntimeException ex) {
         handleError(constraint, item, ex, dynamicContext);
@@ -289,6 +628,8 @@ public class DefaultConstraintValidator
    *
    * @param constraints
    *          the constraints to execute
+   * @param targetResolver
+   *          used to evaluate the targets of the constraints
    * @param item
    *          the focus of Metapath evaluation
    * @param dynamicContext
@@ -297,14 +638,15 @@ public class DefaultConstraintValidator
    */
   @SuppressWarnings("PMD.AvoidCatchingGenericException")
   private void validateIndex(
-      @NonNull List<? extends IIndexConstraint> constraints,
+      @NonNull List<PlannedConstraint<IIndexConstraint>> constraints,
+      @NonNull TargetResolver targetResolver,
       @NonNull IAssemblyNodeItem item,
       @NonNull DynamicContext dynamicContext) {
-    for (IIndexConstraint constraint : constraints) {
-      assert constraint != null;
+    for (PlannedConstraint<IIndexConstraint> planned : constraints) {
+      IIndexConstraint constraint = planned.getConstraint();
 
       try {
-        ISequence<? extends IDefinitionNodeItem<?, ?>> targets = constraint.matchTargets(item, dynamicContext);
+        ISequence<? extends IDefinitionNodeItem<?, ?>> targets = targetResolver.getTargets(planned);
         validateIndex(constraint, item, targets, dynamicContext);
       } catch (RuntimeException ex) {
         handleError(constraint, item, ex, dynamicContext);
@@ -336,7 +678,13 @@ public class DefaultConstraintValidator
     String indexName = constraint.getName();
 
     IConstraintValidationHandler handler = getConstraintValidationHandler();
-    if (indexNameToIndexMap.containsKey(indexName)) {
+    List<DeferredAction> actions = deferredActions;
+    if (actions != null) {
+      // an index with the same name may be defined by a node in a preceding
+      // subtree, which is only known once this subtree has been merged
+      List<INodeItem> items = new ArrayList<>(targets.getValue());
+      actions.add(new DeferredIndex(getDeferredPosition(), constraint, node, items, dynamicContext));
+    } else if (indexNameToIndexMap.containsKey(indexName)) {
       handler.handleIndexDuplicateViolation(constraint, node, dynamicContext);
     } else {
       IIndex index = IIndex.newInstance(constraint.getKeyFields());
@@ -413,6 +761,8 @@ public class DefaultConstraintValidator
    *
    * @param constraints
    *          the constraints to execute
+   * @param targetResolver
+   *          used to evaluate the targets of the constraints
    * @param item
    *          the focus of Metapath evaluation
    * @param dynamicContext
@@ -421,14 +771,15 @@ public class DefaultConstraintValidator
    */
   @SuppressWarnings("PMD.AvoidCatchingGenericException")
   private void validateUnique(
-      @NonNull List<? extends IUniqueConstraint> constraints,
+      @NonNull List<PlannedConstraint<IUniqueConstraint>> constraints,
+      @NonNull TargetResolver targetResolver,
       @NonNull IAssemblyNodeItem item,
       @NonNull DynamicContext dynamicContext) {
-    for (IUniqueConstraint constraint : constraints) {
-      assert constraint != null;
+    for (PlannedConstraint<IUniqueConstraint> planned : constraints) {
+      IUniqueConstraint constraint = planned.getConstraint();
 
       try {
-        ISequence<? extends IDefinitionNodeItem<?, ?>> targets = constraint.matchTargets(item, dynamicContext);
+        ISequence<? extends IDefinitionNodeItem<?, ?>> targets = targetResolver.getTargets(planned);
         validateUnique(constraint, item, targets, dynamicContext);
       } catch (RuntimeException ex) {
         handleError(constraint, item, ex, dynamicContext);
@@ -485,6 +836,8 @@ public class DefaultConstraintValidator
    *
    * @param constraints
    *          the constraints to execute
+   * @param targetResolver
+   *          used to evaluate the targets of the constraints
    * @param item
    *          the focus of Metapath evaluation
    * @param dynamicContext
@@ -493,15 +846,16 @@ public class DefaultConstraintValidator
    */
   @SuppressWarnings("PMD.AvoidCatchingGenericException")
   private void validateMatches( // NOPMD false positive
-      @NonNull List<? extends IMatchesConstraint> constraints,
+      @NonNull List<PlannedConstraint<IMatchesConstraint>> constraints,
+      @NonNull TargetResolver targetResolver,
       @NonNull IDefinitionNodeItem<?, ?> item,
       @NonNull DynamicContext dynamicContext) {
 
-    for (IMatchesConstraint constraint : constraints) {
-      assert constraint != null;
+    for (PlannedConstraint<IMatchesConstraint> planned : constraints) {
+      IMatchesConstraint constraint = planned.getConstraint();
 
       try {
-        ISequence<? extends IDefinitionNodeItem<?, ?>> targets = constraint.matchTargets(item, dynamicContext);
+        ISequence<? extends IDefinitionNodeItem<?, ?>> targets = targetResolver.getTargets(planned);
         validateMatches(constraint, item, targets, dynamicContext);
       } catch (RuntimeException ex) {
         handleError(constraint, item, ex, dynamicContext);
@@ -573,6 +927,8 @@ public class DefaultConstraintValidator
    *
    * @param constraints
    *          the constraints to execute
+   * @param targetResolver
+   *          used to evaluate the targets of the constraints
    * @param item
    *          the focus of Metapath evaluation
    * @param dynamicContext
@@ -581,15 +937,16 @@ public class DefaultConstraintValidator
    */
   @SuppressWarnings("PMD.AvoidCatchingGenericException")
   private void validateIndexHasKey( // NOPMD false positive
-      @NonNull List<? extends IIndexHasKeyConstraint> constraints,
+      @NonNull List<PlannedConstraint<IIndexHasKeyConstraint>> constraints,
+      @NonNull TargetResolver targetResolver,
       @NonNull IDefinitionNodeItem<?, ?> item,
       @NonNull DynamicContext dynamicContext) {
 
-    for (IIndexHasKeyConstraint constraint : constraints) {
-      assert constraint != null;
+    for (PlannedConstraint<IIndexHasKeyConstraint> planned : constraints) {
+      IIndexHasKeyConstraint constraint = planned.getConstraint();
 
       try {
-        ISequence<? extends IDefinitionNodeItem<?, ?>> targets = constraint.matchTargets(item, dynamicContext);
+        ISequence<? extends IDefinitionNodeItem<?, ?>> targets = targetResolver.getTargets(planned);
         validateIndexHasKey(constraint, item, targets);
       } catch (RuntimeException ex) {
         handleError(constraint, item, ex, dynamicContext);
@@ -631,6 +988,8 @@ public class DefaultConstraintValidator
    *
    * @param constraints
    *          the constraints to execute
+   * @param targetResolver
+   *          used to evaluate the targets of the constraints
    * @param item
    *          the focus of Metapath evaluation
    * @param dynamicContext
@@ -639,14 +998,15 @@ public class DefaultConstraintValidator
    */
   @SuppressWarnings("PMD.AvoidCatchingGenericException")
   private void validateExpect(
-      @NonNull List<? extends IExpectConstraint> constraints,
+      @NonNull List<PlannedConstraint<IExpectConstraint>> constraints,
+      @NonNull TargetResolver targetResolver,
       @NonNull IDefinitionNodeItem<?, ?> item,
       @NonNull DynamicContext dynamicContext) {
-    for (IExpectConstraint constraint : constraints) {
-      assert constraint != null;
+    for (PlannedConstraint<IExpectConstraint> planned : constraints) {
+      IExpectConstraint constraint = planned.getConstraint();
 
       try {
-        ISequence<? extends IDefinitionNodeItem<?, ?>> targets = constraint.matchTargets(item, dynamicContext);
+        ISequence<? extends IDefinitionNodeItem<?, ?>> targets = targetResolver.getTargets(planned);
         validateExpect(constraint, item, targets, dynamicContext);
       } catch (RuntimeException ex) {
         handleError(constraint, item, ex, dynamicContext);
@@ -706,6 +1066,8 @@ public class DefaultConstraintValidator
    *
    * @param constraints
    *          the constraints to execute
+   * @param targetResolver
+   *          used to evaluate the targets of the constraints
    * @param item
    *          the focus of Metapath evaluation
    * @param dynamicContext
@@ -714,13 +1076,14 @@ public class DefaultConstraintValidator
    */
   @SuppressWarnings("PMD.AvoidCatchingGenericException")
   private void validateAllowedValues(
-      @NonNull List<? extends IAllowedValuesConstraint> constraints,
+      @NonNull List<PlannedConstraint<IAllowedValuesConstraint>> constraints,
+      @NonNull TargetResolver targetResolver,
       @NonNull IDefinitionNodeItem<?, ?> item,
       @NonNull DynamicContext dynamicContext) {
-    for (IAllowedValuesConstraint constraint : constraints) {
-      assert constraint != null;
+    for (PlannedConstraint<IAllowedValuesConstraint> planned : constraints) {
+      IAllowedValuesConstraint constraint = planned.getConstraint();
       try {
-        ISequence<? extends IDefinitionNodeItem<?, ?>> targets = constraint.matchTargets(item, dynamicContext);
+        ISequence<? extends IDefinitionNodeItem<?, ?>> targets = targetResolver.getTargets(planned);
         validateAllowedValues(constraint, item, targets, dynamicContext);
       } catch (RuntimeException ex) {
         handleError(constraint, item, ex, dynamicContext);
@@ -808,6 +1171,19 @@ public class DefaultConstraintValidator
     }
   }
 
+  /**
+   * Discard the state collected while validating, such as pending allowed values
+   * and index information, allowing this validator to be used for another
+   * validation.
+   * <p>
+   * The compiled validation plans are retained.
+   */
+  protected void resetState() {
+    valueMap.clear();
+    indexNameToIndexMap.clear();
+    indexNameToKeyRefMap.clear();
+  }
+
   @SuppressWarnings("PMD.AvoidCatchingGenericException")
   @Override
   public void finalizeValidation(DynamicContext dynamicContext) {
@@ -922,6 +1298,30 @@ public class DefaultConstraintValidator
       }
     }
 
+    /**
+     * Register the allowed values constraints tracked by this status with the
+     * provided validator.
+     *
+     * @param validator
+     *          the validator to register the constraints with
+     * @param dynamicContext
+     *          the Metapath dynamic execution context to use for Metapath
+     *          evaluation
+     */
+    @SuppressWarnings("PMD.AvoidCatchingGenericException")
+    public void transferTo(
+        @NonNull DefaultConstraintValidator validator,
+        @NonNull DynamicContext dynamicContext) {
+      for (Pair<IAllowedValuesConstraint, IDefinitionNodeItem<?, ?>> pair : constraints) {
+        IAllowedValuesConstraint allowedValues = ObjectUtils.notNull(pair.getLeft());
+        try {
+          validator.updateValueStatus(item, allowedValues, ObjectUtils.notNull(pair.getRight()));
+        } catch (RuntimeException ex) {
+          validator.handleError(allowedValues, item, ex, dynamicContext);
+        }
+      }
+    }
+
     public void validate(@NonNull DynamicContext dynamicContext) {
       if (!constraints.isEmpty()) {
         boolean match = false;
@@ -956,7 +1356,7 @@ public class DefaultConstraintValidator
       extends AbstractNodeItemVisitor<DynamicContext, Void> {
 
     @NonNull
-    private DynamicContext handleLetStatements(
+    protected DynamicContext handleLetStatements(
         @NonNull INodeItem focus,
         @NonNull Map<IEnhancedQName, ILet> letExpressions,
         @NonNull DynamicContext dynamicContext) {
@@ -973,8 +1373,9 @@ public class DefaultConstraintValidator
           ISequence<?> result = let.getValueExpression().evaluate(focus, subContext);
           subContext.bindVariableValue(
               name,
-              // ensure the sequence is list backed
-              result.reusable());
+              // evaluate the whole sequence now, so that errors are attributed to the
+              // constraint binding the variable and the value is not evaluated again
+              ISequence.ofCollection(result.getValue()));
         }
         retval = subContext;
       }
@@ -990,7 +1391,7 @@ public class DefaultConstraintValidator
 
       validateFlag(item, effectiveContext);
       super.visitFlag(item, effectiveContext);
-      handleAllowedValues(item, context);
+      completeAllowedValues(item, context);
       return null;
     }
 
@@ -1003,7 +1404,7 @@ public class DefaultConstraintValidator
 
       validateField(item, effectiveContext);
       super.visitField(item, effectiveContext);
-      handleAllowedValues(item, context);
+      completeAllowedValues(item, context);
       return null;
     }
 
@@ -1031,6 +1432,237 @@ public class DefaultConstraintValidator
     }
   }
 
+  /**
+   * A visitor that splits the validation of the model children of assemblies
+   * into subtree tasks that are executed concurrently.
+   */
+  private class ParallelVisitor
+      extends Visitor {
+    private final int remainingDepth;
+    private final int parallelism;
+
+    public ParallelVisitor(int remainingDepth, int parallelism) {
+      this.remainingDepth = remainingDepth;
+      this.parallelism = parallelism;
+    }
+
+    @Override
+    public Void visitAssembly(@NonNull IAssemblyNodeItem item, DynamicContext context) {
+      assert context != null;
+
+      IAssemblyDefinition definition = item.getDefinition();
+      DynamicContext effectiveContext = handleLetStatements(item, definition.getLetExpressions(), context);
+
+      validateAssembly(item, effectiveContext);
+      visitFlags(item, effectiveContext);
+
+      List<? extends IModelNodeItem<?, ?>> children = item.modelItems().collect(Collectors.toList());
+      if (remainingDepth <= 0 || children.size() < 2) {
+        visitModelChildren(item, effectiveContext);
+      } else {
+        visitInParallel(children, effectiveContext);
+      }
+      return null;
+    }
+
+    private void visitInParallel(
+        @NonNull List<? extends IModelNodeItem<?, ?>> children,
+        @NonNull DynamicContext context) {
+      int taskCount = Math.min(children.size(), parallelism * TASKS_PER_THREAD);
+      int chunkSize = (children.size() + taskCount - 1) / taskCount;
+
+      List<SubtreeValidationTask> tasks = new ArrayList<>(taskCount);
+      for (int start = 0; start < children.size(); start += chunkSize) {
+        List<? extends IModelNodeItem<?, ?>> chunk = children.subList(start, Math.min(start + chunkSize, children.size()));
+        tasks.add(new SubtreeValidationTask(
+            newSubtreeValidator(),
+            CollectionUtil.unmodifiableList(new ArrayList<>(chunk)),
+            context.concurrentSubContext(),
+            remainingDepth - 1,
+            parallelism));
+      }
+
+      ForkJoinTask.invokeAll(tasks);
+
+      // merge in document order
+      for (SubtreeValidationTask task : tasks) {
+        mergeSubtree(task.getValidator(), context);
+      }
+    }
+  }
+
+  /**
+   * Validates a sequence of sibling subtrees using a single validator.
+   */
+  private static final class SubtreeValidationTask
+      extends RecursiveAction {
+    private static final long serialVersionUID = 1L;
+
+    @NonNull
+    private final transient DefaultConstraintValidator validator;
+    @NonNull
+    private final transient List<? extends INodeItem> items;
+    @NonNull
+    private final transient DynamicContext dynamicContext;
+    private final int remainingDepth;
+    private final int parallelism;
+
+    public SubtreeValidationTask(
+        @NonNull DefaultConstraintValidator validator,
+        @NonNull List<? extends INodeItem> items,
+        @NonNull DynamicContext dynamicContext,
+        int remainingDepth,
+        int parallelism) {
+      this.validator = validator;
+      this.items = items;
+      this.dynamicContext = dynamicContext;
+      this.remainingDepth = remainingDepth;
+      this.parallelism = parallelism;
+    }
+
+    @NonNull
+    public DefaultConstraintValidator getValidator() {
+      return validator;
+    }
+
+    @Override
+    protected void compute() {
+      Visitor visitor = validator.new ParallelVisitor(remainingDepth, parallelism);
+      for (INodeItem item : items) {
+        item.accept(visitor, dynamicContext);
+      }
+    }
+  }
+
+  /**
+   * A validation step of a subtree validator that is completed once the subtree
+   * is merged.
+   */
+  private abstract static class DeferredAction {
+    private final int position;
+
+    protected DeferredAction(int position) {
+      this.position = position;
+    }
+
+    /**
+     * Get the number of handler calls recorded before the step was deferred.
+     *
+     * @return the position
+     */
+    public int getPosition() {
+      return position;
+    }
+
+    /**
+     * Complete the step using the validator the subtree is merged into.
+     *
+     * @param validator
+     *          the validator the subtree is merged into
+     * @param dynamicContext
+     *          the Metapath dynamic execution context of the validator
+     */
+    public abstract void complete(
+        @NonNull DefaultConstraintValidator validator,
+        @NonNull DynamicContext dynamicContext);
+  }
+
+  /**
+   * An item visited by a subtree validator, whose allowed values are evaluated
+   * once the subtree is merged.
+   */
+  private static final class DeferredTarget
+      extends DeferredAction {
+    @NonNull
+    private final INodeItem item;
+    @Nullable
+    private final ValueStatus status;
+
+    public DeferredTarget(
+        int position,
+        @NonNull INodeItem item,
+        @Nullable ValueStatus status) {
+      super(position);
+      this.item = item;
+      this.status = status;
+    }
+
+    @Override
+    public void complete(DefaultConstraintValidator validator, DynamicContext dynamicContext) {
+      validator.completeDeferredAllowedValues(this, dynamicContext);
+    }
+
+    @NonNull
+    public INodeItem getItem() {
+      return item;
+    }
+
+    /**
+     * Get the allowed values constraints registered for the item by the subtree
+     * validator.
+     *
+     * @return the status, or {@code null} if no constraints were registered
+     */
+    @Nullable
+    public ValueStatus getStatus() {
+      return status;
+    }
+  }
+
+  /**
+   * An index constraint evaluated by a subtree validator, whose index is built
+   * once the subtree is merged.
+   */
+  private static final class DeferredIndex
+      extends DeferredAction {
+    @NonNull
+    private final IIndexConstraint constraint;
+    @NonNull
+    private final IAssemblyNodeItem node;
+    @NonNull
+    private final List<INodeItem> targets;
+    @NonNull
+    private final DynamicContext dynamicContext;
+
+    public DeferredIndex(
+        int position,
+        @NonNull IIndexConstraint constraint,
+        @NonNull IAssemblyNodeItem node,
+        @NonNull List<INodeItem> targets,
+        @NonNull DynamicContext dynamicContext) {
+      super(position);
+      this.constraint = constraint;
+      this.node = node;
+      this.targets = targets;
+      this.dynamicContext = dynamicContext;
+    }
+
+    @NonNull
+    public IIndexConstraint getConstraint() {
+      return constraint;
+    }
+
+    @NonNull
+    public IAssemblyNodeItem getNode() {
+      return node;
+    }
+
+    @NonNull
+    public List<INodeItem> getTargets() {
+      return targets;
+    }
+
+    @NonNull
+    public DynamicContext getDynamicContext() {
+      return dynamicContext;
+    }
+
+    @Override
+    public void complete(DefaultConstraintValidator validator, DynamicContext dynamicContext) {
+      validator.completeDeferredIndex(this);
+    }
+  }
+
   private static class KeyRef {
     @NonNull
     private final IIndexHasKeyConstraint constraint;
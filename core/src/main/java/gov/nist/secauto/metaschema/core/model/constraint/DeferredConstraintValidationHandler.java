@@ -0,0 +1,216 @@
+/*
+ * SPDX-FileCopyrightText: none
+ * SPDX-License-Identifier: CC0-1.0
+ */
+
+package gov.nist.secauto.metaschema.core.model.constraint;
+
+import gov.nist.secauto.metaschema.core.datatype.IDataTypeAdapter;
+import gov.nist.secauto.metaschema.core.metapath.DynamicContext;
+import gov.nist.secauto.metaschema.core.metapath.MetapathException;
+import gov.nist.secauto.metaschema.core.metapath.item.ISequence;
+import gov.nist.secauto.metaschema.core.metapath.item.node.INodeItem;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.function.Consumer;
+import java.util.regex.Pattern;
+
+import edu.umd.cs.findbugs.annotations.NonNull;
+
+/**
+ * A validation handler that records each handler call, allowing the calls to be
+ * replayed later against another handler.
+ * <p>
+ * This is used to collect the results of validating a subtree on a worker
+ * thread, so that the results can be reported in document order once all
+ * subtrees have been validated.
+ * <p>
+ * This class is not thread safe.
+ */
+@SuppressWarnings("PMD.CouplingBetweenObjects")
+final class DeferredConstraintValidationHandler implements IConstraintValidationHandler {
+  @NonNull
+  private final List<Consumer<IConstraintValidationHandler>> calls = new ArrayList<>();
+
+  /**
+   * Get the number of recorded handler calls.
+   *
+   * @return the number of calls
+   */
+  public int size() {
+    return calls.size();
+  }
+
+  /**
+   * Replay the recorded handler calls, in the order they were recorded, against
+   * the provided handler, retaining the calls so they can be replayed again.
+   *
+   * @param handler
+   *          the handler to replay the calls against
+   */
+  public void forward(@NonNull IConstraintValidationHandler handler) {
+    for (Consumer<IConstraintValidationHandler> call : calls) {
+      call.accept(handler);
+    }
+  }
+
+  /**
+   * Replay a range of the recorded handler calls, in the order they were
+   * recorded, against the provided handler.
+   *
+   * @param handler
+   *          the handler to replay the calls against
+   * @param fromIndex
+   *          the index of the first call to replay
+   * @param toIndex
+   *          the index after the last call to replay
+   */
+  public void forward(@NonNull IConstraintValidationHandler handler, int fromIndex, int toIndex) {
+    for (Consumer<IConstraintValidationHandler> call : calls.subList(fromIndex, toIndex)) {
+      call.accept(handler);
+    }
+  }
+
+  @Override
+  public void handleCardinalityMinimumViolation(
+      ICardinalityConstraint constraint,
+      INodeItem target,
+      ISequence<? extends INodeItem> testedItems,
+      DynamicContext dynamicContext) {
+    calls.add(handler -> handler.handleCardinalityMinimumViolation(constraint, target, testedItems, dynamicContext));
+  }
+
+  @Override
+  public void handleCardinalityMaximumViolation(
+      ICardinalityConstraint constraint,
+      INodeItem target,
+      ISequence<? extends INodeItem> testedItems,
+      DynamicContext dynamicContext) {
+    calls.add(handler -> handler.handleCardinalityMaximumViolation(constraint, target, testedItems, dynamicContext));
+  }
+
+  @Override
+  public void handleIndexDuplicateViolation(
+      IIndexConstraint constraint,
+      INodeItem node,
+      DynamicContext dynamicContext) {
+    calls.add(handler -> handler.handleIndexDuplicateViolation(constraint, node, dynamicContext));
+  }
+
+  @Override
+  public void handleIndexDuplicateKeyViolation(
+      IIndexConstraint constraint,
+      INodeItem node,
+      INodeItem oldItem,
+      INodeItem target,
+      DynamicContext dynamicContext) {
+    calls.add(handler -> handler.handleIndexDuplicateKeyViolation(constraint, node, oldItem, target, dynamicContext));
+  }
+
+  @Override
+  public void handleUniqueKeyViolation(
+      IUniqueConstraint constraint,
+      INodeItem node,
+      INodeItem oldItem,
+      INodeItem target,
+      DynamicContext dynamicContext) {
+    calls.add(handler -> handler.handleUniqueKeyViolation(constraint, node, oldItem, target, dynamicContext));
+  }
+
+  @Override
+  public void handleKeyMatchError(
+      IKeyConstraint constraint,
+      INodeItem node,
+      INodeItem target,
+      MetapathException exception,
+      DynamicContext dynamicContext) {
+    calls.add(handler -> handler.handleKeyMatchError(constraint, node, target, exception, dynamicContext));
+  }
+
+  @Override
+  public void handleMissingIndexViolation(
+      IIndexHasKeyConstraint constraint,
+      INodeItem node,
+      INodeItem target,
+      String message,
+      DynamicContext dynamicContext) {
+    calls.add(handler -> handler.handleMissingIndexViolation(constraint, node, target, message, dynamicContext));
+  }
+
+  @Override
+  public void handleIndexMiss(
+      IIndexHasKeyConstraint constraint,
+      INodeItem node,
+      INodeItem target,
+      List<String> key,
+      DynamicContext dynamicContext) {
+    calls.add(handler -> handler.handleIndexMiss(constraint, node, target, key, dynamicContext));
+  }
+
+  @Override
+  public void handleMatchPatternViolation(
+      IMatchesConstraint constraint,
+      INodeItem node,
+      INodeItem target,
+      String value,
+      Pattern pattern,
+      DynamicContext dynamicContext) {
+    calls.add(handler -> handler.handleMatchPatternViolation(constraint, node, target, value, pattern, dynamicContext));
+  }
+
+  @Override
+  public void handleMatchDatatypeViolation(
+      IMatchesConstraint constraint,
+      INodeItem node,
+      INodeItem target,
+      String value,
+      IDataTypeAdapter<?> adapter,
+      IllegalArgumentException cause,
+      DynamicContext dynamicContext) {
+    calls.add(handler -> handler.handleMatchDatatypeViolation(
+        constraint,
+        node,
+        target,
+        value,
+        adapter,
+        cause,
+        dynamicContext));
+  }
+
+  @Override
+  public void handleExpectViolation(
+      IExpectConstraint constraint,
+      INodeItem node,
+      INodeItem target,
+      DynamicContext dynamicContext) {
+    calls.add(handler -> handler.handleExpectViolation(constraint, node, target, dynamicContext));
+  }
+
+  @Override
+  public void handleAllowedValuesViolation(
+      List<IAllowedValuesConstraint> failedConstraints,
+      INodeItem target,
+      DynamicContext dynamicContext) {
+    calls.add(handler -> handler.handleAllowedValuesViolation(failedConstraints, target, dynamicContext));
+  }
+
+  @Override
+  public void handlePass(
+      IConstraint constraint,
+      INodeItem node,
+      INodeItem target,
+      DynamicContext dynamicContext) {
+    calls.add(handler -> handler.handlePass(constraint, node, target, dynamicContext));
+  }
+
+  @Override
+  public void handleError(
+      IConstraint constraint,
+      INodeItem node,
+      String message,
+      Throwable exception,
+      DynamicContext dynamicContext) {
+    calls.add(handler -> handler.handleError(constraint, node, message, exception, dynamicContext));
+  }
+}
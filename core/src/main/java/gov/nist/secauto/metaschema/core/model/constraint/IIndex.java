@@ -6,19 +6,14 @@
 package gov.nist.secauto.metaschema.core.model.constraint;
 
 import gov.nist.secauto.metaschema.core.metapath.DynamicContext;
-import gov.nist.secauto.metaschema.core.metapath.IMetapathExpression;
-import gov.nist.secauto.metaschema.core.metapath.MetapathException;
-import gov.nist.secauto.metaschema.core.metapath.item.IItem;
 import gov.nist.secauto.metaschema.core.metapath.item.node.INodeItem;
-import gov.nist.secauto.metaschema.core.metapath.type.InvalidTypeMetapathException;
 import gov.nist.secauto.metaschema.core.model.constraint.impl.DefaultIndex;
+import gov.nist.secauto.metaschema.core.model.constraint.impl.KeyFieldUtils;
 import gov.nist.secauto.metaschema.core.util.CollectionUtil;
 import gov.nist.secauto.metaschema.core.util.ObjectUtils;
 
 import java.util.ArrayList;
 import java.util.List;
-import java.util.regex.Matcher;
-import java.util.regex.Pattern;
 import java.util.stream.Collectors;
 
 import edu.umd.cs.findbugs.annotations.NonNull;
@@ -138,74 +133,8 @@ public interface IIndex {
         ObjectUtils.notNull(keyFields.stream()
             .map(keyField -> {
               assert keyField != null;
-              return buildKeyItem(item, keyField, dynamicContext);
+              return KeyFieldUtils.buildKeyItem(item, keyField, dynamicContext);
             })
             .collect(Collectors.toCollection(ArrayList::new))));
   }
-
-  /**
-   * Evaluates the provided key field component against the item to generate a key
-   * value.
-   *
-   * @param item
-   *          the item to generate the key value from
-   * @param keyField
-   *          the key field component used to generate the key value
-   * @param dynamicContext
-   *          the Metapath evaluation context
-   * @return the key value or {@code null} if the evaluation resulted in no value
-   */
-  @Nullable
-  private static String buildKeyItem(
-      @NonNull INodeItem item,
-      @NonNull IKeyField keyField,
-      @NonNull DynamicContext dynamicContext) {
-    IMetapathExpression keyMetapath = keyField.getTarget();
-
-    IItem keyItem;
-    try {
-      keyItem = keyMetapath.evaluateAs(item, IMetapathExpression.ResultType.ITEM, dynamicContext);
-    } catch (InvalidTypeMetapathException ex) {
-      throw new MetapathException("Key path did not result in a single item", ex);
-    }
-
-    String keyValue = null;
-    if (keyItem != null) {
-      keyValue = keyItem.toAtomicItem().asString();
-      assert keyValue != null;
-      Pattern pattern = keyField.getPattern();
-      if (pattern != null) {
-        keyValue = applyPattern(keyMetapath, keyValue, pattern);
-      }
-    } // empty key
-    return keyValue;
-  }
-
-  /**
-   * Apply the key value pattern, if configured, to generate the final key value.
-   *
-   * @param keyItem
-   *          the node item used to form the key field
-   * @param pattern
-   *          the key field pattern configuration from the constraint
-   * @param keyValue
-   *          the current key value
-   * @return the final key value
-   */
-  private static String applyPattern(@NonNull IMetapathExpression keyMetapath, @NonNull String keyValue,
-      @NonNull Pattern pattern) {
-    Matcher matcher = pattern.matcher(keyValue);
-    if (!matcher.matches()) {
-      throw new MetapathException(
-          String.format("Key field declares the pattern '%s' which does not match the value '%s' of node '%s'",
-              pattern.pattern(), keyValue, keyMetapath));
-    }
-
-    if (matcher.groupCount() != 1) {
-      throw new MetapathException(String.format(
-          "The first group was not a match for value '%s' of node '%s' for key field pattern '%s'",
-          keyValue, keyMetapath, pattern.pattern()));
-    }
-    return matcher.group(1);
-  }
 }
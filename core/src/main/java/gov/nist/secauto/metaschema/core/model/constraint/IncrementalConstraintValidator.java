@@ -0,0 +1,372 @@
+/*
+ * SPDX-FileCopyrightText: none
+ * SPDX-License-Identifier: CC0-1.0
+ */
+
+package gov.nist.secauto.metaschema.core.model.constraint;
+
+import gov.nist.secauto.metaschema.core.metapath.DynamicContext;
+import gov.nist.secauto.metaschema.core.metapath.IMetapathExpression.NodeAccess;
+import gov.nist.secauto.metaschema.core.metapath.item.node.IAssemblyNodeItem;
+import gov.nist.secauto.metaschema.core.metapath.item.node.IDefinitionNodeItem;
+import gov.nist.secauto.metaschema.core.metapath.item.node.IFieldNodeItem;
+import gov.nist.secauto.metaschema.core.metapath.item.node.IFlagNodeItem;
+import gov.nist.secauto.metaschema.core.metapath.item.node.INodeItem;
+import gov.nist.secauto.metaschema.core.model.IDefinition;
+import gov.nist.secauto.metaschema.core.model.UsedDefinitionModelWalker;
+
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.IdentityHashMap;
+import java.util.LinkedHashSet;
+import java.util.Map;
+import java.util.Set;
+
+import edu.umd.cs.findbugs.annotations.NonNull;
+import edu.umd.cs.findbugs.annotations.Nullable;
+
+/**
+ * A constraint validator that supports re-validating a document after a few of
+ * its nodes have changed, by re-evaluating only the constraints that may be
+ * affected by the change.
+ * <p>
+ * The findings produced for each node during the previous validation are
+ * retained, keyed by the node's Metapath. When re-validating, the constraints
+ * of a node are re-evaluated only if the nodes they can access, as determined
+ * by a static analysis of their Metapath expressions, include a changed node.
+ * The retained findings are reported for all other nodes. Constraints that may
+ * access any node in the document, including all {@code index},
+ * {@code unique}, and {@code index-has-key} constraints, are always
+ * re-evaluated.
+ * <p>
+ * Changed nodes are identified by their Metapath, as provided by
+ * {@link INodeItem#getMetapath()}. A changed node includes its flags and
+ * descendants. If items are added or removed, the parent of the added or
+ * removed items must be identified as changed.
+ * <p>
+ * Subtrees are always validated sequentially by this validator.
+ * <p>
+ * This class is not thread safe.
+ */
+public class IncrementalConstraintValidator
+    extends DefaultConstraintValidator {
+  @NonNull
+  private final IConstraintValidationHandler handler;
+  /**
+   * The findings of the last validation, keyed by the Metapath of each node.
+   */
+  @NonNull
+  private Map<String, NodeFindings> findings = new HashMap<>();
+  /**
+   * The findings of the current validation, keyed by the Metapath of each node.
+   */
+  @NonNull
+  private Map<String, NodeFindings> currentFindings = new HashMap<>();
+  /**
+   * The nodes whose constraints were re-evaluated during the current validation.
+   */
+  @NonNull
+  private final Map<INodeItem, Boolean> evaluatedNodes = new IdentityHashMap<>();
+  /**
+   * The paths of the changed nodes, or {@code null} if all constraints are to be
+   * re-evaluated.
+   */
+  @Nullable
+  private Set<String> changedPaths;
+  /**
+   * The handler recording the handler calls for the node currently being
+   * evaluated, or {@code null} if calls are to be reported directly.
+   */
+  @Nullable
+  private DeferredConstraintValidationHandler recorder;
+  private int evaluatedCount;
+
+  /**
+   * Construct a new incremental constraint validator instance.
+   *
+   * @param handler
+   *          the validation handler to use for handling constraint violations
+   */
+  public IncrementalConstraintValidator(@NonNull IConstraintValidationHandler handler) {
+    super(handler);
+    this.handler = handler;
+  }
+
+  @Override
+  protected IConstraintValidationHandler getConstraintValidationHandler() {
+    DeferredConstraintValidationHandler current = recorder;
+    return current == null ? handler : current;
+  }
+
+  /**
+   * Get the number of nodes whose constraints were evaluated by the last
+   * validation, rather than reported from the retained findings.
+   *
+   * @return the number of evaluated nodes
+   */
+  public int getEvaluatedCount() {
+    return evaluatedCount;
+  }
+
+  /**
+   * Validate the provided item, evaluating all constraints.
+   * <p>
+   * The findings for each node are retained for use in a later call to
+   * {@link #validate(INodeItem, DynamicContext, Collection)}.
+   */
+  @Override
+  public void validate(
+      @NonNull INodeItem item,
+      @NonNull DynamicContext dynamicContext) {
+    validate(item, dynamicContext, null);
+  }
+
+  /**
+   * Re-validate the provided item, evaluating only the constraints that may be
+   * affected by changes to the nodes with the provided paths since the last
+   * validation.
+   * <p>
+   * As with {@link #validate(INodeItem, DynamicContext)},
+   * {@link #finalizeValidation(DynamicContext)} must be called once this method
+   * returns.
+   *
+   * @param item
+   *          the item to validate, which must be the same item validated by the
+   *          last validation or a newer node item for the same document
+   * @param dynamicContext
+   *          the Metapath dynamic execution context to use for Metapath
+   *          evaluation
+   * @param changed
+   *          the Metapaths of the changed nodes, or {@code null} to evaluate all
+   *          constraints
+   */
+  public void validate(
+      @NonNull INodeItem item,
+      @NonNull DynamicContext dynamicContext,
+      @Nullable Collection<String> changed) {
+    resetState();
+
+    changedPaths = changed == null || !isIncrementalSupported(item)
+        ? null
+        : new LinkedHashSet<>(changed);
+    currentFindings = new HashMap<>();
+    evaluatedNodes.clear();
+    evaluatedCount = 0;
+    try {
+      super.validate(item, dynamicContext);
+    } finally {
+      findings = currentFindings;
+      currentFindings = new HashMap<>();
+      evaluatedNodes.clear();
+      recorder = null;
+    }
+  }
+
+  /**
+   * {@inheritDoc}
+   * <p>
+   * Subtrees are always validated sequentially, since the findings of each node
+   * are recorded as it is evaluated. Any configured
+   * {@link ValidationFeature#VALIDATE_PARALLEL_THREADS} value is ignored.
+   */
+  @Override
+  protected int getParallelism() {
+    return 1;
+  }
+
+  /**
+   * Determine if incremental validation can be used for the provided item.
+   * <p>
+   * Allowed values constraints that target nodes anywhere in the document cause
+   * the findings of the targeted nodes to depend on nodes outside of their
+   * subtree, which requires all constraints to be evaluated.
+   *
+   * @param item
+   *          the item to validate
+   * @return {@code true} if incremental validation can be used, or {@code false}
+   *         otherwise
+   */
+  private boolean isIncrementalSupported(@NonNull INodeItem item) {
+    boolean retval = false;
+    if (item instanceof IDefinitionNodeItem) {
+      IDefinition definition = ((IDefinitionNodeItem<?, ?>) item).getDefinition();
+      retval = UsedDefinitionModelWalker.collectUsedDefinitions(definition).stream()
+          .flatMap(def -> def.getAllowedValuesConstraints().stream())
+          .allMatch(constraint -> constraint.getTarget().getNodeAccess() != NodeAccess.DOCUMENT);
+    }
+    return retval;
+  }
+
+  @Override
+  protected void validateFlag(
+      @NonNull IFlagNodeItem item,
+      @NonNull DynamicContext dynamicContext) {
+    if (isEvaluationRequired(item)) {
+      evaluate(item, () -> super.validateFlag(item, dynamicContext));
+    }
+  }
+
+  @Override
+  protected void validateField(
+      @NonNull IFieldNodeItem item,
+      @NonNull DynamicContext dynamicContext) {
+    if (isEvaluationRequired(item)) {
+      evaluate(item, () -> super.validateField(item, dynamicContext));
+    }
+  }
+
+  @Override
+  protected void validateAssembly(
+      @NonNull IAssemblyNodeItem item,
+      @NonNull DynamicContext dynamicContext) {
+    if (isEvaluationRequired(item)) {
+      evaluate(item, () -> super.validateAssembly(item, dynamicContext));
+    }
+  }
+
+  @Override
+  protected void handleAllowedValues(
+      @NonNull INodeItem targetItem,
+      @NonNull DynamicContext dynamicContext) {
+    NodeFindings nodeFindings = currentFindings.get(targetItem.getMetapath());
+    if (nodeFindings == null) {
+      // not validated as part of the current validation
+      super.handleAllowedValues(targetItem, dynamicContext);
+    } else if (evaluatedNodes.containsKey(targetItem)) {
+      recorder = nodeFindings.getAllowedValues();
+      try {
+        super.handleAllowedValues(targetItem, dynamicContext);
+      } finally {
+        recorder = null;
+      }
+      nodeFindings.getAllowedValues().forward(handler);
+    } else {
+      nodeFindings.getAllowedValues().forward(handler);
+    }
+  }
+
+  /**
+   * Evaluate the constraints of the provided item, recording the resulting
+   * findings.
+   *
+   * @param item
+   *          the item being validated
+   * @param validation
+   *          performs the validation
+   */
+  private void evaluate(@NonNull INodeItem item, @NonNull Runnable validation) {
+    NodeFindings nodeFindings = new NodeFindings();
+    currentFindings.put(item.getMetapath(), nodeFindings);
+    evaluatedNodes.put(item, Boolean.TRUE);
+    evaluatedCount++;
+
+    recorder = nodeFindings.getOwn();
+    try {
+      validation.run();
+    } finally {
+      recorder = null;
+    }
+    nodeFindings.getOwn().forward(handler);
+  }
+
+  /**
+   * Determine if the constraints of the provided item need to be evaluated. If
+   * not, the findings retained for the item are reported.
+   *
+   * @param item
+   *          the item being validated
+   * @return {@code true} if the constraints need to be evaluated, or
+   *         {@code false} otherwise
+   */
+  private boolean isEvaluationRequired(@NonNull IDefinitionNodeItem<?, ?> item) {
+    String path = item.getMetapath();
+    NodeFindings previous = findings.get(path);
+
+    boolean retval = previous == null || isAffected(item, path);
+    if (!retval) {
+      currentFindings.put(path, previous);
+      previous.getOwn().forward(handler);
+    }
+    return retval;
+  }
+
+  @SuppressWarnings("PMD.OnlyOneReturn")
+  private boolean isAffected(@NonNull IDefinitionNodeItem<?, ?> item, @NonNull String path) {
+    Set<String> changed = changedPaths;
+    if (changed == null) {
+      return true;
+    }
+
+    IDefinition definition = item.getDefinition();
+    NodeAccess access = getNodeAccess(definition);
+    if (access == NodeAccess.DOCUMENT || isWithinChanged(path, changed)) {
+      return true;
+    }
+
+    // a re-evaluated allowed values constraint may target this node
+    for (INodeItem ancestor = item.getParentNodeItem(); ancestor != null; ancestor = ancestor.getParentNodeItem()) {
+      if (evaluatedNodes.containsKey(ancestor)
+          && !((IDefinitionNodeItem<?, ?>) ancestor).getDefinition().getAllowedValuesConstraints().isEmpty()) {
+        return true;
+      }
+    }
+
+    boolean hasChangedDescendant = false;
+    boolean hasChangedFlag = false;
+    String prefix = path + "/";
+    for (String changedPath : changed) {
+      if (changedPath.startsWith(prefix)) {
+        hasChangedDescendant = true;
+        if (changedPath.startsWith("@", prefix.length()) && changedPath.indexOf('/', prefix.length()) == -1) {
+          hasChangedFlag = true;
+        }
+      }
+    }
+
+    if (hasChangedFlag || (hasChangedDescendant && access == NodeAccess.SUBTREE)) {
+      return true;
+    }
+
+    // allowed values constraints targeting a re-evaluated descendant must be
+    // re-evaluated along with the descendant
+    return !definition.getAllowedValuesConstraints().isEmpty()
+        && (hasChangedDescendant || getSubtreeNodeAccess(definition) == NodeAccess.DOCUMENT);
+  }
+
+  private static boolean isWithinChanged(@NonNull String path, @NonNull Set<String> changed) {
+    boolean retval = false;
+    for (String changedPath : changed) {
+      if (path.equals(changedPath) || path.startsWith(changedPath + "/")) {
+        retval = true;
+        break;
+      }
+    }
+    return retval;
+  }
+
+  /**
+   * The findings recorded for a single node.
+   */
+  private static final class NodeFindings {
+    /**
+     * Findings produced by the constraints of the node's definition.
+     */
+    @NonNull
+    private final DeferredConstraintValidationHandler own = new DeferredConstraintValidationHandler();
+    /**
+     * Findings produced by allowed values constraints targeting the node.
+     */
+    @NonNull
+    private final DeferredConstraintValidationHandler allowedValues = new DeferredConstraintValidationHandler();
+
+    @NonNull
+    public DeferredConstraintValidationHandler getOwn() {
+      return own;
+    }
+
+    @NonNull
+    public DeferredConstraintValidationHandler getAllowedValues() {
+      return allowedValues;
+    }
+  }
+}
@@ -19,6 +19,24 @@ public final class ValidationFeature<V>
   public static final ValidationFeature<Boolean> VALIDATE_GENERATE_PASS_FINDINGS
       = new ValidationFeature<>("include-pass-findings", Boolean.class, false);
 
+  /**
+   * The number of worker threads to use for validating independent subtrees of a
+   * document concurrently. A value of {@code 1} disables parallel validation.
+   */
+  @NonNull
+  public static final ValidationFeature<Integer> VALIDATE_PARALLEL_THREADS
+      = new ValidationFeature<>("parallel-threads", Integer.class, 1);
+
+  /**
+   * If enabled, validate a document while it is being parsed, releasing the
+   * top-level subtrees of the document that can be validated independently
+   * once they have been validated. This bounds the memory used to validate very
+   * large documents.
+   */
+  @NonNull
+  public static final ValidationFeature<Boolean> VALIDATE_STREAMING
+      = new ValidationFeature<>("streaming", Boolean.class, false);
+
   private ValidationFeature(
       @NonNull String name,
       @NonNull Class<V> valueClass,
@@ -0,0 +1,362 @@
+/*
+ * SPDX-FileCopyrightText: none
+ * SPDX-License-Identifier: CC0-1.0
+ */
+
+package gov.nist.secauto.metaschema.core.model.constraint;
+
+import gov.nist.secauto.metaschema.core.metapath.DynamicContext;
+import gov.nist.secauto.metaschema.core.metapath.IMetapathExpression;
+import gov.nist.secauto.metaschema.core.metapath.IMetapathExpression.NodeAccess;
+import gov.nist.secauto.metaschema.core.metapath.StaticContext;
+import gov.nist.secauto.metaschema.core.metapath.item.ISequence;
+import gov.nist.secauto.metaschema.core.metapath.item.node.IDefinitionNodeItem;
+import gov.nist.secauto.metaschema.core.util.CollectionUtil;
+import gov.nist.secauto.metaschema.core.util.ObjectUtils;
+
+import org.apache.commons.lang3.tuple.Pair;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import edu.umd.cs.findbugs.annotations.NonNull;
+
+/**
+ * A precompiled plan for validating the constraints of a single definition.
+ * <p>
+ * Constraints that share the same target Metapath are assigned the same target
+ * slot, allowing the target to be evaluated once per node using a
+ * {@link TargetResolver}, instead of once per constraint.
+ * <p>
+ * Plans are immutable and can be shared across threads.
+ */
+final class ValidationPlan {
+  @NonNull
+  private static final ValidationPlan EMPTY = new ValidationPlan(
+      0,
+      CollectionUtil.emptyList(),
+      CollectionUtil.emptyList(),
+      CollectionUtil.emptyList(),
+      CollectionUtil.emptyList(),
+      CollectionUtil.emptyList(),
+      CollectionUtil.emptyList(),
+      CollectionUtil.emptyList());
+
+  private final int targetCount;
+  @NonNull
+  private final NodeAccess nodeAccess;
+  @NonNull
+  private final List<PlannedConstraint<IExpectConstraint>> expectConstraints;
+  @NonNull
+  private final List<PlannedConstraint<IAllowedValuesConstraint>> allowedValuesConstraints;
+  @NonNull
+  private final List<PlannedConstraint<IIndexHasKeyConstraint>> indexHasKeyConstraints;
+  @NonNull
+  private final List<PlannedConstraint<IMatchesConstraint>> matchesConstraints;
+  @NonNull
+  private final List<PlannedConstraint<ICardinalityConstraint>> hasCardinalityConstraints;
+  @NonNull
+  private final List<PlannedConstraint<IIndexConstraint>> indexConstraints;
+  @NonNull
+  private final List<PlannedConstraint<IUniqueConstraint>> uniqueConstraints;
+
+  /**
+   * Compile a validation plan for the constraints of a flag or field definition.
+   *
+   * @param definition
+   *          the definition to compile the plan for
+   * @return the plan
+   */
+  @NonNull
+  public static ValidationPlan compile(@NonNull IValueConstrained definition) {
+    Builder builder = new Builder();
+    List<PlannedConstraint<IExpectConstraint>> expect = builder.plan(definition.getExpectConstraints());
+    List<PlannedConstraint<IAllowedValuesConstraint>> allowedValues
+        = builder.plan(definition.getAllowedValuesConstraints());
+    List<PlannedConstraint<IIndexHasKeyConstraint>> indexHasKey
+        = builder.plan(definition.getIndexHasKeyConstraints());
+    List<PlannedConstraint<IMatchesConstraint>> matches = builder.plan(definition.getMatchesConstraints());
+    return builder.targetCount() == 0 ? EMPTY : new ValidationPlan(
+        builder.targetCount(),
+        expect,
+        allowedValues,
+        indexHasKey,
+        matches,
+        CollectionUtil.emptyList(),
+        CollectionUtil.emptyList(),
+        CollectionUtil.emptyList());
+  }
+
+  /**
+   * Compile a validation plan for the constraints of an assembly definition.
+   *
+   * @param definition
+   *          the definition to compile the plan for
+   * @return the plan
+   */
+  @NonNull
+  public static ValidationPlan compile(@NonNull IModelConstrained definition) {
+    Builder builder = new Builder();
+    List<PlannedConstraint<IExpectConstraint>> expect = builder.plan(definition.getExpectConstraints());
+    List<PlannedConstraint<IAllowedValuesConstraint>> allowedValues
+        = builder.plan(definition.getAllowedValuesConstraints());
+    List<PlannedConstraint<IIndexHasKeyConstraint>> indexHasKey
+        = builder.plan(definition.getIndexHasKeyConstraints());
+    List<PlannedConstraint<IMatchesConstraint>> matches = builder.plan(definition.getMatchesConstraints());
+    List<PlannedConstraint<ICardinalityConstraint>> hasCardinality
+        = builder.plan(definition.getHasCardinalityConstraints());
+    List<PlannedConstraint<IIndexConstraint>> index = builder.plan(definition.getIndexConstraints());
+    List<PlannedConstraint<IUniqueConstraint>> unique = builder.plan(definition.getUniqueConstraints());
+    return builder.targetCount() == 0 ? EMPTY : new ValidationPlan(
+        builder.targetCount(),
+        expect,
+        allowedValues,
+        indexHasKey,
+        matches,
+        hasCardinality,
+        index,
+        unique);
+  }
+
+  @SuppressWarnings("PMD.ExcessiveParameterList")
+  private ValidationPlan(
+      int targetCount,
+      @NonNull List<PlannedConstraint<IExpectConstraint>> expectConstraints,
+      @NonNull List<PlannedConstraint<IAllowedValuesConstraint>> allowedValuesConstraints,
+      @NonNull List<PlannedConstraint<IIndexHasKeyConstraint>> indexHasKeyConstraints,
+      @NonNull List<PlannedConstraint<IMatchesConstraint>> matchesConstraints,
+      @NonNull List<PlannedConstraint<ICardinalityConstraint>> hasCardinalityConstraints,
+      @NonNull List<PlannedConstraint<IIndexConstraint>> indexConstraints,
+      @NonNull List<PlannedConstraint<IUniqueConstraint>> uniqueConstraints) {
+    this.targetCount = targetCount;
+    this.nodeAccess = toNodeAccess(
+        expectConstraints,
+        allowedValuesConstraints,
+        matchesConstraints,
+        hasCardinalityConstraints,
+        // key-based constraints require state shared across the document
+        indexHasKeyConstraints.isEmpty() && indexConstraints.isEmpty() && uniqueConstraints.isEmpty());
+    this.expectConstraints = expectConstraints;
+    this.allowedValuesConstraints = allowedValuesConstraints;
+    this.indexHasKeyConstraints = indexHasKeyConstraints;
+    this.matchesConstraints = matchesConstraints;
+    this.hasCardinalityConstraints = hasCardinalityConstraints;
+    this.indexConstraints = indexConstraints;
+    this.uniqueConstraints = uniqueConstraints;
+  }
+
+  /**
+   * Determine if this plan has no constraints to evaluate.
+   *
+   * @return {@code true} if there are no constraints, or {@code false} otherwise
+   */
+  public boolean isEmpty() {
+    return targetCount == 0;
+  }
+
+  /**
+   * Determine the extent of a document that may be accessed when evaluating the
+   * constraints of this plan against a node.
+   * <p>
+   * Plans containing key-based constraints ({@code index}, {@code unique}, and
+   * {@code index-has-key}) always return {@link NodeAccess#DOCUMENT}, since
+   * these constraints require state that is shared across the document.
+   *
+   * @return the node access
+   */
+  @NonNull
+  public NodeAccess getNodeAccess() {
+    return nodeAccess;
+  }
+
+  @NonNull
+  private static NodeAccess toNodeAccess(
+      @NonNull List<PlannedConstraint<IExpectConstraint>> expectConstraints,
+      @NonNull List<PlannedConstraint<IAllowedValuesConstraint>> allowedValuesConstraints,
+      @NonNull List<PlannedConstraint<IMatchesConstraint>> matchesConstraints,
+      @NonNull List<PlannedConstraint<ICardinalityConstraint>> hasCardinalityConstraints,
+      boolean noKeyConstraints) {
+    NodeAccess retval = noKeyConstraints ? NodeAccess.FOCUS : NodeAccess.DOCUMENT;
+    for (PlannedConstraint<IExpectConstraint> planned : expectConstraints) {
+      IExpectConstraint constraint = planned.getConstraint();
+      retval = retval.combine(constraint.getTarget().getNodeAccess())
+          .combine(constraint.getTest().getNodeAccess());
+    }
+    for (List<? extends PlannedConstraint<?>> constraints : List.of(
+        allowedValuesConstraints,
+        matchesConstraints,
+        hasCardinalityConstraints)) {
+      for (PlannedConstraint<?> planned : constraints) {
+        retval = retval.combine(planned.getConstraint().getTarget().getNodeAccess());
+      }
+    }
+    return retval;
+  }
+
+  /**
+   * Create a new resolver used to evaluate the targets of this plan for a single
+   * node.
+   *
+   * @param item
+   *          the node to evaluate targets against
+   * @param dynamicContext
+   *          the Metapath dynamic execution context to use for Metapath
+   *          evaluation
+   * @return the new resolver
+   */
+  @NonNull
+  public TargetResolver newTargetResolver(
+      @NonNull IDefinitionNodeItem<?, ?> item,
+      @NonNull DynamicContext dynamicContext) {
+    return new TargetResolver(targetCount, item, dynamicContext);
+  }
+
+  @NonNull
+  public List<PlannedConstraint<IExpectConstraint>> getExpectConstraints() {
+    return expectConstraints;
+  }
+
+  @NonNull
+  public List<PlannedConstraint<IAllowedValuesConstraint>> getAllowedValuesConstraints() {
+    return allowedValuesConstraints;
+  }
+
+  @NonNull
+  public List<PlannedConstraint<IIndexHasKeyConstraint>> getIndexHasKeyConstraints() {
+    return indexHasKeyConstraints;
+  }
+
+  @NonNull
+  public List<PlannedConstraint<IMatchesConstraint>> getMatchesConstraints() {
+    return matchesConstraints;
+  }
+
+  @NonNull
+  public List<PlannedConstraint<ICardinalityConstraint>> getHasCardinalityConstraints() {
+    return hasCardinalityConstraints;
+  }
+
+  @NonNull
+  public List<PlannedConstraint<IIndexConstraint>> getIndexConstraints() {
+    return indexConstraints;
+  }
+
+  @NonNull
+  public List<PlannedConstraint<IUniqueConstraint>> getUniqueConstraints() {
+    return uniqueConstraints;
+  }
+
+  /**
+   * A constraint with an assigned target slot.
+   *
+   * @param <T>
+   *          the Java type of the constraint
+   */
+  static final class PlannedConstraint<T extends IConstraint> {
+    @NonNull
+    private final T constraint;
+    private final int targetSlot;
+
+    private PlannedConstraint(@NonNull T constraint, int targetSlot) {
+      this.constraint = constraint;
+      this.targetSlot = targetSlot;
+    }
+
+    @NonNull
+    public T getConstraint() {
+      return constraint;
+    }
+
+    public int getTargetSlot() {
+      return targetSlot;
+    }
+  }
+
+  /**
+   * Evaluates and caches the targets of a plan for a single node.
+   * <p>
+   * This class is not thread safe.
+   */
+  static final class TargetResolver {
+    @NonNull
+    private final IDefinitionNodeItem<?, ?> item;
+    @NonNull
+    private final DynamicContext dynamicContext;
+    @NonNull
+    private final Object[] results;
+
+    private TargetResolver(
+        int targetCount,
+        @NonNull IDefinitionNodeItem<?, ?> item,
+        @NonNull DynamicContext dynamicContext) {
+      this.item = item;
+      this.dynamicContext = dynamicContext;
+      this.results = new Object[targetCount];
+    }
+
+    /**
+     * Get the targets of the provided planned constraint, evaluating the target
+     * Metapath if it has not already been evaluated for another constraint using
+     * the same target.
+     *
+     * @param planned
+     *          the planned constraint to get the targets for
+     * @return the targets
+     * @throws RuntimeException
+     *           if an error occurred while evaluating the target, which is
+     *           re-thrown for each constraint sharing the target
+     */
+    @SuppressWarnings({ "unchecked", "PMD.AvoidCatchingGenericException" })
+    @NonNull
+    public ISequence<? extends IDefinitionNodeItem<?, ?>> getTargets(@NonNull PlannedConstraint<?> planned) {
+      int slot = planned.getTargetSlot();
+      Object result = results[slot];
+      if (result == null) {
+        try {
+          // the targets are shared, so they are fully evaluated to ensure errors are
+          // captured here
+          result = ISequence.ofCollection(planned.getConstraint().matchTargets(item, dynamicContext).getValue());
+        } catch (RuntimeException ex) {
+          result = ex;
+        }
+        results[slot] = result;
+      }
+
+      if (result instanceof RuntimeException) {
+        throw (RuntimeException) result;
+      }
+      return ObjectUtils.notNull((ISequence<? extends IDefinitionNodeItem<?, ?>>) result);
+    }
+  }
+
+  private static final class Builder {
+    @NonNull
+    private final Map<Pair<String, StaticContext>, Integer> targetToSlotMap = new HashMap<>();
+
+    @NonNull
+    public <T extends IConstraint> List<PlannedConstraint<T>> plan(@NonNull List<? extends T> constraints) {
+      if (constraints.isEmpty()) {
+        return CollectionUtil.emptyList();
+      }
+
+      List<PlannedConstraint<T>> retval = new ArrayList<>(constraints.size());
+      for (T constraint : constraints) {
+        assert constraint != null;
+        retval.add(new PlannedConstraint<>(constraint, slot(constraint.getTarget())));
+      }
+      return CollectionUtil.unmodifiableList(retval);
+    }
+
+    private int slot(@NonNull IMetapathExpression target) {
+      return targetToSlotMap.computeIfAbsent(
+          Pair.of(target.getPath(), target.getStaticContext()),
+          key -> targetToSlotMap.size());
+    }
+
+    public int targetCount() {
+      return targetToSlotMap.size();
+    }
+  }
+}
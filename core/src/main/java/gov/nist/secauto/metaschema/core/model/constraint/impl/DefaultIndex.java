@@ -5,25 +5,41 @@
 
 package gov.nist.secauto.metaschema.core.model.constraint.impl;
 
+import gov.nist.secauto.metaschema.core.metapath.DynamicContext;
 import gov.nist.secauto.metaschema.core.metapath.item.node.INodeItem;
 import gov.nist.secauto.metaschema.core.model.constraint.ConstraintInitializationException;
 import gov.nist.secauto.metaschema.core.model.constraint.IIndex;
 import gov.nist.secauto.metaschema.core.model.constraint.IKeyField;
 import gov.nist.secauto.metaschema.core.util.CollectionUtil;
+import gov.nist.secauto.metaschema.core.util.ObjectUtils;
 
 import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.List;
 import java.util.Map;
 import java.util.concurrent.ConcurrentHashMap;
 import java.util.stream.Collectors;
 
 import edu.umd.cs.findbugs.annotations.NonNull;
+import edu.umd.cs.findbugs.annotations.Nullable;
 
+/**
+ * An index that stores its keys in a compact form.
+ * <p>
+ * Keys with a single key field are stored as the key value string itself. Keys
+ * with multiple key fields are stored as a single array of key values with a
+ * precomputed hash code. Keys generated from an item are built directly into
+ * this form, without allocating an intermediate list.
+ */
 public class DefaultIndex implements IIndex {
   @NonNull
   private final List<IKeyField> keyFields;
+  /**
+   * Maps each key to the indexed item. A key is either a {@link String} or a
+   * {@link CompositeKey}, depending on the number of key fields.
+   */
   @NonNull
-  private final Map<List<String>, INodeItem> keyToItemMap = new ConcurrentHashMap<>();
+  private final Map<Object, INodeItem> keyToItemMap = new ConcurrentHashMap<>();
 
   /**
    * Construct a new index.
@@ -40,14 +56,33 @@ public class DefaultIndex implements IIndex {
     return keyFields;
   }
 
+  /**
+   * Get the number of items in the index.
+   *
+   * @return the number of items
+   */
+  public int size() {
+    return keyToItemMap.size();
+  }
+
+  @Override
+  public INodeItem put(@NonNull INodeItem item, @NonNull DynamicContext dynamicContext) {
+    Object key = toIndexKey(item, dynamicContext);
+    // only add keys with some information (values)
+    return key == null ? null : keyToItemMap.put(key, item);
+  }
+
   @Override
   public INodeItem put(@NonNull INodeItem item, @NonNull List<String> key) {
-    INodeItem oldItem = null;
-    if (!IIndex.isAllNulls(key)) {
-      // only add keys with some information (values)
-      oldItem = keyToItemMap.put(key, item);
-    }
-    return oldItem;
+    Object indexKey = toIndexKey(key);
+    // only add keys with some information (values)
+    return indexKey == null ? null : keyToItemMap.put(indexKey, item);
+  }
+
+  @Override
+  public INodeItem get(@NonNull INodeItem item, @NonNull DynamicContext dynamicContext) {
+    Object key = toIndexKey(item, dynamicContext);
+    return key == null ? null : keyToItemMap.get(key);
   }
 
   @Override
@@ -61,6 +96,83 @@ public class DefaultIndex implements IIndex {
                   .collect(Collectors.joining(",", "{", "}")),
               requiredSize));
     }
-    return keyToItemMap.get(key);
+    Object indexKey = toIndexKey(key);
+    return indexKey == null ? null : keyToItemMap.get(indexKey);
+  }
+
+  /**
+   * Generate the compact key for the provided item using this index's key
+   * fields.
+   *
+   * @param item
+   *          the item to generate the key for
+   * @param dynamicContext
+   *          the Metapath evaluation context
+   * @return the key, or {@code null} if all key values are {@code null}
+   */
+  @Nullable
+  private Object toIndexKey(@NonNull INodeItem item, @NonNull DynamicContext dynamicContext) {
+    int size = keyFields.size();
+
+    Object retval;
+    if (size == 1) {
+      retval = KeyFieldUtils.buildKeyItem(item, ObjectUtils.notNull(keyFields.get(0)), dynamicContext);
+    } else {
+      String[] values = new String[size];
+      boolean allNulls = true;
+      for (int i = 0; i < size; i++) {
+        values[i] = KeyFieldUtils.buildKeyItem(item, ObjectUtils.notNull(keyFields.get(i)), dynamicContext);
+        allNulls = allNulls && values[i] == null;
+      }
+      retval = allNulls ? null : new CompositeKey(values);
+    }
+    return retval;
+  }
+
+  /**
+   * Convert the provided key to its compact form.
+   *
+   * @param key
+   *          the key values
+   * @return the key, or {@code null} if all key values are {@code null}
+   */
+  @Nullable
+  private static Object toIndexKey(@NonNull List<String> key) {
+    Object retval;
+    if (IIndex.isAllNulls(key)) {
+      retval = null;
+    } else if (key.size() == 1) {
+      retval = key.get(0);
+    } else {
+      retval = new CompositeKey(key.toArray(new String[0]));
+    }
+    return retval;
+  }
+
+  /**
+   * A key consisting of multiple key values.
+   */
+  private static final class CompositeKey {
+    @NonNull
+    private final String[] values;
+    private final int hash;
+
+    private CompositeKey(@NonNull String... values) {
+      this.values = values;
+      this.hash = Arrays.hashCode(values);
+    }
+
+    @Override
+    public int hashCode() {
+      return hash;
+    }
+
+    @Override
+    public boolean equals(Object obj) {
+      return this == obj
+          || obj instanceof CompositeKey
+              && hash == ((CompositeKey) obj).hash
+              && Arrays.equals(values, ((CompositeKey) obj).values);
+    }
   }
 }
@@ -128,6 +128,12 @@ public final class AutoCloser<T, E extends Exception> implements AutoCloseable {
       super(out);
     }
 
+    @Override
+    public void write(byte[] buf, int off, int len) throws IOException {
+      // write the bytes in bulk, instead of one at a time
+      out.write(buf, off, len);
+    }
+
     @Override
     public void close() throws IOException {
       // do nothing
@@ -16,6 +16,8 @@ import java.util.Map;
 import java.util.Set;
 import java.util.Spliterator;
 import java.util.Spliterators;
+import java.util.function.Consumer;
+import java.util.function.Function;
 import java.util.stream.Collectors;
 import java.util.stream.IntStream;
 import java.util.stream.Stream;
@@ -45,6 +47,34 @@ public final class CollectionUtil {
     return StreamSupport.stream(iterable.spliterator(), false);
   }
 
+  /**
+   * Get a stream containing the items of the streams produced by applying the
+   * provided mapping function to each item of the provided stream.
+   * <p>
+   * This is similar to {@link Stream#flatMap(java.util.function.Function)},
+   * except that items are pulled from each mapped stream only as needed when the
+   * resulting stream is consumed using its iterator or spliterator. A
+   * {@link Stream#flatMap(java.util.function.Function)} stream consumed this way
+   * computes all items of a mapped stream when its first item is requested.
+   *
+   * @param <T>
+   *          the type of the provided items
+   * @param <R>
+   *          the type of the resulting items
+   * @param stream
+   *          the stream of items to map
+   * @param mapper
+   *          the function used to produce a stream for each item
+   * @return the resulting stream
+   */
+  @NonNull
+  public static <T, R> Stream<R> flatMapLazily(
+      @NonNull Stream<T> stream,
+      @NonNull Function<? super T, ? extends Stream<? extends R>> mapper) {
+    return ObjectUtils.notNull(StreamSupport.stream(new FlatMapSpliterator<>(stream.spliterator(), mapper), false)
+        .onClose(stream::close));
+  }
+
   /**
    * Get an {@link Iterable} for the provided {@link Stream}.
    *
@@ -385,4 +415,39 @@ public final class CollectionUtil {
   private CollectionUtil() {
     // disable construction
   }
+
+  private static final class FlatMapSpliterator<T, R>
+      extends Spliterators.AbstractSpliterator<R> {
+    @NonNull
+    private final Spliterator<T> source;
+    @NonNull
+    private final Function<? super T, ? extends Stream<? extends R>> mapper;
+    @Nullable
+    private Spliterator<? extends R> current;
+
+    private FlatMapSpliterator(
+        @NonNull Spliterator<T> source,
+        @NonNull Function<? super T, ? extends Stream<? extends R>> mapper) {
+      super(Long.MAX_VALUE, source.characteristics() & Spliterator.ORDERED);
+      this.source = source;
+      this.mapper = mapper;
+    }
+
+    @SuppressWarnings("PMD.NullAssignment")
+    @Override
+    public boolean tryAdvance(Consumer<? super R> action) {
+      boolean retval = false;
+      boolean hasMore = true;
+      while (!retval && hasMore) {
+        Spliterator<? extends R> spliterator = current;
+        if (spliterator != null && spliterator.tryAdvance(action)) {
+          retval = true;
+        } else {
+          current = null;
+          hasMore = source.tryAdvance(item -> current = mapper.apply(item).spliterator());
+        }
+      }
+      return retval;
+    }
+  }
 }
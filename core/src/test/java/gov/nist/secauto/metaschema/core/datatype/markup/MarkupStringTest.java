@@ -17,6 +17,7 @@ import com.vladsch.flexmark.ext.escaped.character.EscapedCharacter;
 import com.vladsch.flexmark.util.ast.Document;
 import com.vladsch.flexmark.util.ast.Node;
 
+import gov.nist.secauto.metaschema.core.datatype.markup.flexmark.FlexmarkFactory;
 import gov.nist.secauto.metaschema.core.datatype.markup.flexmark.InsertAnchorExtension.InsertAnchorNode;
 import gov.nist.secauto.metaschema.core.datatype.markup.flexmark.impl.AstCollectingVisitor;
 import gov.nist.secauto.metaschema.core.util.CollectionUtil;
@@ -29,10 +30,15 @@ import org.codehaus.stax2.ri.evt.MergedNsContext;
 import org.codehaus.stax2.ri.evt.NamespaceEventImpl;
 import org.junit.jupiter.api.Assertions;
 import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.Arguments;
+import org.junit.jupiter.params.provider.MethodSource;
 
 import java.io.IOException;
 import java.io.StringWriter;
 import java.util.List;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
 
 import javax.xml.namespace.NamespaceContext;
 import javax.xml.stream.XMLOutputFactory;
@@ -371,4 +377,84 @@ class MarkupStringTest {
         () -> Assertions.assertEquals(1, children.size()),
         () -> Assertions.assertEquals(Heading.class, children.get(0).getClass()));
   }
+
+  @Test
+  void testLazyMarkdownPassThrough() {
+    // unusual, but valid, formatting that would be normalized by rendering
+    String markdown = "Some   __strong__ text";
+    MarkupLine ms = MarkupLine.fromMarkdown(markdown);
+
+    // the source is returned as is, since the AST has not been built
+    Assertions.assertSame(markdown, ms.toMarkdownPreservingSource());
+    Assertions.assertSame(markdown, ms.copy().toMarkdownPreservingSource());
+
+    // once built, the AST is rendered, since it may have been modified
+    Assertions.assertNotNull(ms.getDocument());
+    Assertions.assertEquals(ms.toMarkdown(), ms.toMarkdownPreservingSource());
+  }
+
+  @Test
+  void testMarkupLineMultipleBlocks() {
+    Assertions.assertAll(
+        // paragraphs are detected from the source
+        () -> Assertions.assertThrows(IllegalStateException.class,
+            () -> MarkupLine.fromMarkdown("first\n\nsecond")),
+        // other block syntax is detected by parsing the source
+        () -> Assertions.assertThrows(IllegalStateException.class,
+            () -> MarkupLine.fromMarkdown("# heading\nparagraph")),
+        () -> Assertions.assertThrows(IllegalStateException.class,
+            () -> MarkupLine.fromHtml("<p>first</p><p>second</p>")));
+  }
+
+  @Test
+  void testMarkupLineSingleBlock() {
+    Assertions.assertAll(
+        () -> Assertions.assertEquals(1, MarkupLine.fromMarkdown("first\nsecond").getDocument().getChildCount()),
+        () -> Assertions.assertEquals(1, MarkupLine.fromMarkdown("\nfirst\n\n").getDocument().getChildCount()),
+        () -> Assertions.assertEquals(1, MarkupLine.fromMarkdown("heading\n===").getDocument().getChildCount()),
+        () -> Assertions.assertEquals(1, MarkupLine.fromHtml("some <em>inline</em> text").getDocument()
+            .getChildCount()));
+  }
+
+  private static Stream<Arguments> providePlainTextHtml() {
+    // the punctuation allowed by the plain text fast path in AbstractMarkupString
+    String punctuation = ".,;:?()/%$@=-";
+    return Stream.concat(
+        punctuation.chars()
+            .mapToObj(ch -> String.valueOf((char) ch))
+            .flatMap(ch -> Stream.of(
+                "<p>Before" + ch + "after and " + ch + " spaced" + ch + "</p>",
+                "Unwrapped " + ch + "text" + ch)),
+        Stream.of(
+            "<p>A plain\n  paragraph, with (some) punctuation: 1.5% of 20/30.</p>",
+            "",
+            "<p></p>",
+            " \n\t ",
+            "<p> \n </p>",
+            "<p>Fish &amp; chips</p>",
+            "<p>Less &lt; more &gt; less</p>",
+            "<p>Non&nbsp;breaking space</p>",
+            "Caf&eacute; &quot;quoted&quot;"))
+        .map(Arguments::of);
+  }
+
+  @ParameterizedTest
+  @MethodSource("providePlainTextHtml")
+  void testPlainTextHtmlMatchesConversion(@NonNull String html) {
+    MarkupMultiline ms = MarkupMultiline.fromHtml(html);
+
+    FlexmarkFactory factory = FlexmarkFactory.instance();
+    Document converted = factory.getMarkdownParser().parse(factory.getFlexmarkHtmlConverter().convert(html));
+
+    Assertions.assertAll(
+        () -> Assertions.assertEquals(nodeTypes(converted), nodeTypes(ms.getDocument())),
+        () -> Assertions.assertEquals(factory.getFormatter().render(converted), ms.toMarkdown()),
+        () -> Assertions.assertEquals(factory.getHtmlRenderer().render(converted), ms.toHtml()));
+  }
+
+  private static List<Class<?>> nodeTypes(@NonNull Document document) {
+    return CollectionUtil.toList(document.getDescendants()).stream()
+        .map(Object::getClass)
+        .collect(Collectors.toList());
+  }
 }
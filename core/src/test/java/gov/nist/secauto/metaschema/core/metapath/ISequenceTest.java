@@ -8,14 +8,21 @@ package gov.nist.secauto.metaschema.core.metapath;
 import static gov.nist.secauto.metaschema.core.metapath.TestUtils.integer;
 import static org.junit.jupiter.api.Assertions.assertAll;
 import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
 import static org.junit.jupiter.api.Assertions.assertNull;
 import static org.junit.jupiter.api.Assertions.assertThrows;
 
 import gov.nist.secauto.metaschema.core.metapath.item.ISequence;
+import gov.nist.secauto.metaschema.core.metapath.item.atomic.IIntegerItem;
 import gov.nist.secauto.metaschema.core.metapath.type.InvalidTypeMetapathException;
 
 import org.junit.jupiter.api.Test;
 
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
 class ISequenceTest {
 
   @Test
@@ -34,4 +41,34 @@ class ISequenceTest {
         () -> assertEquals(integer(3), ISequence.of(integer(3)).getFirstItem(true)),
         () -> assertNull(ISequence.of().getFirstItem(true)));
   }
+
+  @Test
+  void testStreamSequencePullsItemsAsNeeded() {
+    AtomicInteger pulled = new AtomicInteger();
+    ISequence<IIntegerItem> sequence = ISequence.of(Stream.of(integer(1), integer(2), integer(3), integer(4))
+        .peek(item -> pulled.incrementAndGet()));
+
+    assertAll(
+        () -> assertFalse(sequence.isEmpty()),
+        () -> assertEquals(1, pulled.get()),
+        () -> assertEquals(integer(1), sequence.getFirstItem(false)),
+        () -> assertEquals(2, pulled.get()),
+        () -> assertEquals(integer(3), sequence.get(2)),
+        () -> assertEquals(3, pulled.get()),
+        () -> assertEquals(4, sequence.size()),
+        () -> assertEquals(4, pulled.get()));
+  }
+
+  @Test
+  void testReusableStreamSequence() {
+    ISequence<IIntegerItem> sequence = ISequence.of(Stream.of(integer(1), integer(2), integer(3))).reusable();
+
+    List<IIntegerItem> first = sequence.stream().limit(1).collect(Collectors.toList());
+    List<IIntegerItem> all = sequence.stream().collect(Collectors.toList());
+
+    assertAll(
+        () -> assertEquals(List.of(integer(1)), first),
+        () -> assertEquals(List.of(integer(1), integer(2), integer(3)), all),
+        () -> assertEquals(all, sequence.stream().collect(Collectors.toList())));
+  }
 }
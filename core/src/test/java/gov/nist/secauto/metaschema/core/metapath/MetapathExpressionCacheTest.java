@@ -0,0 +1,39 @@
+/*
+ * SPDX-FileCopyrightText: none
+ * SPDX-License-Identifier: CC0-1.0
+ */
+
+package gov.nist.secauto.metaschema.core.metapath;
+
+import static org.junit.jupiter.api.Assertions.assertAll;
+import static org.junit.jupiter.api.Assertions.assertNotSame;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import org.junit.jupiter.api.Test;
+
+class MetapathExpressionCacheTest {
+
+  @Test
+  void testSameExpressionIsCached() {
+    MetapathExpressionCache cache = MetapathExpressionCache.instance();
+    StaticContext staticContext = StaticContext.builder().build();
+
+    long hits = cache.getStatistics().hitCount();
+
+    IMetapathExpression first = IMetapathExpression.compile("count(//a) > 1", staticContext);
+    IMetapathExpression second = IMetapathExpression.compile("count(//a) > 1", staticContext);
+
+    assertAll(
+        () -> assertSame(first, second),
+        () -> assertTrue(cache.getStatistics().hitCount() > hits));
+  }
+
+  @Test
+  void testStaticContextIsPartOfKey() {
+    IMetapathExpression first = IMetapathExpression.compile("a/b", StaticContext.builder().build());
+    IMetapathExpression second = IMetapathExpression.compile("a/b", StaticContext.builder().build());
+
+    assertNotSame(first, second);
+  }
+}
@@ -0,0 +1,109 @@
+/*
+ * SPDX-FileCopyrightText: none
+ * SPDX-License-Identifier: CC0-1.0
+ */
+
+package gov.nist.secauto.metaschema.core.metapath.cst;
+
+import static org.junit.jupiter.api.Assertions.assertAll;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertInstanceOf;
+import static org.junit.jupiter.api.Assertions.assertSame;
+
+import gov.nist.secauto.metaschema.core.metapath.IExpression;
+import gov.nist.secauto.metaschema.core.metapath.MetapathConstants;
+import gov.nist.secauto.metaschema.core.metapath.StaticContext;
+import gov.nist.secauto.metaschema.core.metapath.antlr.FailingErrorListener;
+import gov.nist.secauto.metaschema.core.metapath.antlr.Metapath10;
+import gov.nist.secauto.metaschema.core.metapath.antlr.Metapath10Lexer;
+import gov.nist.secauto.metaschema.core.metapath.cst.items.IntegerLiteral;
+import gov.nist.secauto.metaschema.core.metapath.cst.items.StringLiteral;
+import gov.nist.secauto.metaschema.core.metapath.cst.logic.GeneralComparison;
+import gov.nist.secauto.metaschema.core.metapath.cst.logic.PredicateExpression;
+import gov.nist.secauto.metaschema.core.metapath.cst.math.Division;
+import gov.nist.secauto.metaschema.core.metapath.cst.path.ModelInstanceStep;
+import gov.nist.secauto.metaschema.core.qname.IEnhancedQName;
+
+import org.antlr.v4.runtime.CharStreams;
+import org.antlr.v4.runtime.CommonTokenStream;
+import org.junit.jupiter.api.Test;
+
+import java.math.BigInteger;
+
+import edu.umd.cs.findbugs.annotations.NonNull;
+
+class CSTOptimizerTest {
+  @NonNull
+  private static IExpression parseExpression(@NonNull String path) {
+    Metapath10Lexer lexer = new Metapath10Lexer(CharStreams.fromString(path));
+    CommonTokenStream tokens = new CommonTokenStream(lexer);
+    Metapath10 parser = new Metapath10(tokens);
+    parser.addErrorListener(new FailingErrorListener());
+
+    return new BuildCSTVisitor(StaticContext.instance()).visit(parser.expr());
+  }
+
+  @NonNull
+  private static IExpression optimize(@NonNull String path) {
+    return CSTOptimizer.optimize(parseExpression(path), StaticContext.instance());
+  }
+
+  private static void assertFunction(@NonNull String expectedName, @NonNull IExpression expr) {
+    StaticFunctionCall call = assertInstanceOf(StaticFunctionCall.class, expr);
+    assertEquals(
+        IEnhancedQName.of(MetapathConstants.NS_METAPATH_FUNCTIONS, expectedName),
+        call.getFunction().getQName());
+  }
+
+  @Test
+  void testConstantFolding() {
+    assertAll(
+        () -> assertEquals(
+            BigInteger.valueOf(7),
+            assertInstanceOf(IntegerLiteral.class, optimize("1 + 2 * 3")).getValue().asInteger()),
+        () -> assertEquals(
+            "ab",
+            assertInstanceOf(StringLiteral.class, optimize("'a' || 'b'")).getValue().asString()),
+        () -> assertFunction("false", optimize("not(true())")),
+        () -> assertFunction("true", optimize("1 = 1")));
+  }
+
+  @Test
+  void testErrorNotFolded() {
+    assertInstanceOf(Division.class, optimize("1 div 0"));
+  }
+
+  @Test
+  void testDeadBranchElimination() {
+    assertAll(
+        () -> assertEquals(
+            BigInteger.ONE,
+            assertInstanceOf(IntegerLiteral.class, optimize("if (true()) then 1 else 2")).getValue().asInteger()),
+        () -> assertInstanceOf(GeneralComparison.class, optimize("@a = 'b' and true()")),
+        () -> assertInstanceOf(GeneralComparison.class, optimize("false() or @a = 'b'")),
+        () -> assertFunction("false", optimize("@a = 'b' and false()")),
+        () -> assertFunction("true", optimize("true() or @a = 'b'")));
+  }
+
+  @Test
+  void testIdiomRewrites() {
+    assertAll(
+        () -> assertFunction("exists", optimize("boolean(exists(x))")),
+        () -> assertInstanceOf(ModelInstanceStep.class, optimize("./x")),
+        () -> assertInstanceOf(ModelInstanceStep.class, optimize("x/.")));
+  }
+
+  @Test
+  void testPredicateSimplification() {
+    assertAll(
+        () -> assertInstanceOf(ModelInstanceStep.class, optimize("x[true()]")),
+        // a numeric predicate is positional, so it is not removed
+        () -> assertInstanceOf(PredicateExpression.class, optimize("x[1]")));
+  }
+
+  @Test
+  void testUnchanged() {
+    IExpression expr = parseExpression("x[1]/@y");
+    assertSame(expr, CSTOptimizer.optimize(expr, StaticContext.instance()));
+  }
+}
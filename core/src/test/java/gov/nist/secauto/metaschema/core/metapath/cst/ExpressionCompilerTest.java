@@ -0,0 +1,115 @@
+/*
+ * SPDX-FileCopyrightText: none
+ * SPDX-License-Identifier: CC0-1.0
+ */
+
+package gov.nist.secauto.metaschema.core.metapath.cst;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNull;
+
+import gov.nist.secauto.metaschema.core.metapath.DynamicContext;
+import gov.nist.secauto.metaschema.core.metapath.IExpression;
+import gov.nist.secauto.metaschema.core.metapath.StaticContext;
+import gov.nist.secauto.metaschema.core.metapath.antlr.FailingErrorListener;
+import gov.nist.secauto.metaschema.core.metapath.antlr.Metapath10;
+import gov.nist.secauto.metaschema.core.metapath.antlr.Metapath10Lexer;
+import gov.nist.secauto.metaschema.core.metapath.cst.ExpressionCompiler.ICompiledExpression;
+import gov.nist.secauto.metaschema.core.metapath.item.IItem;
+import gov.nist.secauto.metaschema.core.metapath.item.ISequence;
+import gov.nist.secauto.metaschema.core.metapath.item.atomic.IStringItem;
+import gov.nist.secauto.metaschema.core.metapath.item.node.INodeItem;
+import gov.nist.secauto.metaschema.core.testing.model.mocking.MockedDocumentGenerator;
+import gov.nist.secauto.metaschema.core.util.ObjectUtils;
+
+import org.antlr.v4.runtime.CharStreams;
+import org.antlr.v4.runtime.CommonTokenStream;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.ValueSource;
+
+import java.util.List;
+import java.util.stream.Collectors;
+
+import edu.umd.cs.findbugs.annotations.NonNull;
+
+class ExpressionCompilerTest {
+  @NonNull
+  private static final StaticContext STATIC_CONTEXT = StaticContext.builder()
+      .defaultModelNamespace(MockedDocumentGenerator.NS)
+      .build();
+
+  @NonNull
+  private static IExpression parseExpression(@NonNull String path) {
+    Metapath10Lexer lexer = new Metapath10Lexer(CharStreams.fromString(path));
+    CommonTokenStream tokens = new CommonTokenStream(lexer);
+    Metapath10 parser = new Metapath10(tokens);
+    parser.addErrorListener(new FailingErrorListener());
+
+    return new BuildCSTVisitor(STATIC_CONTEXT).visit(parser.expr());
+  }
+
+  @NonNull
+  private static INodeItem getRoot() {
+    return ObjectUtils.notNull(MockedDocumentGenerator.generateDocumentNodeItem().modelItems()
+        .findFirst()
+        .orElseThrow());
+  }
+
+  @NonNull
+  private static List<IItem> toList(@NonNull ISequence<?> sequence) {
+    return ObjectUtils.notNull(sequence.stream().collect(Collectors.toList()));
+  }
+
+  @ParameterizedTest
+  @ValueSource(strings = {
+      "assembly",
+      "./assembly",
+      "field/@field-flag",
+      "missing/@field-flag",
+      "assembly/@assembly-flag = 'assembly-flag'",
+      "assembly/@assembly-flag = 'other'",
+      "assembly/@assembly-flag != 'other'",
+      "'field-flag' = field/@field-flag",
+      "field/@field-flag eq 'field-flag'",
+      "missing/@field-flag eq 'field-flag'",
+      "@missing = 'x'",
+      "count(assembly) > 0",
+      "count(assembly/@assembly-flag) = 0",
+      "count(missing) > 0",
+      "count(missing) eq 0",
+  })
+  void testCompiledMatchesInterpreter(@NonNull String metapath) {
+    IExpression expr = parseExpression(metapath);
+    ICompiledExpression compiled = ExpressionCompiler.compile(expr);
+    assertNotNull(compiled, metapath);
+
+    INodeItem root = getRoot();
+    ISequence<?> result = compiled.evaluate(root);
+    assertNotNull(result, metapath);
+
+    ISequence<?> expected = expr.accept(new DynamicContext(STATIC_CONTEXT), ISequence.of(root));
+    assertEquals(toList(expected), toList(result), metapath);
+  }
+
+  @ParameterizedTest
+  @ValueSource(strings = {
+      "assembly[1]",
+      "*",
+      "count(assembly) > 1",
+      "@assembly-flag = assembly/@assembly-flag",
+      "exists(assembly)",
+  })
+  void testUnsupportedShape(@NonNull String metapath) {
+    assertNull(ExpressionCompiler.compile(parseExpression(metapath)), metapath);
+  }
+
+  @Test
+  void testUnsupportedFocus() {
+    ICompiledExpression compiled = ExpressionCompiler.compile(parseExpression("@name = 'x'"));
+    assertNotNull(compiled);
+    assertNull(compiled.evaluate(IStringItem.valueOf("test")));
+    assertNull(compiled.evaluate(null));
+  }
+}
@@ -0,0 +1,55 @@
+/*
+ * SPDX-FileCopyrightText: none
+ * SPDX-License-Identifier: CC0-1.0
+ */
+
+package gov.nist.secauto.metaschema.core.metapath.cst;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+import gov.nist.secauto.metaschema.core.metapath.IMetapathExpression;
+import gov.nist.secauto.metaschema.core.metapath.IMetapathExpression.NodeAccess;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.Arguments;
+import org.junit.jupiter.params.provider.MethodSource;
+
+import java.util.stream.Stream;
+
+import edu.umd.cs.findbugs.annotations.NonNull;
+
+class NodeAccessAnalyzerTest {
+  private static Stream<Arguments> provideValues() { // NOPMD - false positive
+    return Stream.of(
+        Arguments.of(NodeAccess.FOCUS, "."),
+        Arguments.of(NodeAccess.FOCUS, "true()"),
+        Arguments.of(NodeAccess.FOCUS, "@id = 'x'"),
+        Arguments.of(NodeAccess.FOCUS, "let $id := @id return $id = 'x'"),
+        Arguments.of(NodeAccess.FOCUS, "every $v in (1, 2) satisfies $v > 0"),
+        Arguments.of(NodeAccess.SUBTREE, "child"),
+        Arguments.of(NodeAccess.SUBTREE, "count(child/@id) > 1"),
+        Arguments.of(NodeAccess.SUBTREE, ".//child"),
+        Arguments.of(NodeAccess.SUBTREE, "for $c in child return $c/@id"),
+        Arguments.of(NodeAccess.DOCUMENT, "../@id"),
+        Arguments.of(NodeAccess.DOCUMENT, "/root"),
+        Arguments.of(NodeAccess.DOCUMENT, "//child"),
+        Arguments.of(NodeAccess.DOCUMENT, "ancestor::root"),
+        Arguments.of(NodeAccess.DOCUMENT, "preceding-sibling::child"),
+        Arguments.of(NodeAccess.DOCUMENT, "root()"),
+        Arguments.of(NodeAccess.DOCUMENT, "$external = 'x'"));
+  }
+
+  @ParameterizedTest
+  @MethodSource("provideValues")
+  void testAnalyze(@NonNull NodeAccess expected, @NonNull String metapath) {
+    assertEquals(expected, IMetapathExpression.compile(metapath).getNodeAccess(), metapath);
+  }
+
+  @Test
+  void testCombine() {
+    assertEquals(NodeAccess.FOCUS, NodeAccess.FOCUS.combine(NodeAccess.FOCUS));
+    assertEquals(NodeAccess.SUBTREE, NodeAccess.FOCUS.combine(NodeAccess.SUBTREE));
+    assertEquals(NodeAccess.DOCUMENT, NodeAccess.DOCUMENT.combine(NodeAccess.SUBTREE));
+  }
+}
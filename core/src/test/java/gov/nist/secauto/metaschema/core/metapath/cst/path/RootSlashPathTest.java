@@ -0,0 +1,106 @@
+/*
+ * SPDX-FileCopyrightText: none
+ * SPDX-License-Identifier: CC0-1.0
+ */
+
+package gov.nist.secauto.metaschema.core.metapath.cst.path;
+
+import static org.junit.jupiter.api.Assertions.assertAll;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotSame;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertSame;
+
+import gov.nist.secauto.metaschema.core.metapath.DynamicContext;
+import gov.nist.secauto.metaschema.core.metapath.IExpression;
+import gov.nist.secauto.metaschema.core.metapath.StaticContext;
+import gov.nist.secauto.metaschema.core.metapath.antlr.FailingErrorListener;
+import gov.nist.secauto.metaschema.core.metapath.antlr.Metapath10;
+import gov.nist.secauto.metaschema.core.metapath.antlr.Metapath10Lexer;
+import gov.nist.secauto.metaschema.core.metapath.cst.BuildCSTVisitor;
+import gov.nist.secauto.metaschema.core.metapath.item.ISequence;
+import gov.nist.secauto.metaschema.core.metapath.item.atomic.IStringItem;
+import gov.nist.secauto.metaschema.core.metapath.item.node.IDocumentNodeItem;
+import gov.nist.secauto.metaschema.core.metapath.item.node.INodeItem;
+import gov.nist.secauto.metaschema.core.qname.IEnhancedQName;
+import gov.nist.secauto.metaschema.core.testing.model.mocking.MockedDocumentGenerator;
+import gov.nist.secauto.metaschema.core.util.ObjectUtils;
+
+import org.antlr.v4.runtime.CharStreams;
+import org.antlr.v4.runtime.CommonTokenStream;
+import org.junit.jupiter.api.Test;
+
+import edu.umd.cs.findbugs.annotations.NonNull;
+
+class RootSlashPathTest {
+  @NonNull
+  private static final StaticContext STATIC_CONTEXT = StaticContext.builder()
+      .defaultModelNamespace(MockedDocumentGenerator.NS)
+      .build();
+
+  @NonNull
+  private static IExpression parseExpression(@NonNull String path) {
+    Metapath10Lexer lexer = new Metapath10Lexer(CharStreams.fromString(path));
+    CommonTokenStream tokens = new CommonTokenStream(lexer);
+    Metapath10 parser = new Metapath10(tokens);
+    parser.addErrorListener(new FailingErrorListener());
+
+    return new BuildCSTVisitor(STATIC_CONTEXT).visit(parser.expr());
+  }
+
+  @NonNull
+  private static INodeItem getAssembly(@NonNull IDocumentNodeItem document) {
+    return ObjectUtils.notNull(document.modelItems()
+        .flatMap(INodeItem::modelItems)
+        .findFirst()
+        .orElseThrow());
+  }
+
+  @Test
+  void testMemoizedPerDocument() {
+    IDocumentNodeItem document = MockedDocumentGenerator.generateDocumentNodeItem();
+    INodeItem assembly = getAssembly(document);
+    IExpression expr = parseExpression("/root/assembly");
+
+    DynamicContext dynamicContext = new DynamicContext(STATIC_CONTEXT).enableDocumentPathMemoization();
+    ISequence<?> first = expr.accept(dynamicContext, ISequence.of(document));
+    ISequence<?> second = expr.accept(dynamicContext, ISequence.of(assembly));
+
+    assertAll(
+        () -> assertEquals(ISequence.of(assembly), first),
+        () -> assertSame(first, second),
+        () -> assertSame(first, dynamicContext.getDocumentResult(document, expr)));
+
+    dynamicContext.invalidateDocument(document);
+    assertNull(dynamicContext.getDocumentResult(document, expr));
+  }
+
+  @Test
+  void testNotMemoizedByDefault() {
+    IDocumentNodeItem document = MockedDocumentGenerator.generateDocumentNodeItem();
+    IExpression expr = parseExpression("/root/assembly");
+
+    DynamicContext dynamicContext = new DynamicContext(STATIC_CONTEXT);
+    ISequence<?> first = expr.accept(dynamicContext, ISequence.of(document));
+    ISequence<?> second = expr.accept(dynamicContext, ISequence.of(document));
+
+    assertAll(
+        () -> assertNotSame(first, second),
+        () -> assertNull(dynamicContext.getDocumentResult(document, expr)));
+  }
+
+  @Test
+  void testVariableReferenceNotMemoized() {
+    IDocumentNodeItem document = MockedDocumentGenerator.generateDocumentNodeItem();
+    IExpression expr = parseExpression("/root/assembly[@assembly-flag = $flag]");
+
+    DynamicContext dynamicContext = new DynamicContext(STATIC_CONTEXT)
+        .enableDocumentPathMemoization()
+        .bindVariableValue(IEnhancedQName.of("flag"), ISequence.of(IStringItem.valueOf("assembly-flag")));
+    ISequence<?> result = expr.accept(dynamicContext, ISequence.of(document));
+
+    assertAll(
+        () -> assertEquals(ISequence.of(getAssembly(document)), result),
+        () -> assertNull(dynamicContext.getDocumentResult(document, expr)));
+  }
+}
@@ -0,0 +1,72 @@
+/*
+ * SPDX-FileCopyrightText: none
+ * SPDX-License-Identifier: CC0-1.0
+ */
+
+package gov.nist.secauto.metaschema.core.model.constraint;
+
+import static org.junit.jupiter.api.Assertions.assertAll;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.Mockito.doReturn;
+import static org.mockito.Mockito.mock;
+
+import gov.nist.secauto.metaschema.core.datatype.markup.MarkupLine;
+import gov.nist.secauto.metaschema.core.metapath.IMetapathExpression;
+import gov.nist.secauto.metaschema.core.metapath.StaticContext;
+import gov.nist.secauto.metaschema.core.model.IFlagDefinition;
+import gov.nist.secauto.metaschema.core.model.ISource;
+import gov.nist.secauto.metaschema.core.util.CollectionUtil;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+
+class ValidationPlanTest {
+
+  @Test
+  void testEmptyPlan() {
+    IFlagDefinition definition = mock(IFlagDefinition.class);
+
+    ValidationPlan plan = ValidationPlan.compile(definition);
+    assertTrue(plan.isEmpty());
+  }
+
+  @SuppressWarnings("null")
+  @Test
+  void testSharedTargets() {
+    ISource source = mock(ISource.class);
+    IMetapathExpression target = IMetapathExpression.lazyCompile("@name", StaticContext.instance());
+    IMetapathExpression otherTarget = IMetapathExpression.lazyCompile("@value", StaticContext.instance());
+
+    IAllowedValuesConstraint allowedValues1 = IAllowedValuesConstraint.builder()
+        .source(source)
+        .target(target)
+        .allowedValue(IAllowedValue.of("a", MarkupLine.fromMarkdown("a"), null))
+        .build();
+    IAllowedValuesConstraint allowedValues2 = IAllowedValuesConstraint.builder()
+        .source(source)
+        .target(otherTarget)
+        .allowedValue(IAllowedValue.of("b", MarkupLine.fromMarkdown("b"), null))
+        .build();
+    IMatchesConstraint matches = IMatchesConstraint.builder()
+        .source(source)
+        .target(IMetapathExpression.lazyCompile("@name", StaticContext.instance()))
+        .regex("[a-z]+")
+        .build();
+
+    IFlagDefinition definition = mock(IFlagDefinition.class);
+    doReturn(List.of(allowedValues1, allowedValues2)).when(definition).getAllowedValuesConstraints();
+    doReturn(CollectionUtil.singletonList(matches)).when(definition).getMatchesConstraints();
+
+    ValidationPlan plan = ValidationPlan.compile(definition);
+
+    int slot1 = plan.getAllowedValuesConstraints().get(0).getTargetSlot();
+    int slot2 = plan.getAllowedValuesConstraints().get(1).getTargetSlot();
+    int matchesSlot = plan.getMatchesConstraints().get(0).getTargetSlot();
+    assertAll(
+        () -> assertEquals(slot1, matchesSlot, "constraints with the same target should share a slot"),
+        () -> assertNotEquals(slot1, slot2, "constraints with different targets should not share a slot"));
+  }
+}
@@ -0,0 +1,63 @@
+/*
+ * SPDX-FileCopyrightText: none
+ * SPDX-License-Identifier: CC0-1.0
+ */
+
+package gov.nist.secauto.metaschema.core.model.constraint.impl;
+
+import static org.junit.jupiter.api.Assertions.assertAll;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.mockito.Mockito.mock;
+
+import gov.nist.secauto.metaschema.core.metapath.item.node.INodeItem;
+import gov.nist.secauto.metaschema.core.model.constraint.IKeyField;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.Arrays;
+import java.util.List;
+
+class DefaultIndexTest {
+
+  @Test
+  void testSingleFieldKey() {
+    DefaultIndex index = new DefaultIndex(List.of(mock(IKeyField.class)));
+    INodeItem item1 = mock(INodeItem.class);
+    INodeItem item2 = mock(INodeItem.class);
+
+    assertAll(
+        () -> assertNull(index.put(item1, List.of("a"))),
+        () -> assertSame(item1, index.put(item2, List.of("a"))),
+        () -> assertSame(item2, index.get(List.of("a"))),
+        () -> assertNull(index.get(List.of("b"))),
+        () -> assertEquals(1, index.size()));
+  }
+
+  @Test
+  void testMultipleFieldKey() {
+    DefaultIndex index = new DefaultIndex(List.of(mock(IKeyField.class), mock(IKeyField.class)));
+    INodeItem item1 = mock(INodeItem.class);
+    INodeItem item2 = mock(INodeItem.class);
+
+    assertAll(
+        () -> assertNull(index.put(item1, Arrays.asList("a", null))),
+        () -> assertNull(index.put(item2, Arrays.asList(null, "a"))),
+        () -> assertSame(item1, index.get(Arrays.asList("a", null))),
+        () -> assertSame(item2, index.get(Arrays.asList(null, "a"))),
+        () -> assertNull(index.get(List.of("a", "a"))),
+        () -> assertEquals(2, index.size()));
+  }
+
+  @Test
+  void testAllNullsKeyNotIndexed() {
+    DefaultIndex index = new DefaultIndex(List.of(mock(IKeyField.class), mock(IKeyField.class)));
+    INodeItem item = mock(INodeItem.class);
+
+    assertAll(
+        () -> assertNull(index.put(item, Arrays.asList(null, null))),
+        () -> assertNull(index.get(Arrays.asList(null, null))),
+        () -> assertEquals(0, index.size()));
+  }
+}
@@ -115,8 +115,6 @@ public final class SarifValidationHandler {
   public static final IAttributable.Key SARIF_HELP_MARKDOWN_KEY
       = IAttributable.key("help-markdown", SARIF_NS);
 
-  @NonNull
-  private final URI source;
   @Nullable
   private final IVersionInfo toolVersion;
   private final AtomicInteger artifactIndex = new AtomicInteger(-1);
@@ -148,17 +146,24 @@ public final class SarifValidationHandler {
   public SarifValidationHandler(
       @NonNull URI source,
       @Nullable IVersionInfo toolVersion) {
-    if (!source.isAbsolute()) {
-      throw new IllegalArgumentException(String.format("The source URI '%s' is not absolute.", source.toASCIIString()));
-    }
-
-    this.source = source;
     this.toolVersion = toolVersion;
+    // register the source first, so it is the first artifact
+    addSource(source);
   }
 
-  @NonNull
-  private URI getSource() {
-    return source;
+  /**
+   * Register an additional resource that was validated, allowing the findings
+   * for multiple resources to be reported together.
+   *
+   * @param additionalSource
+   *          the URI of the additional content that was validated
+   */
+  public void addSource(@NonNull URI additionalSource) {
+    if (!additionalSource.isAbsolute()) {
+      throw new IllegalArgumentException(
+          String.format("The source URI '%s' is not absolute.", additionalSource.toASCIIString()));
+    }
+    getArtifactRecord(additionalSource);
   }
 
   private IVersionInfo getToolVersion() {
@@ -257,16 +262,20 @@ public final class SarifValidationHandler {
 
     sarif.addRun(run);
 
-    Artifact artifact = new Artifact();
-
-    artifact.setLocation(getArtifactRecord(getSource()).generateArtifactLocation(output));
-
-    run.addArtifact(artifact);
-
+    // generate the results first, since this registers the artifacts they refer to
+    List<Result> generatedResults = new LinkedList<>();
     for (IResult result : results) {
-      result.generateResults(output).forEach(run::addResult);
+      generatedResults.addAll(result.generateResults(output));
     }
 
+    for (ArtifactRecord record : artifacts.values()) {
+      Artifact artifact = new Artifact();
+      artifact.setLocation(record.generateArtifactLocation(output));
+      run.addArtifact(artifact);
+    }
+
+    generatedResults.forEach(run::addResult);
+
     IVersionInfo toolVersion = getToolVersion();
     if (!rules.isEmpty() || toolVersion != null) {
       Tool tool = new Tool();
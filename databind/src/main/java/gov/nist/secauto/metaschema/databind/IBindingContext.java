@@ -30,14 +30,17 @@ import gov.nist.secauto.metaschema.core.model.validation.JsonSchemaContentValida
 import gov.nist.secauto.metaschema.core.model.validation.XmlSchemaContentValidator;
 import gov.nist.secauto.metaschema.core.util.CollectionUtil;
 import gov.nist.secauto.metaschema.core.util.ObjectUtils;
+import gov.nist.secauto.metaschema.databind.codegen.CachingModuleBindingGenerator;
 import gov.nist.secauto.metaschema.databind.codegen.DefaultModuleBindingGenerator;
 import gov.nist.secauto.metaschema.databind.io.BindingException;
 import gov.nist.secauto.metaschema.databind.io.DefaultBoundLoader;
 import gov.nist.secauto.metaschema.databind.io.DeserializationFeature;
 import gov.nist.secauto.metaschema.databind.io.Format;
+import gov.nist.secauto.metaschema.databind.io.FormatDetector;
 import gov.nist.secauto.metaschema.databind.io.IBoundLoader;
 import gov.nist.secauto.metaschema.databind.io.IDeserializer;
 import gov.nist.secauto.metaschema.databind.io.ISerializer;
+import gov.nist.secauto.metaschema.databind.io.StreamingConstraintValidator;
 import gov.nist.secauto.metaschema.databind.io.yaml.YamlOperations;
 import gov.nist.secauto.metaschema.databind.model.IBoundDefinitionModel;
 import gov.nist.secauto.metaschema.databind.model.IBoundDefinitionModelAssembly;
@@ -55,6 +58,7 @@ import org.json.JSONTokener;
 import org.xml.sax.SAXException;
 
 import java.io.BufferedInputStream;
+import java.io.ByteArrayInputStream;
 import java.io.FileNotFoundException;
 import java.io.IOException;
 import java.io.InputStream;
@@ -498,6 +502,11 @@ public interface IBindingContext {
 
     DynamicContext dynamicContext = new DynamicContext(nodeItem.getStaticContext());
     dynamicContext.setDocumentLoader(loader);
+    // the document is not changed during validation
+    dynamicContext.enableDescendantIndex();
+    dynamicContext.enableDocumentPathMemoization();
+    // constraint expressions are evaluated for many nodes
+    dynamicContext.enableExpressionCompilation();
 
     validator.validate(nodeItem, dynamicContext);
     validator.finalizeValidation(dynamicContext);
@@ -507,6 +516,11 @@ public interface IBindingContext {
   /**
    * Load and perform schema and constraint validation on the target. The
    * constraint validation will only be performed if the schema validation passes.
+   * <p>
+   * The target is read once, and the content is shared by the schema and
+   * constraint validation. If {@link ValidationFeature#VALIDATE_STREAMING} is
+   * enabled, the content is not held in memory. Instead, the target is read
+   * separately by the schema and constraint validation.
    *
    * @param target
    *          the target to validate
@@ -525,11 +539,27 @@ public interface IBindingContext {
       @NonNull Format asFormat,
       @NonNull ISchemaValidationProvider schemaProvider,
       @Nullable IConfiguration<ValidationFeature<?>> config) throws IOException {
+    byte[] content = null;
+    if (config == null || !config.isFeatureEnabled(ValidationFeature.VALIDATE_STREAMING)) {
+      try (InputStream is = ObjectUtils.notNull(target.toURL().openStream())) {
+        content = is.readAllBytes();
+      }
+    }
 
-    IValidationResult retval = schemaProvider.validateWithSchema(target, asFormat, this);
+    IValidationResult retval;
+    try (InputStream is = content == null
+        ? ObjectUtils.notNull(target.toURL().openStream())
+        : new ByteArrayInputStream(content)) {
+      retval = schemaProvider.validateWithSchema(target, is, asFormat, this);
+    }
 
     if (retval.isPassing()) {
-      IValidationResult constraintValidationResult = validateWithConstraints(target, config);
+      IValidationResult constraintValidationResult;
+      try (InputStream is = content == null
+          ? ObjectUtils.notNull(target.toURL().openStream())
+          : new ByteArrayInputStream(content)) {
+        constraintValidationResult = validateWithConstraints(target, is, asFormat, config);
+      }
       retval = AggregateValidationResult.aggregate(retval, constraintValidationResult);
     }
     return retval;
@@ -538,6 +568,9 @@ public interface IBindingContext {
   /**
    * Load and validate the provided {@code target} using the associated Module
    * module constraints.
+   * <p>
+   * If {@link ValidationFeature#VALIDATE_STREAMING} is enabled, the target is
+   * validated while it is being read.
    *
    * @param target
    *          the file to load and validate
@@ -552,10 +585,67 @@ public interface IBindingContext {
       @Nullable IConfiguration<ValidationFeature<?>> config)
       throws IOException {
     IBoundLoader loader = newBoundLoader();
+    URI resource = loader.resolve(target);
+
+    try (InputStream is = ObjectUtils.notNull(resource.toURL().openStream())) {
+      FormatDetector.Result formatMatch = loader.detectFormat(is, resource);
+      try (InputStream formatStream = formatMatch.getDataStream()) {
+        return validateWithConstraints(
+            resource,
+            ObjectUtils.notNull(formatStream),
+            formatMatch.getFormat(),
+            config);
+      }
+    }
+  }
+
+  /**
+   * Load the provided content of the {@code target} and validate it using the
+   * associated Module module constraints.
+   * <p>
+   * If {@link ValidationFeature#VALIDATE_STREAMING} is enabled, the content is
+   * validated while it is being read.
+   *
+   * @param target
+   *          the resource the content was read from
+   * @param is
+   *          the content to load and validate
+   * @param format
+   *          the format of the content
+   * @param config
+   *          the validation configuration
+   * @return the validation results
+   * @throws IOException
+   *           if an error occurred while parsing the content
+   */
+  default IValidationResult validateWithConstraints(
+      @NonNull URI target,
+      @NonNull InputStream is,
+      @NonNull Format format,
+      @Nullable IConfiguration<ValidationFeature<?>> config)
+      throws IOException {
+    IBoundLoader loader = newBoundLoader();
     loader.disableFeature(DeserializationFeature.DESERIALIZE_VALIDATE_CONSTRAINTS);
-    IDocumentNodeItem nodeItem = loader.loadAsNodeItem(target);
+    URI resource = loader.resolve(target);
+
+    IValidationResult retval;
+    if (config != null && config.isFeatureEnabled(ValidationFeature.VALIDATE_STREAMING)) {
+      FindingCollectingConstraintValidationHandler handler = new FindingCollectingConstraintValidationHandler();
+      DefaultConstraintValidator validator = new DefaultConstraintValidator(handler);
+      validator.applyConfiguration(config);
 
-    return validate(nodeItem, loader, config);
+      StreamingConstraintValidator streamingValidator = new StreamingConstraintValidator(
+          validator,
+          loader,
+          resource);
+      IDocumentNodeItem nodeItem = loader.loadAsNodeItem(format, is, resource, streamingValidator);
+      streamingValidator.finish(nodeItem);
+      retval = handler;
+    } else {
+      IDocumentNodeItem nodeItem = loader.loadAsNodeItem(format, is, resource);
+      retval = validate(nodeItem, loader, config);
+    }
+    return retval;
   }
 
   /**
@@ -690,6 +780,7 @@ public interface IBindingContext {
    */
   final class BindingContextBuilder {
     private Path compilePath;
+    private Path bindingCachePath;
     private final List<IModuleLoader.IModulePostProcessor> postProcessors = new LinkedList<>();
     private final List<IConstraintSet> constraintSets = new LinkedList<>();
     @NonNull
@@ -725,6 +816,27 @@ public interface IBindingContext {
       return this;
     }
 
+    /**
+     * Enable dynamic code generation and compilation for Metaschema module-based
+     * classes, reusing the classes compiled for an unchanged module by an earlier
+     * binding context or process.
+     * <p>
+     * This option takes precedence over {@link #compilePath(Path)}. The cache
+     * accounts for the configured constraint sets, but not for changes made by
+     * other post processors.
+     *
+     * @param path
+     *          the directory used to store compiled Metaschema module-based
+     *          classes, which may be shared by multiple processes
+     * @return this builder
+     * @see CachingModuleBindingGenerator
+     */
+    @NonNull
+    public BindingContextBuilder bindingCache(@NonNull Path path) {
+      bindingCachePath = path;
+      return this;
+    }
+
     /**
      * Configure a Metaschema module post processor.
      *
@@ -773,9 +885,16 @@ public interface IBindingContext {
     @NonNull
     public IBindingContext build() {
       // get loader strategy based on if code generation is configured
-      IBindingContext.IModuleLoaderStrategy strategy = compilePath == null
-          ? new SimpleModuleLoaderStrategy()
-          : new SimpleModuleLoaderStrategy(new DefaultModuleBindingGenerator(compilePath));
+      IBindingContext.IModuleLoaderStrategy strategy;
+      if (bindingCachePath != null) {
+        strategy = new SimpleModuleLoaderStrategy(new CachingModuleBindingGenerator(
+            bindingCachePath,
+            CollectionUtil.unmodifiableList(new LinkedList<>(constraintSets))));
+      } else if (compilePath != null) {
+        strategy = new SimpleModuleLoaderStrategy(new DefaultModuleBindingGenerator(compilePath));
+      } else {
+        strategy = new SimpleModuleLoaderStrategy();
+      }
 
       // determine if any post processors are configured or need to be
       List<IModuleLoader.IModulePostProcessor> processors = new LinkedList<>(postProcessors);
@@ -820,31 +939,52 @@ public interface IBindingContext {
         @NonNull Format asFormat,
         @NonNull IBindingContext bindingContext)
         throws FileNotFoundException, IOException {
-      URL targetResource = ObjectUtils.notNull(target.toURL());
+      try (InputStream is = new BufferedInputStream(ObjectUtils.notNull(target.toURL().openStream()))) {
+        return validateWithSchema(target, is, asFormat, bindingContext);
+      }
+    }
 
+    /**
+     * Validate the provided content of the target resource.
+     *
+     * @param target
+     *          the resource the content was read from
+     * @param is
+     *          the content to validate
+     * @param asFormat
+     *          the format to validate the content as
+     * @param bindingContext
+     *          the Metaschema binding context used to load bound resources
+     * @return the validation result
+     * @throws IOException
+     *           if an error occurred while reading the content
+     * @since 2.0.0
+     */
+    @NonNull
+    default IValidationResult validateWithSchema(
+        @NonNull URI target,
+        @NonNull InputStream is,
+        @NonNull Format asFormat,
+        @NonNull IBindingContext bindingContext)
+        throws IOException {
       IValidationResult retval;
       switch (asFormat) {
       case JSON: {
-        JSONObject json;
-        try (@SuppressWarnings("resource")
-        InputStream is
-            = new BufferedInputStream(ObjectUtils.notNull(targetResource.openStream()))) {
-          json = new JSONObject(new JSONTokener(is));
-        }
+        JSONObject json = new JSONObject(new JSONTokener(is));
         retval = getJsonSchema(json, bindingContext).validate(json, target);
         break;
       }
       case XML:
         try {
-          retval = getXmlSchemas(targetResource, bindingContext).validate(target);
+          retval = getXmlSchemas(ObjectUtils.notNull(target.toURL()), bindingContext).validate(is, target);
         } catch (SAXException ex) {
           throw new IOException(ex);
         }
         break;
       case YAML: {
-        JSONObject json = YamlOperations.yamlToJson(YamlOperations.parseYaml(target));
+        JSONObject json = YamlOperations.yamlToJson(YamlOperations.parseYaml(is));
         assert json != null;
-        retval = getJsonSchema(json, bindingContext).validate(json, ObjectUtils.notNull(target));
+        retval = getJsonSchema(json, bindingContext).validate(json, target);
         break;
       }
       default:
@@ -0,0 +1,225 @@
+/*
+ * SPDX-FileCopyrightText: none
+ * SPDX-License-Identifier: CC0-1.0
+ */
+
+package gov.nist.secauto.metaschema.databind.codegen;
+
+import gov.nist.secauto.metaschema.core.metapath.MetapathException;
+import gov.nist.secauto.metaschema.core.model.IModule;
+import gov.nist.secauto.metaschema.core.model.ModuleDigest;
+import gov.nist.secauto.metaschema.core.model.constraint.IConstraintSet;
+import gov.nist.secauto.metaschema.core.util.CollectionUtil;
+import gov.nist.secauto.metaschema.core.util.DeleteOnShutdown;
+import gov.nist.secauto.metaschema.core.util.ObjectUtils;
+import gov.nist.secauto.metaschema.databind.model.IBoundModule;
+
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.FileSystemException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+import edu.umd.cs.findbugs.annotations.NonNull;
+import edu.umd.cs.findbugs.annotations.Nullable;
+
+/**
+ * A binding generator that keeps the compiled classes of each module in a
+ * persistent cache directory, allowing the classes compiled by a previous
+ * process to be reused.
+ * <p>
+ * Each compiled module is stored in a sub-directory named using a digest of the
+ * module's resource, the resources of the modules it imports, the resources of
+ * the configured constraint sets, and the version of this library. A module
+ * whose inputs have not changed is loaded from the cache without generating or
+ * compiling any code.
+ * <p>
+ * Classes are compiled into a temporary directory, which is then atomically
+ * renamed to the digest-based directory. Multiple processes can share the same
+ * cache directory. If two processes compile the same module at the same time,
+ * the classes of the first process to complete the rename are used by both.
+ * <p>
+ * Modules whose resources cannot be read, such as modules without a location,
+ * are compiled into a temporary directory that is not reused.
+ */
+public class CachingModuleBindingGenerator implements IModuleBindingGenerator {
+  private static final Logger LOGGER = LogManager.getLogger(CachingModuleBindingGenerator.class);
+  /**
+   * The file in a cache entry that records the name of the module class.
+   */
+  private static final String MODULE_CLASS_FILE = "module-class.txt";
+
+  @NonNull
+  private final Path cacheDir;
+  @NonNull
+  private final Collection<IConstraintSet> constraintSets;
+
+  /**
+   * Construct a new generator using the provided cache directory.
+   *
+   * @param cacheDir
+   *          the directory used to store compiled module classes
+   */
+  public CachingModuleBindingGenerator(@NonNull Path cacheDir) {
+    this(cacheDir, CollectionUtil.emptyList());
+  }
+
+  /**
+   * Construct a new generator using the provided cache directory.
+   *
+   * @param cacheDir
+   *          the directory used to store compiled module classes
+   * @param constraintSets
+   *          the constraint sets that will be applied to the modules before
+   *          generation, which affect the generated classes
+   */
+  public CachingModuleBindingGenerator(
+      @NonNull Path cacheDir,
+      @NonNull Collection<IConstraintSet> constraintSets) {
+    this.cacheDir = cacheDir;
+    this.constraintSets = CollectionUtil.unmodifiableCollection(constraintSets);
+  }
+
+  /**
+   * Get the directory used to store compiled module classes.
+   *
+   * @return the cache directory
+   */
+  @NonNull
+  public Path getCacheDir() {
+    return cacheDir;
+  }
+
+  @Override
+  public Class<? extends IBoundModule> generate(IModule module) {
+    try {
+      Files.createDirectories(cacheDir);
+
+      String digest = ModuleDigest.digest(module, constraintSets, String.valueOf(Runtime.version().feature()));
+      Class<? extends IBoundModule> retval;
+      if (digest == null) {
+        Path classDir = ObjectUtils.notNull(Files.createTempDirectory(cacheDir, "uncached-"));
+        DeleteOnShutdown.register(classDir);
+        retval = load(classDir, compile(module, classDir));
+      } else {
+        Path entryDir = ObjectUtils.notNull(cacheDir.resolve(digest));
+        String className = readModuleClassName(entryDir);
+        if (className == null) {
+          className = compileEntry(module, digest, entryDir);
+        } else if (LOGGER.isDebugEnabled()) {
+          LOGGER.atDebug().log("Using cached classes for module '{}' in '{}'.", module.getLocation(), entryDir);
+        }
+        retval = load(entryDir, className);
+      }
+      return retval;
+    } catch (IOException ex) {
+      throw new MetapathException(
+          String.format("Unable to generate and compile classes for module '%s'.", module.getLocation()),
+          ex);
+    }
+  }
+
+  /**
+   * Compile the module into a new cache entry.
+   * <p>
+   * If another process completes the entry first, the classes of that entry are
+   * used and the classes compiled by this call are discarded.
+   *
+   * @param module
+   *          the module to compile
+   * @param digest
+   *          the digest identifying the entry
+   * @param entryDir
+   *          the directory of the entry
+   * @return the name of the module class
+   * @throws IOException
+   *           if an error occurred while compiling the classes or writing the
+   *           entry
+   */
+  @SuppressWarnings("PMD.AvoidCatchingGenericException") // the work directory is removed on any failure
+  @NonNull
+  String compileEntry(
+      @NonNull IModule module,
+      @NonNull String digest,
+      @NonNull Path entryDir) throws IOException {
+    Path workDir = ObjectUtils.notNull(Files.createTempDirectory(cacheDir, digest + ".tmp-"));
+    String className;
+    try {
+      className = compile(module, workDir);
+      Files.writeString(workDir.resolve(MODULE_CLASS_FILE), className, StandardCharsets.UTF_8);
+    } catch (IOException | RuntimeException ex) {
+      delete(workDir);
+      throw ex;
+    }
+
+    String retval;
+    try {
+      Files.move(workDir, entryDir, StandardCopyOption.ATOMIC_MOVE);
+      retval = className;
+    } catch (FileSystemException ex) {
+      // another process may have completed the same entry first, which is reported
+      // differently depending on the platform, such as "Directory not empty" on
+      // Linux
+      delete(workDir);
+      retval = readModuleClassName(entryDir);
+      if (retval == null) {
+        throw ex;
+      }
+    }
+    return retval;
+  }
+
+  /**
+   * Delete the provided directory and its contents.
+   * <p>
+   * Anything that cannot be deleted now is deleted when the JVM terminates.
+   *
+   * @param dir
+   *          the directory to delete
+   */
+  private static void delete(@NonNull Path dir) {
+    try (Stream<Path> paths = Files.walk(dir)) {
+      for (Path path : paths.sorted(Comparator.reverseOrder()).collect(Collectors.toList())) {
+        Files.deleteIfExists(path);
+      }
+    } catch (IOException ex) {
+      LOGGER.atDebug().withThrowable(ex).log("Unable to delete '{}'.", dir);
+      DeleteOnShutdown.register(dir);
+    }
+  }
+
+  @NonNull
+  private static String compile(@NonNull IModule module, @NonNull Path classDir) throws IOException {
+    IProduction production = ModuleCompilerHelper.compileMetaschema(module, classDir);
+    return ObjectUtils.notNull(ObjectUtils.notNull(production.getModuleProduction(module))
+        .getClassName()
+        .reflectionName());
+  }
+
+  @SuppressWarnings("unchecked")
+  @NonNull
+  private static Class<? extends IBoundModule> load(@NonNull Path classDir, @NonNull String className) {
+    ClassLoader classLoader = ModuleCompilerHelper.newClassLoader(
+        classDir,
+        ObjectUtils.notNull(Thread.currentThread().getContextClassLoader()));
+    try {
+      return ObjectUtils.notNull((Class<? extends IBoundModule>) classLoader.loadClass(className));
+    } catch (ClassNotFoundException ex) {
+      throw new IllegalStateException(ex);
+    }
+  }
+
+  @Nullable
+  private static String readModuleClassName(@NonNull Path entryDir) throws IOException {
+    Path file = entryDir.resolve(MODULE_CLASS_FILE);
+    return Files.isRegularFile(file) ? Files.readString(file, StandardCharsets.UTF_8).trim() : null;
+  }
+}
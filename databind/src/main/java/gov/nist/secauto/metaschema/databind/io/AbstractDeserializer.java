@@ -11,6 +11,7 @@ import gov.nist.secauto.metaschema.core.metapath.DynamicContext;
 import gov.nist.secauto.metaschema.core.metapath.item.node.IDefinitionNodeItem;
 import gov.nist.secauto.metaschema.core.metapath.item.node.IDocumentNodeItem;
 import gov.nist.secauto.metaschema.core.metapath.item.node.INodeItem;
+import gov.nist.secauto.metaschema.core.metapath.item.node.INodeItemFactory;
 import gov.nist.secauto.metaschema.core.model.IBoundObject;
 import gov.nist.secauto.metaschema.core.model.constraint.DefaultConstraintValidator;
 import gov.nist.secauto.metaschema.core.model.constraint.IConstraintValidationHandler;
@@ -25,6 +26,7 @@ import java.util.concurrent.locks.Lock;
 import java.util.concurrent.locks.ReentrantLock;
 
 import edu.umd.cs.findbugs.annotations.NonNull;
+import edu.umd.cs.findbugs.annotations.Nullable;
 
 /**
  * The base class of all format-specific deserializers.
@@ -38,6 +40,8 @@ public abstract class AbstractDeserializer<CLASS extends IBoundObject>
 
   private IConstraintValidationHandler constraintValidationHandler;
   private final Lock handlerLock = new ReentrantLock();
+  @Nullable
+  private IItemReadObserver itemReadObserver;
 
   /**
    * Construct a new deserializer.
@@ -80,6 +84,30 @@ public abstract class AbstractDeserializer<CLASS extends IBoundObject>
     }
   }
 
+  @Override
+  public IItemReadObserver getItemReadObserver() {
+    return itemReadObserver;
+  }
+
+  @Override
+  public void setItemReadObserver(IItemReadObserver observer) {
+    this.itemReadObserver = observer;
+  }
+
+  /**
+   * Get the node item factory used to create the node items of deserialized
+   * documents.
+   *
+   * @return the factory
+   * @see DeserializationFeature#DESERIALIZE_COMPACT_NODE_ITEMS
+   */
+  @NonNull
+  protected INodeItemFactory getNodeItemFactory() {
+    return isFeatureEnabled(DeserializationFeature.DESERIALIZE_COMPACT_NODE_ITEMS)
+        ? INodeItemFactory.compactInstance()
+        : INodeItemFactory.instance();
+  }
+
   @Override
   public INodeItem deserializeToNodeItem(Reader reader, URI documentUri) throws IOException {
 
@@ -139,6 +167,11 @@ public abstract class AbstractDeserializer<CLASS extends IBoundObject>
 
     DynamicContext dynamicContext = new DynamicContext(nodeItem.getStaticContext());
     dynamicContext.setDocumentLoader(getBindingContext().newBoundLoader());
+    // the document is not changed during validation
+    dynamicContext.enableDescendantIndex();
+    dynamicContext.enableDocumentPathMemoization();
+    // constraint expressions are evaluated for many nodes
+    dynamicContext.enableExpressionCompilation();
     DefaultConstraintValidator validator = new DefaultConstraintValidator(getConstraintValidationHandler());
     validator.validate(definitionNodeItem, dynamicContext);
     validator.finalizeValidation(dynamicContext);
@@ -8,8 +8,18 @@ package gov.nist.secauto.metaschema.databind.io;
 import gov.nist.secauto.metaschema.core.configuration.IConfiguration;
 import gov.nist.secauto.metaschema.core.configuration.IMutableConfiguration;
 import gov.nist.secauto.metaschema.core.model.IBoundObject;
+import gov.nist.secauto.metaschema.core.util.AutoCloser;
 import gov.nist.secauto.metaschema.databind.model.IBoundDefinitionModelAssembly;
 
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.OpenOption;
+import java.nio.file.Path;
+
 import edu.umd.cs.findbugs.annotations.NonNull;
 
 /**
@@ -59,4 +69,50 @@ public abstract class AbstractSerializer<CLASS extends IBoundObject>
     configurationChanged(config);
     return this;
   }
+
+  @Override
+  public void serialize(IBoundObject data, OutputStream os) throws IOException {
+    IOutputCompression compression = get(SerializationFeature.SERIALIZE_COMPRESSION);
+    if (IOutputCompression.NONE.equals(compression)) {
+      serializeUtf8(data, os);
+    } else {
+      // closing the compressing stream completes the compressed content, but the
+      // provided stream is not owned by this method and must remain open
+      try (OutputStream compressed = compression.newOutputStream(AutoCloser.preventClose(os))) {
+        serializeUtf8(data, compressed);
+      }
+    }
+    os.flush();
+  }
+
+  @Override
+  public void serialize(IBoundObject data, Path path, OpenOption... openOptions) throws IOException {
+    try (OutputStream os = Files.newOutputStream(path, openOptions)) {
+      assert os != null;
+      serialize(data, os);
+    }
+  }
+
+  /**
+   * Write data from a bound class instance to the {@link OutputStream} using the
+   * UTF-8 encoding.
+   * <p>
+   * This method does not have ownership of the the provided output stream and
+   * will not close it.
+   * <p>
+   * By default, the content is written using a {@link Writer}. Subclasses should
+   * override this method to encode content directly to the stream.
+   *
+   * @param data
+   *          the instance data
+   * @param os
+   *          the output stream to write to
+   * @throws IOException
+   *           if an error occurred while writing data to the stream
+   */
+  protected void serializeUtf8(@NonNull IBoundObject data, @NonNull OutputStream os) throws IOException {
+    OutputStreamWriter writer = new OutputStreamWriter(os, StandardCharsets.UTF_8);
+    serialize(data, writer);
+    writer.flush();
+  }
 }
@@ -25,6 +25,7 @@ import java.net.URL;
 import java.util.Map;
 
 import edu.umd.cs.findbugs.annotations.NonNull;
+import edu.umd.cs.findbugs.annotations.Nullable;
 
 /**
  * A default implementation of an {@link IBoundLoader}.
@@ -221,17 +222,30 @@ public class DefaultBoundLoader
     URL resource = resourceUri.toURL();
 
     try (InputStream is = ObjectUtils.notNull(resource.openStream())) {
-      return loadAsNodeItem(is, resourceUri);
+      return loadAsNodeItem(is, resourceUri, null);
+    }
+  }
+
+  @Override
+  public IDocumentNodeItem loadAsNodeItem(URI uri, IItemReadObserver observer) throws IOException {
+    URI resourceUri = resolve(uri);
+    URL resource = resourceUri.toURL();
+
+    try (InputStream is = ObjectUtils.notNull(resource.openStream())) {
+      return loadAsNodeItem(is, resourceUri, observer);
     }
   }
 
   @NonNull
-  private IDocumentNodeItem loadAsNodeItem(@NonNull InputStream is, @NonNull URI documentUri) throws IOException {
+  private IDocumentNodeItem loadAsNodeItem(
+      @NonNull InputStream is,
+      @NonNull URI documentUri,
+      @Nullable IItemReadObserver observer) throws IOException {
     FormatDetector.Result formatMatch = getFormatDetector().detect(is);
     Format format = formatMatch.getFormat();
 
     try (InputStream formatStream = formatMatch.getDataStream()) {
-      return loadAsNodeItem(format, formatStream, documentUri);
+      return loadAsNodeItem(format, ObjectUtils.notNull(formatStream), documentUri, observer);
     }
   }
 
@@ -248,12 +262,22 @@ public class DefaultBoundLoader
   @Override
   public IDocumentNodeItem loadAsNodeItem(Format format, InputStream is, URI resource)
       throws IOException {
+    return loadAsNodeItem(format, is, resource, null);
+  }
+
+  @Override
+  public IDocumentNodeItem loadAsNodeItem(
+      Format format,
+      InputStream is,
+      URI resource,
+      @Nullable IItemReadObserver observer) throws IOException {
     try (ModelDetector.Result modelMatch = detectModel(is, resource, format)) {
 
       IDeserializer<?> deserializer = getDeserializer(
           modelMatch.getBoundClass(),
           format,
           getConfiguration());
+      deserializer.setItemReadObserver(observer);
       try (InputStream modelStream = modelMatch.getDataStream()) {
         return (IDocumentNodeItem) deserializer.deserializeToNodeItem(modelStream, resource);
       }
@@ -40,6 +40,16 @@ public final class DeserializationFeature<V>
   public static final DeserializationFeature<Boolean> DESERIALIZE_JSON_ROOT_PROPERTY
       = new DeserializationFeature<>("deserialize-root-property", Boolean.class, true);
 
+  /**
+   * If enabled, the node items of deserialized documents are stored in a compact
+   * form intended for large documents. The complete document is indexed when it
+   * is read, so changes made to the data afterwards are not reflected by the
+   * document's node items.
+   */
+  @NonNull
+  public static final DeserializationFeature<Boolean> DESERIALIZE_COMPACT_NODE_ITEMS
+      = new DeserializationFeature<>("compact-node-items", Boolean.class, false);
+
   /**
    * Determines the max YAML codepoints that can be read.
    */
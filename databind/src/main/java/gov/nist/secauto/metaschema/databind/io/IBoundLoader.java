@@ -468,6 +468,67 @@ public interface IBoundLoader extends IDocumentLoader, IMutableConfiguration<Des
       @NonNull InputStream is,
       @NonNull URI resource) throws IOException;
 
+  /**
+   * Load data from the specified resource and return that data as a Metapath
+   * node item, notifying the provided observer as items are read.
+   * <p>
+   * The format and specific Module model are auto-detected by analyzing the
+   * source. Items discarded by the observer will not be included in the
+   * resulting node item.
+   * <p>
+   * The default implementation does not support observation. It loads the data
+   * using {@link #loadAsNodeItem(URI)} without notifying the observer, which
+   * results in all items being retained.
+   *
+   * @param uri
+   *          the resource
+   * @param observer
+   *          the observer to notify as items are read
+   * @return the Metapath node item for the parsed data
+   * @throws IOException
+   *           if an error occurred while loading the data from the specified
+   *           resource
+   */
+  @NonNull
+  default IDocumentNodeItem loadAsNodeItem(
+      @NonNull URI uri,
+      @NonNull IItemReadObserver observer) throws IOException {
+    return loadAsNodeItem(uri);
+  }
+
+  /**
+   * Load data expressed using the provided {@code format} and return that data as
+   * a Metapath node item, notifying the provided observer as items are read.
+   * <p>
+   * The specific Module model is auto-detected by analyzing the source. Items
+   * discarded by the observer will not be included in the resulting node item.
+   * <p>
+   * The default implementation does not support observation. It loads the data
+   * using {@link #loadAsNodeItem(Format, InputStream, URI)} without notifying
+   * the observer, which results in all items being retained.
+   *
+   * @param format
+   *          the expected format of the data to parse
+   * @param is
+   *          the resource stream
+   * @param resource
+   *          the URI of the resource
+   * @param observer
+   *          the observer to notify as items are read
+   * @return the Metapath node item for the parsed data
+   * @throws IOException
+   *           if an error occurred while loading the data from the specified
+   *           resource
+   */
+  @NonNull
+  default IDocumentNodeItem loadAsNodeItem(
+      @NonNull Format format,
+      @NonNull InputStream is,
+      @NonNull URI resource,
+      @NonNull IItemReadObserver observer) throws IOException {
+    return loadAsNodeItem(format, is, resource);
+  }
+
   /**
    * Get the configured Module binding context to use to load Java types.
    *
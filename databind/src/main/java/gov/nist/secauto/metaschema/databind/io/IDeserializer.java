@@ -25,6 +25,7 @@ import java.nio.file.Files;
 import java.nio.file.Path;
 
 import edu.umd.cs.findbugs.annotations.NonNull;
+import edu.umd.cs.findbugs.annotations.Nullable;
 
 /**
  * Implementations of this interface are able to read structured data into a
@@ -74,6 +75,25 @@ public interface IDeserializer<CLASS extends IBoundObject> extends IMutableConfi
    */
   void setConstraintValidationHandler(@NonNull IConstraintValidationHandler handler);
 
+  /**
+   * Get the observer notified as items are read by this deserializer.
+   *
+   * @return the observer, or {@code null} if no observer is configured
+   */
+  @Nullable
+  IItemReadObserver getItemReadObserver();
+
+  /**
+   * Set the observer to notify as items are read by this deserializer.
+   * <p>
+   * An observer can be used to process items while a document is being read, and
+   * to discard items that are no longer needed.
+   *
+   * @param observer
+   *          the observer, or {@code null} to disable notifications
+   */
+  void setItemReadObserver(@Nullable IItemReadObserver observer);
+
   /**
    * Read data from the {@link InputStream} into a bound class instance.
    *
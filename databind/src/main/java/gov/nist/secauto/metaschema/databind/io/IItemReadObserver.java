@@ -0,0 +1,66 @@
+/*
+ * SPDX-FileCopyrightText: none
+ * SPDX-License-Identifier: CC0-1.0
+ */
+
+package gov.nist.secauto.metaschema.databind.io;
+
+import gov.nist.secauto.metaschema.core.model.IBoundObject;
+import gov.nist.secauto.metaschema.databind.model.IBoundDefinitionModelComplex;
+import gov.nist.secauto.metaschema.databind.model.IBoundInstanceModel;
+
+import java.io.IOException;
+
+import edu.umd.cs.findbugs.annotations.NonNull;
+import edu.umd.cs.findbugs.annotations.Nullable;
+
+/**
+ * Receives notifications from a parser as bound objects are read.
+ * <p>
+ * An observer can be used to act on data while a document is still being read,
+ * and to keep items that are no longer needed from being retained in the
+ * resulting object graph.
+ */
+public interface IItemReadObserver {
+  /**
+   * Called just after a new bound object has been created, before any of its
+   * data is read.
+   *
+   * @param definition
+   *          the definition describing the object
+   * @param item
+   *          the new object
+   * @param parentItem
+   *          the object containing the new object, or {@code null} if the object
+   *          is the top-level object being read
+   * @throws IOException
+   *           if an error occurred while handling the notification
+   */
+  default void beforeRead(
+      @NonNull IBoundDefinitionModelComplex definition,
+      @NonNull IBoundObject item,
+      @Nullable IBoundObject parentItem) throws IOException {
+    // do nothing by default
+  }
+
+  /**
+   * Called after an item in a list or map of items has been completely read.
+   *
+   * @param instance
+   *          the model instance the item was read for
+   * @param parentItem
+   *          the object containing the item
+   * @param item
+   *          the item that was read
+   * @return {@code true} if the item is to be added to the parent object, or
+   *         {@code false} if the item is to be discarded
+   * @throws IOException
+   *           if an error occurred while handling the notification
+   */
+  default boolean afterReadItem(
+      @NonNull IBoundInstanceModel<?> instance,
+      @NonNull IBoundObject parentItem,
+      @NonNull Object item) throws IOException {
+    return true;
+  }
+}
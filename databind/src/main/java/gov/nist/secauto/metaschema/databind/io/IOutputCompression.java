@@ -0,0 +1,53 @@
+/*
+ * SPDX-FileCopyrightText: none
+ * SPDX-License-Identifier: CC0-1.0
+ */
+
+package gov.nist.secauto.metaschema.databind.io;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.util.zip.GZIPOutputStream;
+
+import edu.umd.cs.findbugs.annotations.NonNull;
+
+/**
+ * Provides compression for serialized content that is written to an
+ * {@link OutputStream}.
+ * <p>
+ * Compression codecs that are not provided here, such as zstd, can be used by
+ * providing an implementation that wraps the stream using the codec library's
+ * output stream.
+ *
+ * @see SerializationFeature#SERIALIZE_COMPRESSION
+ */
+@FunctionalInterface
+public interface IOutputCompression {
+  /**
+   * Content is written without compression.
+   */
+  @NonNull
+  IOutputCompression NONE = out -> out;
+
+  /**
+   * Content is compressed using the gzip format.
+   */
+  @NonNull
+  IOutputCompression GZIP = out -> new GZIPOutputStream(out, 8192); // NOPMD - buffer size
+
+  /**
+   * Wrap the provided stream with a stream that compresses the content written
+   * to it.
+   * <p>
+   * Closing the returned stream must complete the compressed content and close
+   * the provided stream.
+   *
+   * @param out
+   *          the stream to write the compressed content to
+   * @return the stream to write the uncompressed content to
+   * @throws IOException
+   *           if an error occurred while creating the stream
+   */
+  @NonNull
+  OutputStream newOutputStream(@NonNull OutputStream out) throws IOException;
+}
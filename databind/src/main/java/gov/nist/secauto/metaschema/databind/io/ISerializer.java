@@ -109,4 +109,41 @@ public interface ISerializer<CLASS extends IBoundObject> extends IMutableConfigu
    *           if an error occurred while writing data to the stream
    */
   void serialize(@NonNull IBoundObject data, @NonNull Writer writer) throws IOException;
+
+  /**
+   * Determine if this serializer can write a document incrementally using
+   * {@link #newStreamingWriter(Writer)}.
+   *
+   * @return {@code true} if streaming is supported, or {@code false} otherwise
+   */
+  default boolean supportsStreaming() {
+    return false;
+  }
+
+  /**
+   * Create a writer that writes a document incrementally to the provided
+   * {@link Writer}, allowing the items of the top-level assembly to be written
+   * as they are read from another source.
+   * <p>
+   * Closing the returned writer also closes the underlying format-specific
+   * writer, which may close the provided writer.
+   * <p>
+   * Streaming is not supported by default. Serializers that support it must
+   * override this method and {@link #supportsStreaming()}.
+   *
+   * @param writer
+   *          the writer to write to
+   * @return the streaming writer
+   * @throws IOException
+   *           if an error occurred while creating the streaming writer
+   * @throws UnsupportedOperationException
+   *           if this serializer does not support streaming, as indicated by
+   *           {@link #supportsStreaming()}
+   * @see StreamingConverter
+   */
+  @NonNull
+  default IStreamingWriter newStreamingWriter(@NonNull Writer writer) throws IOException {
+    throw new UnsupportedOperationException(
+        String.format("The serializer '%s' does not support streaming.", getClass().getName()));
+  }
 }
@@ -0,0 +1,124 @@
+/*
+ * SPDX-FileCopyrightText: none
+ * SPDX-License-Identifier: CC0-1.0
+ */
+
+package gov.nist.secauto.metaschema.databind.io;
+
+import gov.nist.secauto.metaschema.core.model.IBoundObject;
+import gov.nist.secauto.metaschema.databind.model.IBoundInstanceFlag;
+import gov.nist.secauto.metaschema.databind.model.IBoundInstanceModel;
+
+import java.io.Closeable;
+import java.io.IOException;
+
+import edu.umd.cs.findbugs.annotations.NonNull;
+
+/**
+ * Writes a document incrementally, allowing the items of the top-level
+ * assembly to be written as they become available instead of requiring the
+ * complete object graph to be built first.
+ * <p>
+ * A document is written by calling {@link #writeStart(IBoundObject)}, followed
+ * by any number of calls to write the flags and model instances of the
+ * top-level assembly, followed by {@link #writeEnd()}. The items of a model
+ * instance can be written one at a time by calling
+ * {@link #writeItemsStart(IBoundInstanceModel)}, then
+ * {@link #writeItem(IBoundInstanceModel, Object)} for each item, then
+ * {@link #writeItemsEnd(IBoundInstanceModel)}.
+ *
+ * @see ISerializer#newStreamingWriter(java.io.Writer)
+ * @see StreamingConverter
+ */
+public interface IStreamingWriter extends Closeable {
+  /**
+   * Determine if the flags and model instances of the top-level assembly must be
+   * written in the order defined by the assembly's definition.
+   *
+   * @return {@code true} if the order is significant, or {@code false} if flags
+   *         and model instances can be written in any order
+   */
+  boolean isOrderSignificant();
+
+  /**
+   * Write the start of the document and the top-level assembly, including any
+   * flags of the provided item that have a value.
+   *
+   * @param item
+   *          the top-level assembly item
+   * @throws IOException
+   *           if an error occurred while writing
+   */
+  void writeStart(@NonNull IBoundObject item) throws IOException;
+
+  /**
+   * Write the value of a flag of the top-level assembly that was not available
+   * when {@link #writeStart(IBoundObject)} was called.
+   * <p>
+   * This is only supported if the order is not significant.
+   *
+   * @param instance
+   *          the flag instance to write
+   * @param item
+   *          the top-level assembly item containing the flag value
+   * @throws IOException
+   *           if an error occurred while writing
+   * @see #isOrderSignificant()
+   */
+  void writeFlag(@NonNull IBoundInstanceFlag instance, @NonNull IBoundObject item) throws IOException;
+
+  /**
+   * Write all values of a model instance that are contained in the provided
+   * top-level assembly item.
+   * <p>
+   * Nothing is written if the item has no values for the instance.
+   *
+   * @param instance
+   *          the model instance to write
+   * @param item
+   *          the top-level assembly item containing the values
+   * @throws IOException
+   *           if an error occurred while writing
+   */
+  void writeModelInstance(@NonNull IBoundInstanceModel<?> instance, @NonNull IBoundObject item) throws IOException;
+
+  /**
+   * Start writing the items of a model instance of the top-level assembly.
+   *
+   * @param instance
+   *          the model instance whose items will be written
+   * @throws IOException
+   *           if an error occurred while writing
+   */
+  void writeItemsStart(@NonNull IBoundInstanceModel<?> instance) throws IOException;
+
+  /**
+   * Write a single item of the model instance whose items are being written.
+   *
+   * @param instance
+   *          the model instance whose items are being written
+   * @param item
+   *          the item to write
+   * @throws IOException
+   *           if an error occurred while writing
+   */
+  void writeItem(@NonNull IBoundInstanceModel<?> instance, @NonNull Object item) throws IOException;
+
+  /**
+   * Finish writing the items of a model instance of the top-level assembly.
+   *
+   * @param instance
+   *          the model instance whose items were written
+   * @throws IOException
+   *           if an error occurred while writing
+   */
+  void writeItemsEnd(@NonNull IBoundInstanceModel<?> instance) throws IOException;
+
+  /**
+   * Write the end of the top-level assembly and the document.
+   *
+   * @throws IOException
+   *           if an error occurred while writing
+   */
+  void writeEnd() throws IOException;
+}
@@ -21,6 +21,24 @@ public final class SerializationFeature<V>
   public static final SerializationFeature<Boolean> SERIALIZE_ROOT
       = new SerializationFeature<>("serialize-root", Boolean.class, true);
 
+  /**
+   * If enabled, format the generated content using line breaks and indentation
+   * to make it human readable. If disabled, compact content is generated, which
+   * is smaller and faster to write. This currently only affects JSON content.
+   */
+  @NonNull
+  public static final SerializationFeature<Boolean> SERIALIZE_PRETTY_PRINT
+      = new SerializationFeature<>("pretty-print", Boolean.class, true);
+
+  /**
+   * Determines the compression applied to content serialized to an
+   * {@link java.io.OutputStream} or a file. Content serialized to a
+   * {@link java.io.Writer} is never compressed.
+   */
+  @NonNull
+  public static final SerializationFeature<IOutputCompression> SERIALIZE_COMPRESSION
+      = new SerializationFeature<>("compression", IOutputCompression.class, IOutputCompression.NONE);
+
   private SerializationFeature(
       @NonNull String name,
       @NonNull Class<V> valueClass,
@@ -0,0 +1,207 @@
+/*
+ * SPDX-FileCopyrightText: none
+ * SPDX-License-Identifier: CC0-1.0
+ */
+
+package gov.nist.secauto.metaschema.databind.io;
+
+import gov.nist.secauto.metaschema.core.metapath.DynamicContext;
+import gov.nist.secauto.metaschema.core.metapath.IDocumentLoader;
+import gov.nist.secauto.metaschema.core.metapath.IMetapathExpression.NodeAccess;
+import gov.nist.secauto.metaschema.core.metapath.item.node.IAssemblyNodeItem;
+import gov.nist.secauto.metaschema.core.metapath.item.node.IDocumentNodeItem;
+import gov.nist.secauto.metaschema.core.metapath.item.node.IModelNodeItem;
+import gov.nist.secauto.metaschema.core.metapath.item.node.INodeItemFactory;
+import gov.nist.secauto.metaschema.core.model.IBoundObject;
+import gov.nist.secauto.metaschema.core.model.constraint.DefaultConstraintValidator;
+import gov.nist.secauto.metaschema.core.util.ObjectUtils;
+import gov.nist.secauto.metaschema.databind.model.IBoundDefinitionModelAssembly;
+import gov.nist.secauto.metaschema.databind.model.IBoundDefinitionModelComplex;
+import gov.nist.secauto.metaschema.databind.model.IBoundInstanceModel;
+import gov.nist.secauto.metaschema.databind.model.IBoundInstanceModelAssembly;
+import gov.nist.secauto.metaschema.databind.model.IBoundInstanceModelField;
+
+import java.net.URI;
+import java.util.HashMap;
+import java.util.Map;
+
+import edu.umd.cs.findbugs.annotations.NonNull;
+import edu.umd.cs.findbugs.annotations.Nullable;
+
+/**
+ * Validates a document while it is being read, discarding the top-level
+ * subtrees of the document once they have been validated.
+ * <p>
+ * Top-level subtrees are validated and released as soon as they have been read
+ * if the constraints of the root assembly only access the root assembly itself,
+ * and the constraints of every definition reachable from the root only access
+ * nodes within the subtree of the node they apply to. Otherwise, all items are
+ * retained and validated by {@link #finish(IDocumentNodeItem)} once the
+ * document has been completely read.
+ * <p>
+ * The whole document is considered, since a constraint on a retained item that
+ * accesses the document, such as {@code //x}, would otherwise be evaluated
+ * against a document that is missing the released items. Key-based constraints
+ * ({@code index}, {@code unique}, and {@code index-has-key}) also require the
+ * whole document, so their presence anywhere in the document's model causes
+ * all items to be retained. As a result, the validation results are the same as
+ * if the whole document was validated at once.
+ * <p>
+ * The findings are reported in a different order. The findings of the released
+ * items are reported in document order as the items are read. The findings of
+ * the root assembly and of all retained items are reported afterwards, in
+ * document order, by {@link #finish(IDocumentNodeItem)}. If no items are
+ * released, the findings are reported in the same order as a validation of the
+ * whole document.
+ * <p>
+ * This class is not thread safe.
+ */
+public class StreamingConstraintValidator implements IItemReadObserver {
+  @NonNull
+  private final DefaultConstraintValidator validator;
+  @NonNull
+  private final IDocumentLoader documentLoader;
+  @NonNull
+  private final URI documentUri;
+  @NonNull
+  private final Map<IBoundInstanceModel<?>, Integer> instancePositions = new HashMap<>();
+  @Nullable
+  private IBoundObject rootItem;
+  @Nullable
+  private IAssemblyNodeItem rootNodeItem;
+  @Nullable
+  private DynamicContext dynamicContext;
+  private int releasedCount;
+
+  /**
+   * Construct a new streaming validator.
+   *
+   * @param validator
+   *          the validator used to validate the document
+   * @param documentLoader
+   *          the loader used to resolve documents referenced during validation
+   * @param documentUri
+   *          the URI of the document being validated
+   */
+  public StreamingConstraintValidator(
+      @NonNull DefaultConstraintValidator validator,
+      @NonNull IDocumentLoader documentLoader,
+      @NonNull URI documentUri) {
+    this.validator = validator;
+    this.documentLoader = documentLoader;
+    this.documentUri = documentUri;
+  }
+
+  /**
+   * Get the number of top-level items that were validated and released while the
+   * document was being read.
+   *
+   * @return the number of released items
+   */
+  public int getReleasedCount() {
+    return releasedCount;
+  }
+
+  @Override
+  public void beforeRead(
+      IBoundDefinitionModelComplex definition,
+      IBoundObject item,
+      IBoundObject parentItem) {
+    if (parentItem == null && rootItem == null) {
+      rootItem = item;
+
+      if (definition instanceof IBoundDefinitionModelAssembly
+          && ((IBoundDefinitionModelAssembly) definition).isRoot()
+          && validator.getNodeAccess(definition) == NodeAccess.FOCUS
+          && validator.getSubtreeNodeAccess(definition) != NodeAccess.DOCUMENT) {
+        // the root's constraints don't depend on its children, and no constraint in
+        // the document depends on nodes outside of its own subtree, so the children
+        // can be released
+        IDocumentNodeItem document = INodeItemFactory.instance().newDocumentNodeItem(
+            (IBoundDefinitionModelAssembly) definition,
+            documentUri,
+            item);
+        rootNodeItem = document.getRootAssemblyNodeItem();
+        dynamicContext = newDynamicContext(document);
+      }
+    }
+  }
+
+  @Override
+  public boolean afterReadItem(
+      IBoundInstanceModel<?> instance,
+      IBoundObject parentItem,
+      Object item) {
+    IAssemblyNodeItem parent = rootNodeItem;
+    boolean retval = true;
+    if (parent != null && parentItem == rootItem && isReleasable(instance)) {
+      int position = ObjectUtils.notNull(instancePositions.merge(instance, 1, Integer::sum));
+
+      IModelNodeItem<?, ?> nodeItem;
+      if (instance instanceof IBoundInstanceModelAssembly) {
+        nodeItem = INodeItemFactory.instance().newAssemblyNodeItem(
+            (IBoundInstanceModelAssembly) instance,
+            parent,
+            position,
+            item);
+      } else {
+        nodeItem = INodeItemFactory.instance().newFieldNodeItem(
+            (IBoundInstanceModelField<?>) instance,
+            parent,
+            position,
+            item);
+      }
+
+      validator.validate(nodeItem, ObjectUtils.notNull(dynamicContext));
+      releasedCount++;
+      retval = false;
+    }
+    return retval;
+  }
+
+  /**
+   * Determine if the items of the provided top-level instance can be validated
+   * and released as soon as they are read.
+   * <p>
+   * This is only called once the root has been determined to allow its children
+   * to be released.
+   *
+   * @param instance
+   *          the instance to check
+   * @return {@code true} if the items can be released, or {@code false}
+   *         otherwise
+   */
+  private static boolean isReleasable(@NonNull IBoundInstanceModel<?> instance) {
+    return instance instanceof IBoundInstanceModelAssembly || instance instanceof IBoundInstanceModelField;
+  }
+
+  /**
+   * Validate the retained content of the completely read document and finalize
+   * the validation.
+   *
+   * @param document
+   *          the document that was read
+   */
+  public void finish(@NonNull IDocumentNodeItem document) {
+    DynamicContext context = dynamicContext;
+    if (context == null) {
+      context = newDynamicContext(document);
+    }
+
+    validator.validate(document.getRootAssemblyNodeItem(), context);
+    validator.finalizeValidation(context);
+  }
+
+  @NonNull
+  private DynamicContext newDynamicContext(@NonNull IDocumentNodeItem document) {
+    DynamicContext retval = new DynamicContext(document.getStaticContext());
+    retval.setDocumentLoader(documentLoader);
+    // released items only access their own subtree, which is completely read
+    // before it is validated, so the indexed and memoized content is not changed
+    retval.enableDescendantIndex();
+    retval.enableDocumentPathMemoization();
+    // constraint expressions are evaluated for many nodes
+    retval.enableExpressionCompilation();
+    return retval;
+  }
+}
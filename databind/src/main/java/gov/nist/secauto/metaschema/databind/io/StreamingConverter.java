@@ -0,0 +1,229 @@
+/*
+ * SPDX-FileCopyrightText: none
+ * SPDX-License-Identifier: CC0-1.0
+ */
+
+package gov.nist.secauto.metaschema.databind.io;
+
+import gov.nist.secauto.metaschema.core.model.IBoundObject;
+import gov.nist.secauto.metaschema.core.util.ObjectUtils;
+import gov.nist.secauto.metaschema.databind.model.IBoundDefinitionModelAssembly;
+import gov.nist.secauto.metaschema.databind.model.IBoundDefinitionModelComplex;
+import gov.nist.secauto.metaschema.databind.model.IBoundInstanceFlag;
+import gov.nist.secauto.metaschema.databind.model.IBoundInstanceModel;
+import gov.nist.secauto.metaschema.databind.model.IBoundProperty;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+import edu.umd.cs.findbugs.annotations.NonNull;
+import edu.umd.cs.findbugs.annotations.Nullable;
+
+/**
+ * Converts a document to another format while it is being read, writing the
+ * items of the top-level assembly as soon as they have been read and
+ * discarding them afterwards.
+ * <p>
+ * Only a single item of the top-level assembly is materialized at a time, along
+ * with any flags and single-valued model instances of the top-level assembly,
+ * allowing very large documents to be converted using a bounded amount of
+ * memory.
+ * <p>
+ * If the target format requires the content of the top-level assembly to be
+ * written in definition order, the source must provide it in that order.
+ * Otherwise, an {@link IOException} is raised when content is encountered out
+ * of order. Sources read from XML always provide content in definition order.
+ * <p>
+ * This class is not thread safe.
+ */
+public class StreamingConverter implements IItemReadObserver {
+  @NonNull
+  private final IBoundDefinitionModelAssembly definition;
+  @NonNull
+  private final IStreamingWriter writer;
+  @NonNull
+  private final Map<IBoundInstanceModel<?>, Integer> instanceIndexes;
+  @NonNull
+  private final Set<IBoundInstanceModel<?>> writtenInstances = new HashSet<>();
+  @NonNull
+  private final List<IBoundInstanceFlag> unwrittenFlags = new ArrayList<>();
+  @Nullable
+  private IBoundObject rootItem;
+  @Nullable
+  private IBoundInstanceModel<?> currentInstance;
+  private int lastIndex = -1;
+  private boolean started;
+  private int streamedCount;
+
+  /**
+   * Construct a new streaming converter.
+   *
+   * @param definition
+   *          the definition of the top-level assembly of the document
+   * @param writer
+   *          the writer used to write the converted document
+   */
+  public StreamingConverter(
+      @NonNull IBoundDefinitionModelAssembly definition,
+      @NonNull IStreamingWriter writer) {
+    this.definition = definition;
+    this.writer = writer;
+
+    Map<IBoundInstanceModel<?>, Integer> indexes = new LinkedHashMap<>();
+    for (IBoundInstanceModel<?> instance : definition.getModelInstances()) {
+      indexes.put(instance, indexes.size());
+    }
+    this.instanceIndexes = indexes;
+  }
+
+  /**
+   * Get the number of top-level items that were written and released while the
+   * document was being read.
+   *
+   * @return the number of streamed items
+   */
+  public int getStreamedCount() {
+    return streamedCount;
+  }
+
+  @Override
+  public void beforeRead(
+      IBoundDefinitionModelComplex definition,
+      IBoundObject item,
+      IBoundObject parentItem) {
+    if (parentItem == null && rootItem == null && this.definition.equals(definition)) {
+      rootItem = item;
+    }
+  }
+
+  @Override
+  public boolean afterReadItem(
+      IBoundInstanceModel<?> instance,
+      IBoundObject parentItem,
+      Object item) throws IOException {
+    IBoundObject root = rootItem;
+    Integer index = instanceIndexes.get(instance);
+    if (root == null || parentItem != root || index == null) {
+      // not a top-level item
+      return true;
+    }
+
+    if (!started) {
+      start(root);
+    }
+
+    if (!instance.equals(currentInstance)) {
+      endCurrentInstance();
+
+      if (index <= lastIndex || writtenInstances.contains(instance)) {
+        checkOrder(instance);
+      } else {
+        // write the retained content of the instances that precede this one
+        writeRetainedInstances(root, index);
+      }
+
+      writer.writeItemsStart(instance);
+      writtenInstances.add(instance);
+      currentInstance = instance;
+      lastIndex = Math.max(lastIndex, index);
+    }
+
+    writer.writeItem(instance, item);
+    streamedCount++;
+    return false;
+  }
+
+  /**
+   * Write the remaining retained content of the completely read document and
+   * finish the converted document.
+   *
+   * @param item
+   *          the top-level assembly item that was read
+   * @throws IOException
+   *           if an error occurred while writing, or if content of the document
+   *           was read in an order that cannot be written
+   */
+  public void finish(@NonNull IBoundObject item) throws IOException {
+    if (rootItem == null) {
+      rootItem = item;
+    }
+
+    if (!started) {
+      start(item);
+    }
+    endCurrentInstance();
+
+    for (IBoundInstanceFlag flag : unwrittenFlags) {
+      if (flag.getValue(item) != null) {
+        // the flag was read after the first top-level item was written
+        checkOrder(flag);
+        writer.writeFlag(flag, item);
+      }
+    }
+
+    for (Map.Entry<IBoundInstanceModel<?>, Integer> entry : instanceIndexes.entrySet()) {
+      IBoundInstanceModel<?> instance = ObjectUtils.notNull(entry.getKey());
+      if (!writtenInstances.contains(instance)) {
+        if (entry.getValue() < lastIndex && hasValue(instance, item)) {
+          // the content was read after content that follows it
+          checkOrder(instance);
+        }
+        writer.writeModelInstance(instance, item);
+      }
+    }
+    writer.writeEnd();
+  }
+
+  private void start(@NonNull IBoundObject root) throws IOException {
+    writer.writeStart(root);
+    started = true;
+
+    // track the flags that have not been read yet, since they may appear later in
+    // the source
+    for (IBoundInstanceFlag flag : definition.getFlagInstances()) {
+      if (flag.getValue(root) == null) {
+        unwrittenFlags.add(flag);
+      }
+    }
+  }
+
+  @SuppressWarnings("PMD.NullAssignment")
+  private void endCurrentInstance() throws IOException {
+    IBoundInstanceModel<?> instance = currentInstance;
+    if (instance != null) {
+      writer.writeItemsEnd(instance);
+      currentInstance = null;
+    }
+  }
+
+  private void writeRetainedInstances(@NonNull IBoundObject root, int endIndex) throws IOException {
+    for (Map.Entry<IBoundInstanceModel<?>, Integer> entry : instanceIndexes.entrySet()) {
+      int index = entry.getValue();
+      IBoundInstanceModel<?> instance = ObjectUtils.notNull(entry.getKey());
+      // instances without a value may still be read later, if out of order
+      if (index > lastIndex && index < endIndex && hasValue(instance, root)) {
+        writer.writeModelInstance(instance, root);
+        writtenInstances.add(instance);
+      }
+    }
+  }
+
+  private void checkOrder(@NonNull IBoundProperty<?> instance) throws IOException {
+    if (writer.isOrderSignificant()) {
+      throw new IOException(String.format(
+          "Unable to convert '%s' while streaming, since the content of '%s' was not provided in definition order.",
+          definition.toCoordinates(),
+          instance.getJsonName()));
+    }
+  }
+
+  private static <T> boolean hasValue(@NonNull IBoundInstanceModel<T> instance, @NonNull IBoundObject item) {
+    Object value = instance.getValue(item);
+    return value != null && !instance.getCollectionInfo().isEmpty(value);
+  }
+}
@@ -11,7 +11,6 @@ import com.fasterxml.jackson.core.JsonParser;
 import gov.nist.secauto.metaschema.core.configuration.IConfiguration;
 import gov.nist.secauto.metaschema.core.configuration.IMutableConfiguration;
 import gov.nist.secauto.metaschema.core.metapath.item.node.INodeItem;
-import gov.nist.secauto.metaschema.core.metapath.item.node.INodeItemFactory;
 import gov.nist.secauto.metaschema.core.model.IBoundObject;
 import gov.nist.secauto.metaschema.core.util.ObjectUtils;
 import gov.nist.secauto.metaschema.databind.io.AbstractDeserializer;
@@ -109,6 +108,7 @@ public class DefaultJsonDeserializer<CLASS extends IBoundObject>
     INodeItem retval;
     try (JsonParser jsonParser = newJsonParser(reader)) {
       MetaschemaJsonReader parser = new MetaschemaJsonReader(jsonParser, documentUri);
+      parser.setItemReadObserver(getItemReadObserver());
       IBoundDefinitionModelAssembly definition = getDefinition();
       IConfiguration<DeserializationFeature<?>> configuration = getConfiguration();
 
@@ -119,12 +119,12 @@ public class DefaultJsonDeserializer<CLASS extends IBoundObject>
             definition,
             ObjectUtils.notNull(definition.getRootJsonName())));
 
-        retval = INodeItemFactory.instance().newDocumentNodeItem(definition, documentUri, value);
+        retval = getNodeItemFactory().newDocumentNodeItem(definition, documentUri, value);
       } else {
         // read the top-level definition
         CLASS value = ObjectUtils.asType(parser.readObject(definition));
 
-        retval = INodeItemFactory.instance().newAssemblyNodeItem(definition, documentUri, value);
+        retval = getNodeItemFactory().newAssemblyNodeItem(definition, documentUri, value);
       }
       return retval;
     }
@@ -134,6 +134,7 @@ public class DefaultJsonDeserializer<CLASS extends IBoundObject>
   public CLASS deserializeToValueInternal(@NonNull Reader reader, @NonNull URI documentUri) throws IOException {
     try (JsonParser jsonParser = newJsonParser(reader)) {
       MetaschemaJsonReader parser = new MetaschemaJsonReader(jsonParser, documentUri);
+      parser.setItemReadObserver(getItemReadObserver());
       IBoundDefinitionModelAssembly definition = getDefinition();
       IConfiguration<DeserializationFeature<?>> configuration = getConfiguration();
 
@@ -5,6 +5,7 @@
 
 package gov.nist.secauto.metaschema.databind.io.json;
 
+import com.fasterxml.jackson.core.JsonEncoding;
 import com.fasterxml.jackson.core.JsonFactory;
 import com.fasterxml.jackson.core.JsonGenerator;
 import com.fasterxml.jackson.core.util.DefaultPrettyPrinter;
@@ -13,10 +14,12 @@ import gov.nist.secauto.metaschema.core.configuration.IMutableConfiguration;
 import gov.nist.secauto.metaschema.core.model.IBoundObject;
 import gov.nist.secauto.metaschema.core.util.ObjectUtils;
 import gov.nist.secauto.metaschema.databind.io.AbstractSerializer;
+import gov.nist.secauto.metaschema.databind.io.IStreamingWriter;
 import gov.nist.secauto.metaschema.databind.io.SerializationFeature;
 import gov.nist.secauto.metaschema.databind.model.IBoundDefinitionModelAssembly;
 
 import java.io.IOException;
+import java.io.OutputStream;
 import java.io.Writer;
 
 import edu.umd.cs.findbugs.annotations.NonNull;
@@ -70,30 +73,67 @@ public class DefaultJsonSerializer<CLASS extends IBoundObject>
   @SuppressWarnings("resource")
   @NonNull
   private JsonGenerator newJsonGenerator(@NonNull Writer writer) throws IOException {
-    JsonFactory factory = getJsonFactory();
-    return ObjectUtils.notNull(factory.createGenerator(writer)
-        .setPrettyPrinter(new DefaultPrettyPrinter()));
+    return configureGenerator(ObjectUtils.notNull(getJsonFactory().createGenerator(writer)));
+  }
+
+  @SuppressWarnings("resource")
+  @NonNull
+  private JsonGenerator newJsonGenerator(@NonNull OutputStream os) throws IOException {
+    // allow the generator to encode UTF-8 directly, instead of using a writer
+    return configureGenerator(ObjectUtils.notNull(getJsonFactory().createGenerator(os, JsonEncoding.UTF8)));
+  }
+
+  @NonNull
+  private JsonGenerator configureGenerator(@NonNull JsonGenerator generator) {
+    boolean prettyPrint = get(SerializationFeature.SERIALIZE_PRETTY_PRINT);
+    if (prettyPrint) {
+      generator.setPrettyPrinter(new DefaultPrettyPrinter());
+    }
+    return generator;
   }
 
   @Override
   public void serialize(IBoundObject data, Writer writer) throws IOException {
     try (JsonGenerator generator = newJsonGenerator(writer)) {
-      IBoundDefinitionModelAssembly definition = getDefinition();
+      serialize(data, generator);
+    }
+  }
 
-      boolean serializeRoot = get(SerializationFeature.SERIALIZE_ROOT);
-      if (serializeRoot) {
-        // first write the initial START_OBJECT
-        generator.writeStartObject();
+  @Override
+  protected void serializeUtf8(IBoundObject data, OutputStream os) throws IOException {
+    try (JsonGenerator generator = newJsonGenerator(os)) {
+      serialize(data, generator);
+    }
+  }
+
+  private void serialize(@NonNull IBoundObject data, @NonNull JsonGenerator generator) throws IOException {
+    IBoundDefinitionModelAssembly definition = getDefinition();
+
+    boolean serializeRoot = get(SerializationFeature.SERIALIZE_ROOT);
+    if (serializeRoot) {
+      // first write the initial START_OBJECT
+      generator.writeStartObject();
 
-        generator.writeFieldName(definition.getRootJsonName());
-      }
+      generator.writeFieldName(definition.getRootJsonName());
+    }
 
-      MetaschemaJsonWriter jsonWriter = new MetaschemaJsonWriter(generator);
-      jsonWriter.write(definition, data);
+    MetaschemaJsonWriter jsonWriter = new MetaschemaJsonWriter(generator);
+    jsonWriter.write(definition, data);
 
-      if (serializeRoot) {
-        generator.writeEndObject();
-      }
+    if (serializeRoot) {
+      generator.writeEndObject();
     }
   }
+
+  @Override
+  public boolean supportsStreaming() {
+    return true;
+  }
+
+  @SuppressWarnings("resource")
+  @Override
+  public IStreamingWriter newStreamingWriter(Writer writer) throws IOException {
+    return new MetaschemaJsonWriter(newJsonGenerator(writer))
+        .newStreamingWriter(getDefinition(), get(SerializationFeature.SERIALIZE_ROOT));
+  }
 }
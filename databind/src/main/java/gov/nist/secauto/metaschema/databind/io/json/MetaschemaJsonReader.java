@@ -16,6 +16,7 @@ import gov.nist.secauto.metaschema.core.model.IMetaschemaData;
 import gov.nist.secauto.metaschema.core.model.util.JsonUtil;
 import gov.nist.secauto.metaschema.core.util.ObjectUtils;
 import gov.nist.secauto.metaschema.databind.io.BindingException;
+import gov.nist.secauto.metaschema.databind.io.IItemReadObserver;
 import gov.nist.secauto.metaschema.databind.model.IBoundDefinitionModelAssembly;
 import gov.nist.secauto.metaschema.databind.model.IBoundDefinitionModelComplex;
 import gov.nist.secauto.metaschema.databind.model.IBoundDefinitionModelFieldComplex;
@@ -35,6 +36,7 @@ import gov.nist.secauto.metaschema.databind.model.info.AbstractModelInstanceRead
 import gov.nist.secauto.metaschema.databind.model.info.IFeatureScalarItemValueHandler;
 import gov.nist.secauto.metaschema.databind.model.info.IItemReadHandler;
 import gov.nist.secauto.metaschema.databind.model.info.IModelInstanceCollectionInfo;
+import gov.nist.secauto.metaschema.databind.model.info.JsonPropertyTable;
 
 import org.apache.logging.log4j.LogManager;
 import org.apache.logging.log4j.Logger;
@@ -42,9 +44,10 @@ import org.eclipse.jdt.annotation.NotOwning;
 
 import java.io.IOException;
 import java.net.URI;
+import java.util.ArrayList;
+import java.util.BitSet;
 import java.util.Collection;
 import java.util.Deque;
-import java.util.HashMap;
 import java.util.LinkedHashMap;
 import java.util.LinkedList;
 import java.util.List;
@@ -73,6 +76,15 @@ public class MetaschemaJsonReader
   private final URI source;
   @NonNull
   private final IJsonProblemHandler problemHandler;
+  @Nullable
+  private IItemReadObserver itemReadObserver;
+  /**
+   * The sets used to track the properties read for each object being read,
+   * indexed by object nesting depth. The sets are reused across objects.
+   */
+  @NonNull
+  private final List<BitSet> handledPropertiesPool = new ArrayList<>();
+  private int handledPropertiesDepth;
 
   /**
    * Construct a new Module-aware JSON parser using the default problem handler.
@@ -170,6 +182,26 @@ public class MetaschemaJsonReader
     return problemHandler;
   }
 
+  /**
+   * Get the observer notified as items are read.
+   *
+   * @return the observer, or {@code null} if no observer is configured
+   */
+  @Nullable
+  public IItemReadObserver getItemReadObserver() {
+    return itemReadObserver;
+  }
+
+  /**
+   * Set the observer to notify as items are read.
+   *
+   * @param observer
+   *          the observer, or {@code null} to disable notifications
+   */
+  public void setItemReadObserver(@Nullable IItemReadObserver observer) {
+    this.itemReadObserver = observer;
+  }
+
   /**
    * Read a JSON object value based on the provided definition.
    *
@@ -323,7 +355,7 @@ public class MetaschemaJsonReader
     return readFieldObject(
         parentItem,
         instance.getDefinition(),
-        instance.getJsonProperties(),
+        instance.getJsonPropertyTable(),
         instance.getEffectiveJsonKey(),
         getProblemHandler());
   }
@@ -343,7 +375,7 @@ public class MetaschemaJsonReader
         parentItem,
         definition,
         instance.getEffectiveJsonKey(),
-        new PropertyBodyHandler(instance.getJsonProperties()),
+        new PropertyBodyHandler(instance.getJsonPropertyTable()),
         actualProblemHandler);
   }
 
@@ -353,7 +385,7 @@ public class MetaschemaJsonReader
     return readFieldObject(
         parentItem,
         definition,
-        definition.getJsonProperties(),
+        definition.getJsonPropertyTable(),
         null,
         getProblemHandler());
   }
@@ -382,7 +414,7 @@ public class MetaschemaJsonReader
         parentItem,
         definition,
         jsonKey,
-        new PropertyBodyHandler(instance.getJsonProperties()),
+        new PropertyBodyHandler(instance.getJsonPropertyTable()),
         getProblemHandler());
   }
 
@@ -393,7 +425,7 @@ public class MetaschemaJsonReader
         parentItem,
         instance.getDefinition(),
         instance.getEffectiveJsonKey(),
-        new PropertyBodyHandler(instance.getJsonProperties()),
+        new PropertyBodyHandler(instance.getJsonPropertyTable()),
         new GroupedInstanceProblemHandler(instance, getProblemHandler()));
   }
 
@@ -404,7 +436,7 @@ public class MetaschemaJsonReader
         parentItem,
         definition,
         null,
-        new PropertyBodyHandler(definition.getJsonProperties()),
+        new PropertyBodyHandler(definition.getJsonPropertyTable()),
         getProblemHandler());
   }
 
@@ -418,7 +450,7 @@ public class MetaschemaJsonReader
   private IBoundObject readFieldObject(
       @Nullable IBoundObject parentItem,
       @NonNull IBoundDefinitionModelFieldComplex definition,
-      @NonNull Map<String, IBoundProperty<?>> jsonProperties,
+      @NonNull JsonPropertyTable jsonProperties,
       @Nullable IBoundInstanceFlag jsonKey,
       @NonNull IJsonProblemHandler problemHandler) throws IOException {
     IBoundInstanceFlag jsonValueKey = definition.getJsonValueKeyFlagInstance();
@@ -473,6 +505,11 @@ public class MetaschemaJsonReader
             : () -> new MetaschemaData(ObjectUtils.requireNonNull(location)));
 
     try {
+      IItemReadObserver observer = getItemReadObserver();
+      if (observer != null) {
+        observer.beforeRead(definition, item, parentItem);
+      }
+
       // call pre-parse initialization hook
       definition.callBeforeDeserialize(item, parentItem);
 
@@ -579,11 +616,36 @@ public class MetaschemaJsonReader
     }
   }
 
+  /**
+   * Get a set used to track the properties read for an object, which must be
+   * released using {@link #releaseHandledProperties()} once the object has been
+   * read.
+   *
+   * @return the empty set
+   */
+  @NonNull
+  private BitSet acquireHandledProperties() {
+    BitSet retval;
+    if (handledPropertiesDepth < handledPropertiesPool.size()) {
+      retval = ObjectUtils.notNull(handledPropertiesPool.get(handledPropertiesDepth));
+      retval.clear();
+    } else {
+      retval = new BitSet();
+      handledPropertiesPool.add(retval);
+    }
+    handledPropertiesDepth++;
+    return retval;
+  }
+
+  private void releaseHandledProperties() {
+    handledPropertiesDepth--;
+  }
+
   private final class PropertyBodyHandler implements DefinitionBodyHandler<IBoundDefinitionModelComplex> {
     @NonNull
-    private final Map<String, IBoundProperty<?>> jsonProperties;
+    private final JsonPropertyTable jsonProperties;
 
-    private PropertyBodyHandler(@NonNull Map<String, IBoundProperty<?>> jsonProperties) {
+    private PropertyBodyHandler(@NonNull JsonPropertyTable jsonProperties) {
       this.jsonProperties = jsonProperties;
     }
 
@@ -600,57 +662,63 @@ public class MetaschemaJsonReader
       // advance past the start object
       JsonUtil.assertAndAdvance(parser, resource, JsonToken.START_OBJECT);
 
-      // make a copy, since we use the remaining values to initialize default values
-      Map<String, IBoundProperty<?>> remainingInstances = new HashMap<>(jsonProperties); // NOPMD not concurrent
+      // track the handled properties, since the remaining properties are used to
+      // initialize default values
+      BitSet handledProperties = acquireHandledProperties();
+      try {
+        // handle each property
+        while (JsonToken.FIELD_NAME.equals(parser.currentToken())) {
+
+          // the parser's current token should be the JSON field name
+          String propertyName = ObjectUtils.notNull(parser.currentName());
+          if (LOGGER.isTraceEnabled()) {
+            LOGGER.trace("reading property {}", propertyName);
+          }
 
-      // handle each property
-      while (JsonToken.FIELD_NAME.equals(parser.currentToken())) {
+          int index = jsonProperties.indexOf(propertyName);
 
-        // the parser's current token should be the JSON field name
-        String propertyName = ObjectUtils.notNull(parser.currentName());
-        if (LOGGER.isTraceEnabled()) {
-          LOGGER.trace("reading property {}", propertyName);
-        }
+          boolean handled = false;
+          if (index >= 0 && !handledProperties.get(index)) {
+            IBoundProperty<?> property = jsonProperties.getProperty(index);
+
+            // advance past the field name
+            parser.nextToken();
 
-        IBoundProperty<?> property = remainingInstances.get(propertyName);
+            Object value = readObjectProperty(parent, property);
+            if (value != null) {
+              property.setValue(parent, value);
+            }
 
-        boolean handled = false;
-        if (property != null) {
-          // advance past the field name
-          parser.nextToken();
+            // mark handled
+            handledProperties.set(index);
+            handled = true;
+          }
 
-          Object value = readObjectProperty(parent, property);
-          if (value != null) {
-            property.setValue(parent, value);
+          if (!handled && !problemHandler.handleUnknownProperty(
+              definition,
+              parent,
+              propertyName,
+              MetaschemaJsonReader.this)) {
+            if (LOGGER.isWarnEnabled()) {
+              LOGGER.warn("Skipping unhandled JSON field '{}' {}.", propertyName, JsonUtil.toString(parser, resource));
+            }
+            JsonUtil.assertAndAdvance(parser, resource, JsonToken.FIELD_NAME);
+            JsonUtil.skipNextValue(parser, resource);
           }
 
-          // mark handled
-          remainingInstances.remove(propertyName);
-          handled = true;
+          // the current token will be either the next instance field name or the end of
+          // the parent object
+          JsonUtil.assertCurrent(parser, resource, JsonToken.FIELD_NAME, JsonToken.END_OBJECT);
         }
 
-        if (!handled && !problemHandler.handleUnknownProperty(
+        problemHandler.handleMissingInstances(
             definition,
             parent,
-            propertyName,
-            MetaschemaJsonReader.this)) {
-          if (LOGGER.isWarnEnabled()) {
-            LOGGER.warn("Skipping unhandled JSON field '{}' {}.", propertyName, JsonUtil.toString(parser, resource));
-          }
-          JsonUtil.assertAndAdvance(parser, resource, JsonToken.FIELD_NAME);
-          JsonUtil.skipNextValue(parser, resource);
-        }
-
-        // the current token will be either the next instance field name or the end of
-        // the parent object
-        JsonUtil.assertCurrent(parser, resource, JsonToken.FIELD_NAME, JsonToken.END_OBJECT);
+            jsonProperties.getRemaining(handledProperties));
+      } finally {
+        releaseHandledProperties();
       }
 
-      problemHandler.handleMissingInstances(
-          definition,
-          parent,
-          ObjectUtils.notNull(remainingInstances.values()));
-
       // advance past the end object
       JsonUtil.assertAndAdvance(parser, resource, JsonToken.END_OBJECT);
     }
@@ -781,7 +849,10 @@ public class MetaschemaJsonReader
 
         // parse items
         while (!JsonToken.END_ARRAY.equals(parser.currentToken())) {
-          items.add(readItem());
+          ITEM item = readItem();
+          if (isRetained(item)) {
+            items.add(item);
+          }
         }
 
         // this is the other side of the array wrapper, advance past it
@@ -792,7 +863,10 @@ public class MetaschemaJsonReader
         break;
       default:
         // this is a singleton, just parse the value as a single item
-        items.add(readItem());
+        ITEM item = readItem();
+        if (isRetained(item)) {
+          items.add(item);
+        }
         break;
       }
       return items;
@@ -846,7 +920,9 @@ public class MetaschemaJsonReader
                   ex.getLocalizedMessage()),
               ex);
         }
-        items.put(key, item);
+        if (isRetained(item)) {
+          items.put(key, item);
+        }
 
         // the next item will be a FIELD_NAME, or we will encounter an END_OBJECT if all
         // items have been
@@ -865,6 +941,22 @@ public class MetaschemaJsonReader
       IBoundInstanceModel<ITEM> instance = getCollectionInfo().getInstance();
       return instance.readItem(getParentObject(), MetaschemaJsonReader.this);
     }
+
+    /**
+     * Determine if the provided item is to be added to the collection of items
+     * being read, based on the configured {@link IItemReadObserver}.
+     *
+     * @param item
+     *          the item that was read
+     * @return {@code true} if the item is to be retained, or {@code false}
+     *         otherwise
+     * @throws IOException
+     *           if an error occurred while notifying the observer
+     */
+    private boolean isRetained(@Nullable ITEM item) throws IOException {
+      IItemReadObserver observer = getItemReadObserver();
+      return item == null || observer == null || observer.afterReadItem(getInstance(), getParentObject(), item);
+    }
   }
 
   @SuppressWarnings("PMD.DataClass")
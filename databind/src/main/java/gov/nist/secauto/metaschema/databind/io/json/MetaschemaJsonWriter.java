@@ -9,6 +9,8 @@ import com.fasterxml.jackson.core.JsonGenerator;
 
 import gov.nist.secauto.metaschema.core.model.IBoundObject;
 import gov.nist.secauto.metaschema.core.model.JsonGroupAsBehavior;
+import gov.nist.secauto.metaschema.core.util.ObjectUtils;
+import gov.nist.secauto.metaschema.databind.io.IStreamingWriter;
 import gov.nist.secauto.metaschema.databind.model.IBoundDefinitionModelAssembly;
 import gov.nist.secauto.metaschema.databind.model.IBoundDefinitionModelComplex;
 import gov.nist.secauto.metaschema.databind.model.IBoundDefinitionModelFieldComplex;
@@ -34,6 +36,7 @@ import java.io.IOException;
 import java.util.List;
 
 import edu.umd.cs.findbugs.annotations.NonNull;
+import edu.umd.cs.findbugs.annotations.Nullable;
 
 @SuppressWarnings("PMD.CouplingBetweenObjects")
 public class MetaschemaJsonWriter implements IJsonWritingContext, IItemWriteHandler {
@@ -67,6 +70,26 @@ public class MetaschemaJsonWriter implements IJsonWritingContext, IItemWriteHand
     definition.writeItem(item, this);
   }
 
+  /**
+   * Create a writer that incrementally writes a document described by the
+   * provided definition using this writer's generator.
+   * <p>
+   * Closing the returned writer closes the generator.
+   *
+   * @param definition
+   *          the definition of the top-level assembly
+   * @param serializeRoot
+   *          {@code true} if the top-level assembly is to be wrapped in an object
+   *          using the definition's root JSON name, or {@code false} otherwise
+   * @return the streaming writer
+   */
+  @NonNull
+  public IStreamingWriter newStreamingWriter(
+      @NonNull IBoundDefinitionModelAssembly definition,
+      boolean serializeRoot) {
+    return new StreamingWriter(definition, serializeRoot);
+  }
+
   // ================
   // Instance writers
   // ================
@@ -391,4 +414,129 @@ public class MetaschemaJsonWriter implements IJsonWritingContext, IItemWriteHand
       instance.writeItem(item, MetaschemaJsonWriter.this);
     }
   }
+
+  /**
+   * Supports writing the items of the top-level assembly as they become
+   * available.
+   */
+  private final class StreamingWriter implements IStreamingWriter {
+    @NonNull
+    private final IBoundDefinitionModelAssembly definition;
+    private final boolean serializeRoot;
+    /**
+     * The first item of a singleton or list collection, which is held until it is
+     * known if an array is needed.
+     */
+    @Nullable
+    private Object pendingItem;
+    private int itemCount;
+
+    private StreamingWriter(
+        @NonNull IBoundDefinitionModelAssembly definition,
+        boolean serializeRoot) {
+      this.definition = definition;
+      this.serializeRoot = serializeRoot;
+    }
+
+    @Override
+    public boolean isOrderSignificant() {
+      return false;
+    }
+
+    @Override
+    public void writeStart(IBoundObject item) throws IOException {
+      if (serializeRoot) {
+        // first write the initial START_OBJECT
+        generator.writeStartObject();
+
+        generator.writeFieldName(definition.getRootJsonName());
+      }
+      generator.writeStartObject();
+
+      for (IBoundInstanceFlag flag : definition.getFlagInstances()) {
+        assert flag != null;
+        writeInstance(flag, item);
+      }
+    }
+
+    @Override
+    public void writeFlag(IBoundInstanceFlag instance, IBoundObject item) throws IOException {
+      writeInstance(instance, item);
+    }
+
+    @Override
+    public void writeModelInstance(IBoundInstanceModel<?> instance, IBoundObject item) throws IOException {
+      MetaschemaJsonWriter.this.writeModelInstance(instance, item);
+    }
+
+    @SuppressWarnings("PMD.NullAssignment")
+    @Override
+    public void writeItemsStart(IBoundInstanceModel<?> instance) throws IOException {
+      generator.writeFieldName(instance.getJsonName());
+      pendingItem = null;
+      itemCount = 0;
+
+      if (JsonGroupAsBehavior.LIST.equals(instance.getJsonGroupAsBehavior())) {
+        generator.writeStartArray();
+      }
+    }
+
+    @SuppressWarnings("PMD.NullAssignment")
+    @Override
+    public void writeItem(IBoundInstanceModel<?> instance, Object item) throws IOException {
+      if (JsonGroupAsBehavior.SINGLETON_OR_LIST.equals(instance.getJsonGroupAsBehavior())) {
+        if (itemCount == 0) {
+          pendingItem = item;
+        } else {
+          if (itemCount == 1) {
+            // there is more than one item, so an array is needed
+            generator.writeStartArray();
+            writeInstanceItem(instance, ObjectUtils.requireNonNull(pendingItem));
+            pendingItem = null;
+          }
+          writeInstanceItem(instance, item);
+        }
+      } else {
+        writeInstanceItem(instance, item);
+      }
+      itemCount++;
+    }
+
+    @SuppressWarnings("PMD.NullAssignment")
+    @Override
+    public void writeItemsEnd(IBoundInstanceModel<?> instance) throws IOException {
+      JsonGroupAsBehavior behavior = instance.getJsonGroupAsBehavior();
+      if (JsonGroupAsBehavior.LIST.equals(behavior)) {
+        generator.writeEndArray();
+      } else if (JsonGroupAsBehavior.SINGLETON_OR_LIST.equals(behavior)) {
+        if (itemCount == 1) {
+          // a single item is written as a singleton value
+          writeInstanceItem(instance, ObjectUtils.requireNonNull(pendingItem));
+          pendingItem = null;
+        } else if (itemCount > 1) {
+          generator.writeEndArray();
+        }
+      }
+    }
+
+    private <T> void writeInstanceItem(
+        @NonNull IBoundInstanceModel<T> instance,
+        @NonNull Object item) throws IOException {
+      instance.writeItem(ObjectUtils.asType(item), MetaschemaJsonWriter.this);
+    }
+
+    @Override
+    public void writeEnd() throws IOException {
+      generator.writeEndObject();
+
+      if (serializeRoot) {
+        generator.writeEndObject();
+      }
+    }
+
+    @Override
+    public void close() throws IOException {
+      generator.close();
+    }
+  }
 }
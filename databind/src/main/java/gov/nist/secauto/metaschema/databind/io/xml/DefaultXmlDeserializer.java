@@ -9,7 +9,6 @@ import com.ctc.wstx.stax.WstxInputFactory;
 
 import gov.nist.secauto.metaschema.core.configuration.IMutableConfiguration;
 import gov.nist.secauto.metaschema.core.metapath.item.node.IDocumentNodeItem;
-import gov.nist.secauto.metaschema.core.metapath.item.node.INodeItemFactory;
 import gov.nist.secauto.metaschema.core.model.IBoundObject;
 import gov.nist.secauto.metaschema.core.util.AutoCloser;
 import gov.nist.secauto.metaschema.core.util.ObjectUtils;
@@ -145,7 +144,7 @@ public class DefaultXmlDeserializer<CLASS extends IBoundObject>
   @Override
   protected final IDocumentNodeItem deserializeToNodeItemInternal(Reader reader, URI documentUri) throws IOException {
     Object value = deserializeToValueInternal(reader, documentUri);
-    return INodeItemFactory.instance().newDocumentNodeItem(rootDefinition, documentUri, value);
+    return getNodeItemFactory().newDocumentNodeItem(rootDefinition, documentUri, value);
   }
 
   @Override
@@ -164,6 +163,7 @@ public class DefaultXmlDeserializer<CLASS extends IBoundObject>
       throws IOException {
 
     MetaschemaXmlReader parser = new MetaschemaXmlReader(reader, resource, new DefaultXmlProblemHandler());
+    parser.setItemReadObserver(getItemReadObserver());
 
     try {
       return parser.read(rootDefinition);
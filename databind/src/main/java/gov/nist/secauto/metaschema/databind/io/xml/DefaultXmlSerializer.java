@@ -12,6 +12,7 @@ import gov.nist.secauto.metaschema.core.configuration.IMutableConfiguration;
 import gov.nist.secauto.metaschema.core.model.IBoundObject;
 import gov.nist.secauto.metaschema.core.util.ObjectUtils;
 import gov.nist.secauto.metaschema.databind.io.AbstractSerializer;
+import gov.nist.secauto.metaschema.databind.io.IStreamingWriter;
 import gov.nist.secauto.metaschema.databind.io.SerializationFeature;
 import gov.nist.secauto.metaschema.databind.model.IBoundDefinitionModelAssembly;
 
@@ -19,6 +20,7 @@ import org.codehaus.stax2.XMLOutputFactory2;
 import org.codehaus.stax2.XMLStreamWriter2;
 
 import java.io.IOException;
+import java.io.OutputStream;
 import java.io.Writer;
 
 import javax.xml.stream.XMLOutputFactory;
@@ -101,9 +103,36 @@ public class DefaultXmlSerializer<CLASS extends IBoundObject>
     }
   }
 
+  /**
+   * Create a new stream writer that encodes UTF-8 content directly to the
+   * provided output stream.
+   *
+   * @param os
+   *          the output stream to use for output
+   * @return the stream writer created by the output factory
+   * @throws IOException
+   *           if an error occurred while creating the writer
+   */
+  @NonNull
+  protected final XMLStreamWriter2 newXMLStreamWriter(@NonNull OutputStream os) throws IOException {
+    try {
+      return ObjectUtils.notNull((XMLStreamWriter2) getXMLOutputFactory().createXMLStreamWriter(os, "UTF-8"));
+    } catch (XMLStreamException ex) {
+      throw new IOException(ex);
+    }
+  }
+
   @Override
   public void serialize(IBoundObject data, Writer writer) throws IOException {
-    XMLStreamWriter2 streamWriter = newXMLStreamWriter(writer);
+    serialize(data, newXMLStreamWriter(writer));
+  }
+
+  @Override
+  protected void serializeUtf8(IBoundObject data, OutputStream os) throws IOException {
+    serialize(data, newXMLStreamWriter(os));
+  }
+
+  private void serialize(@NonNull IBoundObject data, @NonNull XMLStreamWriter2 streamWriter) throws IOException {
     IOException caughtException = null;
     IBoundDefinitionModelAssembly definition = getDefinition();
 
@@ -138,4 +167,16 @@ public class DefaultXmlSerializer<CLASS extends IBoundObject>
       }
     }
   }
+
+  @Override
+  public boolean supportsStreaming() {
+    return true;
+  }
+
+  @SuppressWarnings("resource")
+  @Override
+  public IStreamingWriter newStreamingWriter(Writer writer) throws IOException {
+    return new MetaschemaXmlWriter(newXMLStreamWriter(writer))
+        .newStreamingWriter(getDefinition(), get(SerializationFeature.SERIALIZE_ROOT));
+  }
 }
@@ -12,6 +12,7 @@ import gov.nist.secauto.metaschema.core.qname.IEnhancedQName;
 import gov.nist.secauto.metaschema.core.util.CollectionUtil;
 import gov.nist.secauto.metaschema.core.util.ObjectUtils;
 import gov.nist.secauto.metaschema.databind.io.BindingException;
+import gov.nist.secauto.metaschema.databind.io.IItemReadObserver;
 import gov.nist.secauto.metaschema.databind.model.IBoundDefinitionModelAssembly;
 import gov.nist.secauto.metaschema.databind.model.IBoundDefinitionModelComplex;
 import gov.nist.secauto.metaschema.databind.model.IBoundDefinitionModelFieldComplex;
@@ -70,6 +71,8 @@ public class MetaschemaXmlReader
   private final URI source;
   @NonNull
   private final IXmlProblemHandler problemHandler;
+  @Nullable
+  private IItemReadObserver itemReadObserver;
 
   /**
    * Construct a new Module-aware XML parser using the default problem handler.
@@ -120,6 +123,26 @@ public class MetaschemaXmlReader
     return problemHandler;
   }
 
+  /**
+   * Get the observer notified as items are read.
+   *
+   * @return the observer, or {@code null} if no observer is configured
+   */
+  @Nullable
+  public IItemReadObserver getItemReadObserver() {
+    return itemReadObserver;
+  }
+
+  /**
+   * Set the observer to notify as items are read.
+   *
+   * @param observer
+   *          the observer, or {@code null} to disable notifications
+   */
+  public void setItemReadObserver(@Nullable IItemReadObserver observer) {
+    this.itemReadObserver = observer;
+  }
+
   /**
    * Parses XML into a bound object based on the provided {@code definition}.
    * <p>
@@ -413,7 +436,9 @@ public class MetaschemaXmlReader
 
           // Consume the start element
           ITEM value = readItem();
-          retval.add(value);
+          if (isRetained(value)) {
+            retval.add(value);
+          }
 
           // consume extra whitespace between elements
           XmlEventUtil.skipWhitespace(reader);
@@ -434,6 +459,22 @@ public class MetaschemaXmlReader
         throw new IOException(ex);
       }
     }
+
+    /**
+     * Determine if the provided item is to be added to the collection of items
+     * being read, based on the configured {@link IItemReadObserver}.
+     *
+     * @param item
+     *          the item that was read
+     * @return {@code true} if the item is to be retained, or {@code false}
+     *         otherwise
+     * @throws IOException
+     *           if an error occurred while notifying the observer
+     */
+    private boolean isRetained(@Nullable ITEM item) throws IOException {
+      IItemReadObserver observer = getItemReadObserver();
+      return item == null || observer == null || observer.afterReadItem(getInstance(), getParentObject(), item);
+    }
   }
 
   private final class ItemReadHandler implements IItemReadHandler {
@@ -474,6 +515,11 @@ public class MetaschemaXmlReader
         // construct the item
         IBoundObject item = definition.newInstance(location == null ? null : () -> new MetaschemaData(location));
 
+        IItemReadObserver observer = getItemReadObserver();
+        if (observer != null) {
+          observer.beforeRead(definition, item, parent);
+        }
+
         // call pre-parse initialization hook
         definition.callBeforeDeserialize(item, parent);
 
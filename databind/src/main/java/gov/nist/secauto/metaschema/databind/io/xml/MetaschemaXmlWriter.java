@@ -7,6 +7,8 @@ package gov.nist.secauto.metaschema.databind.io.xml;
 
 import gov.nist.secauto.metaschema.core.model.IBoundObject;
 import gov.nist.secauto.metaschema.core.qname.IEnhancedQName;
+import gov.nist.secauto.metaschema.core.util.ObjectUtils;
+import gov.nist.secauto.metaschema.databind.io.IStreamingWriter;
 import gov.nist.secauto.metaschema.databind.io.json.DefaultJsonProblemHandler;
 import gov.nist.secauto.metaschema.databind.model.IBoundDefinitionModel;
 import gov.nist.secauto.metaschema.databind.model.IBoundDefinitionModelAssembly;
@@ -86,6 +88,29 @@ public class MetaschemaXmlWriter implements IXmlWritingContext {
     definition.writeItem(item, new ItemWriter(rootEQName));
   }
 
+  /**
+   * Create a writer that incrementally writes a document described by the
+   * provided definition using this writer's stream writer.
+   * <p>
+   * Closing the returned writer closes the stream writer.
+   *
+   * @param definition
+   *          the definition of the top-level assembly
+   * @param serializeRoot
+   *          {@code true} if the document is to be written using the
+   *          definition's root name, or {@code false} otherwise
+   * @return the streaming writer
+   * @throws IllegalArgumentException
+   *           if the root is to be serialized and the definition does not have a
+   *           root name
+   */
+  @NonNull
+  public IStreamingWriter newStreamingWriter(
+      @NonNull IBoundDefinitionModelAssembly definition,
+      boolean serializeRoot) {
+    return new StreamingWriter(definition, serializeRoot);
+  }
+
   // ================
   // Instance writers
   // ================
@@ -127,6 +152,139 @@ public class MetaschemaXmlWriter implements IXmlWritingContext {
     }
   }
 
+  private static <T> void writeInstanceItem(
+      @NonNull IBoundInstanceModel<T> instance,
+      @NonNull Object item,
+      @NonNull ItemWriter itemWriter) throws IOException {
+    instance.writeItem(ObjectUtils.asType(item), itemWriter);
+  }
+
+  /**
+   * Supports writing the items of the top-level assembly as they become
+   * available.
+   */
+  private final class StreamingWriter implements IStreamingWriter {
+    @NonNull
+    private final IBoundDefinitionModelAssembly definition;
+    private final boolean serializeRoot;
+    @NonNull
+    private final ItemWriter rootWriter;
+    @NonNull
+    private ItemWriter itemWriter;
+
+    private StreamingWriter(
+        @NonNull IBoundDefinitionModelAssembly definition,
+        boolean serializeRoot) {
+      this.definition = definition;
+      this.serializeRoot = serializeRoot;
+
+      IEnhancedQName qname = definition.getQName();
+      if (serializeRoot) {
+        qname = definition.getRootQName();
+        if (qname == null) {
+          throw new IllegalArgumentException(
+              String.format("The assembly definition '%s' does not have a root QName.",
+                  definition.getQName()));
+        }
+      }
+      this.rootWriter = new ItemWriter(qname);
+      this.itemWriter = rootWriter;
+    }
+
+    @Override
+    public boolean isOrderSignificant() {
+      return true;
+    }
+
+    @Override
+    public void writeStart(IBoundObject item) throws IOException {
+      try {
+        if (serializeRoot) {
+          writer.writeStartDocument("UTF-8", "1.0");
+        }
+
+        IEnhancedQName qname = rootWriter.getObjectQName();
+        String prefix = writer.getNamespaceContext().getPrefix(qname.getNamespace());
+        if (prefix == null) {
+          prefix = "";
+        }
+        writer.writeStartElement(prefix, qname.getLocalName(), qname.getNamespace());
+      } catch (XMLStreamException ex) {
+        throw new IOException(ex);
+      }
+      rootWriter.writeFlags(item, definition);
+    }
+
+    @Override
+    public void writeFlag(IBoundInstanceFlag instance, IBoundObject item) throws IOException {
+      Object value = instance.getValue(item);
+      if (value != null) {
+        rootWriter.writeItemFlag(value, instance);
+      }
+    }
+
+    @Override
+    public void writeModelInstance(IBoundInstanceModel<?> instance, IBoundObject item) throws IOException {
+      MetaschemaXmlWriter.this.writeModelInstance(instance, item, rootWriter);
+    }
+
+    @Override
+    public void writeItemsStart(IBoundInstanceModel<?> instance) throws IOException {
+      IEnhancedQName groupAsEQName = instance.getEffectiveXmlGroupAsQName();
+      if (groupAsEQName == null) {
+        itemWriter = rootWriter;
+      } else {
+        try {
+          // write the grouping element
+          writer.writeStartElement(groupAsEQName.getNamespace(), groupAsEQName.getLocalName());
+        } catch (XMLStreamException ex) {
+          throw new IOException(ex);
+        }
+        itemWriter = new ItemWriter(groupAsEQName);
+      }
+    }
+
+    @Override
+    public void writeItem(IBoundInstanceModel<?> instance, Object item) throws IOException {
+      writeInstanceItem(instance, item, itemWriter);
+    }
+
+    @Override
+    public void writeItemsEnd(IBoundInstanceModel<?> instance) throws IOException {
+      if (instance.getEffectiveXmlGroupAsQName() != null) {
+        try {
+          writer.writeEndElement();
+        } catch (XMLStreamException ex) {
+          throw new IOException(ex);
+        }
+      }
+      itemWriter = rootWriter;
+    }
+
+    @Override
+    public void writeEnd() throws IOException {
+      try {
+        writer.writeEndElement();
+
+        if (serializeRoot) {
+          writer.writeEndDocument();
+        }
+        writer.flush();
+      } catch (XMLStreamException ex) {
+        throw new IOException(ex);
+      }
+    }
+
+    @Override
+    public void close() throws IOException {
+      try {
+        writer.close();
+      } catch (XMLStreamException ex) {
+        throw new IOException(ex);
+      }
+    }
+  }
+
   private static class ModelInstanceWriteHandler<ITEM>
       extends AbstractModelInstanceWriteHandler<ITEM> {
     @NonNull
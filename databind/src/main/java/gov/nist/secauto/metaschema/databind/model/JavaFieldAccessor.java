@@ -0,0 +1,128 @@
+/*
+ * SPDX-FileCopyrightText: none
+ * SPDX-License-Identifier: CC0-1.0
+ */
+
+package gov.nist.secauto.metaschema.databind.model;
+
+import gov.nist.secauto.metaschema.core.util.ObjectUtils;
+
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.MethodType;
+import java.lang.reflect.Field;
+
+import edu.umd.cs.findbugs.annotations.NonNull;
+
+/**
+ * Provides fast get and set access to the value of a bound Java field.
+ * <p>
+ * The field's accessibility is resolved once, when the accessor is created,
+ * after which the value is accessed using method handles. This avoids the
+ * access checks performed by {@link Field#get(Object)} and
+ * {@link Field#set(Object, Object)} on each access.
+ * <p>
+ * This class is thread safe.
+ */
+public final class JavaFieldAccessor {
+  @NonNull
+  private static final MethodType GETTER_TYPE = ObjectUtils.notNull(MethodType.methodType(Object.class, Object.class));
+  @NonNull
+  private static final MethodType SETTER_TYPE
+      = ObjectUtils.notNull(MethodType.methodType(void.class, Object.class, Object.class));
+
+  @NonNull
+  private final Field field;
+  @NonNull
+  private final MethodHandle getter;
+  @NonNull
+  private final MethodHandle setter;
+
+  /**
+   * Construct a new accessor for the provided field.
+   *
+   * @param field
+   *          the Java field to provide access to
+   * @throws IllegalArgumentException
+   *           if the field cannot be made accessible
+   */
+  public JavaFieldAccessor(@NonNull Field field) {
+    this.field = field;
+    try {
+      field.setAccessible(true); // NOPMD - intentional
+      MethodHandles.Lookup lookup = MethodHandles.lookup();
+      this.getter = ObjectUtils.notNull(lookup.unreflectGetter(field).asType(GETTER_TYPE));
+      this.setter = ObjectUtils.notNull(lookup.unreflectSetter(field).asType(SETTER_TYPE));
+    } catch (IllegalAccessException | RuntimeException ex) {
+      throw new IllegalArgumentException(
+          String.format("Unable to access field '%s' in class '%s'.",
+              field.getName(),
+              field.getDeclaringClass().getName()),
+          ex);
+    }
+  }
+
+  /**
+   * Get the Java field this accessor provides access to.
+   *
+   * @return the Java field
+   */
+  @NonNull
+  public Field getField() {
+    return field;
+  }
+
+  /**
+   * Get the value of the field on the provided object.
+   *
+   * @param parent
+   *          the object containing the field
+   * @return the field's value, which may be {@code null}
+   * @throws IllegalArgumentException
+   *           if the provided object is not an instance of the field's
+   *           declaring class
+   */
+  @SuppressWarnings({ "PMD.AvoidCatchingThrowable", "PMD.AvoidRethrowingException" })
+  public Object getValue(@NonNull Object parent) {
+    try {
+      return getter.invokeExact(parent);
+    } catch (Error ex) {
+      throw ex;
+    } catch (Throwable ex) { // NOPMD - required by invokeExact
+      throw new IllegalArgumentException(
+          String.format("Unable to get the value of field '%s' in class '%s'.",
+              field.getName(),
+              field.getDeclaringClass().getName()),
+          ex);
+    }
+  }
+
+  /**
+   * Set the value of the field on the provided object.
+   *
+   * @param parent
+   *          the object containing the field
+   * @param value
+   *          the value to set, which may be {@code null}
+   * @throws IllegalArgumentException
+   *           if the provided object is not an instance of the field's
+   *           declaring class, or the value is not compatible with the field's
+   *           type
+   */
+  @SuppressWarnings({ "PMD.AvoidCatchingThrowable", "PMD.AvoidRethrowingException" })
+  public void setValue(@NonNull Object parent, Object value) {
+    try {
+      setter.invokeExact(parent, value);
+    } catch (Error ex) {
+      throw ex;
+    } catch (Throwable ex) { // NOPMD - required by invokeExact
+      throw new IllegalArgumentException(
+          String.format(
+              "Unable to set the value of field '%s' in class '%s'." +
+                  " Perhaps this is a data type adapter problem on the declared class?",
+              field.getName(),
+              field.getDeclaringClass().getName()),
+          ex);
+    }
+  }
+}
@@ -32,6 +32,7 @@ import gov.nist.secauto.metaschema.databind.model.annotations.AssemblyConstraint
 import gov.nist.secauto.metaschema.databind.model.annotations.MetaschemaAssembly;
 import gov.nist.secauto.metaschema.databind.model.annotations.ModelUtil;
 import gov.nist.secauto.metaschema.databind.model.annotations.ValueConstraints;
+import gov.nist.secauto.metaschema.databind.model.info.JsonPropertyTable;
 
 import java.util.Arrays;
 import java.util.LinkedHashMap;
@@ -69,6 +70,8 @@ public final class DefinitionAssembly
   @NonNull
   private final Lazy<Map<String, IBoundProperty<?>>> jsonProperties;
   @NonNull
+  private final Lazy<JsonPropertyTable> jsonPropertyTable;
+  @NonNull
   private final Lazy<Map<IAttributable.Key, Set<String>>> properties;
 
   /**
@@ -119,6 +122,7 @@ public final class DefinitionAssembly
       return retval;
     }));
     this.jsonProperties = ObjectUtils.notNull(Lazy.lazy(() -> getJsonProperties(null)));
+    this.jsonPropertyTable = ObjectUtils.notNull(Lazy.lazy(() -> new JsonPropertyTable(getJsonProperties())));
     this.properties = ObjectUtils.notNull(
         Lazy.lazy(() -> CollectionUtil.unmodifiableMap(ObjectUtils.notNull(
             Arrays.stream(annotation.properties())
@@ -142,6 +146,11 @@ public final class DefinitionAssembly
     return ObjectUtils.notNull(jsonProperties.get());
   }
 
+  @Override
+  public JsonPropertyTable getJsonPropertyTable() {
+    return ObjectUtils.notNull(jsonPropertyTable.get());
+  }
+
   // ------------------------------------------
   // - Start annotation driven code - CPD-OFF -
   // ------------------------------------------
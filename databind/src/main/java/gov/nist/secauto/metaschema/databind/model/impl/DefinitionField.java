@@ -23,11 +23,13 @@ import gov.nist.secauto.metaschema.databind.model.IBoundFieldValue;
 import gov.nist.secauto.metaschema.databind.model.IBoundInstanceFlag;
 import gov.nist.secauto.metaschema.databind.model.IBoundModule;
 import gov.nist.secauto.metaschema.databind.model.IBoundProperty;
+import gov.nist.secauto.metaschema.databind.model.JavaFieldAccessor;
 import gov.nist.secauto.metaschema.databind.model.annotations.BoundFieldValue;
 import gov.nist.secauto.metaschema.databind.model.annotations.Ignore;
 import gov.nist.secauto.metaschema.databind.model.annotations.MetaschemaField;
 import gov.nist.secauto.metaschema.databind.model.annotations.ModelUtil;
 import gov.nist.secauto.metaschema.databind.model.annotations.ValueConstraints;
+import gov.nist.secauto.metaschema.databind.model.info.JsonPropertyTable;
 
 import java.lang.reflect.Field;
 import java.util.Arrays;
@@ -59,6 +61,8 @@ public final class DefinitionField
   @NonNull
   private final Lazy<Map<String, IBoundProperty<?>>> jsonProperties;
   @NonNull
+  private final Lazy<JsonPropertyTable> jsonPropertyTable;
+  @NonNull
   private final Lazy<Map<IAttributable.Key, Set<String>>> properties;
 
   /**
@@ -143,6 +147,7 @@ public final class DefinitionField
       Predicate<IBoundInstanceFlag> flagFilter = jsonValueKey == null ? null : flag -> !flag.equals(jsonValueKey);
       return getJsonProperties(flagFilter);
     }));
+    this.jsonPropertyTable = ObjectUtils.notNull(Lazy.lazy(() -> new JsonPropertyTable(getJsonProperties())));
     this.properties = ObjectUtils.notNull(
         Lazy.lazy(() -> CollectionUtil.unmodifiableMap(ObjectUtils.notNull(
             Arrays.stream(annotation.properties())
@@ -206,6 +211,11 @@ public final class DefinitionField
     return ObjectUtils.notNull(jsonProperties.get());
   }
 
+  @Override
+  public JsonPropertyTable getJsonPropertyTable() {
+    return ObjectUtils.notNull(jsonPropertyTable.get());
+  }
+
   @Override
   @Nullable
   public String getFormalName() {
@@ -249,6 +259,8 @@ public final class DefinitionField
     @NonNull
     private final Field javaField;
     @NonNull
+    private final JavaFieldAccessor javaFieldAccessor;
+    @NonNull
     private final BoundFieldValue annotation;
     @NonNull
     private final IDataTypeAdapter<?> javaTypeAdapter;
@@ -270,6 +282,7 @@ public final class DefinitionField
         @NonNull Class<BoundFieldValue> annotationClass,
         @NonNull IBindingContext bindingContext) {
       this.javaField = javaField;
+      this.javaFieldAccessor = new JavaFieldAccessor(javaField);
       this.annotation = ModelUtil.getAnnotation(javaField, annotationClass);
       this.javaTypeAdapter = ModelUtil.getDataTypeAdapter(
           this.annotation.typeAdapter(),
@@ -288,6 +301,11 @@ public final class DefinitionField
       return javaField;
     }
 
+    @Override
+    public JavaFieldAccessor getFieldAccessor() {
+      return javaFieldAccessor;
+    }
+
     /**
      * Get the binding Java annotation.
      *
@@ -21,6 +21,7 @@ import gov.nist.secauto.metaschema.databind.model.IBoundDefinitionFlag;
 import gov.nist.secauto.metaschema.databind.model.IBoundDefinitionModel;
 import gov.nist.secauto.metaschema.databind.model.IBoundInstanceFlag;
 import gov.nist.secauto.metaschema.databind.model.IBoundModule;
+import gov.nist.secauto.metaschema.databind.model.JavaFieldAccessor;
 import gov.nist.secauto.metaschema.databind.model.annotations.BoundFlag;
 import gov.nist.secauto.metaschema.databind.model.annotations.JsonFieldValueKeyFlag;
 import gov.nist.secauto.metaschema.databind.model.annotations.JsonKey;
@@ -49,6 +50,8 @@ public class InstanceFlagInline
   @NonNull
   private final Field javaField;
   @NonNull
+  private final JavaFieldAccessor javaFieldAccessor;
+  @NonNull
   private final BoundFlag annotation;
   @NonNull
   private final IDataTypeAdapter<?> javaTypeAdapter;
@@ -72,6 +75,7 @@ public class InstanceFlagInline
       @NonNull IBoundDefinitionModel<IBoundObject> parent) {
     super(parent);
     this.javaField = javaField;
+    this.javaFieldAccessor = new JavaFieldAccessor(javaField);
     this.annotation = ModelUtil.getAnnotation(javaField, BoundFlag.class);
     Class<? extends IDataTypeAdapter<?>> adapterClass = ObjectUtils.notNull(getAnnotation().typeAdapter());
     this.javaTypeAdapter = ModelUtil.getDataTypeAdapter(
@@ -107,6 +111,11 @@ public class InstanceFlagInline
     return javaField;
   }
 
+  @Override
+  public JavaFieldAccessor getFieldAccessor() {
+    return javaFieldAccessor;
+  }
+
   /**
    * Get the binding Java annotation.
    *
@@ -18,10 +18,12 @@ import gov.nist.secauto.metaschema.databind.model.IBoundInstanceModelAssembly;
 import gov.nist.secauto.metaschema.databind.model.IBoundModule;
 import gov.nist.secauto.metaschema.databind.model.IBoundProperty;
 import gov.nist.secauto.metaschema.databind.model.IGroupAs;
+import gov.nist.secauto.metaschema.databind.model.JavaFieldAccessor;
 import gov.nist.secauto.metaschema.databind.model.annotations.BoundAssembly;
 import gov.nist.secauto.metaschema.databind.model.annotations.GroupAs;
 import gov.nist.secauto.metaschema.databind.model.annotations.ModelUtil;
 import gov.nist.secauto.metaschema.databind.model.info.IModelInstanceCollectionInfo;
+import gov.nist.secauto.metaschema.databind.model.info.JsonPropertyTable;
 
 import java.lang.reflect.Field;
 import java.util.Arrays;
@@ -49,6 +51,8 @@ public final class InstanceModelAssemblyComplex
   @NonNull
   private final Field javaField;
   @NonNull
+  private final JavaFieldAccessor javaFieldAccessor;
+  @NonNull
   private final BoundAssembly annotation;
   @NonNull
   private final Lazy<IModelInstanceCollectionInfo<IBoundObject>> collectionInfo;
@@ -59,6 +63,8 @@ public final class InstanceModelAssemblyComplex
   @NonNull
   private final Lazy<Map<String, IBoundProperty<?>>> jsonProperties;
   @NonNull
+  private final Lazy<JsonPropertyTable> jsonPropertyTable;
+  @NonNull
   private final Lazy<Map<IAttributable.Key, Set<String>>> properties;
 
   /**
@@ -110,6 +116,7 @@ public final class InstanceModelAssemblyComplex
       @NonNull IBoundDefinitionModelAssembly containingDefinition) {
     super(containingDefinition);
     this.javaField = javaField;
+    this.javaFieldAccessor = new JavaFieldAccessor(javaField);
     this.annotation = annotation;
     this.groupAs = groupAs;
     this.collectionInfo = ObjectUtils.notNull(Lazy.lazy(() -> IModelInstanceCollectionInfo.of(this)));
@@ -119,6 +126,7 @@ public final class InstanceModelAssemblyComplex
       Predicate<IBoundInstanceFlag> flagFilter = jsonKey == null ? null : flag -> !jsonKey.equals(flag);
       return getDefinition().getJsonProperties(flagFilter);
     }));
+    this.jsonPropertyTable = ObjectUtils.notNull(Lazy.lazy(() -> new JsonPropertyTable(getJsonProperties())));
     this.properties = ObjectUtils.notNull(
         Lazy.lazy(() -> CollectionUtil.unmodifiableMap(ObjectUtils.notNull(
             Arrays.stream(annotation.properties())
@@ -136,6 +144,11 @@ public final class InstanceModelAssemblyComplex
     return javaField;
   }
 
+  @Override
+  public JavaFieldAccessor getFieldAccessor() {
+    return javaFieldAccessor;
+  }
+
   /**
    * Get the binding Java annotation.
    *
@@ -157,6 +170,11 @@ public final class InstanceModelAssemblyComplex
     return ObjectUtils.notNull(jsonProperties.get());
   }
 
+  @Override
+  public JsonPropertyTable getJsonPropertyTable() {
+    return ObjectUtils.notNull(jsonPropertyTable.get());
+  }
+
   @Override
   public IBoundDefinitionModelAssembly getDefinition() {
     return definition;
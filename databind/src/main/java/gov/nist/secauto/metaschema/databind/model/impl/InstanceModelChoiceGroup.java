@@ -20,6 +20,7 @@ import gov.nist.secauto.metaschema.databind.model.IBoundInstanceModelGroupedFiel
 import gov.nist.secauto.metaschema.databind.model.IBoundInstanceModelGroupedNamed;
 import gov.nist.secauto.metaschema.databind.model.IBoundModule;
 import gov.nist.secauto.metaschema.databind.model.IGroupAs;
+import gov.nist.secauto.metaschema.databind.model.JavaFieldAccessor;
 import gov.nist.secauto.metaschema.databind.model.annotations.BoundChoiceGroup;
 import gov.nist.secauto.metaschema.databind.model.annotations.BoundGroupedAssembly;
 import gov.nist.secauto.metaschema.databind.model.annotations.BoundGroupedField;
@@ -52,6 +53,8 @@ public final class InstanceModelChoiceGroup
   @NonNull
   private final Field javaField;
   @NonNull
+  private final JavaFieldAccessor javaFieldAccessor;
+  @NonNull
   private final BoundChoiceGroup annotation;
   @NonNull
   private final Lazy<IModelInstanceCollectionInfo<IBoundObject>> collectionInfo;
@@ -140,6 +143,7 @@ public final class InstanceModelChoiceGroup
       @NonNull IBoundDefinitionModelAssembly parent) {
     super(parent);
     this.javaField = javaField;
+    this.javaFieldAccessor = new JavaFieldAccessor(javaField);
     this.annotation = annotation;
     this.groupAs = groupAs;
     this.collectionInfo = ObjectUtils.notNull(Lazy.lazy(() -> IModelInstanceCollectionInfo.of(this)));
@@ -174,6 +178,11 @@ public final class InstanceModelChoiceGroup
     return javaField;
   }
 
+  @Override
+  public JavaFieldAccessor getFieldAccessor() {
+    return javaFieldAccessor;
+  }
+
   /**
    * Get the binding Java annotation.
    *
@@ -20,10 +20,12 @@ import gov.nist.secauto.metaschema.databind.model.IBoundInstanceModelFieldComple
 import gov.nist.secauto.metaschema.databind.model.IBoundModule;
 import gov.nist.secauto.metaschema.databind.model.IBoundProperty;
 import gov.nist.secauto.metaschema.databind.model.IGroupAs;
+import gov.nist.secauto.metaschema.databind.model.JavaFieldAccessor;
 import gov.nist.secauto.metaschema.databind.model.annotations.BoundField;
 import gov.nist.secauto.metaschema.databind.model.annotations.GroupAs;
 import gov.nist.secauto.metaschema.databind.model.annotations.ModelUtil;
 import gov.nist.secauto.metaschema.databind.model.info.IModelInstanceCollectionInfo;
+import gov.nist.secauto.metaschema.databind.model.info.JsonPropertyTable;
 
 import java.lang.reflect.Field;
 import java.util.Arrays;
@@ -51,6 +53,8 @@ public final class InstanceModelFieldComplex
   @NonNull
   private final Field javaField;
   @NonNull
+  private final JavaFieldAccessor javaFieldAccessor;
+  @NonNull
   private final BoundField annotation;
   @NonNull
   private final Lazy<IModelInstanceCollectionInfo<IBoundObject>> collectionInfo;
@@ -63,6 +67,8 @@ public final class InstanceModelFieldComplex
   @NonNull
   private final Lazy<Map<String, IBoundProperty<?>>> jsonProperties;
   @NonNull
+  private final Lazy<JsonPropertyTable> jsonPropertyTable;
+  @NonNull
   private final Lazy<Map<IAttributable.Key, Set<String>>> properties;
 
   /**
@@ -141,6 +147,7 @@ public final class InstanceModelFieldComplex
       @NonNull IBoundDefinitionModelAssembly parent) {
     super(parent);
     this.javaField = javaField;
+    this.javaFieldAccessor = new JavaFieldAccessor(javaField);
     this.annotation = annotation;
     this.collectionInfo = ObjectUtils.notNull(Lazy.lazy(() -> IModelInstanceCollectionInfo.of(this)));
     this.groupAs = groupAs;
@@ -173,6 +180,7 @@ public final class InstanceModelFieldComplex
       }
       return definition.getJsonProperties(flagFilter);
     }));
+    this.jsonPropertyTable = ObjectUtils.notNull(Lazy.lazy(() -> new JsonPropertyTable(getJsonProperties())));
     this.properties = ObjectUtils.notNull(
         Lazy.lazy(() -> CollectionUtil.unmodifiableMap(ObjectUtils.notNull(
             Arrays.stream(annotation.properties())
@@ -190,6 +198,11 @@ public final class InstanceModelFieldComplex
     return javaField;
   }
 
+  @Override
+  public JavaFieldAccessor getFieldAccessor() {
+    return javaFieldAccessor;
+  }
+
   /**
    * Get the binding Java annotation.
    *
@@ -226,6 +239,11 @@ public final class InstanceModelFieldComplex
     return ObjectUtils.notNull(jsonProperties.get());
   }
 
+  @Override
+  public JsonPropertyTable getJsonPropertyTable() {
+    return ObjectUtils.notNull(jsonPropertyTable.get());
+  }
+
   @Override
   public IGroupAs getGroupAs() {
     return groupAs;
@@ -23,6 +23,7 @@ import gov.nist.secauto.metaschema.databind.model.IBoundInstanceFlag;
 import gov.nist.secauto.metaschema.databind.model.IBoundInstanceModelFieldScalar;
 import gov.nist.secauto.metaschema.databind.model.IBoundModule;
 import gov.nist.secauto.metaschema.databind.model.IGroupAs;
+import gov.nist.secauto.metaschema.databind.model.JavaFieldAccessor;
 import gov.nist.secauto.metaschema.databind.model.annotations.BoundField;
 import gov.nist.secauto.metaschema.databind.model.annotations.GroupAs;
 import gov.nist.secauto.metaschema.databind.model.annotations.ModelUtil;
@@ -56,6 +57,8 @@ public final class InstanceModelFieldScalar
   @NonNull
   private final Field javaField;
   @NonNull
+  private final JavaFieldAccessor javaFieldAccessor;
+  @NonNull
   private final BoundField annotation;
   @NonNull
   private final Lazy<IModelInstanceCollectionInfo<Object>> collectionInfo;
@@ -119,6 +122,7 @@ public final class InstanceModelFieldScalar
       @NonNull IBoundDefinitionModelAssembly parent) {
     super(parent);
     this.javaField = javaField;
+    this.javaFieldAccessor = new JavaFieldAccessor(javaField);
     this.annotation = annotation;
     this.collectionInfo = ObjectUtils.notNull(Lazy.lazy(() -> IModelInstanceCollectionInfo.of(this)));
     this.groupAs = groupAs;
@@ -163,6 +167,11 @@ public final class InstanceModelFieldScalar
     return javaField;
   }
 
+  @Override
+  public JavaFieldAccessor getFieldAccessor() {
+    return javaFieldAccessor;
+  }
+
   /**
    * Get the binding Java annotation.
    *
@@ -18,6 +18,7 @@ import gov.nist.secauto.metaschema.databind.model.IBoundInstanceModelGroupedAsse
 import gov.nist.secauto.metaschema.databind.model.IBoundProperty;
 import gov.nist.secauto.metaschema.databind.model.annotations.BoundGroupedAssembly;
 import gov.nist.secauto.metaschema.databind.model.annotations.ModelUtil;
+import gov.nist.secauto.metaschema.databind.model.info.JsonPropertyTable;
 
 import java.util.Arrays;
 import java.util.LinkedHashMap;
@@ -46,6 +47,8 @@ public class InstanceModelGroupedAssembly
   @NonNull
   private final Lazy<Map<String, IBoundProperty<?>>> jsonProperties;
   @NonNull
+  private final Lazy<JsonPropertyTable> jsonPropertyTable;
+  @NonNull
   private final Lazy<Map<IAttributable.Key, Set<String>>> properties;
 
   /**
@@ -71,6 +74,7 @@ public class InstanceModelGroupedAssembly
     // !jsonKey.equals(flag);
     // return getDefinition().getJsonProperties(flagFilter);
     this.jsonProperties = ObjectUtils.notNull(Lazy.lazy(() -> getDefinition().getJsonProperties(null)));
+    this.jsonPropertyTable = ObjectUtils.notNull(Lazy.lazy(() -> new JsonPropertyTable(getJsonProperties())));
     this.properties = ObjectUtils.notNull(
         Lazy.lazy(() -> CollectionUtil.unmodifiableMap(ObjectUtils.notNull(
             Arrays.stream(annotation.properties())
@@ -97,6 +101,11 @@ public class InstanceModelGroupedAssembly
     return ObjectUtils.notNull(jsonProperties.get());
   }
 
+  @Override
+  public JsonPropertyTable getJsonPropertyTable() {
+    return ObjectUtils.notNull(jsonPropertyTable.get());
+  }
+
   @Override
   public IBoundDefinitionModelAssembly getDefinition() {
     return definition;
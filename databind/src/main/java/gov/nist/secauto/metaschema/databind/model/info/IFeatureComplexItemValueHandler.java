@@ -47,6 +47,20 @@ public interface IFeatureComplexItemValueHandler extends IItemValueHandler<IBoun
   @NonNull
   Map<String, IBoundProperty<?>> getJsonProperties();
 
+  /**
+   * Get a table used to dispatch JSON property names to the property bindings
+   * provided by {@link #getJsonProperties()}.
+   * <p>
+   * Implementations are expected to cache the table, since it is used for each
+   * JSON object that is parsed.
+   *
+   * @return the table
+   */
+  @NonNull
+  default JsonPropertyTable getJsonPropertyTable() {
+    return new JsonPropertyTable(getJsonProperties());
+  }
+
   // REFACTOR: flatten implementations?
   @Override
   @NonNull
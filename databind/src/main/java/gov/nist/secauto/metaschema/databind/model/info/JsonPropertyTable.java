@@ -0,0 +1,160 @@
+/*
+ * SPDX-FileCopyrightText: none
+ * SPDX-License-Identifier: CC0-1.0
+ */
+
+package gov.nist.secauto.metaschema.databind.model.info;
+
+import gov.nist.secauto.metaschema.core.util.CollectionUtil;
+import gov.nist.secauto.metaschema.databind.model.IBoundProperty;
+
+import java.util.ArrayList;
+import java.util.BitSet;
+import java.util.List;
+import java.util.Map;
+
+import edu.umd.cs.findbugs.annotations.NonNull;
+import edu.umd.cs.findbugs.annotations.Nullable;
+
+/**
+ * A precomputed table used to dispatch JSON property names to property bindings
+ * while parsing.
+ * <p>
+ * Each property is assigned a stable index, allowing a parser to track the
+ * properties that have been read in a {@link BitSet} instead of copying the
+ * property mapping for each object. Lookups use an open-addressed hash table
+ * based on the property name's cached hash code, so no allocation is needed to
+ * find a property.
+ * <p>
+ * Instances of this class are immutable and thread safe.
+ */
+public final class JsonPropertyTable {
+  @NonNull
+  private final String[] names;
+  @NonNull
+  private final IBoundProperty<?>[] properties;
+  /**
+   * The hash slots, each containing a property index plus one, or zero if the
+   * slot is unused.
+   */
+  @NonNull
+  private final int[] slots;
+  private final int mask;
+
+  /**
+   * Construct a new table for the provided mapping of JSON property names to
+   * property bindings.
+   *
+   * @param jsonProperties
+   *          the mapping to build the table for
+   */
+  public JsonPropertyTable(@NonNull Map<String, IBoundProperty<?>> jsonProperties) {
+    int size = jsonProperties.size();
+    this.names = new String[size];
+    this.properties = new IBoundProperty<?>[size];
+
+    // keep the load factor at or below 0.5 to keep probe sequences short
+    int capacity = Integer.highestOneBit(Math.max(size, 1) * 2 - 1) << 1;
+    this.slots = new int[capacity];
+    this.mask = capacity - 1;
+
+    int index = 0;
+    for (Map.Entry<String, IBoundProperty<?>> entry : jsonProperties.entrySet()) {
+      String name = entry.getKey();
+      names[index] = name;
+      properties[index] = entry.getValue();
+
+      int slot = hash(name) & mask;
+      while (slots[slot] != 0) {
+        slot = (slot + 1) & mask;
+      }
+      slots[slot] = index + 1;
+      index++;
+    }
+  }
+
+  private static int hash(@NonNull String name) {
+    int hash = name.hashCode();
+    // spread the higher bits, since only the lower bits are used
+    return hash ^ (hash >>> 16);
+  }
+
+  /**
+   * Get the number of properties in the table.
+   *
+   * @return the number of properties
+   */
+  public int size() {
+    return properties.length;
+  }
+
+  /**
+   * Determine if the table contains no properties.
+   *
+   * @return {@code true} if the table is empty, or {@code false} otherwise
+   */
+  public boolean isEmpty() {
+    return properties.length == 0;
+  }
+
+  /**
+   * Get the index of the property with the provided JSON name.
+   *
+   * @param name
+   *          the JSON property name
+   * @return the index of the property, or {@code -1} if no property has the
+   *         provided name
+   */
+  public int indexOf(@NonNull String name) {
+    int slot = hash(name) & mask;
+    int entry;
+    while ((entry = slots[slot]) != 0) {
+      String candidate = names[entry - 1];
+      // parsers typically canonicalize names, making the identity check likely
+      if (candidate == name || candidate.equals(name)) { // NOPMD - intentional identity check
+        return entry - 1;
+      }
+      slot = (slot + 1) & mask;
+    }
+    return -1;
+  }
+
+  /**
+   * Get the property with the provided index.
+   *
+   * @param index
+   *          the index of the property
+   * @return the property
+   * @see #indexOf(String)
+   */
+  @NonNull
+  public IBoundProperty<?> getProperty(int index) {
+    IBoundProperty<?> retval = properties[index];
+    assert retval != null;
+    return retval;
+  }
+
+  /**
+   * Get the properties whose index is not set in the provided set of indexes.
+   *
+   * @param handled
+   *          the indexes of the properties to exclude, or {@code null} to exclude
+   *          no properties
+   * @return the remaining properties
+   */
+  @NonNull
+  public List<IBoundProperty<?>> getRemaining(@Nullable BitSet handled) {
+    int remaining = handled == null ? size() : size() - handled.cardinality();
+    if (remaining == 0) {
+      return CollectionUtil.emptyList();
+    }
+
+    List<IBoundProperty<?>> retval = new ArrayList<>(remaining);
+    for (int index = 0; index < properties.length; index++) {
+      if (handled == null || !handled.get(index)) {
+        retval.add(properties[index]);
+      }
+    }
+    return retval;
+  }
+}
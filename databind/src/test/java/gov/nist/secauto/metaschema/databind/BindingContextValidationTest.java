@@ -0,0 +1,149 @@
+/*
+ * SPDX-FileCopyrightText: none
+ * SPDX-License-Identifier: CC0-1.0
+ */
+
+package gov.nist.secauto.metaschema.databind;
+
+import static gov.nist.secauto.metaschema.databind.SignatureUtils.toSortedSignatures;
+import static org.junit.jupiter.api.Assertions.assertAll;
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+import gov.nist.secauto.metaschema.core.configuration.DefaultConfiguration;
+import gov.nist.secauto.metaschema.core.configuration.IMutableConfiguration;
+import gov.nist.secauto.metaschema.core.model.MetaschemaException;
+import gov.nist.secauto.metaschema.core.model.constraint.FindingCollectingConstraintValidationHandler;
+import gov.nist.secauto.metaschema.core.model.constraint.IConstraintSet;
+import gov.nist.secauto.metaschema.core.model.constraint.ValidationFeature;
+import gov.nist.secauto.metaschema.core.model.validation.IValidationResult;
+import gov.nist.secauto.metaschema.core.model.validation.JsonSchemaContentValidator;
+import gov.nist.secauto.metaschema.core.model.validation.XmlSchemaContentValidator;
+import gov.nist.secauto.metaschema.core.util.ObjectUtils;
+import gov.nist.secauto.metaschema.databind.IBindingContext.ISchemaValidationProvider;
+import gov.nist.secauto.metaschema.databind.codegen.AbstractMetaschemaTest;
+import gov.nist.secauto.metaschema.databind.io.Format;
+
+import org.json.JSONObject;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.ValueSource;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.net.URI;
+import java.net.URL;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.List;
+
+import edu.umd.cs.findbugs.annotations.NonNull;
+
+class BindingContextValidationTest
+    extends AbstractMetaschemaTest {
+  @NonNull
+  private static final Path MODULE = ObjectUtils.notNull(
+      Paths.get("src/test/resources/content/streaming-metaschema.xml"));
+  @NonNull
+  private static final Path CONSTRAINTS = ObjectUtils.notNull(
+      Paths.get("src/test/resources/content/streaming-constraints.xml"));
+  @NonNull
+  private static final Path INSTANCE = ObjectUtils.notNull(
+      Paths.get("src/test/resources/content/streaming-instance.xml"));
+  @NonNull
+  private static final URI INSTANCE_URI = ObjectUtils.notNull(INSTANCE.toAbsolutePath().toUri());
+
+  @ParameterizedTest
+  @ValueSource(booleans = { false, true })
+  void testValidateWithConstraintsUsingStream(boolean streaming) throws IOException, MetaschemaException {
+    IBindingContext bindingContext = newValidationContext();
+    List<String> expected = toSortedSignatures(bindingContext.validateWithConstraints(INSTANCE_URI, null));
+
+    IValidationResult result;
+    try (InputStream is = Files.newInputStream(INSTANCE)) {
+      result = bindingContext.validateWithConstraints(
+          INSTANCE_URI,
+          ObjectUtils.notNull(is),
+          Format.XML,
+          newConfiguration(streaming));
+    }
+
+    assertAll(
+        // item2 has a negative value, item4 does not exist, and the catalog has no
+        // version
+        () -> assertEquals(3, expected.size()),
+        () -> assertEquals(expected, toSortedSignatures(result)));
+  }
+
+  @ParameterizedTest
+  @ValueSource(booleans = { false, true })
+  void testValidateWithSchemaAndConstraints(boolean streaming) throws IOException, MetaschemaException {
+    IBindingContext bindingContext = newValidationContext();
+    List<String> expected = toSortedSignatures(bindingContext.validateWithConstraints(INSTANCE_URI, null));
+
+    RecordingSchemaValidationProvider schemaProvider = new RecordingSchemaValidationProvider();
+    IValidationResult result = bindingContext.validate(
+        INSTANCE_URI,
+        Format.XML,
+        schemaProvider,
+        newConfiguration(streaming));
+
+    assertAll(
+        // the schema validation is provided the whole target
+        () -> assertEquals(1, schemaProvider.getContents().size()),
+        () -> assertArrayEquals(Files.readAllBytes(INSTANCE), schemaProvider.getContents().get(0)),
+        // the schema validation passed, so the constraints are validated
+        () -> assertEquals(expected, toSortedSignatures(result)));
+  }
+
+  @NonNull
+  private IBindingContext newValidationContext() throws IOException, MetaschemaException {
+    List<IConstraintSet> constraintSets = IBindingContext.getConstraintLoader().load(CONSTRAINTS);
+    IBindingContext bindingContext = newBindingContext(constraintSets);
+    bindingContext.loadMetaschema(MODULE);
+    return bindingContext;
+  }
+
+  @NonNull
+  private static IMutableConfiguration<ValidationFeature<?>> newConfiguration(boolean streaming) {
+    IMutableConfiguration<ValidationFeature<?>> retval = new DefaultConfiguration<>();
+    if (streaming) {
+      retval.enableFeature(ValidationFeature.VALIDATE_STREAMING);
+    }
+    return retval;
+  }
+
+  /**
+   * Records the content provided for schema validation, which always passes.
+   */
+  private static final class RecordingSchemaValidationProvider implements ISchemaValidationProvider {
+    @NonNull
+    private final List<byte[]> contents = new ArrayList<>();
+
+    @NonNull
+    public List<byte[]> getContents() {
+      return contents;
+    }
+
+    @Override
+    public IValidationResult validateWithSchema(
+        URI target,
+        InputStream is,
+        Format asFormat,
+        IBindingContext bindingContext) throws IOException {
+      contents.add(is.readAllBytes());
+      return new FindingCollectingConstraintValidationHandler();
+    }
+
+    @Override
+    public JsonSchemaContentValidator getJsonSchema(JSONObject json, IBindingContext bindingContext) {
+      throw new UnsupportedOperationException();
+    }
+
+    @Override
+    public XmlSchemaContentValidator getXmlSchemas(URL targetResource, IBindingContext bindingContext) {
+      throw new UnsupportedOperationException();
+    }
+  }
+}
@@ -0,0 +1,112 @@
+/*
+ * SPDX-FileCopyrightText: none
+ * SPDX-License-Identifier: CC0-1.0
+ */
+
+package gov.nist.secauto.metaschema.databind;
+
+import static org.junit.jupiter.api.Assertions.assertAll;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+import gov.nist.secauto.metaschema.core.metapath.DynamicContext;
+import gov.nist.secauto.metaschema.core.metapath.IMetapathExpression;
+import gov.nist.secauto.metaschema.core.metapath.item.node.IDocumentNodeItem;
+import gov.nist.secauto.metaschema.core.metapath.item.node.IFlagNodeItem;
+import gov.nist.secauto.metaschema.core.metapath.item.node.INodeItem;
+import gov.nist.secauto.metaschema.core.model.MetaschemaException;
+import gov.nist.secauto.metaschema.core.qname.IEnhancedQName;
+import gov.nist.secauto.metaschema.core.util.ObjectUtils;
+import gov.nist.secauto.metaschema.databind.codegen.AbstractMetaschemaTest;
+import gov.nist.secauto.metaschema.databind.io.DeserializationFeature;
+import gov.nist.secauto.metaschema.databind.io.Format;
+import gov.nist.secauto.metaschema.databind.io.IBoundLoader;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.ValueSource;
+
+import java.io.IOException;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.List;
+import java.util.stream.Collectors;
+
+import edu.umd.cs.findbugs.annotations.NonNull;
+
+class DescendantSearchTest
+    extends AbstractMetaschemaTest {
+  @NonNull
+  private static final Path MODULE = ObjectUtils.notNull(
+      Paths.get("src/test/resources/content/descendant-metaschema.xml"));
+  @NonNull
+  private static final Path INSTANCE = ObjectUtils.notNull(
+      Paths.get("src/test/resources/content/descendant-instance.xml"));
+  @NonNull
+  private static final List<String> DOCUMENT_ORDER = ObjectUtils.notNull(
+      List.of("1", "1.1", "1.1.1", "1.2", "2", "2.1"));
+
+  @ParameterizedTest
+  @ValueSource(strings = {
+      "//part",
+      "//@id",
+      "//part[@id != '2']",
+      "//part[1]",
+      "/catalog/part[1]//part",
+      "/catalog/part//@id"
+  })
+  void testIndexMatchesTreeSearch(@NonNull String path) throws IOException, MetaschemaException {
+    IDocumentNodeItem document = loadDocument();
+
+    List<String> tree = toMetapaths(evaluate(path, document, false));
+    List<String> index = toMetapaths(evaluate(path, document, true));
+    // the results must be identical, including their order
+    assertEquals(tree, index);
+  }
+
+  @Test
+  void testSearchIsInDocumentOrder() throws IOException, MetaschemaException {
+    IDocumentNodeItem document = loadDocument();
+    IEnhancedQName id = IEnhancedQName.of("id");
+
+    assertAll(
+        () -> assertEquals(DOCUMENT_ORDER, evaluate("//part", document, false).stream()
+            .map(node -> ObjectUtils.requireNonNull(node.getFlagByName(id)).toAtomicItem().asString())
+            .collect(Collectors.toList())),
+        () -> assertEquals(DOCUMENT_ORDER, evaluate("//@id", document, false).stream()
+            .map(node -> ((IFlagNodeItem) node).toAtomicItem().asString())
+            .collect(Collectors.toList())),
+        () -> assertEquals(DOCUMENT_ORDER, evaluate("//@id", document, true).stream()
+            .map(node -> ((IFlagNodeItem) node).toAtomicItem().asString())
+            .collect(Collectors.toList())));
+  }
+
+  @NonNull
+  private IDocumentNodeItem loadDocument() throws IOException, MetaschemaException {
+    IBindingContext bindingContext = newBindingContext();
+    bindingContext.loadMetaschema(MODULE);
+    IBoundLoader loader = bindingContext.newBoundLoader();
+    loader.disableFeature(DeserializationFeature.DESERIALIZE_VALIDATE_CONSTRAINTS);
+    return loader.loadAsNodeItem(Format.XML, INSTANCE);
+  }
+
+  @NonNull
+  private static List<INodeItem> evaluate(
+      @NonNull String path,
+      @NonNull IDocumentNodeItem document,
+      boolean indexed) {
+    DynamicContext dynamicContext = new DynamicContext(document.getStaticContext());
+    if (indexed) {
+      dynamicContext.enableDescendantIndex();
+    }
+    return ObjectUtils.notNull(IMetapathExpression.compile(path, document.getStaticContext())
+        .<INodeItem>evaluate(document, dynamicContext)
+        .getValue());
+  }
+
+  @NonNull
+  private static List<String> toMetapaths(@NonNull List<INodeItem> nodes) {
+    return ObjectUtils.notNull(nodes.stream()
+        .map(INodeItem::getMetapath)
+        .collect(Collectors.toList()));
+  }
+}
@@ -0,0 +1,142 @@
+/*
+ * SPDX-FileCopyrightText: none
+ * SPDX-License-Identifier: CC0-1.0
+ */
+
+package gov.nist.secauto.metaschema.databind;
+
+import static gov.nist.secauto.metaschema.databind.SignatureUtils.toSortedSignatures;
+import static org.junit.jupiter.api.Assertions.assertAll;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import gov.nist.secauto.metaschema.core.metapath.DynamicContext;
+import gov.nist.secauto.metaschema.core.metapath.IMetapathExpression;
+import gov.nist.secauto.metaschema.core.metapath.item.node.IDocumentNodeItem;
+import gov.nist.secauto.metaschema.core.metapath.item.node.INodeItem;
+import gov.nist.secauto.metaschema.core.model.MetaschemaException;
+import gov.nist.secauto.metaschema.core.model.constraint.FindingCollectingConstraintValidationHandler;
+import gov.nist.secauto.metaschema.core.model.constraint.IncrementalConstraintValidator;
+import gov.nist.secauto.metaschema.core.model.constraint.ValidationFeature;
+import gov.nist.secauto.metaschema.core.util.ObjectUtils;
+import gov.nist.secauto.metaschema.databind.codegen.AbstractMetaschemaTest;
+import gov.nist.secauto.metaschema.databind.io.DeserializationFeature;
+import gov.nist.secauto.metaschema.databind.io.Format;
+import gov.nist.secauto.metaschema.databind.io.IBoundLoader;
+
+import org.junit.jupiter.api.io.TempDir;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.Arguments;
+import org.junit.jupiter.params.provider.MethodSource;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.List;
+import java.util.stream.Stream;
+
+import edu.umd.cs.findbugs.annotations.NonNull;
+import edu.umd.cs.findbugs.annotations.Nullable;
+
+class IncrementalConstraintValidationTest
+    extends AbstractMetaschemaTest {
+  @NonNull
+  private static final Path MODULE = ObjectUtils.notNull(
+      Paths.get("src/test/resources/content/incremental-metaschema.xml"));
+  @NonNull
+  private static final Path INSTANCE = ObjectUtils.notNull(
+      Paths.get("src/test/resources/content/incremental-instance.xml"));
+
+  @TempDir
+  Path tempDir;
+
+  static Stream<Arguments> provideEdits() {
+    return Stream.of(
+        // the value of an item changed
+        Arguments.of(
+            "<item id=\"a2\" value=\"-1\" kind=\"b\"/>",
+            "<item id=\"a2\" value=\"5\" kind=\"b\"/>",
+            "//item[@id='a2']"),
+        // an item's flag targeted by allowed values changed
+        Arguments.of(
+            "kind=\"x\"",
+            "kind=\"a\"",
+            "//item[@id='a3']/@kind"),
+        // an item was removed, leaving its group with a single item
+        Arguments.of(
+            "<item id=\"b1\" value=\"1\" kind=\"a\"/>",
+            "",
+            "//group[@id='g2']"),
+        // an item was added
+        Arguments.of(
+            "<item id=\"b2\" value=\"2\" kind=\"b\"/>",
+            "<item id=\"b2\" value=\"2\" kind=\"b\"/><item id=\"c1\" value=\"-3\" kind=\"q\"/>",
+            "//group[@id='g2']"),
+        // the key of an item referenced using an index changed
+        Arguments.of(
+            "<item id=\"a1\" value=\"1\" kind=\"a\"/>",
+            "<item id=\"a9\" value=\"1\" kind=\"a\"/>",
+            "//item[@id='a9']/@id"));
+  }
+
+  @ParameterizedTest
+  @MethodSource("provideEdits")
+  void testIncrementalMatchesFullValidation(
+      @NonNull String original,
+      @NonNull String replacement,
+      @NonNull String changedNode) throws IOException, MetaschemaException {
+    IBindingContext bindingContext = newBindingContext();
+    bindingContext.loadMetaschema(MODULE);
+    IBoundLoader loader = bindingContext.newBoundLoader();
+    loader.disableFeature(DeserializationFeature.DESERIALIZE_VALIDATE_CONSTRAINTS);
+
+    // validate the document before the edit, retaining the findings
+    FindingCollectingConstraintValidationHandler handler = new FindingCollectingConstraintValidationHandler();
+    IncrementalConstraintValidator validator = new IncrementalConstraintValidator(handler);
+    // parallel validation is ignored, without changing the configuration
+    validator.set(ValidationFeature.VALIDATE_PARALLEL_THREADS, 4);
+    IDocumentNodeItem document = loader.loadAsNodeItem(Format.XML, INSTANCE);
+    validate(validator, document, loader, null);
+    int initialFindings = handler.getFindings().size();
+    int initialEvaluated = validator.getEvaluatedCount();
+
+    // apply the edit
+    String content = Files.readString(INSTANCE, StandardCharsets.UTF_8);
+    assertTrue(content.contains(original), "the edit does not apply to the instance");
+    Path edited = ObjectUtils.notNull(tempDir.resolve("edited.xml"));
+    Files.writeString(edited, content.replace(original, replacement), StandardCharsets.UTF_8);
+    IDocumentNodeItem editedDocument = loader.loadAsNodeItem(Format.XML, edited);
+
+    INodeItem changed = ObjectUtils.requireNonNull(IMetapathExpression.compile(
+        changedNode,
+        editedDocument.getStaticContext())
+        .evaluateAs(editedDocument, IMetapathExpression.ResultType.ITEM));
+    validate(validator, editedDocument, loader, List.of(changed.getMetapath()));
+
+    List<String> incremental = toSortedSignatures(
+        handler.getFindings().subList(initialFindings, handler.getFindings().size()));
+    List<String> full = toSortedSignatures(bindingContext.validate(editedDocument, loader, null).getFindings());
+    List<String> before = toSortedSignatures(handler.getFindings().subList(0, initialFindings));
+
+    assertAll(
+        () -> assertNotEquals(before, full, "the edit does not change the findings"),
+        () -> assertEquals(full, incremental),
+        () -> assertTrue(validator.getEvaluatedCount() < initialEvaluated,
+            () -> String.format("evaluated %d of %d nodes", validator.getEvaluatedCount(), initialEvaluated)),
+        () -> assertEquals(4, validator.<Integer>get(ValidationFeature.VALIDATE_PARALLEL_THREADS)));
+  }
+
+  private static void validate(
+      @NonNull IncrementalConstraintValidator validator,
+      @NonNull IDocumentNodeItem document,
+      @NonNull IBoundLoader loader,
+      @Nullable List<String> changed) {
+    DynamicContext dynamicContext = new DynamicContext(document.getStaticContext());
+    dynamicContext.setDocumentLoader(loader);
+    validator.validate(document.getRootAssemblyNodeItem(), dynamicContext, changed);
+    validator.finalizeValidation(dynamicContext);
+  }
+}
@@ -0,0 +1,95 @@
+/*
+ * SPDX-FileCopyrightText: none
+ * SPDX-License-Identifier: CC0-1.0
+ */
+
+package gov.nist.secauto.metaschema.databind;
+
+import static gov.nist.secauto.metaschema.databind.SignatureUtils.toSignatures;
+import static org.junit.jupiter.api.Assertions.assertAll;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+import gov.nist.secauto.metaschema.core.configuration.DefaultConfiguration;
+import gov.nist.secauto.metaschema.core.configuration.IMutableConfiguration;
+import gov.nist.secauto.metaschema.core.model.MetaschemaException;
+import gov.nist.secauto.metaschema.core.model.constraint.ValidationFeature;
+import gov.nist.secauto.metaschema.core.util.ObjectUtils;
+import gov.nist.secauto.metaschema.databind.codegen.AbstractMetaschemaTest;
+
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.Arguments;
+import org.junit.jupiter.params.provider.MethodSource;
+import org.junit.jupiter.params.provider.ValueSource;
+
+import java.io.IOException;
+import java.net.URI;
+import java.nio.file.Paths;
+import java.util.List;
+import java.util.stream.Stream;
+
+import edu.umd.cs.findbugs.annotations.NonNull;
+
+class ParallelConstraintValidationTest
+    extends AbstractMetaschemaTest {
+  @NonNull
+  private static final URI INSTANCE = ObjectUtils.notNull(
+      Paths.get("src/test/resources/content/parallel-instance.xml").toAbsolutePath().toUri());
+  @NonNull
+  private static final URI KEYS_INSTANCE = ObjectUtils.notNull(
+      Paths.get("src/test/resources/content/parallel-keys-instance.xml").toAbsolutePath().toUri());
+
+  @ParameterizedTest
+  @ValueSource(ints = { 2, 4 })
+  void testCrossSubtreeAllowedValuesMatchSequential(int threads) throws IOException, MetaschemaException {
+    IBindingContext bindingContext = newBindingContext();
+    bindingContext.loadMetaschema(ObjectUtils.notNull(
+        Paths.get("src/test/resources/content/parallel-metaschema.xml")));
+
+    List<String> sequential = toSignatures(bindingContext.validateWithConstraints(INSTANCE, null));
+
+    IMutableConfiguration<ValidationFeature<?>> config = new DefaultConfiguration<>();
+    config.set(ValidationFeature.VALIDATE_PARALLEL_THREADS, threads);
+    List<String> parallel = toSignatures(bindingContext.validateWithConstraints(INSTANCE, config));
+
+    assertAll(
+        // the items with types 'd' and 'e' match neither the policy nor the item's
+        // own allowed values
+        () -> assertEquals(2, sequential.size(), () -> "unexpected findings: " + sequential),
+        () -> assertEquals(sequential, parallel));
+  }
+
+  static Stream<Arguments> provideKeyedConfigurations() {
+    return Stream.of(
+        Arguments.of(2, false),
+        Arguments.of(4, false),
+        Arguments.of(2, true),
+        Arguments.of(4, true));
+  }
+
+  @ParameterizedTest
+  @MethodSource("provideKeyedConfigurations")
+  void testKeyedConstraintsMatchSequential(int threads, boolean passFindings)
+      throws IOException, MetaschemaException {
+    IBindingContext bindingContext = newBindingContext();
+    bindingContext.loadMetaschema(ObjectUtils.notNull(
+        Paths.get("src/test/resources/content/parallel-keys-metaschema.xml")));
+
+    IMutableConfiguration<ValidationFeature<?>> sequentialConfig = new DefaultConfiguration<>();
+    sequentialConfig.set(ValidationFeature.VALIDATE_GENERATE_PASS_FINDINGS, passFindings);
+    List<String> sequential = toSignatures(bindingContext.validateWithConstraints(KEYS_INSTANCE, sequentialConfig));
+
+    IMutableConfiguration<ValidationFeature<?>> parallelConfig = new DefaultConfiguration<>();
+    parallelConfig.set(ValidationFeature.VALIDATE_GENERATE_PASS_FINDINGS, passFindings);
+    parallelConfig.set(ValidationFeature.VALIDATE_PARALLEL_THREADS, threads);
+    List<String> parallel = toSignatures(bindingContext.validateWithConstraints(KEYS_INSTANCE, parallelConfig));
+
+    assertAll(
+        // the duplicate key 'a2' in the index and the unique constraint of 'g1', the
+        // duplicate index name in 'g2', 'g3' and 'g4', the duplicate unique key 'c1'
+        // in 'g3', and the references to 'missing' and 'b1', which is not indexed
+        () -> assertEquals(8, sequential.stream().filter(finding -> !finding.contains(" PASS ")).count(),
+            () -> "unexpected findings: " + sequential),
+        // the findings are identical, including their order
+        () -> assertEquals(sequential, parallel));
+  }
+}
@@ -0,0 +1,110 @@
+/*
+ * SPDX-FileCopyrightText: none
+ * SPDX-License-Identifier: CC0-1.0
+ */
+
+package gov.nist.secauto.metaschema.databind;
+
+import gov.nist.secauto.metaschema.core.metapath.item.node.INodeItem;
+import gov.nist.secauto.metaschema.core.model.validation.IValidationFinding;
+import gov.nist.secauto.metaschema.core.model.validation.IValidationResult;
+import gov.nist.secauto.metaschema.core.util.ObjectUtils;
+
+import java.util.List;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+import edu.umd.cs.findbugs.annotations.NonNull;
+
+/**
+ * Provides string signatures of validation findings and node items, which are
+ * used by tests to compare the results produced by different implementations.
+ */
+public final class SignatureUtils {
+  private SignatureUtils() {
+    // disable construction
+  }
+
+  /**
+   * Get the signatures of the provided findings, in the order they were
+   * reported.
+   *
+   * @param findings
+   *          the findings
+   * @return the signatures
+   */
+  @NonNull
+  public static List<String> toSignatures(@NonNull List<? extends IValidationFinding> findings) {
+    return ObjectUtils.notNull(findings.stream()
+        .map(SignatureUtils::toSignature)
+        .collect(Collectors.toList()));
+  }
+
+  /**
+   * Get the signatures of the findings of the provided result, in the order they
+   * were reported.
+   *
+   * @param result
+   *          the validation result
+   * @return the signatures
+   */
+  @NonNull
+  public static List<String> toSignatures(@NonNull IValidationResult result) {
+    return toSignatures(ObjectUtils.notNull(result.getFindings()));
+  }
+
+  /**
+   * Get the sorted signatures of the provided findings, for use when the order
+   * the findings were reported in is not significant.
+   *
+   * @param findings
+   *          the findings
+   * @return the sorted signatures
+   */
+  @NonNull
+  public static List<String> toSortedSignatures(@NonNull List<? extends IValidationFinding> findings) {
+    return ObjectUtils.notNull(findings.stream()
+        .map(SignatureUtils::toSignature)
+        .sorted()
+        .collect(Collectors.toList()));
+  }
+
+  /**
+   * Get the sorted signatures of the findings of the provided result, for use
+   * when the order the findings were reported in is not significant.
+   *
+   * @param result
+   *          the validation result
+   * @return the sorted signatures
+   */
+  @NonNull
+  public static List<String> toSortedSignatures(@NonNull IValidationResult result) {
+    return toSortedSignatures(ObjectUtils.notNull(result.getFindings()));
+  }
+
+  /**
+   * Get the signatures of the provided nodes, each followed by the signatures of
+   * its flags.
+   *
+   * @param nodes
+   *          the nodes
+   * @return the signatures
+   */
+  @NonNull
+  public static List<String> toNodeSignatures(@NonNull Stream<? extends INodeItem> nodes) {
+    return ObjectUtils.notNull(nodes
+        .flatMap(node -> Stream.concat(Stream.of(node), node.flags()))
+        .map(INodeItem::toSignature)
+        .collect(Collectors.toList()));
+  }
+
+  @NonNull
+  private static String toSignature(@NonNull IValidationFinding finding) {
+    return String.join(" ",
+        finding.getSeverity().name(),
+        finding.getKind().name(),
+        String.valueOf(finding.getIdentifier()),
+        String.valueOf(finding.getPath()),
+        String.valueOf(finding.getMessage()));
+  }
+}
@@ -0,0 +1,82 @@
+/*
+ * SPDX-FileCopyrightText: none
+ * SPDX-License-Identifier: CC0-1.0
+ */
+
+package gov.nist.secauto.metaschema.databind.codegen;
+
+import static org.junit.jupiter.api.Assertions.assertAll;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotSame;
+
+import gov.nist.secauto.metaschema.core.model.IModule;
+import gov.nist.secauto.metaschema.core.model.MetaschemaException;
+import gov.nist.secauto.metaschema.core.util.ObjectUtils;
+import gov.nist.secauto.metaschema.databind.IBindingContext;
+import gov.nist.secauto.metaschema.databind.model.IBoundModule;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.stream.Stream;
+
+class CachingModuleBindingGeneratorTest {
+  @TempDir
+  Path cacheDir;
+
+  @Test
+  void testCacheReuse() throws MetaschemaException, IOException {
+    IModule module = IBindingContext.builder()
+        .build()
+        .loadMetaschema(ObjectUtils.notNull(Paths.get("src/test/resources/metaschema/simple/metaschema.xml")));
+
+    Class<? extends IBoundModule> first
+        = new CachingModuleBindingGenerator(ObjectUtils.notNull(cacheDir)).generate(module);
+    Path entry = singleEntry();
+
+    // a new generator, as used by a later process, must reuse the compiled classes
+    Class<? extends IBoundModule> second
+        = new CachingModuleBindingGenerator(ObjectUtils.notNull(cacheDir)).generate(module);
+
+    assertEquals(first.getName(), second.getName());
+    assertNotSame(first, second, "expected the class to be loaded again from the cache");
+    assertEquals(entry, singleEntry());
+  }
+
+  @Test
+  void testEntryCompletedByAnotherProcess() throws MetaschemaException, IOException {
+    IModule module = IBindingContext.builder()
+        .build()
+        .loadMetaschema(ObjectUtils.notNull(Paths.get("src/test/resources/metaschema/simple/metaschema.xml")));
+
+    CachingModuleBindingGenerator generator = new CachingModuleBindingGenerator(ObjectUtils.notNull(cacheDir));
+    Class<? extends IBoundModule> first = generator.generate(module);
+    Path entry = singleEntry();
+
+    // compiling the same entry again fails to rename the work directory, since the
+    // entry already exists
+    String className = generator.compileEntry(
+        module,
+        ObjectUtils.notNull(entry.getFileName().toString()),
+        entry);
+
+    assertAll(
+        () -> assertEquals(first.getName(), className),
+        // the work directory is removed
+        () -> assertEquals(entry, singleEntry()));
+  }
+
+  private Path singleEntry() throws IOException {
+    try (Stream<Path> entries = Files.list(cacheDir)) {
+      return entries
+          .reduce((left, right) -> {
+            throw new IllegalStateException("expected a single cache entry");
+          })
+          .orElseThrow();
+    }
+  }
+}
@@ -0,0 +1,140 @@
+/*
+ * SPDX-FileCopyrightText: none
+ * SPDX-License-Identifier: CC0-1.0
+ */
+
+package gov.nist.secauto.metaschema.databind.io;
+
+import static gov.nist.secauto.metaschema.databind.SignatureUtils.toNodeSignatures;
+import static org.junit.jupiter.api.Assertions.assertAll;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertSame;
+
+import gov.nist.secauto.metaschema.core.metapath.item.node.IDocumentNodeItem;
+import gov.nist.secauto.metaschema.core.metapath.item.node.IModelNodeItem;
+import gov.nist.secauto.metaschema.core.metapath.item.node.INodeItem;
+import gov.nist.secauto.metaschema.core.model.IBoundObject;
+import gov.nist.secauto.metaschema.core.model.MetaschemaException;
+import gov.nist.secauto.metaschema.core.util.ObjectUtils;
+import gov.nist.secauto.metaschema.databind.IBindingContext;
+import gov.nist.secauto.metaschema.databind.codegen.AbstractMetaschemaTest;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.Arguments;
+import org.junit.jupiter.params.provider.MethodSource;
+
+import java.io.IOException;
+import java.io.StringReader;
+import java.io.StringWriter;
+import java.net.URI;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.List;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+import edu.umd.cs.findbugs.annotations.NonNull;
+import edu.umd.cs.findbugs.annotations.Nullable;
+
+class CompactNodeItemTest
+    extends AbstractMetaschemaTest {
+  @NonNull
+  private static final URI DOCUMENT_URI = ObjectUtils.notNull(URI.create("urn:metaschema:test:compact"));
+
+  private static Stream<Arguments> provideDocuments() {
+    return Stream.of(
+        Arguments.of(
+            Paths.get("src/test/resources/content/issue187-metaschema.xml"),
+            Paths.get("src/test/resources/content/issue187-instance.xml")),
+        // a module is read using the built-in module bindings
+        Arguments.of(
+            null,
+            Paths.get("src/test/resources/metaschema/fields_with_flags/metaschema.xml")),
+        // a module with nested choice groups, whose items are interleaved
+        Arguments.of(
+            null,
+            Paths.get("src/test/resources/content/compact-choice-groups-metaschema.xml")));
+  }
+
+  @ParameterizedTest
+  @MethodSource("provideDocuments")
+  void testMatchesDefaultNodeItems(@Nullable Path module, @NonNull Path instance)
+      throws IOException, MetaschemaException {
+    IBindingContext bindingContext = newBindingContext();
+    if (module != null) {
+      bindingContext.loadMetaschema(module);
+    }
+
+    IDocumentNodeItem expected = new DefaultBoundLoader(bindingContext).loadAsNodeItem(instance);
+    IDocumentNodeItem actual = new DefaultBoundLoader(bindingContext)
+        .enableFeature(DeserializationFeature.DESERIALIZE_COMPACT_NODE_ITEMS)
+        .loadAsNodeItem(instance);
+
+    assertMatches(expected, actual);
+
+    List<? extends IModelNodeItem<?, ?>> actualNodes = actual.descendant().collect(Collectors.toList());
+
+    // node items are unique
+    assertAll(
+        () -> assertSame(actual.getRootAssemblyNodeItem(), actual.modelItems().findFirst().orElseThrow()),
+        () -> assertSame(actualNodes.get(0), actual.descendant().findFirst().orElseThrow()));
+  }
+
+  @Test
+  void testMatchesDefaultNodeItemsWithoutRootProperty() throws IOException, MetaschemaException {
+    IBindingContext bindingContext = newBindingContext();
+    bindingContext.loadMetaschema(
+        ObjectUtils.notNull(Paths.get("src/test/resources/content/issue187-metaschema.xml")));
+
+    IBoundObject object = INodeItem.toValue(new DefaultBoundLoader(bindingContext)
+        .loadAsNodeItem(ObjectUtils.notNull(Paths.get("src/test/resources/content/issue187-instance.xml"))));
+    Class<? extends IBoundObject> rootClass = ObjectUtils.notNull(object.getClass());
+
+    ISerializer<? extends IBoundObject> serializer = bindingContext.newSerializer(Format.JSON, rootClass);
+    serializer.disableFeature(SerializationFeature.SERIALIZE_ROOT);
+    StringWriter writer = new StringWriter();
+    serializer.serialize(object, writer);
+    String json = writer.toString();
+
+    IDeserializer<? extends IBoundObject> deserializer = bindingContext.newDeserializer(Format.JSON, rootClass);
+    deserializer.disableFeature(DeserializationFeature.DESERIALIZE_JSON_ROOT_PROPERTY);
+    INodeItem expected = deserializer.deserializeToNodeItem(new StringReader(json), DOCUMENT_URI);
+
+    deserializer = bindingContext.newDeserializer(Format.JSON, rootClass);
+    deserializer.disableFeature(DeserializationFeature.DESERIALIZE_JSON_ROOT_PROPERTY);
+    deserializer.enableFeature(DeserializationFeature.DESERIALIZE_COMPACT_NODE_ITEMS);
+    INodeItem actual = deserializer.deserializeToNodeItem(new StringReader(json), DOCUMENT_URI);
+
+    assertAll(
+        () -> assertNull(actual.getParentNodeItem()),
+        () -> assertEquals(expected.getBaseUri(), actual.getBaseUri()));
+    assertMatches(expected, actual);
+  }
+
+  private static void assertMatches(@NonNull INodeItem expected, @NonNull INodeItem actual) {
+    assertEquals(toNodeSignatures(expected.descendantOrSelf()), toNodeSignatures(actual.descendantOrSelf()));
+
+    List<? extends IModelNodeItem<?, ?>> expectedNodes = expected.descendant().collect(Collectors.toList());
+    List<? extends IModelNodeItem<?, ?>> actualNodes = actual.descendant().collect(Collectors.toList());
+    for (int i = 0; i < expectedNodes.size(); i++) {
+      IModelNodeItem<?, ?> expectedNode = expectedNodes.get(i);
+      IModelNodeItem<?, ?> actualNode = actualNodes.get(i);
+      assertAll(
+          () -> assertEquals(
+              toNodeSignatures(expectedNode.followingSibling()),
+              toNodeSignatures(actualNode.followingSibling())),
+          () -> assertEquals(
+              toNodeSignatures(expectedNode.precedingSibling()),
+              toNodeSignatures(actualNode.precedingSibling())),
+          () -> assertEquals(
+              toNodeSignatures(expectedNode.getModelItems().stream().flatMap(List::stream)),
+              toNodeSignatures(actualNode.getModelItems().stream().flatMap(List::stream))),
+          () -> assertEquals(
+              expectedNode.getModelItems().stream().map(List::size).collect(Collectors.toList()),
+              actualNode.getModelItems().stream().map(List::size).collect(Collectors.toList())),
+          () -> assertEquals(expectedNode.stringValue(), actualNode.stringValue()));
+    }
+  }
+}
@@ -0,0 +1,108 @@
+/*
+ * SPDX-FileCopyrightText: none
+ * SPDX-License-Identifier: CC0-1.0
+ */
+
+package gov.nist.secauto.metaschema.databind.io;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+
+import gov.nist.secauto.metaschema.core.model.IBoundObject;
+import gov.nist.secauto.metaschema.core.model.MetaschemaException;
+import gov.nist.secauto.metaschema.core.util.ObjectUtils;
+import gov.nist.secauto.metaschema.databind.IBindingContext;
+import gov.nist.secauto.metaschema.databind.codegen.AbstractMetaschemaTest;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.EnumSource;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.StringWriter;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.zip.GZIPInputStream;
+
+import edu.umd.cs.findbugs.annotations.NonNull;
+
+class SerializerOutputStreamTest
+    extends AbstractMetaschemaTest {
+  @NonNull
+  private static final Path METASCHEMA = ObjectUtils.notNull(
+      Paths.get("src/test/resources/content/issue187-metaschema.xml"));
+  @NonNull
+  private static final Path INSTANCE = ObjectUtils.notNull(
+      Paths.get("src/test/resources/content/issue187-instance.xml"));
+
+  @NonNull
+  private IBoundObject load(@NonNull IBindingContext bindingContext) throws IOException, MetaschemaException {
+    bindingContext.loadMetaschema(METASCHEMA);
+    return new DefaultBoundLoader(bindingContext).load(INSTANCE);
+  }
+
+  @ParameterizedTest
+  @EnumSource(Format.class)
+  void testOutputStreamMatchesWriter(@NonNull Format format) throws IOException, MetaschemaException {
+    IBindingContext bindingContext = newBindingContext();
+    IBoundObject data = load(bindingContext);
+
+    ISerializer<?> serializer = bindingContext.newSerializer(format, data.getClass());
+    StringWriter expected = new StringWriter();
+    serializer.serialize(data, expected);
+
+    ByteArrayOutputStream actual = new ByteArrayOutputStream();
+    serializer.serialize(data, actual);
+
+    assertEquals(expected.toString(), actual.toString(StandardCharsets.UTF_8));
+  }
+
+  @ParameterizedTest
+  @EnumSource(Format.class)
+  void testGzipCompression(@NonNull Format format) throws IOException, MetaschemaException {
+    IBindingContext bindingContext = newBindingContext();
+    IBoundObject data = load(bindingContext);
+
+    ISerializer<?> serializer = bindingContext.newSerializer(format, data.getClass());
+    ByteArrayOutputStream expected = new ByteArrayOutputStream();
+    serializer.serialize(data, expected);
+
+    serializer.set(SerializationFeature.SERIALIZE_COMPRESSION, IOutputCompression.GZIP);
+    ByteArrayOutputStream compressed = new ByteArrayOutputStream();
+    serializer.serialize(data, compressed);
+
+    try (InputStream is = new GZIPInputStream(new ByteArrayInputStream(compressed.toByteArray()))) {
+      assertEquals(expected.toString(StandardCharsets.UTF_8), new String(is.readAllBytes(), StandardCharsets.UTF_8));
+    }
+  }
+
+  @Test
+  void testCompactJson() throws IOException, MetaschemaException {
+    IBindingContext bindingContext = newBindingContext();
+    IBoundObject data = load(bindingContext);
+
+    ISerializer<?> serializer = bindingContext.newSerializer(Format.JSON, data.getClass())
+        .disableFeature(SerializationFeature.SERIALIZE_PRETTY_PRINT);
+    ByteArrayOutputStream compact = new ByteArrayOutputStream();
+    serializer.serialize(data, compact);
+    String json = compact.toString(StandardCharsets.UTF_8);
+
+    assertFalse(json.contains("\n"));
+
+    // the compact content must still be readable
+    IDeserializer<?> deserializer = bindingContext.newDeserializer(Format.JSON, data.getClass());
+    IBoundObject roundTrip = deserializer.deserialize(
+        new ByteArrayInputStream(compact.toByteArray()),
+        ObjectUtils.notNull(INSTANCE.toUri()));
+
+    StringWriter expected = new StringWriter();
+    serializer.serialize(data, expected);
+    StringWriter actual = new StringWriter();
+    serializer.serialize(roundTrip, actual);
+    assertEquals(expected.toString(), actual.toString());
+  }
+}
@@ -0,0 +1,115 @@
+/*
+ * SPDX-FileCopyrightText: none
+ * SPDX-License-Identifier: CC0-1.0
+ */
+
+package gov.nist.secauto.metaschema.databind.io;
+
+import static gov.nist.secauto.metaschema.databind.SignatureUtils.toSortedSignatures;
+import static org.junit.jupiter.api.Assertions.assertAll;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import gov.nist.secauto.metaschema.core.metapath.item.node.IDocumentNodeItem;
+import gov.nist.secauto.metaschema.core.model.MetaschemaException;
+import gov.nist.secauto.metaschema.core.model.constraint.DefaultConstraintValidator;
+import gov.nist.secauto.metaschema.core.model.constraint.FindingCollectingConstraintValidationHandler;
+import gov.nist.secauto.metaschema.core.model.constraint.IConstraintSet;
+import gov.nist.secauto.metaschema.core.model.validation.IValidationFinding;
+import gov.nist.secauto.metaschema.core.util.ObjectUtils;
+import gov.nist.secauto.metaschema.databind.IBindingContext;
+import gov.nist.secauto.metaschema.databind.codegen.AbstractMetaschemaTest;
+
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.net.URI;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.List;
+import java.util.stream.Collectors;
+
+import edu.umd.cs.findbugs.annotations.NonNull;
+
+class StreamingConstraintValidatorTest
+    extends AbstractMetaschemaTest {
+  @NonNull
+  private static final Path MODULE = ObjectUtils.notNull(
+      Paths.get("src/test/resources/content/streaming-metaschema.xml"));
+  @NonNull
+  private static final Path CONSTRAINTS = ObjectUtils.notNull(
+      Paths.get("src/test/resources/content/streaming-constraints.xml"));
+  @NonNull
+  private static final Path INSTANCE = ObjectUtils.notNull(
+      Paths.get("src/test/resources/content/streaming-instance.xml"));
+
+  @Test
+  void testLocalConstraintsReleaseItems() throws IOException, MetaschemaException {
+    IBindingContext bindingContext = newBindingContext();
+    bindingContext.loadMetaschema(MODULE);
+
+    FindingCollectingConstraintValidationHandler handler = new FindingCollectingConstraintValidationHandler();
+    StreamingConstraintValidator streamingValidator = validateStreaming(bindingContext, handler);
+    List<String> expected = toSortedSignatures(bindingContext.validateWithConstraints(toUri(INSTANCE), null));
+
+    assertAll(
+        () -> assertEquals(6, streamingValidator.getReleasedCount()),
+        // item2 has a negative value and the catalog has no version
+        () -> assertEquals(2, expected.size()),
+        () -> assertEquals(expected, toSortedSignatures(handler)),
+        // the findings of the released items are reported before the root's findings
+        () -> assertEquals(
+            List.of("item-positive-value", "catalog-has-version"),
+            handler.getFindings().stream()
+                .map(IValidationFinding::getIdentifier)
+                .collect(Collectors.toList())));
+  }
+
+  @Test
+  void testDocumentConstraintsRetainItems() throws IOException, MetaschemaException {
+    List<IConstraintSet> constraintSets = IBindingContext.getConstraintLoader().load(CONSTRAINTS);
+    IBindingContext bindingContext = newBindingContext(constraintSets);
+    bindingContext.loadMetaschema(MODULE);
+
+    FindingCollectingConstraintValidationHandler handler = new FindingCollectingConstraintValidationHandler();
+    StreamingConstraintValidator streamingValidator = validateStreaming(bindingContext, handler);
+    List<String> expected = toSortedSignatures(bindingContext.validateWithConstraints(toUri(INSTANCE), null));
+
+    assertAll(
+        // the references access items in other subtrees, so nothing can be released
+        () -> assertEquals(0, streamingValidator.getReleasedCount()),
+        // item2 has a negative value, item4 does not exist, and the catalog has no
+        // version
+        () -> assertEquals(3, expected.size()),
+        () -> assertTrue(
+            expected.stream().anyMatch(signature -> signature.contains("reference-item-exists")),
+            "missing reference finding"),
+        () -> assertEquals(expected, toSortedSignatures(handler)));
+  }
+
+  @NonNull
+  private static StreamingConstraintValidator validateStreaming(
+      @NonNull IBindingContext bindingContext,
+      @NonNull FindingCollectingConstraintValidationHandler handler) throws IOException {
+    IBoundLoader loader = bindingContext.newBoundLoader();
+    loader.disableFeature(DeserializationFeature.DESERIALIZE_VALIDATE_CONSTRAINTS);
+    URI resource = toUri(INSTANCE);
+
+    StreamingConstraintValidator retval = new StreamingConstraintValidator(
+        new DefaultConstraintValidator(handler),
+        loader,
+        resource);
+    try (InputStream is = Files.newInputStream(INSTANCE)) {
+      IDocumentNodeItem document = loader.loadAsNodeItem(Format.XML, ObjectUtils.notNull(is), resource, retval);
+      retval.finish(document);
+    }
+    return retval;
+  }
+
+  @NonNull
+  private static URI toUri(@NonNull Path path) {
+    return ObjectUtils.notNull(path.toAbsolutePath().toUri());
+  }
+}
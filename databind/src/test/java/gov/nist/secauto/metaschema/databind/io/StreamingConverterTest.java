@@ -0,0 +1,136 @@
+/*
+ * SPDX-FileCopyrightText: none
+ * SPDX-License-Identifier: CC0-1.0
+ */
+
+package gov.nist.secauto.metaschema.databind.io;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import gov.nist.secauto.metaschema.core.model.IBoundObject;
+import gov.nist.secauto.metaschema.core.model.MetaschemaException;
+import gov.nist.secauto.metaschema.core.util.ObjectUtils;
+import gov.nist.secauto.metaschema.databind.IBindingContext;
+import gov.nist.secauto.metaschema.databind.codegen.AbstractMetaschemaTest;
+import gov.nist.secauto.metaschema.databind.model.IBoundDefinitionModelAssembly;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.EnumSource;
+
+import java.io.IOException;
+import java.io.StringReader;
+import java.io.StringWriter;
+import java.net.URI;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+
+import edu.umd.cs.findbugs.annotations.NonNull;
+
+class StreamingConverterTest
+    extends AbstractMetaschemaTest {
+  @NonNull
+  private static final Path METASCHEMA = ObjectUtils.notNull(
+      Paths.get("src/test/resources/content/issue187-metaschema.xml"));
+  @NonNull
+  private static final Path INSTANCE = ObjectUtils.notNull(
+      Paths.get("src/test/resources/content/issue187-instance.xml"));
+  @NonNull
+  private static final Path OUT_OF_ORDER_INSTANCE = ObjectUtils.notNull(
+      Paths.get("src/test/resources/content/issue187-out-of-order.json"));
+
+  @ParameterizedTest
+  @EnumSource(Format.class)
+  void testStreamingMatchesSerialization(@NonNull Format toFormat) throws IOException, MetaschemaException {
+    IBindingContext bindingContext = newBindingContext();
+    bindingContext.loadMetaschema(METASCHEMA);
+
+    IBoundObject data = new DefaultBoundLoader(bindingContext).load(INSTANCE);
+    Class<? extends IBoundObject> clazz = data.getClass();
+
+    ISerializer<?> serializer = bindingContext.newSerializer(toFormat, clazz);
+    assertTrue(serializer.supportsStreaming());
+    StringWriter expected = new StringWriter();
+    serializer.serialize(data, expected);
+
+    IBoundDefinitionModelAssembly definition
+        = (IBoundDefinitionModelAssembly) ObjectUtils.requireNonNull(bindingContext.getBoundDefinitionForClass(clazz));
+    IDeserializer<?> deserializer = bindingContext.newDeserializer(Format.XML, clazz);
+    StringWriter actual = new StringWriter();
+    StreamingConverter converter;
+    try (IStreamingWriter writer = serializer.newStreamingWriter(actual)) {
+      converter = new StreamingConverter(definition, writer);
+      deserializer.setItemReadObserver(converter);
+      converter.finish(deserializer.deserialize(INSTANCE));
+    }
+
+    assertEquals(expected.toString(), actual.toString());
+    // both of the top-level "a" items are streamed
+    assertEquals(2, converter.getStreamedCount());
+  }
+
+  @Test
+  void testStreamingOutOfOrderJsonToJson() throws IOException, MetaschemaException {
+    IBindingContext bindingContext = newBindingContext();
+    bindingContext.loadMetaschema(METASCHEMA);
+
+    IBoundObject data = new DefaultBoundLoader(bindingContext).load(OUT_OF_ORDER_INSTANCE);
+    Class<? extends IBoundObject> clazz = data.getClass();
+
+    ISerializer<?> serializer = bindingContext.newSerializer(Format.JSON, clazz);
+    StringWriter expected = new StringWriter();
+    serializer.serialize(data, expected);
+
+    StringWriter actual = new StringWriter();
+    StreamingConverter converter = convert(bindingContext, clazz, Format.JSON, actual);
+    // the "bs" item, followed by both "as" items
+    assertEquals(3, converter.getStreamedCount());
+
+    // the properties are written in the order they were read, so the streamed
+    // output is compared after normalizing it
+    IDeserializer<?> deserializer = bindingContext.newDeserializer(Format.JSON, clazz);
+    IBoundObject streamed = deserializer.deserialize(
+        new StringReader(actual.toString()),
+        ObjectUtils.notNull(URI.create("urn:streamed")));
+    StringWriter normalized = new StringWriter();
+    serializer.serialize(streamed, normalized);
+
+    assertEquals(expected.toString(), normalized.toString());
+  }
+
+  @Test
+  void testStreamingOutOfOrderJsonToXmlFails() throws IOException, MetaschemaException {
+    IBindingContext bindingContext = newBindingContext();
+    bindingContext.loadMetaschema(METASCHEMA);
+
+    Class<? extends IBoundObject> clazz
+        = new DefaultBoundLoader(bindingContext).load(OUT_OF_ORDER_INSTANCE).getClass();
+
+    // XML requires definition order, which the source does not provide
+    IOException ex = assertThrows(IOException.class,
+        () -> convert(bindingContext, clazz, Format.XML, new StringWriter()));
+    assertTrue(String.valueOf(ex.getMessage()).contains("not provided in definition order"),
+        () -> "unexpected message: " + ex.getMessage());
+  }
+
+  @NonNull
+  private static StreamingConverter convert(
+      @NonNull IBindingContext bindingContext,
+      @NonNull Class<? extends IBoundObject> clazz,
+      @NonNull Format toFormat,
+      @NonNull StringWriter output) throws IOException {
+    IBoundDefinitionModelAssembly definition
+        = (IBoundDefinitionModelAssembly) ObjectUtils.requireNonNull(bindingContext.getBoundDefinitionForClass(clazz));
+    IDeserializer<?> deserializer = bindingContext.newDeserializer(Format.JSON, clazz);
+    ISerializer<?> serializer = bindingContext.newSerializer(toFormat, clazz);
+    StreamingConverter converter;
+    try (IStreamingWriter writer = serializer.newStreamingWriter(output)) {
+      converter = new StreamingConverter(definition, writer);
+      deserializer.setItemReadObserver(converter);
+      converter.finish(deserializer.deserialize(OUT_OF_ORDER_INSTANCE));
+    }
+    return converter;
+  }
+}
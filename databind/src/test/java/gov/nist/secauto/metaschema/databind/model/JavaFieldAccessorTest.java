@@ -0,0 +1,55 @@
+/*
+ * SPDX-FileCopyrightText: none
+ * SPDX-License-Identifier: CC0-1.0
+ */
+
+package gov.nist.secauto.metaschema.databind.model;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+import org.junit.jupiter.api.Test;
+
+import java.lang.reflect.Field;
+
+class JavaFieldAccessorTest {
+  @SuppressWarnings("PMD.UnusedPrivateField")
+  private static final class Holder {
+    private String value;
+    private int count;
+  }
+
+  @Test
+  void testGetAndSet() throws NoSuchFieldException {
+    Field field = Holder.class.getDeclaredField("value");
+    JavaFieldAccessor accessor = new JavaFieldAccessor(field);
+    Holder holder = new Holder();
+
+    assertNull(accessor.getValue(holder));
+    accessor.setValue(holder, "test");
+    assertEquals("test", accessor.getValue(holder));
+    accessor.setValue(holder, null);
+    assertNull(accessor.getValue(holder));
+  }
+
+  @Test
+  void testPrimitive() throws NoSuchFieldException {
+    Field field = Holder.class.getDeclaredField("count");
+    JavaFieldAccessor accessor = new JavaFieldAccessor(field);
+    Holder holder = new Holder();
+
+    accessor.setValue(holder, 5);
+    assertEquals(5, accessor.getValue(holder));
+  }
+
+  @Test
+  void testIncompatibleValue() throws NoSuchFieldException {
+    Field field = Holder.class.getDeclaredField("value");
+    JavaFieldAccessor accessor = new JavaFieldAccessor(field);
+    Holder holder = new Holder();
+
+    assertThrows(IllegalArgumentException.class, () -> accessor.setValue(holder, 1));
+    assertThrows(IllegalArgumentException.class, () -> accessor.getValue(new Object()));
+  }
+}
@@ -0,0 +1,73 @@
+/*
+ * SPDX-FileCopyrightText: none
+ * SPDX-License-Identifier: CC0-1.0
+ */
+
+package gov.nist.secauto.metaschema.databind.model.info;
+
+import static org.junit.jupiter.api.Assertions.assertAll;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import gov.nist.secauto.metaschema.core.util.ObjectUtils;
+import gov.nist.secauto.metaschema.databind.model.IBoundProperty;
+
+import org.jmock.junit5.JUnit5Mockery;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.RegisterExtension;
+
+import java.util.BitSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+class JsonPropertyTableTest {
+  @RegisterExtension
+  final JUnit5Mockery context = new JUnit5Mockery();
+
+  @Test
+  void testLookup() {
+    Map<String, IBoundProperty<?>> properties = new LinkedHashMap<>();
+    for (int i = 0; i < 20; i++) {
+      String name = "property-" + i;
+      properties.put(name, context.mock(IBoundProperty.class, name));
+    }
+
+    JsonPropertyTable table = new JsonPropertyTable(properties);
+    assertEquals(properties.size(), table.size());
+
+    int index = 0;
+    for (Map.Entry<String, IBoundProperty<?>> entry : properties.entrySet()) {
+      // use a copy of the name to ensure lookups don't depend on identity
+      String name = new String(entry.getKey()); // NOPMD - intentional copy
+      assertEquals(index, table.indexOf(name));
+      assertSame(entry.getValue(), table.getProperty(index));
+      index++;
+    }
+
+    assertEquals(-1, table.indexOf("missing"));
+  }
+
+  @Test
+  void testRemaining() {
+    IBoundProperty<?> first = context.mock(IBoundProperty.class, "first");
+    IBoundProperty<?> second = context.mock(IBoundProperty.class, "second");
+    Map<String, IBoundProperty<?>> properties = new LinkedHashMap<>();
+    properties.put("first", first);
+    properties.put("second", second);
+
+    JsonPropertyTable table = new JsonPropertyTable(properties);
+
+    BitSet handled = new BitSet();
+    handled.set(table.indexOf("first"));
+    List<IBoundProperty<?>> remaining = table.getRemaining(handled);
+
+    handled.set(table.indexOf("second"));
+    assertAll(
+        () -> assertEquals(List.of(second), remaining),
+        () -> assertEquals(List.of(first, second), table.getRemaining(null)),
+        () -> assertTrue(table.getRemaining(handled).isEmpty()),
+        () -> assertTrue(new JsonPropertyTable(ObjectUtils.notNull(Map.of())).isEmpty()));
+  }
+}
@@ -0,0 +1,104 @@
+/*
+ * SPDX-FileCopyrightText: none
+ * SPDX-License-Identifier: CC0-1.0
+ */
+
+package gov.nist.secauto.metaschema.benchmark;
+
+import gov.nist.secauto.metaschema.core.metapath.DynamicContext;
+import gov.nist.secauto.metaschema.core.metapath.IMetapathExpression;
+import gov.nist.secauto.metaschema.core.metapath.StaticContext;
+import gov.nist.secauto.metaschema.core.metapath.item.node.INodeItem;
+import gov.nist.secauto.metaschema.core.util.ObjectUtils;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Collectors;
+
+import edu.umd.cs.findbugs.annotations.NonNull;
+
+/**
+ * Benchmarks the evaluation of constraint-like Metapath expressions against
+ * every item of a generated inventory document, with and without the
+ * compilation of frequently evaluated expressions.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@State(Scope.Benchmark)
+public class CompiledMetapathBenchmark {
+  /**
+   * The Metapath expression to evaluate relative to each item.
+   */
+  @Param({
+      "prop/@name = 'status'",
+      "count(prop) > 0",
+      "prop/@value",
+      "@owner eq 'unknown'"
+  })
+  public String expression;
+
+  private IMetapathExpression metapath;
+  private List<? extends INodeItem> items;
+  private StaticContext staticContext;
+
+  /**
+   * Compile the expression and find the items it is evaluated against.
+   *
+   * @param state
+   *          the document state
+   */
+  @Setup(Level.Trial)
+  public void setup(InventoryState state) {
+    staticContext = state.getDocument().getStaticContext();
+    metapath = IMetapathExpression.compile(ObjectUtils.notNull(expression), ObjectUtils.notNull(staticContext));
+    items = IMetapathExpression.compile("//item", ObjectUtils.notNull(staticContext))
+        .<INodeItem>evaluate(state.getDocument(), new DynamicContext(staticContext))
+        .stream()
+        .collect(Collectors.toList());
+  }
+
+  /**
+   * Evaluate the expression against each item by interpreting the expression.
+   *
+   * @return the total number of resulting items
+   */
+  @Benchmark
+  public int interpreted() {
+    return evaluateAll(new DynamicContext(staticContext));
+  }
+
+  /**
+   * Evaluate the expression against each item, allowing the expression to be
+   * compiled.
+   *
+   * @return the total number of resulting items
+   */
+  @Benchmark
+  public int compiled() {
+    return evaluateAll(new DynamicContext(staticContext).enableExpressionCompilation());
+  }
+
+  private int evaluateAll(@NonNull DynamicContext dynamicContext) {
+    int retval = 0;
+    for (INodeItem item : items) {
+      retval += metapath.evaluate(item, dynamicContext).size();
+    }
+    return retval;
+  }
+}
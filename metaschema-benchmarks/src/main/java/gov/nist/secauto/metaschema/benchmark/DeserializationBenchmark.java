@@ -0,0 +1,76 @@
+/*
+ * SPDX-FileCopyrightText: none
+ * SPDX-License-Identifier: CC0-1.0
+ */
+
+package gov.nist.secauto.metaschema.benchmark;
+
+import gov.nist.secauto.metaschema.core.model.IBoundObject;
+import gov.nist.secauto.metaschema.core.util.ObjectUtils;
+import gov.nist.secauto.metaschema.databind.io.DeserializationFeature;
+import gov.nist.secauto.metaschema.databind.io.Format;
+import gov.nist.secauto.metaschema.databind.io.IDeserializer;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Benchmarks deserialization of a generated inventory document using the
+ * {@code MetaschemaXmlReader} and {@code MetaschemaJsonReader}.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 5)
+@Measurement(iterations = 5, time = 5)
+@Fork(1)
+@State(Scope.Benchmark)
+public class DeserializationBenchmark {
+  /**
+   * The format to read.
+   */
+  @Param({ "XML", "JSON" })
+  public Format format;
+
+  private IDeserializer<? extends IBoundObject> deserializer;
+  private byte[] content;
+
+  /**
+   * Create the deserializer for the requested format.
+   *
+   * @param state
+   *          the document state
+   */
+  @Setup(Level.Trial)
+  public void setup(InventoryState state) {
+    Format format = ObjectUtils.notNull(this.format);
+    deserializer = state.getBindingContext().newDeserializer(format, state.getRootClass());
+    deserializer.disableFeature(DeserializationFeature.DESERIALIZE_VALIDATE_CONSTRAINTS);
+    content = state.getContent(format);
+  }
+
+  /**
+   * Deserialize the document.
+   *
+   * @return the bound object
+   * @throws IOException
+   *           if an error occurred while parsing the content
+   */
+  @Benchmark
+  public IBoundObject deserialize() throws IOException {
+    return deserializer.deserialize(new ByteArrayInputStream(content), InventoryDocuments.DOCUMENT_URI);
+  }
+}
@@ -0,0 +1,140 @@
+/*
+ * SPDX-FileCopyrightText: none
+ * SPDX-License-Identifier: CC0-1.0
+ */
+
+package gov.nist.secauto.metaschema.benchmark;
+
+import gov.nist.secauto.metaschema.core.model.MetaschemaException;
+import gov.nist.secauto.metaschema.core.util.DeleteOnShutdown;
+import gov.nist.secauto.metaschema.core.util.ObjectUtils;
+import gov.nist.secauto.metaschema.databind.IBindingContext;
+
+import java.io.IOException;
+import java.net.URI;
+import java.net.URL;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.UUID;
+
+import edu.umd.cs.findbugs.annotations.NonNull;
+
+/**
+ * Generates synthetic documents conforming to the benchmark inventory Metaschema
+ * module.
+ * <p>
+ * Generated documents are deterministic for a given size, so results are
+ * comparable across benchmark runs.
+ */
+public final class InventoryDocuments {
+  /**
+   * The namespace of the benchmark inventory module.
+   */
+  @NonNull
+  public static final String NAMESPACE = "http://csrc.nist.gov/ns/metaschema/benchmark/inventory";
+  /**
+   * The document URI used for generated documents.
+   */
+  @NonNull
+  public static final URI DOCUMENT_URI = ObjectUtils.notNull(URI.create("urn:metaschema:benchmark:inventory"));
+  @NonNull
+  private static final String MODULE_RESOURCE = "/benchmark/inventory_metaschema.xml";
+  private static final int ITEMS_PER_PARTY = 100;
+  @NonNull
+  private static final String[] PROP_NAMES = { "status", "category", "priority", "location" };
+
+  private InventoryDocuments() {
+    // disable construction
+  }
+
+  /**
+   * Create a new binding context with the benchmark inventory module loaded and
+   * dynamically compiled.
+   *
+   * @return the binding context
+   * @throws IOException
+   *           if an error occurred while reading the module
+   * @throws MetaschemaException
+   *           if an error occurred while processing the module
+   */
+  @NonNull
+  public static IBindingContext newBindingContext() throws IOException, MetaschemaException {
+    Path compilePath = ObjectUtils.notNull(Files.createTempDirectory("metaschema-benchmark-"));
+    DeleteOnShutdown.register(compilePath);
+
+    IBindingContext bindingContext = IBindingContext.builder()
+        .compilePath(compilePath)
+        .build();
+
+    URL module = ObjectUtils.requireNonNull(InventoryDocuments.class.getResource(MODULE_RESOURCE));
+    bindingContext.loadMetaschema(module);
+    return bindingContext;
+  }
+
+  /**
+   * Generate an XML inventory document containing the requested number of items.
+   *
+   * @param itemCount
+   *          the number of items to generate
+   * @return the XML document
+   */
+  @NonNull
+  public static String generateXml(int itemCount) {
+    int partyCount = Math.max(1, itemCount / ITEMS_PER_PARTY);
+
+    StringBuilder builder = new StringBuilder(itemCount * 600);
+    builder.append("<?xml version=\"1.0\" encoding=\"UTF-8\"?>\n")
+        .append("<inventory xmlns=\"").append(NAMESPACE).append("\" uuid=\"").append(uuid("inventory", 0))
+        .append("\">\n")
+        .append("  <title>Benchmark inventory with <em>").append(itemCount).append("</em> items</title>\n");
+
+    for (int party = 0; party < partyCount; party++) {
+      builder.append("  <party uuid=\"").append(uuid("party", party)).append("\">\n")
+          .append("    <title>Party ").append(party).append("</title>\n")
+          .append("  </party>\n");
+    }
+
+    for (int item = 0; item < itemCount; item++) {
+      builder.append("  <item uuid=\"").append(uuid("item", item))
+          .append("\" owner=\"").append(uuid("party", item % partyCount)).append("\">\n")
+          .append("    <title>Item <code>").append(item).append("</code></title>\n");
+      for (int prop = 0; prop < PROP_NAMES.length; prop++) {
+        builder.append("    <prop name=\"").append(PROP_NAMES[prop])
+            .append("\" value=\"value-").append((item + prop) % 17).append("\"/>\n");
+      }
+      builder.append("    <remarks>\n")
+          .append("      <p>Item <strong>").append(item).append("</strong> has <em>some</em> remarks and a ")
+          .append("<a href=\"https://example.com/items/").append(item).append("\">link</a>.</p>\n")
+          .append("      <ul>\n")
+          .append("        <li>First point</li>\n")
+          .append("        <li>Second point with <code>code</code></li>\n")
+          .append("      </ul>\n")
+          .append("    </remarks>\n")
+          .append("  </item>\n");
+    }
+    builder.append("</inventory>\n");
+    return ObjectUtils.notNull(builder.toString());
+  }
+
+  /**
+   * Generate an XML inventory document containing the requested number of items
+   * as UTF-8 encoded bytes.
+   *
+   * @param itemCount
+   *          the number of items to generate
+   * @return the XML document
+   */
+  @NonNull
+  public static byte[] generateXmlBytes(int itemCount) {
+    return generateXml(itemCount).getBytes(StandardCharsets.UTF_8);
+  }
+
+  @NonNull
+  private static String uuid(@NonNull String kind, int index) {
+    UUID nameUuid = UUID.nameUUIDFromBytes((kind + index).getBytes(StandardCharsets.UTF_8));
+    // the Metaschema uuid data type requires a version 4 or 5 UUID
+    long mostSigBits = nameUuid.getMostSignificantBits() & ~0xF000L | 0x4000L;
+    return ObjectUtils.notNull(new UUID(mostSigBits, nameUuid.getLeastSignificantBits()).toString());
+  }
+}
@@ -0,0 +1,117 @@
+/*
+ * SPDX-FileCopyrightText: none
+ * SPDX-License-Identifier: CC0-1.0
+ */
+
+package gov.nist.secauto.metaschema.benchmark;
+
+import gov.nist.secauto.metaschema.core.metapath.item.node.IDocumentNodeItem;
+import gov.nist.secauto.metaschema.core.metapath.item.node.INodeItem;
+import gov.nist.secauto.metaschema.core.model.IBoundObject;
+import gov.nist.secauto.metaschema.core.model.MetaschemaException;
+import gov.nist.secauto.metaschema.core.util.ObjectUtils;
+import gov.nist.secauto.metaschema.databind.IBindingContext;
+import gov.nist.secauto.metaschema.databind.io.DeserializationFeature;
+import gov.nist.secauto.metaschema.databind.io.Format;
+import gov.nist.secauto.metaschema.databind.io.IBoundLoader;
+
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.StringWriter;
+import java.nio.charset.StandardCharsets;
+
+import edu.umd.cs.findbugs.annotations.NonNull;
+
+/**
+ * Benchmark state providing a generated inventory document, in each supported
+ * representation, of a configurable size.
+ */
+@State(Scope.Benchmark)
+public class InventoryState {
+  /**
+   * The number of items in the generated document.
+   */
+  @Param({ "100", "1000", "10000" })
+  public int items;
+
+  private IBindingContext bindingContext;
+  private Class<? extends IBoundObject> rootClass;
+  private IBoundObject object;
+  private IDocumentNodeItem document;
+  private byte[] xml;
+  private byte[] json;
+
+  /**
+   * Generate the document and load it using each representation.
+   *
+   * @throws IOException
+   *           if an error occurred while loading the document
+   * @throws MetaschemaException
+   *           if an error occurred while loading the benchmark module
+   */
+  @Setup(Level.Trial)
+  public void setup() throws IOException, MetaschemaException {
+    bindingContext = InventoryDocuments.newBindingContext();
+    xml = InventoryDocuments.generateXmlBytes(items);
+
+    IBoundLoader loader = bindingContext.newBoundLoader();
+    loader.disableFeature(DeserializationFeature.DESERIALIZE_VALIDATE_CONSTRAINTS);
+
+    document = loader.loadAsNodeItem(Format.XML, new ByteArrayInputStream(xml), InventoryDocuments.DOCUMENT_URI);
+    object = INodeItem.toValue(document);
+    rootClass = object.getClass();
+
+    StringWriter writer = new StringWriter();
+    bindingContext.newSerializer(Format.JSON, rootClass).serialize(object, writer);
+    json = writer.toString().getBytes(StandardCharsets.UTF_8);
+  }
+
+  @NonNull
+  public IBindingContext getBindingContext() {
+    return ObjectUtils.notNull(bindingContext);
+  }
+
+  @NonNull
+  public Class<? extends IBoundObject> getRootClass() {
+    return ObjectUtils.notNull(rootClass);
+  }
+
+  @NonNull
+  public IBoundObject getObject() {
+    return ObjectUtils.notNull(object);
+  }
+
+  @NonNull
+  public IDocumentNodeItem getDocument() {
+    return ObjectUtils.notNull(document);
+  }
+
+  /**
+   * Get the document content in the requested format.
+   *
+   * @param format
+   *          the format
+   * @return the content as UTF-8 bytes
+   */
+  @NonNull
+  public byte[] getContent(@NonNull Format format) {
+    byte[] retval;
+    switch (format) {
+    case XML:
+      retval = xml;
+      break;
+    case JSON:
+      retval = json;
+      break;
+    default:
+      throw new UnsupportedOperationException(format.name());
+    }
+    return ObjectUtils.notNull(retval);
+  }
+}
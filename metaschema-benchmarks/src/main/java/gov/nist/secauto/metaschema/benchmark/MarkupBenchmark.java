@@ -0,0 +1,102 @@
+/*
+ * SPDX-FileCopyrightText: none
+ * SPDX-License-Identifier: CC0-1.0
+ */
+
+package gov.nist.secauto.metaschema.benchmark;
+
+import com.vladsch.flexmark.util.ast.Document;
+
+import gov.nist.secauto.metaschema.core.datatype.markup.MarkupMultiline;
+import gov.nist.secauto.metaschema.core.datatype.markup.flexmark.FlexmarkFactory;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.concurrent.TimeUnit;
+
+import edu.umd.cs.findbugs.annotations.NonNull;
+
+/**
+ * Benchmarks parsing of multiline markup from Markdown and HTML.
+ * <p>
+ * Markup is parsed lazily, so each case builds the AST graph of the markup it
+ * creates. The plain text cases compare the direct parsing of HTML that is only
+ * plain text against the HTML to markdown conversion it replaces.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@State(Scope.Benchmark)
+public class MarkupBenchmark {
+  @NonNull
+  private static final String MARKDOWN = "Item **1** has *some* remarks and a [link](https://example.com/items/1).\n"
+      + "\n"
+      + "- First point\n"
+      + "- Second point with `code`\n"
+      + "\n"
+      + "| Name | Value |\n"
+      + "| --- | --- |\n"
+      + "| status | active |\n";
+  @NonNull
+  private static final String HTML = "<p>Item <strong>1</strong> has <em>some</em> remarks and a "
+      + "<a href=\"https://example.com/items/1\">link</a>.</p>"
+      + "<ul><li>First point</li><li>Second point with <code>code</code></li></ul>"
+      + "<table><tr><th>Name</th><th>Value</th></tr><tr><td>status</td><td>active</td></tr></table>";
+  @NonNull
+  private static final String PLAIN_TEXT_HTML
+      = "<p>Item 1 has some remarks about the status of the system (version 2.5), 20% complete.</p>";
+  @NonNull
+  private static final FlexmarkFactory FLEXMARK_FACTORY = FlexmarkFactory.instance();
+
+  /**
+   * Parse multiline markup from Markdown.
+   *
+   * @return the parsed markup
+   */
+  @Benchmark
+  public Document fromMarkdown() {
+    return MarkupMultiline.fromMarkdown(MARKDOWN).getDocument();
+  }
+
+  /**
+   * Parse multiline markup from HTML.
+   *
+   * @return the parsed markup
+   */
+  @Benchmark
+  public Document fromHtml() {
+    return MarkupMultiline.fromHtml(HTML).getDocument();
+  }
+
+  /**
+   * Parse multiline markup from HTML that is only plain text.
+   *
+   * @return the parsed markup
+   */
+  @Benchmark
+  public Document fromPlainTextHtml() {
+    return MarkupMultiline.fromHtml(PLAIN_TEXT_HTML).getDocument();
+  }
+
+  /**
+   * Parse HTML that is only plain text by converting it to markdown, which is
+   * the baseline for {@link #fromPlainTextHtml()}.
+   *
+   * @return the parsed markup
+   */
+  @Benchmark
+  public Document fromPlainTextHtmlConverted() {
+    return FLEXMARK_FACTORY.getMarkdownParser().parse(
+        FLEXMARK_FACTORY.getFlexmarkHtmlConverter().convert(PLAIN_TEXT_HTML));
+  }
+}
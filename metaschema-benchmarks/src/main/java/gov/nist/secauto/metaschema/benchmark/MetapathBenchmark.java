@@ -0,0 +1,105 @@
+/*
+ * SPDX-FileCopyrightText: none
+ * SPDX-License-Identifier: CC0-1.0
+ */
+
+package gov.nist.secauto.metaschema.benchmark;
+
+import gov.nist.secauto.metaschema.core.metapath.DynamicContext;
+import gov.nist.secauto.metaschema.core.metapath.IMetapathExpression;
+import gov.nist.secauto.metaschema.core.metapath.StaticContext;
+import gov.nist.secauto.metaschema.core.metapath.item.ISequence;
+import gov.nist.secauto.metaschema.core.util.ObjectUtils;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Benchmarks Metapath compilation and evaluation against a generated inventory
+ * document.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@State(Scope.Benchmark)
+public class MetapathBenchmark {
+  /**
+   * The Metapath expression to compile and evaluate.
+   */
+  @Param({
+      "//prop[@name='status']",
+      "count(//item) > 0",
+      "/inventory/item[1]/title",
+      "exists(//item[@owner = /inventory/party[1]/@uuid])"
+  })
+  public String expression;
+
+  private StaticContext staticContext;
+  private IMetapathExpression compiled;
+
+  /**
+   * Compile the expression used by the evaluation benchmarks.
+   *
+   * @param state
+   *          the document state
+   */
+  @Setup(Level.Trial)
+  public void setup(InventoryState state) {
+    staticContext = state.getDocument().getStaticContext();
+    compiled = IMetapathExpression.compile(ObjectUtils.notNull(expression), ObjectUtils.notNull(staticContext));
+  }
+
+  /**
+   * Compile the expression, which is served from the compiled expression cache.
+   *
+   * @return the compiled expression
+   */
+  @Benchmark
+  public IMetapathExpression compileCached() {
+    return IMetapathExpression.compile(ObjectUtils.notNull(expression), ObjectUtils.notNull(staticContext));
+  }
+
+  /**
+   * Compile the expression using a new copy of the static context, which
+   * measures the full parse cost.
+   * <p>
+   * Compiled expressions are cached by static context identity, so the copy
+   * always misses the compiled expression cache. The measured cost includes
+   * copying the static context and adding the expression to the cache.
+   *
+   * @return the compiled expression
+   */
+  @Benchmark
+  public IMetapathExpression compileUncached() {
+    return IMetapathExpression.compile(
+        ObjectUtils.notNull(expression),
+        ObjectUtils.notNull(staticContext.buildFrom().build()));
+  }
+
+  /**
+   * Evaluate the precompiled expression against the document.
+   *
+   * @param state
+   *          the document state
+   * @return the number of resulting items
+   */
+  @Benchmark
+  public int evaluate(InventoryState state) {
+    ISequence<?> result = compiled.evaluate(state.getDocument(), new DynamicContext(staticContext));
+    return result.size();
+  }
+}
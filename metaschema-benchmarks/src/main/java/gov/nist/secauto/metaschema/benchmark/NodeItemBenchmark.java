@@ -0,0 +1,92 @@
+/*
+ * SPDX-FileCopyrightText: none
+ * SPDX-License-Identifier: CC0-1.0
+ */
+
+package gov.nist.secauto.metaschema.benchmark;
+
+import gov.nist.secauto.metaschema.core.metapath.item.node.IDocumentNodeItem;
+import gov.nist.secauto.metaschema.core.metapath.item.node.INodeItem;
+import gov.nist.secauto.metaschema.core.metapath.item.node.INodeItemFactory;
+import gov.nist.secauto.metaschema.core.util.ObjectUtils;
+import gov.nist.secauto.metaschema.databind.model.IBoundDefinitionModelAssembly;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Stream;
+
+/**
+ * Benchmarks building the node items of a generated inventory document using
+ * the default and compact node item factories.
+ * <p>
+ * Every node item of the document is visited, so that the default factory's
+ * lazily created node items are included. Run using the JMH {@code gc}
+ * profiler (i.e., {@code -prof gc}) to compare the memory allocated per
+ * operation by each factory.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 5)
+@Measurement(iterations = 5, time = 5)
+@Fork(1)
+@State(Scope.Benchmark)
+public class NodeItemBenchmark {
+  /**
+   * The node item factory to use.
+   */
+  @Param({ "DEFAULT", "COMPACT" })
+  public String factory;
+
+  private INodeItemFactory nodeItemFactory;
+  private IBoundDefinitionModelAssembly definition;
+
+  /**
+   * Resolve the node item factory and the document's root definition.
+   *
+   * @param state
+   *          the document state
+   */
+  @Setup(Level.Trial)
+  public void setup(InventoryState state) {
+    nodeItemFactory = "COMPACT".equals(factory)
+        ? INodeItemFactory.compactInstance()
+        : INodeItemFactory.instance();
+    definition = (IBoundDefinitionModelAssembly) state.getBindingContext()
+        .getBoundDefinitionForClass(state.getRootClass());
+  }
+
+  /**
+   * Create the document node item and visit each of its nodes.
+   *
+   * @param state
+   *          the document state
+   * @param blackhole
+   *          used to consume the visited nodes
+   * @return the document node item
+   */
+  @Benchmark
+  public IDocumentNodeItem build(InventoryState state, Blackhole blackhole) {
+    IDocumentNodeItem document = nodeItemFactory.newDocumentNodeItem(
+        ObjectUtils.notNull(definition),
+        InventoryDocuments.DOCUMENT_URI,
+        state.getObject());
+    document.descendantOrSelf()
+        .flatMap(node -> Stream.concat(Stream.of(node), node.flags()))
+        .map(INodeItem::getValue)
+        .forEach(blackhole::consume);
+    return document;
+  }
+}
@@ -0,0 +1,71 @@
+/*
+ * SPDX-FileCopyrightText: none
+ * SPDX-License-Identifier: CC0-1.0
+ */
+
+package gov.nist.secauto.metaschema.benchmark;
+
+import gov.nist.secauto.metaschema.core.util.ObjectUtils;
+import gov.nist.secauto.metaschema.databind.io.Format;
+import gov.nist.secauto.metaschema.databind.io.ISerializer;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.io.IOException;
+import java.io.Writer;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Benchmarks serialization of a generated inventory document using the
+ * {@code MetaschemaXmlWriter} and {@code MetaschemaJsonWriter}.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 5)
+@Measurement(iterations = 5, time = 5)
+@Fork(1)
+@State(Scope.Benchmark)
+public class SerializationBenchmark {
+  /**
+   * The format to write.
+   */
+  @Param({ "XML", "JSON", "YAML" })
+  public Format format;
+
+  private ISerializer<?> serializer;
+
+  /**
+   * Create the serializer for the requested format.
+   *
+   * @param state
+   *          the document state
+   */
+  @Setup(Level.Trial)
+  public void setup(InventoryState state) {
+    serializer = state.getBindingContext().newSerializer(ObjectUtils.notNull(format), state.getRootClass());
+  }
+
+  /**
+   * Serialize the document, discarding the output.
+   *
+   * @param state
+   *          the document state
+   * @throws IOException
+   *           if an error occurred while writing the content
+   */
+  @Benchmark
+  public void serialize(InventoryState state) throws IOException {
+    serializer.serialize(state.getObject(), ObjectUtils.notNull(Writer.nullWriter()));
+  }
+}
@@ -0,0 +1,66 @@
+/*
+ * SPDX-FileCopyrightText: none
+ * SPDX-License-Identifier: CC0-1.0
+ */
+
+package gov.nist.secauto.metaschema.benchmark;
+
+import gov.nist.secauto.metaschema.core.metapath.DynamicContext;
+import gov.nist.secauto.metaschema.core.metapath.item.node.IDocumentNodeItem;
+import gov.nist.secauto.metaschema.core.model.constraint.DefaultConstraintValidator;
+import gov.nist.secauto.metaschema.core.model.constraint.FindingCollectingConstraintValidationHandler;
+import gov.nist.secauto.metaschema.core.model.constraint.ValidationFeature;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Benchmarks constraint validation of a generated inventory document using the
+ * {@link DefaultConstraintValidator}.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 5)
+@Measurement(iterations = 5, time = 5)
+@Fork(1)
+@State(Scope.Benchmark)
+public class ValidationBenchmark {
+  /**
+   * The number of validation threads.
+   */
+  @Param({ "1", "4" })
+  public int threads;
+
+  /**
+   * Validate the document and finalize validation.
+   *
+   * @param state
+   *          the document state
+   * @return the number of findings
+   */
+  @Benchmark
+  public int validate(InventoryState state) {
+    IDocumentNodeItem document = state.getDocument();
+
+    FindingCollectingConstraintValidationHandler handler = new FindingCollectingConstraintValidationHandler();
+    DefaultConstraintValidator validator = new DefaultConstraintValidator(handler);
+    validator.set(ValidationFeature.VALIDATE_PARALLEL_THREADS, threads);
+
+    DynamicContext dynamicContext = new DynamicContext(document.getStaticContext());
+    dynamicContext.setDocumentLoader(state.getBindingContext().newBoundLoader());
+
+    validator.validate(document, dynamicContext);
+    validator.finalizeValidation(dynamicContext);
+    return handler.getFindings().size();
+  }
+}
@@ -0,0 +1,16 @@
+/*
+ * SPDX-FileCopyrightText: none
+ * SPDX-License-Identifier: CC0-1.0
+ */
+
+/**
+ * JMH benchmarks covering the performance critical paths of the Metaschema
+ * framework, including Metapath compilation and evaluation, constraint
+ * validation, content parsing and serialization, and markup parsing.
+ * <p>
+ * Benchmarks operate on synthetic inventory documents generated by
+ * {@link gov.nist.secauto.metaschema.benchmark.InventoryDocuments} at
+ * configurable sizes.
+ */
+
+package gov.nist.secauto.metaschema.benchmark;
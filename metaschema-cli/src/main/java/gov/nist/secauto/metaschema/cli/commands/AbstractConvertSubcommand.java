@@ -30,9 +30,12 @@ import java.net.URI;
 import java.nio.charset.StandardCharsets;
 import java.nio.file.Files;
 import java.nio.file.Path;
-import java.nio.file.StandardOpenOption;
+import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
 import java.util.Collection;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
 
 import edu.umd.cs.findbugs.annotations.NonNull;
 
@@ -59,7 +62,9 @@ public abstract class AbstractConvertSubcommand
   public Collection<? extends Option> gatherOptions() {
     return ObjectUtils.notNull(List.of(
         MetaschemaCommands.OVERWRITE_OPTION,
-        MetaschemaCommands.TO_OPTION));
+        MetaschemaCommands.TO_OPTION,
+        MetaschemaCommands.BATCH_OPTION,
+        MetaschemaCommands.THREADS_OPTION));
   }
 
   @Override
@@ -108,6 +113,11 @@ public abstract class AbstractConvertSubcommand
 
       List<String> extraArgs = cmdLine.getArgList();
 
+      if (cmdLine.hasOption(MetaschemaCommands.BATCH_OPTION)) {
+        executeBatch(extraArgs, cmdLine);
+        return;
+      }
+
       Path destination = null;
       if (extraArgs.size() > 1) {
         destination = MetaschemaCommands.handleDestination(ObjectUtils.requireNonNull(extraArgs.get(1)), cmdLine);
@@ -135,15 +145,7 @@ public abstract class AbstractConvertSubcommand
             handleConversion(source, toFormat, writer, loader);
           }
         } else {
-          try (Writer writer = Files.newBufferedWriter(
-              destination,
-              StandardCharsets.UTF_8,
-              StandardOpenOption.CREATE,
-              StandardOpenOption.WRITE,
-              StandardOpenOption.TRUNCATE_EXISTING)) {
-            assert writer != null;
-            handleConversion(source, toFormat, writer, loader);
-          }
+          convertToFile(source, toFormat, destination, loader);
         }
       } catch (IllegalArgumentException ex) {
         throw new CommandExecutionException(ExitCode.PROCESSING_ERROR, ex);
@@ -155,6 +157,149 @@ public abstract class AbstractConvertSubcommand
       }
     }
 
+    /**
+     * Convert all resources identified by the batch source argument, writing each
+     * converted resource to the destination directory.
+     *
+     * @param extraArgs
+     *          the batch source argument and the destination directory
+     * @param commandLine
+     *          the provided command line argument information
+     * @throws CommandExecutionException
+     *           if any resource could not be converted
+     */
+    private void executeBatch(
+        @NonNull List<String> extraArgs,
+        @NonNull CommandLine commandLine) throws CommandExecutionException {
+      if (extraArgs.size() < 2) {
+        throw new CommandExecutionException(
+            ExitCode.INVALID_ARGUMENTS,
+            "A destination directory must be provided in batch mode.");
+      }
+
+      @SuppressWarnings("synthetic-access")
+      List<URI> sources = BatchProcessor.resolveSources(
+          ObjectUtils.requireNonNull(extraArgs.get(0)),
+          getCurrentWorkingDirectory());
+      @SuppressWarnings("synthetic-access")
+      Path destinationDir = resolveAgainstCWD(ObjectUtils.notNull(Paths.get(extraArgs.get(1))));
+      Format toFormat = MetaschemaCommands.getFormat(commandLine, MetaschemaCommands.TO_OPTION);
+      int threads = BatchProcessor.getThreadCount(commandLine);
+
+      // map each source to its destination, before anything is written
+      Map<URI, Path> destinations = new HashMap<>();
+      Map<Path, URI> destinationSources = new HashMap<>();
+      for (URI source : sources) {
+        Path destination = MetaschemaCommands.handleDestination(
+            ObjectUtils.notNull(destinationDir.resolve(toDestinationName(source, toFormat)).toString()),
+            commandLine);
+        URI existing = destinationSources.put(destination, source);
+        if (existing != null) {
+          throw new CommandExecutionException(
+              ExitCode.INVALID_ARGUMENTS,
+              String.format("The sources '%s' and '%s' would both be converted to '%s'.",
+                  existing,
+                  source,
+                  destination));
+        }
+        destinations.put(source, destination);
+      }
+
+      if (LOGGER.isInfoEnabled()) {
+        LOGGER.info("Converting {} files using {} threads.", sources.size(), threads);
+      }
+
+      IBindingContext bindingContext = getBindingContext();
+      int[] failed = new int[1];
+      BatchProcessor.process(
+          sources,
+          threads,
+          source -> {
+            Path destination = ObjectUtils.notNull(destinations.get(source));
+            try {
+              convertToFile(source, toFormat, destination, bindingContext.newBoundLoader());
+            } catch (IllegalArgumentException ex) {
+              throw new CommandExecutionException(ExitCode.PROCESSING_ERROR, ex);
+            } catch (IOException ex) {
+              throw new CommandExecutionException(ExitCode.IO_ERROR, ex);
+            }
+            return destination;
+          },
+          (source, destination, error) -> {
+            if (error == null) {
+              if (LOGGER.isInfoEnabled()) {
+                LOGGER.info("Converted '{}' to '{}'.", source, destination);
+              }
+            } else {
+              failed[0]++;
+              if (LOGGER.isErrorEnabled()) {
+                LOGGER.error("Unable to convert '{}'. {}", source, error.getLocalizedMessage());
+              }
+            }
+          });
+
+      if (LOGGER.isInfoEnabled()) {
+        LOGGER.info("Converted {} files: {} succeeded, {} failed.",
+            sources.size(),
+            sources.size() - failed[0],
+            failed[0]);
+      }
+
+      if (failed[0] > 0) {
+        throw new CommandExecutionException(ExitCode.FAIL);
+      }
+    }
+
+    /**
+     * Convert the source, writing the converted content to the destination file.
+     * <p>
+     * The content is written to a temporary file that replaces the destination
+     * once the conversion has completed, so that a failed conversion does not
+     * leave a partially written destination.
+     *
+     * @param source
+     *          the resource to convert
+     * @param toFormat
+     *          the format to convert to
+     * @param destination
+     *          the file to write the converted content to
+     * @param loader
+     *          the Metaschema loader to use to load the content to convert
+     * @throws IOException
+     *           if there was an error reading or writing content
+     */
+    private void convertToFile(
+        @NonNull URI source,
+        @NonNull Format toFormat,
+        @NonNull Path destination,
+        @NonNull IBoundLoader loader) throws IOException {
+      Path directory = ObjectUtils.notNull(destination.toAbsolutePath().getParent());
+      Path tempFile = Files.createTempFile(directory, "convert-", ".tmp");
+      try {
+        try (Writer writer = Files.newBufferedWriter(tempFile, StandardCharsets.UTF_8)) {
+          assert writer != null;
+          handleConversion(source, toFormat, writer, loader);
+        }
+        Files.move(tempFile, destination, StandardCopyOption.REPLACE_EXISTING);
+      } finally {
+        Files.deleteIfExists(tempFile);
+      }
+    }
+
+    @NonNull
+    private static String toDestinationName(@NonNull URI source, @NonNull Format toFormat) {
+      String path = source.getPath();
+      String name = path == null ? "" : path.substring(path.lastIndexOf('/') + 1);
+      int extension = name.lastIndexOf('.');
+      if (extension > 0) {
+        name = name.substring(0, extension);
+      }
+      if (name.isEmpty()) {
+        name = "converted";
+      }
+      return name + toFormat.getDefaultExtension();
+    }
+
     /**
      * Called to perform a content conversion.
      *
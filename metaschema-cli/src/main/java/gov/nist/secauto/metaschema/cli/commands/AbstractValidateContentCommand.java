@@ -5,8 +5,10 @@
 
 package gov.nist.secauto.metaschema.cli.commands;
 
+import java.io.ByteArrayInputStream;
 import java.io.FileNotFoundException;
 import java.io.IOException;
+import java.io.InputStream;
 import java.net.URI;
 import java.net.UnknownHostException;
 import java.nio.file.Path;
@@ -43,7 +45,6 @@ import gov.nist.secauto.metaschema.core.util.ObjectUtils;
 import gov.nist.secauto.metaschema.databind.IBindingContext;
 import gov.nist.secauto.metaschema.databind.IBindingContext.ISchemaValidationProvider;
 import gov.nist.secauto.metaschema.databind.io.Format;
-import gov.nist.secauto.metaschema.databind.io.IBoundLoader;
 import gov.nist.secauto.metaschema.modules.sarif.SarifValidationHandler;
 
 /**
@@ -91,6 +92,12 @@ public abstract class AbstractValidateContentCommand
           .longOpt("disable-constraint-validation")
           .desc("do not perform constraint validation")
           .build());
+  @NonNull
+  private static final Option STREAMING_VALIDATION_OPTION = ObjectUtils.notNull(
+      Option.builder()
+          .longOpt("streaming")
+          .desc("validate constraints while the content is read to reduce memory use")
+          .build());
 
   @Override
   public String getName() {
@@ -106,7 +113,10 @@ public abstract class AbstractValidateContentCommand
         SARIF_OUTPUT_FILE_OPTION,
         SARIF_INCLUDE_PASS_OPTION,
         NO_SCHEMA_VALIDATION_OPTION,
-        NO_CONSTRAINT_VALIDATION_OPTION);
+        NO_CONSTRAINT_VALIDATION_OPTION,
+        STREAMING_VALIDATION_OPTION,
+        MetaschemaCommands.BATCH_OPTION,
+        MetaschemaCommands.THREADS_OPTION);
   }
 
   @Override
@@ -206,20 +216,20 @@ public abstract class AbstractValidateContentCommand
           currentWorkingDirectory);
 
       List<String> extraArgs = cmdLine.getArgList();
-
-      URI source = MetaschemaCommands.handleSource(
-          ObjectUtils.requireNonNull(extraArgs.get(0)),
-          currentWorkingDirectory);
+      String sourceArg = ObjectUtils.requireNonNull(extraArgs.get(0));
 
       IBindingContext bindingContext = getBindingContext(constraintSets);
-      IBoundLoader loader = bindingContext.newBoundLoader();
-      Format asFormat = MetaschemaCommands.determineSourceFormat(
-          cmdLine,
-          MetaschemaCommands.AS_FORMAT_OPTION,
-          loader,
-          source);
+      // get the module, but don't register it
+      IModule module = getModule(cmdLine, bindingContext);
 
-      IValidationResult validationResult = validate(source, asFormat, cmdLine, bindingContext);
+      if (cmdLine.hasOption(MetaschemaCommands.BATCH_OPTION)) {
+        executeBatch(sourceArg, cmdLine, bindingContext, module);
+        return;
+      }
+
+      URI source = MetaschemaCommands.handleSource(sourceArg, currentWorkingDirectory);
+
+      IValidationResult validationResult = validate(source, cmdLine, bindingContext, module);
       handleOutput(source, validationResult, cmdLine, bindingContext);
 
       if (validationResult == null || validationResult.isPassing()) {
@@ -235,13 +245,104 @@ public abstract class AbstractValidateContentCommand
       }
     }
 
+    /**
+     * Validate all resources identified by the batch source argument, using the
+     * same binding context and module for each resource.
+     *
+     * @param sourceArg
+     *          the batch source argument
+     * @param commandLine
+     *          the provided command line argument information
+     * @param bindingContext
+     *          the context used to access Metaschema module information based on
+     *          Java class bindings
+     * @param module
+     *          the Metaschema module to validate against
+     * @throws CommandExecutionException
+     *           if any resource is invalid or could not be validated
+     */
+    @SuppressWarnings("PMD.CognitiveComplexity")
+    private void executeBatch(
+        @NonNull String sourceArg,
+        @NonNull CommandLine commandLine,
+        @NonNull IBindingContext bindingContext,
+        @NonNull IModule module) throws CommandExecutionException {
+      @SuppressWarnings("synthetic-access")
+      List<URI> sources = BatchProcessor.resolveSources(sourceArg, getCurrentWorkingDirectory());
+      int threads = BatchProcessor.getThreadCount(commandLine);
+
+      if (LOGGER.isInfoEnabled()) {
+        LOGGER.info("Validating {} files using {} threads.", sources.size(), threads);
+      }
+
+      SarifValidationHandler sarifHandler = null;
+      if (commandLine.hasOption(SARIF_OUTPUT_FILE_OPTION)) {
+        sarifHandler = new SarifValidationHandler(ObjectUtils.notNull(sources.get(0)), getToolVersion());
+      }
+      SarifValidationHandler sarif = sarifHandler;
+
+      int[] counts = new int[3]; // valid, invalid, failed
+      BatchProcessor.process(
+          sources,
+          threads,
+          source -> validate(source, commandLine, bindingContext, module),
+          (source, result, error) -> {
+            if (error != null) {
+              counts[2]++;
+              if (LOGGER.isErrorEnabled()) {
+                LOGGER.error("Unable to validate '{}'. {}", source, error.getLocalizedMessage());
+              }
+            } else if (result == null || result.isPassing()) {
+              counts[0]++;
+              if (LOGGER.isInfoEnabled()) {
+                LOGGER.info("The file '{}' is valid.", source);
+              }
+            } else {
+              counts[1]++;
+              if (LOGGER.isErrorEnabled()) {
+                LOGGER.error("The file '{}' is invalid.", source);
+              }
+            }
+
+            if (sarif != null) {
+              sarif.addSource(source);
+              if (result != null) {
+                sarif.addFindings(result.getFindings());
+              }
+            } else if (result != null && !result.getFindings().isEmpty()) {
+              LoggingValidationHandler.instance().handleResults(result);
+            }
+          });
+
+      if (sarif != null) {
+        writeSarif(sarif, commandLine, bindingContext);
+      }
+
+      if (LOGGER.isInfoEnabled()) {
+        LOGGER.info("Validated {} files: {} valid, {} invalid, {} failed.",
+            sources.size(),
+            counts[0],
+            counts[1],
+            counts[2]);
+      }
+
+      if (counts[1] > 0 || counts[2] > 0) {
+        throw new CommandExecutionException(ExitCode.FAIL);
+      }
+    }
+
     @SuppressWarnings("PMD.CyclomaticComplexity")
     @Nullable
     private IValidationResult validate(
         @NonNull URI source,
-        @NonNull Format asFormat,
         @NonNull CommandLine commandLine,
-        @NonNull IBindingContext bindingContext) throws CommandExecutionException {
+        @NonNull IBindingContext bindingContext,
+        @NonNull IModule module) throws CommandExecutionException {
+      Format asFormat = MetaschemaCommands.determineSourceFormat(
+          commandLine,
+          MetaschemaCommands.AS_FORMAT_OPTION,
+          bindingContext.newBoundLoader(),
+          source);
 
       if (LOGGER.isInfoEnabled()) {
         LOGGER.info("Validating '{}' as {}.", source, asFormat.name());
@@ -249,23 +350,41 @@ public abstract class AbstractValidateContentCommand
 
       IValidationResult validationResult = null;
       try {
-        // get the module, but don't register it
-        IModule module = getModule(commandLine, bindingContext);
-        if (!commandLine.hasOption(NO_SCHEMA_VALIDATION_OPTION)) {
+        boolean schemaValidation = !commandLine.hasOption(NO_SCHEMA_VALIDATION_OPTION);
+        boolean constraintValidation = !commandLine.hasOption(NO_CONSTRAINT_VALIDATION_OPTION);
+
+        // when both types of validation are performed, read the source once and share
+        // the content; streaming validation avoids holding the content in memory
+        byte[] content = null;
+        if (schemaValidation && constraintValidation && !commandLine.hasOption(STREAMING_VALIDATION_OPTION)) {
+          try (InputStream is = ObjectUtils.notNull(source.toURL().openStream())) {
+            content = is.readAllBytes();
+          }
+        }
+
+        if (schemaValidation) {
           // perform schema validation
-          validationResult = getSchemaValidationProvider(module, commandLine, bindingContext)
-              .validateWithSchema(source, asFormat, bindingContext);
+          try (InputStream is = openSource(source, content)) {
+            validationResult = getSchemaValidationProvider(module, commandLine, bindingContext)
+                .validateWithSchema(source, is, asFormat, bindingContext);
+          }
         }
 
-        if (!commandLine.hasOption(NO_CONSTRAINT_VALIDATION_OPTION)) {
+        if (constraintValidation) {
           IMutableConfiguration<ValidationFeature<?>> configuration = new DefaultConfiguration<>();
           if (commandLine.hasOption(SARIF_OUTPUT_FILE_OPTION) && commandLine.hasOption(SARIF_INCLUDE_PASS_OPTION)) {
             configuration.enableFeature(ValidationFeature.VALIDATE_GENERATE_PASS_FINDINGS);
           }
+          if (commandLine.hasOption(STREAMING_VALIDATION_OPTION)) {
+            configuration.enableFeature(ValidationFeature.VALIDATE_STREAMING);
+          }
 
           // perform constraint validation
           bindingContext.registerModule(module); // ensure the module is registered
-          IValidationResult constraintValidationResult = bindingContext.validateWithConstraints(source, configuration);
+          IValidationResult constraintValidationResult;
+          try (InputStream is = openSource(source, content)) {
+            constraintValidationResult = bindingContext.validateWithConstraints(source, is, asFormat, configuration);
+          }
           validationResult = validationResult == null
               ? constraintValidationResult
               : AggregateValidationResult.aggregate(validationResult, constraintValidationResult);
@@ -288,31 +407,45 @@ public abstract class AbstractValidateContentCommand
       return validationResult;
     }
 
+    @NonNull
+    private InputStream openSource(@NonNull URI source, @Nullable byte[] content) throws IOException {
+      return content == null
+          ? ObjectUtils.notNull(source.toURL().openStream())
+          : new ByteArrayInputStream(content);
+    }
+
     private void handleOutput(
         @NonNull URI source,
         @Nullable IValidationResult validationResult,
         @NonNull CommandLine commandLine,
         @NonNull IBindingContext bindingContext) throws CommandExecutionException {
       if (commandLine.hasOption(SARIF_OUTPUT_FILE_OPTION)) {
-        Path sarifFile = ObjectUtils.notNull(Paths.get(commandLine.getOptionValue(SARIF_OUTPUT_FILE_OPTION)));
-
-        IVersionInfo version
-            = getCallingContext().getCLIProcessor().getVersionInfos().get(CLIProcessor.COMMAND_VERSION);
-
-        try {
-          SarifValidationHandler sarifHandler = new SarifValidationHandler(source, version);
-          if (validationResult != null) {
-            sarifHandler.addFindings(validationResult.getFindings());
-          }
-          sarifHandler.write(sarifFile, bindingContext);
-        } catch (IOException ex) {
-          throw new CommandExecutionException(ExitCode.IO_ERROR, ex.getLocalizedMessage(), ex);
+        SarifValidationHandler sarifHandler = new SarifValidationHandler(source, getToolVersion());
+        if (validationResult != null) {
+          sarifHandler.addFindings(validationResult.getFindings());
         }
+        writeSarif(sarifHandler, commandLine, bindingContext);
       } else if (validationResult != null && !validationResult.getFindings().isEmpty()) {
         LOGGER.info("Validation identified the following issues:");
         LoggingValidationHandler.instance().handleResults(validationResult);
       }
 
     }
+
+    private IVersionInfo getToolVersion() {
+      return getCallingContext().getCLIProcessor().getVersionInfos().get(CLIProcessor.COMMAND_VERSION);
+    }
+
+    private void writeSarif(
+        @NonNull SarifValidationHandler sarifHandler,
+        @NonNull CommandLine commandLine,
+        @NonNull IBindingContext bindingContext) throws CommandExecutionException {
+      Path sarifFile = ObjectUtils.notNull(Paths.get(commandLine.getOptionValue(SARIF_OUTPUT_FILE_OPTION)));
+      try {
+        sarifHandler.write(sarifFile, bindingContext);
+      } catch (IOException ex) {
+        throw new CommandExecutionException(ExitCode.IO_ERROR, ex.getLocalizedMessage(), ex);
+      }
+    }
   }
 }
@@ -0,0 +1,346 @@
+/*
+ * SPDX-FileCopyrightText: none
+ * SPDX-License-Identifier: CC0-1.0
+ */
+
+package gov.nist.secauto.metaschema.cli.commands;
+
+import gov.nist.secauto.metaschema.cli.processor.ExitCode;
+import gov.nist.secauto.metaschema.cli.processor.OptionUtils;
+import gov.nist.secauto.metaschema.cli.processor.command.CommandExecutionException;
+import gov.nist.secauto.metaschema.core.util.ObjectUtils;
+import gov.nist.secauto.metaschema.databind.io.Format;
+
+import org.apache.commons.cli.CommandLine;
+
+import java.io.IOException;
+import java.net.URI;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.FileSystems;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.PathMatcher;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Deque;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Set;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+import edu.umd.cs.findbugs.annotations.NonNull;
+import edu.umd.cs.findbugs.annotations.Nullable;
+
+/**
+ * Supports processing many resources in a single command invocation, as
+ * requested using the {@link MetaschemaCommands#BATCH_OPTION}.
+ * <p>
+ * Resources are processed concurrently by a pool of workers. The outcome of
+ * each resource is reported on the calling thread in the order the resources
+ * were provided, which allows the reporting to use state that is not thread
+ * safe.
+ */
+final class BatchProcessor {
+  private static final String GLOB_CHARACTERS = "*?[{";
+
+  /**
+   * Processes a single resource.
+   *
+   * @param <T>
+   *          the type of the processing result
+   */
+  @FunctionalInterface
+  interface ITask<T> {
+    /**
+     * Process the resource.
+     *
+     * @param source
+     *          the resource to process
+     * @return the processing result
+     * @throws CommandExecutionException
+     *           if an error occurred while processing the resource
+     */
+    @Nullable
+    T process(@NonNull URI source) throws CommandExecutionException;
+  }
+
+  /**
+   * Handles the outcome of processing a single resource.
+   *
+   * @param <T>
+   *          the type of the processing result
+   */
+  @FunctionalInterface
+  interface IOutcomeHandler<T> {
+    /**
+     * Handle the outcome of processing the resource.
+     *
+     * @param source
+     *          the resource that was processed
+     * @param result
+     *          the processing result, or {@code null} if the processing failed or
+     *          produced no result
+     * @param error
+     *          the error that occurred while processing the resource, or
+     *          {@code null} if the processing succeeded
+     * @throws CommandExecutionException
+     *           if an error occurred while handling the outcome
+     */
+    void handle(
+        @NonNull URI source,
+        @Nullable T result,
+        @Nullable CommandExecutionException error) throws CommandExecutionException;
+  }
+
+  private BatchProcessor() {
+    // disable construction
+  }
+
+  /**
+   * Get the number of resources to process concurrently.
+   *
+   * @param commandLine
+   *          the provided command line argument information
+   * @return the number of worker threads
+   * @throws CommandExecutionException
+   *           if the provided thread count is not a positive integer
+   */
+  public static int getThreadCount(@NonNull CommandLine commandLine) throws CommandExecutionException {
+    int retval = Runtime.getRuntime().availableProcessors();
+    if (commandLine.hasOption(MetaschemaCommands.THREADS_OPTION)) {
+      String value = commandLine.getOptionValue(MetaschemaCommands.THREADS_OPTION);
+      try {
+        retval = Integer.parseInt(value);
+      } catch (NumberFormatException ex) {
+        retval = 0;
+      }
+      if (retval < 1) {
+        throw new CommandExecutionException(
+            ExitCode.INVALID_ARGUMENTS,
+            String.format("The value '%s' provided for '%s' must be a positive integer.",
+                value,
+                OptionUtils.toArgument(MetaschemaCommands.THREADS_OPTION)));
+      }
+    }
+    return retval;
+  }
+
+  /**
+   * Get the resources identified by the provided batch source argument.
+   * <p>
+   * The argument is one of:
+   * <ul>
+   * <li>{@code @FILE}, naming a file that lists one file or URI per line. Blank
+   * lines and lines starting with {@code #} are ignored.</li>
+   * <li>A directory, in which case all files in the directory and its
+   * sub-directories with a recognized content extension are used.</li>
+   * <li>A glob pattern, such as {@code data/**}{@code /*.json}, which is matched
+   * against file paths.</li>
+   * <li>A single file or URI. URIs are never treated as glob patterns.</li>
+   * </ul>
+   * <p>
+   * A resource that is identified more than once is only processed once, at the
+   * position it was first identified. The existence of individually named files
+   * and URIs is not checked, so that a missing resource is reported when it is
+   * processed.
+   *
+   * @param argument
+   *          the batch source argument
+   * @param currentWorkingDirectory
+   *          the directory relative paths are resolved against
+   * @return the absolute URIs of the resources, in a stable order
+   * @throws CommandExecutionException
+   *           if an error occurred while listing the resources
+   */
+  @NonNull
+  public static List<URI> resolveSources(
+      @NonNull String argument,
+      @NonNull Path currentWorkingDirectory) throws CommandExecutionException {
+    URI cwd = ObjectUtils.notNull(currentWorkingDirectory.toUri());
+    // preserves the order the resources were identified in
+    Set<URI> retval = new LinkedHashSet<>();
+    try {
+      if (argument.startsWith("@")) {
+        Path listFile = currentWorkingDirectory.resolve(argument.substring(1));
+        for (String line : Files.readAllLines(listFile, StandardCharsets.UTF_8)) {
+          String entry = line.trim();
+          if (!entry.isEmpty() && entry.charAt(0) != '#') {
+            retval.add(MetaschemaCommands.handleSource(entry, cwd));
+          }
+        }
+      } else if (isGlob(argument) && !argument.contains("://")) {
+        for (Path path : findGlobMatches(argument, currentWorkingDirectory)) {
+          retval.add(ObjectUtils.notNull(path.toUri()));
+        }
+      } else if (Files.isDirectory(currentWorkingDirectory.resolve(argument))) {
+        for (Path path : findContentFiles(ObjectUtils.notNull(currentWorkingDirectory.resolve(argument)))) {
+          retval.add(ObjectUtils.notNull(path.toUri()));
+        }
+      } else {
+        retval.add(MetaschemaCommands.handleSource(argument, cwd));
+      }
+    } catch (IOException ex) {
+      throw new CommandExecutionException(
+          ExitCode.IO_ERROR,
+          String.format("Unable to list the files for '%s'. %s", argument, ex.getLocalizedMessage()),
+          ex);
+    }
+
+    if (retval.isEmpty()) {
+      throw new CommandExecutionException(
+          ExitCode.INVALID_ARGUMENTS,
+          String.format("No files were found for '%s'.", argument));
+    }
+    return new ArrayList<>(retval);
+  }
+
+  private static boolean isGlob(@NonNull String argument) {
+    return argument.chars().anyMatch(ch -> GLOB_CHARACTERS.indexOf(ch) >= 0);
+  }
+
+  /**
+   * Find the files whose path matches the provided glob pattern.
+   *
+   * @param pattern
+   *          the glob pattern, which is resolved against the current working
+   *          directory
+   * @param currentWorkingDirectory
+   *          the directory a relative pattern is resolved against
+   * @return the matching files in sorted order, which is empty if the directory
+   *         preceding the first glob character does not exist
+   * @throws IOException
+   *           if an error occurred while listing the files
+   */
+  @NonNull
+  static List<Path> findGlobMatches(
+      @NonNull String pattern,
+      @NonNull Path currentWorkingDirectory) throws IOException {
+    Path absolutePattern = currentWorkingDirectory.resolve(pattern).normalize();
+
+    // walk from the deepest directory that precedes the first glob character
+    Path base = ObjectUtils.notNull(absolutePattern.getRoot());
+    for (Path segment : absolutePattern) {
+      if (isGlob(ObjectUtils.notNull(segment.toString()))) {
+        break;
+      }
+      base = base.resolve(segment);
+    }
+
+    PathMatcher matcher = FileSystems.getDefault().getPathMatcher("glob:" + absolutePattern);
+    List<Path> retval;
+    if (Files.isDirectory(base)) {
+      try (Stream<Path> paths = Files.walk(base)) {
+        retval = paths
+            .filter(Files::isRegularFile)
+            .filter(matcher::matches)
+            .sorted()
+            .collect(Collectors.toList());
+      }
+    } else {
+      retval = new ArrayList<>();
+    }
+    return ObjectUtils.notNull(retval);
+  }
+
+  @NonNull
+  private static List<Path> findContentFiles(@NonNull Path dir) throws IOException {
+    List<String> extensions = Arrays.stream(Format.values())
+        .flatMap(format -> format.getRecognizedExtensions().stream())
+        .collect(Collectors.toList());
+
+    try (Stream<Path> paths = Files.walk(dir)) {
+      return ObjectUtils.notNull(paths
+          .filter(Files::isRegularFile)
+          .filter(path -> {
+            String name = path.getFileName().toString().toLowerCase(Locale.ROOT);
+            return extensions.stream().anyMatch(name::endsWith);
+          })
+          .sorted()
+          .collect(Collectors.toList()));
+    }
+  }
+
+  /**
+   * Process the provided resources using a pool of workers.
+   * <p>
+   * The number of resources being processed, or processed but not yet handled,
+   * is bounded to limit the memory used by pending results.
+   *
+   * @param <T>
+   *          the type of the processing result
+   * @param sources
+   *          the resources to process
+   * @param threads
+   *          the number of resources to process concurrently
+   * @param task
+   *          the processing to perform for each resource
+   * @param handler
+   *          called on the calling thread with the outcome of each resource, in
+   *          the order of the provided resources
+   * @throws CommandExecutionException
+   *           if the handler failed, or if the processing was interrupted
+   */
+  @SuppressWarnings("PMD.DoNotUseThreads")
+  public static <T> void process(
+      @NonNull List<URI> sources,
+      int threads,
+      @NonNull ITask<T> task,
+      @NonNull IOutcomeHandler<T> handler) throws CommandExecutionException {
+    ExecutorService executor = Executors.newFixedThreadPool(threads);
+    try {
+      Deque<Pending<T>> pending = new ArrayDeque<>();
+      int window = threads * 2;
+      for (URI source : sources) {
+        assert source != null;
+        if (pending.size() >= window) {
+          handleNext(pending, handler);
+        }
+        pending.add(new Pending<>(source, executor.submit(() -> task.process(source))));
+      }
+      while (!pending.isEmpty()) {
+        handleNext(pending, handler);
+      }
+    } finally {
+      executor.shutdownNow();
+    }
+  }
+
+  private static <T> void handleNext(
+      @NonNull Deque<Pending<T>> pending,
+      @NonNull IOutcomeHandler<T> handler) throws CommandExecutionException {
+    Pending<T> next = ObjectUtils.notNull(pending.poll());
+    T result = null;
+    CommandExecutionException error = null;
+    try {
+      result = next.future.get();
+    } catch (InterruptedException ex) {
+      Thread.currentThread().interrupt();
+      throw new CommandExecutionException(ExitCode.RUNTIME_ERROR, "The batch was interrupted.", ex);
+    } catch (ExecutionException ex) {
+      Throwable cause = ex.getCause();
+      error = cause instanceof CommandExecutionException
+          ? (CommandExecutionException) cause
+          : new CommandExecutionException(ExitCode.PROCESSING_ERROR, cause);
+    }
+    handler.handle(next.source, result, error);
+  }
+
+  private static final class Pending<T> {
+    @NonNull
+    private final URI source;
+    @NonNull
+    private final Future<T> future;
+
+    private Pending(@NonNull URI source, @NonNull Future<T> future) {
+      this.source = source;
+      this.future = future;
+    }
+  }
+}
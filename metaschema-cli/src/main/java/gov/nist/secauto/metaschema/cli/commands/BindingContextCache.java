@@ -0,0 +1,223 @@
+/*
+ * SPDX-FileCopyrightText: none
+ * SPDX-License-Identifier: CC0-1.0
+ */
+
+package gov.nist.secauto.metaschema.cli.commands;
+
+import gov.nist.secauto.metaschema.cli.processor.command.CommandExecutionException;
+import gov.nist.secauto.metaschema.core.model.IModule;
+import gov.nist.secauto.metaschema.core.model.ModuleDigest;
+import gov.nist.secauto.metaschema.core.model.constraint.IConstraintSet;
+import gov.nist.secauto.metaschema.core.util.CollectionUtil;
+import gov.nist.secauto.metaschema.databind.IBindingContext;
+
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+
+import java.net.URI;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Set;
+
+import edu.umd.cs.findbugs.annotations.NonNull;
+import edu.umd.cs.findbugs.annotations.Nullable;
+
+/**
+ * Keeps binding contexts, and the modules loaded into them, for reuse by later
+ * commands run in the same process.
+ * <p>
+ * The cache is disabled by default, since a single command run has nothing to
+ * reuse. It is enabled by long-running processes, such as the {@code serve}
+ * command, so that each request does not need to load the modules and compile
+ * their constraints again.
+ * <p>
+ * A binding context is keyed by a digest of the external constraint sets it was
+ * created with. Before a cached binding context is reused, the modules loaded
+ * into it are checked for changes to their resources. If any module has
+ * changed, the binding context is discarded and a new one is created.
+ * <p>
+ * This class is thread safe.
+ */
+final class BindingContextCache {
+  private static final Logger LOGGER = LogManager.getLogger(BindingContextCache.class);
+  @NonNull
+  private static final BindingContextCache INSTANCE = new BindingContextCache();
+
+  private volatile boolean enabled;
+  @NonNull
+  private final Map<String, Entry> entries = new HashMap<>();
+
+  /**
+   * Provides a cached value on a cache miss.
+   *
+   * @param <T>
+   *          the type of the value
+   */
+  @FunctionalInterface
+  interface IValueProvider<T> {
+    /**
+     * Create the value.
+     *
+     * @return the value
+     * @throws CommandExecutionException
+     *           if an error occurred while creating the value
+     */
+    @NonNull
+    T get() throws CommandExecutionException;
+  }
+
+  /**
+   * Get the cache shared by all commands.
+   *
+   * @return the cache
+   */
+  @NonNull
+  public static BindingContextCache instance() {
+    return INSTANCE;
+  }
+
+  /**
+   * Construct a new, disabled cache.
+   * <p>
+   * Commands use the cache provided by {@link #instance()}. A separate cache is
+   * only used when testing.
+   */
+  BindingContextCache() {
+    // disabled by default
+  }
+
+  /**
+   * Enable caching for the remainder of the process.
+   */
+  public void enable() {
+    enabled = true;
+  }
+
+  /**
+   * Determine if caching is enabled.
+   *
+   * @return {@code true} if caching is enabled, or {@code false} otherwise
+   */
+  public boolean isEnabled() {
+    return enabled;
+  }
+
+  /**
+   * Get a binding context configured with the provided constraint sets, reusing
+   * a cached binding context if its loaded modules are unchanged.
+   *
+   * @param constraintSets
+   *          the external constraint sets used by the binding context
+   * @param provider
+   *          used to create a new binding context
+   * @return the binding context
+   * @throws CommandExecutionException
+   *           if an error occurred while creating a new binding context
+   */
+  @SuppressWarnings("PMD.OnlyOneReturn") // readability
+  @NonNull
+  public synchronized IBindingContext getBindingContext(
+      @NonNull Set<IConstraintSet> constraintSets,
+      @NonNull IValueProvider<IBindingContext> provider) throws CommandExecutionException {
+    String key = enabled ? ModuleDigest.digest(constraintSets) : null;
+    if (key == null) {
+      return provider.get();
+    }
+
+    Entry entry = entries.get(key);
+    if (entry != null && !entry.isCurrent()) {
+      if (LOGGER.isDebugEnabled()) {
+        LOGGER.atDebug().log("Discarding a cached binding context, since a loaded module has changed.");
+      }
+      entries.remove(key);
+      entry = null;
+    }
+
+    if (entry == null) {
+      entry = new Entry(provider.get());
+      entries.put(key, entry);
+    }
+    return entry.context;
+  }
+
+  /**
+   * Get the module with the provided resource, reusing the module previously
+   * loaded into the binding context if the binding context is cached.
+   *
+   * @param resource
+   *          the absolute URI of the module resource
+   * @param bindingContext
+   *          the binding context the module is loaded into
+   * @param provider
+   *          used to load the module
+   * @return the module
+   * @throws CommandExecutionException
+   *           if an error occurred while loading the module
+   */
+  @SuppressWarnings("PMD.OnlyOneReturn") // readability
+  @NonNull
+  public synchronized IModule getModule(
+      @NonNull URI resource,
+      @NonNull IBindingContext bindingContext,
+      @NonNull IValueProvider<IModule> provider) throws CommandExecutionException {
+    Entry entry = enabled ? findEntry(bindingContext) : null;
+    if (entry == null) {
+      return provider.get();
+    }
+
+    CachedModule cached = entry.modules.get(resource);
+    if (cached == null) {
+      IModule module = provider.get();
+      String digest = ModuleDigest.digest(module, CollectionUtil.emptyList());
+      if (digest != null) {
+        cached = new CachedModule(module, digest);
+        entry.modules.put(resource, cached);
+      }
+      return module;
+    }
+    return cached.module;
+  }
+
+  @Nullable
+  private Entry findEntry(@NonNull IBindingContext bindingContext) {
+    return entries.values().stream()
+        .filter(entry -> entry.context == bindingContext)
+        .findFirst()
+        .orElse(null);
+  }
+
+  private static final class Entry {
+    @NonNull
+    private final IBindingContext context;
+    @NonNull
+    private final Map<URI, CachedModule> modules = new HashMap<>();
+
+    private Entry(@NonNull IBindingContext context) {
+      this.context = context;
+    }
+
+    /**
+     * Determine if the resources of all loaded modules are unchanged.
+     *
+     * @return {@code true} if no module has changed, or {@code false} otherwise
+     */
+    private boolean isCurrent() {
+      return modules.values().stream()
+          .allMatch(cached -> cached.digest.equals(
+              ModuleDigest.digest(cached.module, CollectionUtil.emptyList())));
+    }
+  }
+
+  private static final class CachedModule {
+    @NonNull
+    private final IModule module;
+    @NonNull
+    private final String digest;
+
+    private CachedModule(@NonNull IModule module, @NonNull String digest) {
+      this.module = module;
+      this.digest = digest;
+    }
+  }
+}
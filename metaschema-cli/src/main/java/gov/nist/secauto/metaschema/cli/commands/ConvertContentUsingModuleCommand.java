@@ -18,7 +18,11 @@ import gov.nist.secauto.metaschema.databind.io.FormatDetector;
 import gov.nist.secauto.metaschema.databind.io.IBoundLoader;
 import gov.nist.secauto.metaschema.databind.io.IDeserializer;
 import gov.nist.secauto.metaschema.databind.io.ISerializer;
+import gov.nist.secauto.metaschema.databind.io.IStreamingWriter;
 import gov.nist.secauto.metaschema.databind.io.ModelDetector;
+import gov.nist.secauto.metaschema.databind.io.StreamingConverter;
+import gov.nist.secauto.metaschema.databind.model.IBoundDefinitionModelAssembly;
+import gov.nist.secauto.metaschema.databind.model.IBoundDefinitionModelComplex;
 
 import org.apache.commons.cli.CommandLine;
 import org.apache.commons.cli.Option;
@@ -113,11 +117,28 @@ class ConvertContentUsingModuleCommand
 
             IDeserializer<?> deserializer = bindingContext.newDeserializer(format, modelMatch.getBoundClass());
             deserializer.applyConfiguration(loader);
-            try (InputStream modelStream = modelMatch.getDataStream()) {
-              IBoundObject obj = deserializer.deserialize(modelStream, resourceUri);
+            ISerializer<?> serializer = bindingContext.newSerializer(toFormat, modelMatch.getBoundClass());
+            IBoundDefinitionModelComplex definition
+                = bindingContext.getBoundDefinitionForClass(modelMatch.getBoundClass());
 
-              ISerializer<?> serializer = bindingContext.newSerializer(toFormat, modelMatch.getBoundClass());
-              serializer.serialize(obj, writer);
+            try (InputStream modelStream = modelMatch.getDataStream()) {
+              // XML content is always read in definition order, which allows it to be
+              // streamed to any format, while JSON and YAML content can be read in any
+              // order and is only streamed to formats where order is not significant
+              if (definition instanceof IBoundDefinitionModelAssembly
+                  && serializer.supportsStreaming()
+                  && !deserializer.isValidating()
+                  && (Format.XML.equals(format) || !Format.XML.equals(toFormat))) {
+                try (IStreamingWriter streamingWriter = serializer.newStreamingWriter(writer)) {
+                  StreamingConverter converter
+                      = new StreamingConverter((IBoundDefinitionModelAssembly) definition, streamingWriter);
+                  deserializer.setItemReadObserver(converter);
+                  converter.finish(deserializer.deserialize(modelStream, resourceUri));
+                }
+              } else {
+                IBoundObject obj = deserializer.deserialize(modelStream, resourceUri);
+                serializer.serialize(obj, writer);
+              }
             }
 
           }
@@ -43,6 +43,7 @@ import java.util.Locale;
 import java.util.Set;
 
 import edu.umd.cs.findbugs.annotations.NonNull;
+import edu.umd.cs.findbugs.annotations.Nullable;
 
 /**
  * This class provides a variety of utility methods for processing
@@ -66,7 +67,29 @@ public final class MetaschemaCommands {
       new GenerateDiagramCommand(),
       new ValidateContentUsingModuleCommand(),
       new ConvertContentUsingModuleCommand(),
-      new MetapathCommand()));
+      new MetapathCommand(),
+      new ServeCommand(),
+      new RemoteCommand()));
+
+  /**
+   * The system property used to configure the directory where the classes
+   * compiled for Metaschema modules are cached. If set to an empty value, the
+   * classes are compiled into a temporary directory and not cached.
+   *
+   * @since 2.0.0
+   */
+  @NonNull
+  public static final String BINDING_CACHE_PROPERTY = "metaschema.binding-cache";
+
+  /**
+   * The system property used to configure the directory where the schemas
+   * generated for Metaschema modules are cached. If set to an empty value,
+   * generated schemas are only cached in memory.
+   *
+   * @since 2.0.0
+   */
+  @NonNull
+  public static final String SCHEMA_CACHE_PROPERTY = "metaschema.schema-cache";
 
   /**
    * Used by commands to declare a required Metaschema module for processing.
@@ -158,6 +181,56 @@ public final class MetaschemaCommands {
           .numberOfArgs(1)
           .build());
 
+  /**
+   * Used by content commands to process many resources in a single invocation.
+   *
+   * @since 2.0.0
+   */
+  @NonNull
+  public static final Option BATCH_OPTION = ObjectUtils.notNull(
+      Option.builder()
+          .longOpt("batch")
+          .desc("process every file matched by the source argument, which can be a directory, a glob pattern,"
+              + " or @FILE naming a file that lists one file or URI per line")
+          .build());
+  /**
+   * Used by content commands to set the number of resources processed
+   * concurrently in batch mode.
+   *
+   * @since 2.0.0
+   */
+  @NonNull
+  public static final Option THREADS_OPTION = ObjectUtils.notNull(
+      Option.builder()
+          .longOpt("threads")
+          .hasArg()
+          .argName("COUNT")
+          .desc("the number of files to process concurrently in batch mode (default: the number of processors)")
+          .numberOfArgs(1)
+          .build());
+
+  /**
+   * The default local port used by the {@code serve} and {@code remote} commands.
+   *
+   * @since 2.0.0
+   */
+  public static final int DEFAULT_SERVER_PORT = 8737;
+  /**
+   * Used by the {@code serve} and {@code remote} commands to identify the local
+   * port of the server.
+   *
+   * @since 2.0.0
+   */
+  @NonNull
+  public static final Option PORT_OPTION = ObjectUtils.notNull(
+      Option.builder()
+          .longOpt("port")
+          .hasArg()
+          .argName("PORT")
+          .desc("the local server port (default: " + DEFAULT_SERVER_PORT + ")")
+          .numberOfArgs(1)
+          .build());
+
   /**
    * Get the provided source path or URI string as an absolute {@link URI} for the
    * resource.
@@ -282,6 +355,36 @@ public final class MetaschemaCommands {
     }
   }
 
+  /**
+   * Parse the command line options to get the server port.
+   *
+   * @param commandLine
+   *          the provided command line argument information
+   * @return the port
+   * @throws CommandExecutionException
+   *           if the provided port is not a valid port number
+   * @since 2.0.0
+   */
+  public static int getServerPort(@NonNull CommandLine commandLine) throws CommandExecutionException {
+    int retval = DEFAULT_SERVER_PORT;
+    if (commandLine.hasOption(PORT_OPTION)) {
+      String value = commandLine.getOptionValue(PORT_OPTION);
+      try {
+        retval = Integer.parseInt(value);
+      } catch (NumberFormatException ex) {
+        retval = -1;
+      }
+      if (retval < 0 || retval > 65_535) {
+        throw new CommandExecutionException(
+            ExitCode.INVALID_ARGUMENTS,
+            String.format("The value '%s' provided for '%s' is not a valid port number.",
+                value,
+                OptionUtils.toArgument(PORT_OPTION)));
+      }
+    }
+    return retval;
+  }
+
   /**
    * Parse the command line options to get the selected schema format.
    *
@@ -485,13 +588,15 @@ public final class MetaschemaCommands {
       @NonNull URI moduleResource,
       @NonNull IBindingContext bindingContext) throws CommandExecutionException {
     // TODO: ensure the resource URI is absolute
-    try {
-      IBindingModuleLoader loader = bindingContext.newModuleLoader();
-      loader.allowEntityResolution();
-      return loader.load(moduleResource);
-    } catch (IOException | MetaschemaException ex) {
-      throw new CommandExecutionException(ExitCode.PROCESSING_ERROR, ex);
-    }
+    return BindingContextCache.instance().getModule(moduleResource, bindingContext, () -> {
+      try {
+        IBindingModuleLoader loader = bindingContext.newModuleLoader();
+        loader.allowEntityResolution();
+        return loader.load(moduleResource);
+      } catch (IOException | MetaschemaException ex) {
+        throw new CommandExecutionException(ExitCode.PROCESSING_ERROR, ex);
+      }
+    });
   }
 
   /**
@@ -590,6 +695,11 @@ public final class MetaschemaCommands {
   /**
    * Create a new {@link IBindingContext} that is configured for dynamic
    * compilation and to use the provided constraints.
+   * <p>
+   * Compiled classes are cached in the directory configured by
+   * {@link #BINDING_CACHE_PROPERTY}, allowing later invocations to reuse them.
+   * In a long-running process, such as the {@code serve} command, the binding
+   * context itself may be reused.
    *
    * @param constraintSets
    *          the Metaschema module constraints to dynamicly bind to loaded
@@ -602,10 +712,23 @@ public final class MetaschemaCommands {
   @NonNull
   public static IBindingContext newBindingContextWithDynamicCompilation(@NonNull Set<IConstraintSet> constraintSets)
       throws CommandExecutionException {
+    return BindingContextCache.instance().getBindingContext(
+        constraintSets,
+        () -> newBindingContext(constraintSets));
+  }
+
+  @NonNull
+  private static IBindingContext newBindingContext(@NonNull Set<IConstraintSet> constraintSets)
+      throws CommandExecutionException {
     try {
-      Path tempDir = newTempDir();
-      return IBindingContext.builder()
-          .compilePath(tempDir)
+      IBindingContext.BindingContextBuilder builder = IBindingContext.builder();
+      Path cacheDir = getBindingCacheDir();
+      if (cacheDir == null) {
+        builder.compilePath(newTempDir());
+      } else {
+        builder.bindingCache(cacheDir);
+      }
+      return builder
           .constraintSet(constraintSets)
           .build();
     } catch (IOException ex) {
@@ -615,6 +738,50 @@ public final class MetaschemaCommands {
     }
   }
 
+  /**
+   * Get the directory used to cache the classes compiled for Metaschema modules.
+   * <p>
+   * The directory is configured using the {@link #BINDING_CACHE_PROPERTY} system
+   * property, and defaults to {@code .metaschema/binding-cache} in the user's
+   * home directory.
+   *
+   * @return the cache directory, or {@code null} if caching is disabled
+   */
+  @Nullable
+  private static Path getBindingCacheDir() {
+    return getCacheDir(BINDING_CACHE_PROPERTY, "binding-cache");
+  }
+
+  /**
+   * Get the directory used to cache the schemas generated for Metaschema
+   * modules.
+   * <p>
+   * The directory is configured using the {@link #SCHEMA_CACHE_PROPERTY} system
+   * property, and defaults to {@code .metaschema/schema-cache} in the user's home
+   * directory.
+   *
+   * @return the cache directory, or {@code null} if caching is disabled
+   * @since 2.0.0
+   */
+  @Nullable
+  public static Path getSchemaCacheDir() {
+    return getCacheDir(SCHEMA_CACHE_PROPERTY, "schema-cache");
+  }
+
+  @Nullable
+  private static Path getCacheDir(@NonNull String property, @NonNull String defaultName) {
+    String value = System.getProperty(property);
+    Path retval;
+    if (value == null) {
+      retval = Paths.get(System.getProperty("user.home"), ".metaschema", defaultName);
+    } else if (value.isBlank()) {
+      retval = null;
+    } else {
+      retval = Paths.get(value);
+    }
+    return retval;
+  }
+
   private MetaschemaCommands() {
     // disable construction
   }
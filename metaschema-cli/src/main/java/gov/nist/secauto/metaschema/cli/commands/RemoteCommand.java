@@ -0,0 +1,212 @@
+/*
+ * SPDX-FileCopyrightText: none
+ * SPDX-License-Identifier: CC0-1.0
+ */
+
+package gov.nist.secauto.metaschema.cli.commands;
+
+import gov.nist.secauto.metaschema.cli.processor.CLIProcessor.CallingContext;
+import gov.nist.secauto.metaschema.cli.processor.ExitCode;
+import gov.nist.secauto.metaschema.cli.processor.InvalidArgumentException;
+import gov.nist.secauto.metaschema.cli.processor.command.AbstractTerminalCommand;
+import gov.nist.secauto.metaschema.cli.processor.command.CommandExecutionException;
+import gov.nist.secauto.metaschema.cli.processor.command.ExtraArgument;
+import gov.nist.secauto.metaschema.cli.processor.command.ICommandExecutor;
+import gov.nist.secauto.metaschema.core.util.CollectionUtil;
+import gov.nist.secauto.metaschema.core.util.ObjectUtils;
+
+import org.apache.commons.cli.CommandLine;
+import org.apache.commons.cli.Option;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.net.InetAddress;
+import java.net.URI;
+import java.net.URISyntaxException;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.util.Collection;
+import java.util.List;
+
+import edu.umd.cs.findbugs.annotations.NonNull;
+
+/**
+ * This command sends a command to a server started using the
+ * {@link ServeCommand}, and reports the output and exit status of the command as
+ * if it had been run directly.
+ * <p>
+ * The command to run follows a {@code --} argument, for example
+ * {@code remote -- validate -m module.xml content.json}.
+ * <p>
+ * The server's token is read from the file written by the server when it was
+ * started, and is sent with the command.
+ */
+class RemoteCommand
+    extends AbstractTerminalCommand {
+  @NonNull
+  static final String COMMAND = "remote";
+  @NonNull
+  private static final List<ExtraArgument> EXTRA_ARGUMENTS = ObjectUtils.notNull(List.of(
+      ExtraArgument.newInstance("command-and-arguments", true)));
+
+  @Override
+  public String getName() {
+    return COMMAND;
+  }
+
+  @Override
+  public String getDescription() {
+    return "Run a command, provided after '--', using a server started with '" + ServeCommand.COMMAND + "'";
+  }
+
+  @Override
+  public Collection<? extends Option> gatherOptions() {
+    return CollectionUtil.singletonList(MetaschemaCommands.PORT_OPTION);
+  }
+
+  @Override
+  public List<ExtraArgument> getExtraArguments() {
+    return EXTRA_ARGUMENTS;
+  }
+
+  @Override
+  public void validateExtraArguments(CallingContext callingContext, CommandLine commandLine)
+      throws InvalidArgumentException {
+    // any number of arguments may be passed to the remote command
+    if (commandLine.getArgList().isEmpty()) {
+      throw new InvalidArgumentException("The command to run must be provided following '--'.");
+    }
+  }
+
+  @Override
+  public ICommandExecutor newExecutor(CallingContext callingContext, CommandLine cmdLine) {
+    return ICommandExecutor.using(callingContext, cmdLine, this::executeCommand);
+  }
+
+  /**
+   * Execute the remote command.
+   *
+   * @param callingContext
+   *          information about the calling context
+   * @param cmdLine
+   *          the parsed command line details
+   * @throws CommandExecutionException
+   *           if the server could not be reached, or if the command did not
+   *           complete successfully
+   */
+  protected void executeCommand(
+      @NonNull CallingContext callingContext,
+      @NonNull CommandLine cmdLine) throws CommandExecutionException {
+    int port = MetaschemaCommands.getServerPort(cmdLine);
+    List<String> args = ObjectUtils.notNull(cmdLine.getArgList());
+    for (String arg : args) {
+      if (arg.indexOf('\n') >= 0) {
+        throw new CommandExecutionException(
+            ExitCode.INVALID_ARGUMENTS,
+            "Arguments containing a line break cannot be sent to the server.");
+      }
+    }
+
+    Path tokenFile = ServerToken.tokenFile(ServerToken.defaultDirectory(), port);
+    String token;
+    try {
+      token = ServerToken.read(tokenFile);
+    } catch (IOException ex) {
+      throw new CommandExecutionException(
+          ExitCode.IO_ERROR,
+          String.format("Unable to read the token of the server on port %d from '%s'. Start a server using '%s'. %s",
+              port,
+              tokenFile,
+              ServeCommand.COMMAND,
+              ex.getLocalizedMessage()),
+          ex);
+    }
+
+    ExitCode exitCode;
+    try {
+      exitCode = send(port, token, args, System.out);
+      System.out.flush();
+    } catch (IOException ex) {
+      throw new CommandExecutionException(
+          ExitCode.IO_ERROR,
+          String.format("Unable to run the command using a server on port %d. Start a server using '%s'. %s",
+              port,
+              ServeCommand.COMMAND,
+              ex.getLocalizedMessage()),
+          ex);
+    } catch (InterruptedException ex) {
+      Thread.currentThread().interrupt();
+      throw new CommandExecutionException(ExitCode.RUNTIME_ERROR, ex);
+    } catch (IllegalArgumentException ex) {
+      throw new CommandExecutionException(
+          ExitCode.RUNTIME_ERROR,
+          "The server returned an unrecognized exit code.",
+          ex);
+    }
+
+    if (!ExitCode.OK.equals(exitCode)) {
+      throw new CommandExecutionException(exitCode);
+    }
+  }
+
+  /**
+   * Send a command to the server on the provided port, writing the command's
+   * output to the provided stream.
+   *
+   * @param port
+   *          the port of the server
+   * @param token
+   *          the server's token
+   * @param args
+   *          the command line arguments of the command to run, none of which may
+   *          contain a line break
+   * @param out
+   *          the stream to write the command's output to
+   * @return the exit code of the command
+   * @throws IOException
+   *           if an error occurred while communicating with the server
+   * @throws InterruptedException
+   *           if the request was interrupted
+   * @throws IllegalArgumentException
+   *           if the server returned an unrecognized exit code
+   */
+  @NonNull
+  static ExitCode send(
+      int port,
+      @NonNull String token,
+      @NonNull List<String> args,
+      @NonNull OutputStream out) throws IOException, InterruptedException {
+    StringBuilder body = new StringBuilder();
+    for (String arg : args) {
+      body.append(arg).append('\n');
+    }
+
+    URI uri;
+    try {
+      uri = new URI("http", null, InetAddress.getLoopbackAddress().getHostAddress(), port, ServeCommand.RUN_PATH,
+          null, null);
+    } catch (URISyntaxException ex) {
+      throw new IOException(ex);
+    }
+
+    HttpRequest request = HttpRequest.newBuilder(uri)
+        .header(ServerToken.TOKEN_HEADER, token)
+        .header(ServeCommand.WORKING_DIRECTORY_HEADER, getCurrentWorkingDirectory().toString())
+        .POST(HttpRequest.BodyPublishers.ofString(body.toString(), StandardCharsets.UTF_8))
+        .build();
+
+    HttpResponse<InputStream> response = HttpClient.newHttpClient()
+        .send(request, HttpResponse.BodyHandlers.ofInputStream());
+    try (InputStream is = response.body()) {
+      is.transferTo(out);
+    }
+
+    return ObjectUtils.notNull(response.headers().firstValue(ServeCommand.EXIT_CODE_HEADER)
+        .map(ExitCode::valueOf)
+        .orElse(ExitCode.RUNTIME_ERROR));
+  }
+}
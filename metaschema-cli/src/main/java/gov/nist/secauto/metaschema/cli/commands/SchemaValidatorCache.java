@@ -0,0 +1,274 @@
+/*
+ * SPDX-FileCopyrightText: none
+ * SPDX-License-Identifier: CC0-1.0
+ */
+
+package gov.nist.secauto.metaschema.cli.commands;
+
+import gov.nist.secauto.metaschema.core.configuration.DefaultConfiguration;
+import gov.nist.secauto.metaschema.core.configuration.IMutableConfiguration;
+import gov.nist.secauto.metaschema.core.model.IModule;
+import gov.nist.secauto.metaschema.core.model.ModuleDigest;
+import gov.nist.secauto.metaschema.core.model.constraint.IConstraintSet;
+import gov.nist.secauto.metaschema.core.model.validation.JsonSchemaContentValidator;
+import gov.nist.secauto.metaschema.core.model.validation.XmlSchemaContentValidator;
+import gov.nist.secauto.metaschema.core.util.ObjectUtils;
+import gov.nist.secauto.metaschema.schemagen.ISchemaGenerator;
+import gov.nist.secauto.metaschema.schemagen.ISchemaGenerator.SchemaFormat;
+import gov.nist.secauto.metaschema.schemagen.SchemaGenerationFeature;
+
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+import org.json.JSONObject;
+import org.json.JSONTokener;
+
+import java.io.IOException;
+import java.io.Reader;
+import java.io.StringReader;
+import java.io.StringWriter;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Optional;
+import java.util.WeakHashMap;
+
+import javax.xml.transform.stream.StreamSource;
+
+import edu.umd.cs.findbugs.annotations.NonNull;
+import edu.umd.cs.findbugs.annotations.Nullable;
+
+/**
+ * Caches the schema validators generated for Metaschema modules, so that
+ * validating many resources against the same module generates and compiles
+ * each schema only once.
+ * <p>
+ * Validators are cached in memory for the life of the process. If a cache
+ * directory is configured, the generated schemas are also stored on disk, keyed
+ * by a digest of the module and its constraints, allowing later processes to
+ * skip schema generation.
+ * <p>
+ * This class is thread safe.
+ */
+final class SchemaValidatorCache {
+  private static final Logger LOGGER = LogManager.getLogger(SchemaValidatorCache.class);
+  @NonNull
+  private static final SchemaValidatorCache INSTANCE = new SchemaValidatorCache(MetaschemaCommands.getSchemaCacheDir());
+
+  @Nullable
+  private final Path cacheDir;
+  @NonNull
+  private final ValidatorMap<XmlSchemaContentValidator> xmlValidators = new ValidatorMap<>();
+  @NonNull
+  private final ValidatorMap<JsonSchemaContentValidator> jsonValidators = new ValidatorMap<>();
+  /**
+   * The digests already computed for a module and the constraint sets applied to
+   * it, which avoids reading the module resources each time a validator is
+   * requested.
+   */
+  @NonNull
+  private final Map<IModule, Map<List<IConstraintSet>, Optional<String>>> moduleDigests = new WeakHashMap<>();
+
+  /**
+   * Get the cache shared by all commands.
+   *
+   * @return the cache
+   */
+  @NonNull
+  public static SchemaValidatorCache instance() {
+    return INSTANCE;
+  }
+
+  /**
+   * Construct a new cache.
+   *
+   * @param cacheDir
+   *          the directory used to store generated schemas, or {@code null} if
+   *          schemas are only to be cached in memory
+   */
+  SchemaValidatorCache(@Nullable Path cacheDir) {
+    this.cacheDir = cacheDir;
+  }
+
+  /**
+   * Get the XML schema validator for the provided module, generating the schema
+   * if needed.
+   *
+   * @param module
+   *          the module to get the validator for
+   * @param constraintSets
+   *          the external constraint sets applied to the module
+   * @return the validator
+   * @throws IOException
+   *           if an error occurred while generating or loading the schema
+   */
+  @NonNull
+  public synchronized XmlSchemaContentValidator getXmlSchemaValidator(
+      @NonNull IModule module,
+      @NonNull Collection<IConstraintSet> constraintSets) throws IOException {
+    String digest = getDigest(module, constraintSets);
+
+    XmlSchemaContentValidator retval = xmlValidators.get(module, digest);
+    if (retval == null) {
+      String schema = getSchema(module, digest, SchemaFormat.XML);
+      try (Reader reader = new StringReader(schema)) {
+        retval = new XmlSchemaContentValidator(ObjectUtils.notNull(List.of(new StreamSource(reader))));
+      }
+      xmlValidators.put(module, digest, retval);
+    }
+    return retval;
+  }
+
+  /**
+   * Get the JSON schema validator for the provided module, generating the schema
+   * if needed.
+   *
+   * @param module
+   *          the module to get the validator for
+   * @param constraintSets
+   *          the external constraint sets applied to the module
+   * @return the validator
+   * @throws IOException
+   *           if an error occurred while generating or loading the schema
+   */
+  @NonNull
+  public synchronized JsonSchemaContentValidator getJsonSchemaValidator(
+      @NonNull IModule module,
+      @NonNull Collection<IConstraintSet> constraintSets) throws IOException {
+    String digest = getDigest(module, constraintSets);
+
+    JsonSchemaContentValidator retval = jsonValidators.get(module, digest);
+    if (retval == null) {
+      String schema = getSchema(module, digest, SchemaFormat.JSON);
+      retval = new JsonSchemaContentValidator(new JSONObject(new JSONTokener(schema)));
+      jsonValidators.put(module, digest, retval);
+    }
+    return retval;
+  }
+
+  /**
+   * Get the digest of the provided module and the constraint sets applied to it.
+   *
+   * @param module
+   *          the module to get the digest for
+   * @param constraintSets
+   *          the external constraint sets applied to the module
+   * @return the digest, or {@code null} if the resources of the module or
+   *         constraint sets cannot be read
+   */
+  @Nullable
+  String getDigest(@NonNull IModule module, @NonNull Collection<IConstraintSet> constraintSets) {
+    // the digest depends on the order of the constraint sets
+    List<IConstraintSet> key = ObjectUtils.notNull(List.copyOf(constraintSets));
+    return moduleDigests.computeIfAbsent(module, mod -> new HashMap<>())
+        .computeIfAbsent(key, sets -> Optional.ofNullable(ModuleDigest.digest(module, sets)))
+        .orElse(null);
+  }
+
+  /**
+   * Get the schema for the provided module, from the cache directory if
+   * available, or by generating it.
+   *
+   * @param module
+   *          the module to get the schema for
+   * @param digest
+   *          the digest of the module, or {@code null} if the schema is not to
+   *          be stored on disk
+   * @param format
+   *          the schema format
+   * @return the schema
+   * @throws IOException
+   *           if an error occurred while generating or storing the schema
+   */
+  @NonNull
+  private String getSchema(
+      @NonNull IModule module,
+      @Nullable String digest,
+      @NonNull SchemaFormat format) throws IOException {
+    Path dir = cacheDir;
+    Path file = dir == null || digest == null
+        ? null
+        : dir.resolve(digest + "." + format.name().toLowerCase(Locale.ROOT));
+
+    String retval;
+    if (file != null && Files.isRegularFile(file)) {
+      if (LOGGER.isDebugEnabled()) {
+        LOGGER.atDebug().log("Using cached schema '{}' for module '{}'.", file, module.getLocation());
+      }
+      retval = ObjectUtils.notNull(Files.readString(file, StandardCharsets.UTF_8));
+    } else {
+      retval = generateSchema(module, format);
+      if (file != null) {
+        store(file, retval);
+      }
+    }
+    return retval;
+  }
+
+  @NonNull
+  private static String generateSchema(@NonNull IModule module, @NonNull SchemaFormat format) throws IOException {
+    IMutableConfiguration<SchemaGenerationFeature<?>> configuration = new DefaultConfiguration<>();
+
+    try (StringWriter writer = new StringWriter()) {
+      ISchemaGenerator.generateSchema(module, writer, format, configuration);
+      return ObjectUtils.notNull(writer.toString());
+    }
+  }
+
+  /**
+   * Store the schema in the cache directory. The schema is written to a
+   * temporary file that is then atomically moved into place, allowing multiple
+   * processes to share the cache directory.
+   *
+   * @param file
+   *          the cache file to write
+   * @param schema
+   *          the schema content
+   * @throws IOException
+   *           if an error occurred while writing the file
+   */
+  private static void store(@NonNull Path file, @NonNull String schema) throws IOException {
+    Path dir = ObjectUtils.notNull(file.getParent());
+    Files.createDirectories(dir);
+    Path temp = Files.createTempFile(dir, file.getFileName().toString(), ".tmp");
+    try {
+      Files.writeString(temp, schema, StandardCharsets.UTF_8);
+      Files.move(temp, file, StandardCopyOption.ATOMIC_MOVE, StandardCopyOption.REPLACE_EXISTING);
+    } finally {
+      Files.deleteIfExists(temp);
+    }
+  }
+
+  /**
+   * The cached validators, keyed by the module digest. If no digest can be
+   * computed, the validator is keyed by the module itself, which is held weakly
+   * to allow the module to be released.
+   *
+   * @param <V>
+   *          the type of validator
+   */
+  private static final class ValidatorMap<V> {
+    @NonNull
+    private final Map<String, V> digestValidators = new HashMap<>();
+    @NonNull
+    private final Map<IModule, V> moduleValidators = new WeakHashMap<>();
+
+    @Nullable
+    public V get(@NonNull IModule module, @Nullable String digest) {
+      return digest == null ? moduleValidators.get(module) : digestValidators.get(digest);
+    }
+
+    public void put(@NonNull IModule module, @Nullable String digest, @NonNull V validator) {
+      if (digest == null) {
+        moduleValidators.put(module, validator);
+      } else {
+        digestValidators.put(digest, validator);
+      }
+    }
+  }
+}
@@ -0,0 +1,402 @@
+/*
+ * SPDX-FileCopyrightText: none
+ * SPDX-License-Identifier: CC0-1.0
+ */
+
+package gov.nist.secauto.metaschema.cli.commands;
+
+import com.sun.net.httpserver.Headers;
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpServer;
+
+import gov.nist.secauto.metaschema.cli.processor.CLIProcessor;
+import gov.nist.secauto.metaschema.cli.processor.CLIProcessor.CallingContext;
+import gov.nist.secauto.metaschema.cli.processor.ExitCode;
+import gov.nist.secauto.metaschema.cli.processor.ExitStatus;
+import gov.nist.secauto.metaschema.cli.processor.command.AbstractTerminalCommand;
+import gov.nist.secauto.metaschema.cli.processor.command.CommandExecutionException;
+import gov.nist.secauto.metaschema.cli.processor.command.ICommandExecutor;
+import gov.nist.secauto.metaschema.core.util.CollectionUtil;
+import gov.nist.secauto.metaschema.core.util.ObjectUtils;
+
+import org.apache.commons.cli.CommandLine;
+import org.apache.commons.cli.Option;
+import org.apache.logging.log4j.Level;
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+import org.apache.logging.log4j.core.Appender;
+import org.apache.logging.log4j.core.LoggerContext;
+import org.apache.logging.log4j.core.appender.OutputStreamAppender;
+import org.apache.logging.log4j.core.config.Configuration;
+import org.apache.logging.log4j.core.config.LoggerConfig;
+import org.apache.logging.log4j.core.layout.PatternLayout;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.PrintStream;
+import java.net.InetAddress;
+import java.net.InetSocketAddress;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.List;
+import java.util.Locale;
+import java.util.Set;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+import edu.umd.cs.findbugs.annotations.NonNull;
+import edu.umd.cs.findbugs.annotations.Nullable;
+
+/**
+ * This command runs a local server that executes commands sent by the
+ * {@link RemoteCommand}, avoiding the cost of starting a new process for each
+ * command.
+ * <p>
+ * The server keeps binding contexts, loaded modules, compiled constraints, and
+ * generated schemas between commands. The server only accepts connections on
+ * the loopback interface.
+ * <p>
+ * Each time the server starts, it writes a new random token to a file that only
+ * the current user can read. A request is rejected unless it provides the token
+ * in the {@value ServerToken#TOKEN_HEADER} header, is addressed to a loopback
+ * host name, and has no {@code Origin} header. This prevents other users, web
+ * pages, and DNS rebinding attacks from running commands.
+ * <p>
+ * Each request is a {@code POST} to {@value #RUN_PATH} whose body lists the
+ * command line arguments, one per line. The response body contains the output
+ * of the command, and the {@value #EXIT_CODE_HEADER} header contains the name of
+ * the resulting {@link ExitCode}. Commands are executed one at a time, since
+ * their output is captured from the process-wide console and loggers.
+ */
+class ServeCommand
+    extends AbstractTerminalCommand {
+  private static final Logger LOGGER = LogManager.getLogger(ServeCommand.class);
+
+  @NonNull
+  static final String COMMAND = "serve";
+  /**
+   * The request path used to run a command.
+   */
+  @NonNull
+  static final String RUN_PATH = "/run";
+  /**
+   * The response header providing the name of the command's exit code.
+   */
+  @NonNull
+  static final String EXIT_CODE_HEADER = "X-Metaschema-Exit-Code";
+  /**
+   * The request header providing the working directory of the client.
+   */
+  @NonNull
+  static final String WORKING_DIRECTORY_HEADER = "X-Metaschema-Working-Directory";
+  @NonNull
+  private static final String REQUEST_APPENDER = "serve-request";
+  /**
+   * The host names accepted in the {@code Host} header of a request.
+   */
+  @NonNull
+  private static final Set<String> LOOPBACK_HOSTS = ObjectUtils.notNull(Set.of(
+      "localhost",
+      "127.0.0.1",
+      "[::1]",
+      "[0:0:0:0:0:0:0:1]"));
+  /**
+   * Commands that cannot be run by the server.
+   */
+  @NonNull
+  private static final Set<String> EXCLUDED_COMMANDS = ObjectUtils.notNull(Set.of(COMMAND, RemoteCommand.COMMAND));
+
+  @Override
+  public String getName() {
+    return COMMAND;
+  }
+
+  @Override
+  public String getDescription() {
+    return "Run a local server that keeps modules, constraints, and schemas loaded for commands run using '"
+        + RemoteCommand.COMMAND + "'";
+  }
+
+  @Override
+  public Collection<? extends Option> gatherOptions() {
+    return CollectionUtil.singletonList(MetaschemaCommands.PORT_OPTION);
+  }
+
+  @Override
+  public ICommandExecutor newExecutor(CallingContext callingContext, CommandLine cmdLine) {
+    return ICommandExecutor.using(callingContext, cmdLine, this::executeCommand);
+  }
+
+  /**
+   * Execute the server command, which runs until the process is terminated.
+   *
+   * @param callingContext
+   *          information about the calling context
+   * @param cmdLine
+   *          the parsed command line details
+   * @throws CommandExecutionException
+   *           if an error occurred while starting the server
+   */
+  protected void executeCommand(
+      @NonNull CallingContext callingContext,
+      @NonNull CommandLine cmdLine) throws CommandExecutionException {
+    int port = MetaschemaCommands.getServerPort(cmdLine);
+    CLIProcessor processor = callingContext.getCLIProcessor();
+    String token = ServerToken.generate();
+
+    HttpServer server;
+    try {
+      server = newServer(new InetSocketAddress(InetAddress.getLoopbackAddress(), port), processor, token);
+    } catch (IOException ex) {
+      throw new CommandExecutionException(
+          ExitCode.IO_ERROR,
+          String.format("Unable to start the server on port %d. %s", port, ex.getLocalizedMessage()),
+          ex);
+    }
+
+    Path tokenFile = ServerToken.tokenFile(ServerToken.defaultDirectory(), server.getAddress().getPort());
+    try {
+      ServerToken.write(tokenFile, token);
+
+      BindingContextCache.instance().enable();
+
+      if (LOGGER.isInfoEnabled()) {
+        LOGGER.info("Listening on '{}'. Use '{}' to run commands.", server.getAddress(), RemoteCommand.COMMAND);
+      }
+
+      // serve until the process is terminated
+      new CountDownLatch(1).await();
+    } catch (IOException ex) {
+      throw new CommandExecutionException(
+          ExitCode.IO_ERROR,
+          String.format("Unable to write the server token to '%s'. %s", tokenFile, ex.getLocalizedMessage()),
+          ex);
+    } catch (InterruptedException ex) {
+      Thread.currentThread().interrupt();
+    } finally {
+      stopServer(server);
+      try {
+        Files.deleteIfExists(tokenFile);
+      } catch (IOException ex) {
+        LOGGER.atWarn().log("Unable to delete the server token '{}'.", tokenFile);
+      }
+    }
+  }
+
+  /**
+   * Create and start a server that runs commands using the provided processor.
+   *
+   * @param address
+   *          the loopback address and port to listen on
+   * @param processor
+   *          the processor used to run commands
+   * @param token
+   *          the token that must be provided with each request
+   * @return the started server
+   * @throws IOException
+   *           if the server could not be started
+   */
+  @SuppressWarnings("PMD.DoNotUseThreads")
+  @NonNull
+  static HttpServer newServer(
+      @NonNull InetSocketAddress address,
+      @NonNull CLIProcessor processor,
+      @NonNull String token) throws IOException {
+    HttpServer server = ObjectUtils.notNull(HttpServer.create(address, 0));
+
+    // commands share the process-wide console, so they must run one at a time
+    server.setExecutor(Executors.newSingleThreadExecutor());
+    server.createContext(RUN_PATH, exchange -> handleRun(exchange, processor, token));
+    server.start();
+    return server;
+  }
+
+  /**
+   * Stop a server created using
+   * {@link #newServer(InetSocketAddress, CLIProcessor, String)}.
+   *
+   * @param server
+   *          the server to stop
+   */
+  @SuppressWarnings("PMD.DoNotUseThreads")
+  static void stopServer(@NonNull HttpServer server) {
+    server.stop(0);
+    ((ExecutorService) server.getExecutor()).shutdownNow();
+  }
+
+  @SuppressWarnings("PMD.OnlyOneReturn") // readability
+  private static void handleRun(
+      @NonNull HttpExchange exchange,
+      @NonNull CLIProcessor processor,
+      @NonNull String token) throws IOException {
+    try {
+      Headers headers = exchange.getRequestHeaders();
+      // browsers send an origin with cross-origin requests, which are never allowed
+      if (headers.containsKey("Origin")) {
+        sendResponse(exchange, 403, ExitCode.INVALID_COMMAND, "Requests from web pages are not accepted.");
+        return;
+      }
+
+      // a DNS rebinding attack uses a host name other than a loopback name
+      if (!isLoopbackHost(headers.getFirst("Host"))) {
+        sendResponse(exchange, 403, ExitCode.INVALID_COMMAND, "Requests must be addressed to a loopback host.");
+        return;
+      }
+
+      if (!ServerToken.matches(token, headers.getFirst(ServerToken.TOKEN_HEADER))) {
+        sendResponse(exchange, 403, ExitCode.INVALID_COMMAND, String.format(
+            "The request did not provide the server's token. Commands must be sent using '%s'.",
+            RemoteCommand.COMMAND));
+        return;
+      }
+
+      if (!"POST".equals(exchange.getRequestMethod())) {
+        sendResponse(exchange, 405, ExitCode.INVALID_COMMAND, "Commands must be sent using POST.");
+        return;
+      }
+
+      String workingDirectory = headers.getFirst(WORKING_DIRECTORY_HEADER);
+      if (workingDirectory != null && !Paths.get(workingDirectory).equals(getCurrentWorkingDirectory())) {
+        sendResponse(exchange, 400, ExitCode.INVALID_ARGUMENTS, String.format(
+            "The server was started in '%s', but the command was run in '%s'."
+                + " Start the server in the directory the commands are run in.",
+            getCurrentWorkingDirectory(),
+            workingDirectory));
+        return;
+      }
+
+      List<String> args = parseArguments(
+          new String(exchange.getRequestBody().readAllBytes(), StandardCharsets.UTF_8));
+      if (args.isEmpty() || EXCLUDED_COMMANDS.contains(args.get(0))) {
+        sendResponse(exchange, 400, ExitCode.INVALID_COMMAND, "A command to run must be provided.");
+        return;
+      }
+
+      ByteArrayOutputStream output = new ByteArrayOutputStream();
+      ExitStatus status = runCommand(processor, args, output);
+      sendResponse(exchange, 200, status.getExitCode(), ObjectUtils.notNull(output.toByteArray()));
+    } finally {
+      exchange.close();
+    }
+  }
+
+  /**
+   * Determine if the provided {@code Host} header value names a loopback host.
+   *
+   * @param host
+   *          the header value, or {@code null} if the header was not provided
+   * @return {@code true} if the host is a loopback host, or {@code false}
+   *         otherwise
+   */
+  static boolean isLoopbackHost(@Nullable String host) {
+    boolean retval = false;
+    if (host != null) {
+      String name = host.trim();
+      if (name.startsWith("[")) {
+        // an IPv6 address, optionally followed by a port
+        int end = name.indexOf(']');
+        name = end < 0 ? "" : name.substring(0, end + 1);
+      } else {
+        int colon = name.lastIndexOf(':');
+        if (colon >= 0) {
+          name = name.substring(0, colon);
+        }
+      }
+      retval = LOOPBACK_HOSTS.contains(name.toLowerCase(Locale.ROOT));
+    }
+    return retval;
+  }
+
+  @NonNull
+  private static List<String> parseArguments(@NonNull String body) {
+    // each argument is terminated by a newline
+    String text = body.endsWith("\n") ? body.substring(0, body.length() - 1) : body;
+    return ObjectUtils.notNull(text.isEmpty()
+        ? CollectionUtil.emptyList()
+        : Arrays.asList(text.split("\n", -1)));
+  }
+
+  /**
+   * Run the command, capturing the console and logging output of the command.
+   *
+   * @param processor
+   *          the processor used to run the command
+   * @param args
+   *          the command line arguments
+   * @param output
+   *          the stream the command's output is written to
+   * @return the exit status of the command
+   */
+  @SuppressWarnings("PMD.CloseResource") // the output is owned by the caller
+  @NonNull
+  private static ExitStatus runCommand(
+      @NonNull CLIProcessor processor,
+      @NonNull List<String> args,
+      @NonNull OutputStream output) {
+    PrintStream out = new PrintStream(output, true, StandardCharsets.UTF_8);
+
+    LoggerContext ctx = (LoggerContext) LogManager.getContext(false); // NOPMD not closable here
+    Configuration config = ctx.getConfiguration();
+    LoggerConfig rootConfig = config.getRootLogger();
+    Level level = rootConfig.getLevel();
+
+    Appender appender = OutputStreamAppender.newBuilder()
+        .setName(REQUEST_APPENDER)
+        .setTarget(out)
+        .setLayout(PatternLayout.newBuilder()
+            .withConfiguration(config)
+            .withPattern("%m%n")
+            .withCharset(StandardCharsets.UTF_8)
+            .build())
+        .build();
+    appender.start();
+    rootConfig.addAppender(appender, null, null);
+    ctx.updateLoggers();
+
+    PrintStream originalOut = System.out;
+    PrintStream originalErr = System.err;
+    System.setOut(out);
+    System.setErr(out);
+    try {
+      return processor.process(args.toArray(new String[0]));
+    } finally {
+      System.setOut(originalOut);
+      System.setErr(originalErr);
+
+      rootConfig.removeAppender(REQUEST_APPENDER);
+      // undo any change made by the quiet option
+      rootConfig.setLevel(level);
+      ctx.updateLoggers();
+      appender.stop();
+      out.flush();
+    }
+  }
+
+  private static void sendResponse(
+      @NonNull HttpExchange exchange,
+      int status,
+      @NonNull ExitCode exitCode,
+      @NonNull String message) throws IOException {
+    sendResponse(exchange, status, exitCode,
+        ObjectUtils.notNull((message + System.lineSeparator()).getBytes(StandardCharsets.UTF_8)));
+  }
+
+  private static void sendResponse(
+      @NonNull HttpExchange exchange,
+      int status,
+      @NonNull ExitCode exitCode,
+      @NonNull byte[] body) throws IOException {
+    exchange.getResponseHeaders().set("Content-Type", "text/plain; charset=UTF-8");
+    exchange.getResponseHeaders().set(EXIT_CODE_HEADER, exitCode.name());
+    exchange.sendResponseHeaders(status, body.length == 0 ? -1 : body.length);
+    try (OutputStream os = exchange.getResponseBody()) {
+      os.write(body);
+    }
+  }
+}
@@ -0,0 +1,164 @@
+/*
+ * SPDX-FileCopyrightText: none
+ * SPDX-License-Identifier: CC0-1.0
+ */
+
+package gov.nist.secauto.metaschema.cli.commands;
+
+import gov.nist.secauto.metaschema.core.util.ObjectUtils;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.FileSystems;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.attribute.PosixFilePermissions;
+import java.security.MessageDigest;
+import java.security.SecureRandom;
+import java.util.Base64;
+
+import edu.umd.cs.findbugs.annotations.NonNull;
+import edu.umd.cs.findbugs.annotations.Nullable;
+import edu.umd.cs.findbugs.annotations.SuppressFBWarnings;
+
+/**
+ * Manages the secret token shared by a server started using the
+ * {@link ServeCommand} and the {@link RemoteCommand}.
+ * <p>
+ * A new random token is generated each time a server is started. The token is
+ * written to a file in the user's home directory that only the user can read,
+ * and must be provided with every request sent to the server. This prevents
+ * other users of the system, and web pages loaded in a browser, from running
+ * commands using the server.
+ */
+final class ServerToken {
+  /**
+   * The request header providing the server's token.
+   */
+  @NonNull
+  static final String TOKEN_HEADER = "X-Metaschema-Token";
+  private static final int TOKEN_BYTES = 32;
+  @NonNull
+  private static final SecureRandom RANDOM = new SecureRandom();
+
+  private ServerToken() {
+    // disable construction
+  }
+
+  /**
+   * Get the default directory used to store server tokens.
+   *
+   * @return the directory
+   */
+  @NonNull
+  static Path defaultDirectory() {
+    return ObjectUtils.notNull(Paths.get(System.getProperty("user.home"), ".metaschema-cli"));
+  }
+
+  /**
+   * Get the file used to store the token of the server using the provided port.
+   *
+   * @param directory
+   *          the directory used to store server tokens
+   * @param port
+   *          the port of the server
+   * @return the token file
+   */
+  @NonNull
+  static Path tokenFile(@NonNull Path directory, int port) {
+    return ObjectUtils.notNull(directory.resolve("server-" + port + ".token"));
+  }
+
+  /**
+   * Generate a new random token.
+   *
+   * @return the token
+   */
+  @NonNull
+  static String generate() {
+    byte[] bytes = new byte[TOKEN_BYTES];
+    RANDOM.nextBytes(bytes);
+    return ObjectUtils.notNull(Base64.getUrlEncoder().withoutPadding().encodeToString(bytes));
+  }
+
+  /**
+   * Write the token to the provided file, which is made readable only by the
+   * current user.
+   *
+   * @param file
+   *          the token file
+   * @param token
+   *          the token to write
+   * @throws IOException
+   *           if an error occurred while writing the file
+   */
+  static void write(@NonNull Path file, @NonNull String token) throws IOException {
+    Path directory = ObjectUtils.notNull(file.toAbsolutePath().getParent());
+    boolean posix = FileSystems.getDefault().supportedFileAttributeViews().contains("posix");
+
+    Path tempFile;
+    if (posix) {
+      Files.createDirectories(directory,
+          PosixFilePermissions.asFileAttribute(PosixFilePermissions.fromString("rwx------")));
+      // the file is created with restricted permissions before the token is written
+      tempFile = Files.createTempFile(directory, "server-", ".tmp",
+          PosixFilePermissions.asFileAttribute(PosixFilePermissions.fromString("rw-------")));
+    } else {
+      Files.createDirectories(directory);
+      tempFile = Files.createTempFile(directory, "server-", ".tmp");
+      restrictToOwner(ObjectUtils.notNull(tempFile.toFile()));
+    }
+
+    try {
+      Files.writeString(tempFile, token, StandardCharsets.UTF_8);
+      Files.move(tempFile, file, StandardCopyOption.ATOMIC_MOVE, StandardCopyOption.REPLACE_EXISTING);
+    } finally {
+      Files.deleteIfExists(tempFile);
+    }
+  }
+
+  @SuppressFBWarnings(value = "RV_RETURN_VALUE_IGNORED_BAD_PRACTICE",
+      justification = "best effort on file systems without POSIX permissions")
+  private static void restrictToOwner(@NonNull File file) {
+    file.setReadable(false, false);
+    file.setReadable(true, true);
+    file.setWritable(false, false);
+    file.setWritable(true, true);
+  }
+
+  /**
+   * Read the token from the provided file.
+   *
+   * @param file
+   *          the token file
+   * @return the token
+   * @throws IOException
+   *           if an error occurred while reading the file
+   */
+  @NonNull
+  static String read(@NonNull Path file) throws IOException {
+    return ObjectUtils.notNull(Files.readString(file, StandardCharsets.UTF_8).trim());
+  }
+
+  /**
+   * Determine if the provided token matches the expected token.
+   * <p>
+   * The comparison takes the same amount of time regardless of how much of the
+   * token matches.
+   *
+   * @param expected
+   *          the server's token
+   * @param provided
+   *          the token provided with a request, or {@code null} if none was
+   *          provided
+   * @return {@code true} if the tokens match, or {@code false} otherwise
+   */
+  static boolean matches(@NonNull String expected, @Nullable String provided) {
+    return provided != null && MessageDigest.isEqual(
+        expected.getBytes(StandardCharsets.UTF_8),
+        provided.getBytes(StandardCharsets.UTF_8));
+  }
+}
@@ -8,8 +8,6 @@ package gov.nist.secauto.metaschema.cli.commands;
 import gov.nist.secauto.metaschema.cli.processor.CLIProcessor.CallingContext;
 import gov.nist.secauto.metaschema.cli.processor.command.CommandExecutionException;
 import gov.nist.secauto.metaschema.cli.processor.command.ICommandExecutor;
-import gov.nist.secauto.metaschema.core.configuration.DefaultConfiguration;
-import gov.nist.secauto.metaschema.core.configuration.IMutableConfiguration;
 import gov.nist.secauto.metaschema.core.model.IModule;
 import gov.nist.secauto.metaschema.core.model.constraint.IConstraintSet;
 import gov.nist.secauto.metaschema.core.model.validation.JsonSchemaContentValidator;
@@ -18,28 +16,19 @@ import gov.nist.secauto.metaschema.core.util.CollectionUtil;
 import gov.nist.secauto.metaschema.core.util.ObjectUtils;
 import gov.nist.secauto.metaschema.databind.IBindingContext;
 import gov.nist.secauto.metaschema.databind.IBindingContext.ISchemaValidationProvider;
-import gov.nist.secauto.metaschema.schemagen.ISchemaGenerator;
-import gov.nist.secauto.metaschema.schemagen.ISchemaGenerator.SchemaFormat;
-import gov.nist.secauto.metaschema.schemagen.SchemaGenerationFeature;
 
 import org.apache.commons.cli.CommandLine;
 import org.apache.commons.cli.Option;
 import org.json.JSONObject;
-import org.json.JSONTokener;
 import org.xml.sax.SAXException;
 
 import java.io.IOException;
-import java.io.Reader;
-import java.io.StringReader;
-import java.io.StringWriter;
 import java.net.URL;
 import java.util.ArrayList;
 import java.util.Collection;
 import java.util.List;
 import java.util.Set;
 
-import javax.xml.transform.stream.StreamSource;
-
 import edu.umd.cs.findbugs.annotations.NonNull;
 
 /**
@@ -79,6 +68,12 @@ class ValidateContentUsingModuleCommand
 
   private final class CommandExecutor
       extends AbstractValidationCommandExecutor {
+    /**
+     * The external constraint sets applied to the module, which affect the
+     * generated schemas.
+     */
+    @NonNull
+    private Set<IConstraintSet> constraintSets = CollectionUtil.emptySet();
 
     private CommandExecutor(
         @NonNull CallingContext callingContext,
@@ -89,6 +84,7 @@ class ValidateContentUsingModuleCommand
     @Override
     protected IBindingContext getBindingContext(@NonNull Set<IConstraintSet> constraintSets)
         throws CommandExecutionException {
+      this.constraintSets = constraintSets;
       return MetaschemaCommands.newBindingContextWithDynamicCompilation(constraintSets);
     }
 
@@ -109,7 +105,7 @@ class ValidateContentUsingModuleCommand
         IModule module,
         CommandLine commandLine,
         IBindingContext bindingContext) {
-      return new ModuleValidationProvider(module);
+      return new ModuleValidationProvider(module, constraintSets);
     }
 
   }
@@ -117,37 +113,26 @@ class ValidateContentUsingModuleCommand
   private static final class ModuleValidationProvider implements ISchemaValidationProvider {
     @NonNull
     private final IModule module;
+    @NonNull
+    private final Set<IConstraintSet> constraintSets;
 
-    public ModuleValidationProvider(@NonNull IModule module) {
+    public ModuleValidationProvider(@NonNull IModule module, @NonNull Set<IConstraintSet> constraintSets) {
       this.module = module;
+      this.constraintSets = constraintSets;
     }
 
     @Override
     public XmlSchemaContentValidator getXmlSchemas(
         @NonNull URL targetResource,
         @NonNull IBindingContext bindingContext) throws IOException, SAXException {
-      IMutableConfiguration<SchemaGenerationFeature<?>> configuration = new DefaultConfiguration<>();
-
-      try (StringWriter writer = new StringWriter()) {
-        ISchemaGenerator.generateSchema(module, writer, SchemaFormat.XML, configuration);
-        try (Reader reader = new StringReader(writer.toString())) {
-          return new XmlSchemaContentValidator(
-              ObjectUtils.notNull(List.of(new StreamSource(reader))));
-        }
-      }
+      return SchemaValidatorCache.instance().getXmlSchemaValidator(module, constraintSets);
     }
 
     @Override
     public JsonSchemaContentValidator getJsonSchema(
         @NonNull JSONObject json,
         @NonNull IBindingContext bindingContext) throws IOException {
-      IMutableConfiguration<SchemaGenerationFeature<?>> configuration = new DefaultConfiguration<>();
-
-      try (StringWriter writer = new StringWriter()) {
-        ISchemaGenerator.generateSchema(module, writer, SchemaFormat.JSON, configuration);
-        return new JsonSchemaContentValidator(
-            new JSONObject(new JSONTokener(writer.toString())));
-      }
+      return SchemaValidatorCache.instance().getJsonSchemaValidator(module, constraintSets);
     }
   }
 }
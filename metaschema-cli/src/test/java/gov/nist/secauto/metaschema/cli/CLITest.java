@@ -8,20 +8,27 @@ package gov.nist.secauto.metaschema.cli;
 import static org.assertj.core.api.Assertions.assertThat;
 import static org.junit.jupiter.api.Assertions.assertAll;
 import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotEquals;
 import static org.junit.jupiter.api.Assertions.assertNull;
 
 import gov.nist.secauto.metaschema.cli.processor.ExitCode;
 import gov.nist.secauto.metaschema.cli.processor.ExitStatus;
 
 import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
 import org.junit.jupiter.api.parallel.Execution;
 import org.junit.jupiter.api.parallel.ExecutionMode;
 import org.junit.jupiter.params.ParameterizedTest;
 import org.junit.jupiter.params.provider.Arguments;
 import org.junit.jupiter.params.provider.MethodSource;
 
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
 import java.util.LinkedList;
 import java.util.List;
+import java.util.stream.Collectors;
 import java.util.stream.Stream;
 
 import edu.umd.cs.findbugs.annotations.NonNull;
@@ -245,4 +252,31 @@ public class CLITest {
           .contains("This constraint SHOULD be violated if test passes.");
     }
   }
+
+  @Test
+  void testFailedConversionKeepsDestination(@TempDir Path dir) throws IOException {
+    Path source = dir.resolve("malformed.xml");
+    Files.writeString(source, "<METASCHEMA xmlns=\"http://csrc.nist.gov/ns/oscal/metaschema/1.0\">",
+        StandardCharsets.UTF_8);
+    Path destination = dir.resolve("converted.json");
+    Files.writeString(destination, "existing", StandardCharsets.UTF_8);
+
+    String[] cliArgs = { "convert",
+        "-m",
+        "../core/metaschema/schema/metaschema/metaschema-module-metaschema.xml",
+        "--to=json",
+        "--overwrite",
+        source.toString(),
+        destination.toString()
+    };
+    ExitStatus status = CLI.runCli(cliArgs);
+
+    try (Stream<Path> files = Files.list(dir)) {
+      List<Path> remaining = files.collect(Collectors.toList());
+      assertAll(
+          () -> assertNotEquals(ExitCode.OK, status.getExitCode(), "exit code mismatch"),
+          () -> assertEquals("existing", Files.readString(destination, StandardCharsets.UTF_8)),
+          () -> assertThat(remaining).containsExactlyInAnyOrder(source, destination));
+    }
+  }
 }
@@ -0,0 +1,130 @@
+/*
+ * SPDX-FileCopyrightText: none
+ * SPDX-License-Identifier: CC0-1.0
+ */
+
+package gov.nist.secauto.metaschema.cli.commands;
+
+import static org.junit.jupiter.api.Assertions.assertAll;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import gov.nist.secauto.metaschema.cli.processor.ExitCode;
+import gov.nist.secauto.metaschema.cli.processor.command.CommandExecutionException;
+import gov.nist.secauto.metaschema.core.util.ObjectUtils;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.net.URI;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+
+import edu.umd.cs.findbugs.annotations.NonNull;
+
+class BatchProcessorTest {
+  @TempDir
+  Path tempDir;
+
+  @BeforeEach
+  void createFiles() throws IOException {
+    createFile("data/a.json");
+    createFile("data/b.xml");
+    createFile("data/nested/c.json");
+    createFile("data/nested/d.txt");
+  }
+
+  @Test
+  void testGlobMatchesFilesInSortedOrder() throws IOException {
+    assertAll(
+        () -> assertEquals(
+            List.of(path("data/a.json")),
+            BatchProcessor.findGlobMatches("data/*.json", ObjectUtils.notNull(tempDir))),
+        () -> assertEquals(
+            List.of(path("data/a.json"), path("data/nested/c.json")),
+            BatchProcessor.findGlobMatches("data/**.json", ObjectUtils.notNull(tempDir))),
+        () -> assertEquals(
+            List.of(path("data/a.json"), path("data/b.xml")),
+            BatchProcessor.findGlobMatches("data/{a.json,b.xml}", ObjectUtils.notNull(tempDir))),
+        // the directory preceding the first glob character does not exist
+        () -> assertEquals(
+            List.of(),
+            BatchProcessor.findGlobMatches("missing/*.json", ObjectUtils.notNull(tempDir))));
+  }
+
+  @Test
+  void testResolveGlob() throws CommandExecutionException {
+    assertEquals(
+        List.of(uri("data/a.json"), uri("data/nested/c.json")),
+        BatchProcessor.resolveSources("data/**.json", ObjectUtils.notNull(tempDir)));
+  }
+
+  @Test
+  void testResolveDirectory() throws CommandExecutionException {
+    // files without a recognized content extension are ignored
+    assertEquals(
+        List.of(uri("data/a.json"), uri("data/b.xml"), uri("data/nested/c.json")),
+        BatchProcessor.resolveSources("data", ObjectUtils.notNull(tempDir)));
+  }
+
+  @Test
+  void testResolveListFileWithDuplicates() throws IOException, CommandExecutionException {
+    Files.writeString(tempDir.resolve("sources.txt"), String.join("\n",
+        "# the files to process",
+        "data/b.xml",
+        "",
+        "data/a.json",
+        "data/../data/b.xml",
+        "data/a.json"), StandardCharsets.UTF_8);
+
+    // duplicates are only included once, at their first position
+    assertEquals(
+        List.of(uri("data/b.xml"), uri("data/a.json")),
+        BatchProcessor.resolveSources("@sources.txt", ObjectUtils.notNull(tempDir)));
+  }
+
+  @Test
+  void testResolveMissingFile() throws CommandExecutionException {
+    // the missing file is reported when it is processed
+    assertEquals(
+        List.of(uri("data/missing.json")),
+        BatchProcessor.resolveSources("data/missing.json", ObjectUtils.notNull(tempDir)));
+  }
+
+  @Test
+  void testResolveGlobWithoutMatches() {
+    CommandExecutionException ex = assertThrows(CommandExecutionException.class,
+        () -> BatchProcessor.resolveSources("missing/*.json", ObjectUtils.notNull(tempDir)));
+    assertEquals(ExitCode.INVALID_ARGUMENTS, ex.toExitStatus().getExitCode());
+  }
+
+  @Test
+  void testResolveMissingListFile() {
+    CommandExecutionException ex = assertThrows(CommandExecutionException.class,
+        () -> BatchProcessor.resolveSources("@missing.txt", ObjectUtils.notNull(tempDir)));
+    assertAll(
+        () -> assertEquals(ExitCode.IO_ERROR, ex.toExitStatus().getExitCode()),
+        () -> assertTrue(String.valueOf(ex.getMessage()).contains("@missing.txt")));
+  }
+
+  private void createFile(@NonNull String relativePath) throws IOException {
+    Path file = tempDir.resolve(relativePath);
+    Files.createDirectories(file.getParent());
+    Files.writeString(file, "", StandardCharsets.UTF_8);
+  }
+
+  @NonNull
+  private Path path(@NonNull String relativePath) {
+    return ObjectUtils.notNull(tempDir.resolve(relativePath));
+  }
+
+  @NonNull
+  private URI uri(@NonNull String relativePath) {
+    return ObjectUtils.notNull(tempDir.resolve(relativePath).toUri());
+  }
+}
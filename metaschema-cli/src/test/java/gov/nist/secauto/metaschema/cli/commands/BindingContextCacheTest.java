@@ -0,0 +1,166 @@
+/*
+ * SPDX-FileCopyrightText: none
+ * SPDX-License-Identifier: CC0-1.0
+ */
+
+package gov.nist.secauto.metaschema.cli.commands;
+
+import static org.junit.jupiter.api.Assertions.assertAll;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotSame;
+import static org.junit.jupiter.api.Assertions.assertSame;
+
+import gov.nist.secauto.metaschema.cli.processor.ExitCode;
+import gov.nist.secauto.metaschema.cli.processor.command.CommandExecutionException;
+import gov.nist.secauto.metaschema.core.model.IModule;
+import gov.nist.secauto.metaschema.core.model.MetaschemaException;
+import gov.nist.secauto.metaschema.core.model.constraint.IConstraintSet;
+import gov.nist.secauto.metaschema.core.util.CollectionUtil;
+import gov.nist.secauto.metaschema.core.util.ObjectUtils;
+import gov.nist.secauto.metaschema.databind.IBindingContext;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.net.URI;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardOpenOption;
+import java.util.LinkedHashSet;
+import java.util.Set;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import edu.umd.cs.findbugs.annotations.NonNull;
+
+class BindingContextCacheTest {
+  @NonNull
+  private static final Path MODULE = ObjectUtils.notNull(
+      Paths.get("src/test/resources/content/schema-validation-module.xml"));
+  @NonNull
+  private static final Path CONSTRAINTS = ObjectUtils.notNull(
+      Paths.get("src/test/resources/content/constraint-constraints.xml"));
+
+  @TempDir
+  Path tempDir;
+
+  @Test
+  void testDisabledCacheCreatesNewContexts() throws CommandExecutionException {
+    BindingContextCache cache = new BindingContextCache();
+    AtomicInteger created = new AtomicInteger();
+
+    IBindingContext first = cache.getBindingContext(CollectionUtil.emptySet(), () -> newContext(created));
+    IBindingContext second = cache.getBindingContext(CollectionUtil.emptySet(), () -> newContext(created));
+    assertAll(
+        () -> assertNotSame(first, second),
+        () -> assertEquals(2, created.get()));
+  }
+
+  @Test
+  void testContextIsReusedForSameConstraints() throws CommandExecutionException {
+    BindingContextCache cache = new BindingContextCache();
+    cache.enable();
+    AtomicInteger created = new AtomicInteger();
+
+    IBindingContext first = cache.getBindingContext(CollectionUtil.emptySet(), () -> newContext(created));
+    IBindingContext second = cache.getBindingContext(CollectionUtil.emptySet(), () -> newContext(created));
+    assertAll(
+        () -> assertSame(first, second),
+        () -> assertEquals(1, created.get()));
+  }
+
+  @Test
+  void testContextIsNotReusedForOtherConstraints()
+      throws CommandExecutionException, IOException, MetaschemaException {
+    BindingContextCache cache = new BindingContextCache();
+    cache.enable();
+    AtomicInteger created = new AtomicInteger();
+    Set<IConstraintSet> constraintSets = new LinkedHashSet<>(IBindingContext.getConstraintLoader().load(CONSTRAINTS));
+
+    IBindingContext first = cache.getBindingContext(CollectionUtil.emptySet(), () -> newContext(created));
+    IBindingContext second = cache.getBindingContext(constraintSets, () -> newContext(created));
+    IBindingContext third = cache.getBindingContext(constraintSets, () -> newContext(created));
+    assertAll(
+        () -> assertNotSame(first, second),
+        () -> assertSame(second, third),
+        () -> assertEquals(2, created.get()));
+  }
+
+  @Test
+  void testModuleIsReusedUntilChanged() throws CommandExecutionException, IOException {
+    Path module = ObjectUtils.notNull(tempDir.resolve("module.xml"));
+    Files.copy(MODULE, module);
+    URI resource = ObjectUtils.notNull(module.toUri());
+
+    BindingContextCache cache = new BindingContextCache();
+    cache.enable();
+    AtomicInteger created = new AtomicInteger();
+    AtomicInteger loaded = new AtomicInteger();
+
+    IBindingContext context = cache.getBindingContext(CollectionUtil.emptySet(), () -> newContext(created));
+    IModule first = cache.getModule(resource, context, () -> loadModule(context, resource, loaded));
+    IModule second = cache.getModule(resource, context, () -> loadModule(context, resource, loaded));
+    assertAll(
+        () -> assertSame(first, second),
+        () -> assertEquals(1, loaded.get()));
+
+    // an unchanged module keeps the context
+    assertSame(context, cache.getBindingContext(CollectionUtil.emptySet(), () -> newContext(created)));
+
+    // a changed module discards the context
+    Files.writeString(module, "<!-- changed -->\n", StandardCharsets.UTF_8, StandardOpenOption.APPEND);
+    IBindingContext changed = cache.getBindingContext(CollectionUtil.emptySet(), () -> newContext(created));
+    assertAll(
+        () -> assertNotSame(context, changed),
+        () -> assertEquals(2, created.get()));
+
+    IModule reloaded = cache.getModule(resource, changed, () -> loadModule(changed, resource, loaded));
+    assertAll(
+        () -> assertNotSame(first, reloaded),
+        () -> assertEquals(2, loaded.get()));
+  }
+
+  @Test
+  void testModuleIsNotCachedForUnknownContext() throws CommandExecutionException, IOException {
+    Path module = ObjectUtils.notNull(tempDir.resolve("module.xml"));
+    Files.copy(MODULE, module);
+    URI resource = ObjectUtils.notNull(module.toUri());
+
+    BindingContextCache cache = new BindingContextCache();
+    cache.enable();
+    AtomicInteger loaded = new AtomicInteger();
+
+    // the context was not provided by the cache
+    IBindingContext context = newContext(new AtomicInteger());
+    cache.getModule(resource, context, () -> loadModule(context, resource, loaded));
+    cache.getModule(resource, context, () -> loadModule(context, resource, loaded));
+    assertEquals(2, loaded.get());
+  }
+
+  @NonNull
+  private IBindingContext newContext(@NonNull AtomicInteger created) throws CommandExecutionException {
+    created.incrementAndGet();
+    try {
+      return IBindingContext.builder()
+          .compilePath(ObjectUtils.notNull(Files.createTempDirectory(tempDir, "modules-")))
+          .build();
+    } catch (IOException ex) {
+      throw new CommandExecutionException(ExitCode.RUNTIME_ERROR, ex);
+    }
+  }
+
+  @NonNull
+  private static IModule loadModule(
+      @NonNull IBindingContext context,
+      @NonNull URI resource,
+      @NonNull AtomicInteger loaded) throws CommandExecutionException {
+    loaded.incrementAndGet();
+    try {
+      return context.newModuleLoader().load(resource);
+    } catch (IOException | MetaschemaException ex) {
+      throw new CommandExecutionException(ExitCode.PROCESSING_ERROR, ex);
+    }
+  }
+}
@@ -0,0 +1,99 @@
+/*
+ * SPDX-FileCopyrightText: none
+ * SPDX-License-Identifier: CC0-1.0
+ */
+
+package gov.nist.secauto.metaschema.cli.commands;
+
+import static org.junit.jupiter.api.Assertions.assertAll;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import com.sun.net.httpserver.HttpServer;
+
+import gov.nist.secauto.metaschema.cli.CLI;
+import gov.nist.secauto.metaschema.cli.processor.ExitCode;
+import gov.nist.secauto.metaschema.core.util.ObjectUtils;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.parallel.Execution;
+import org.junit.jupiter.api.parallel.ExecutionMode;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.net.InetAddress;
+import java.net.InetSocketAddress;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+
+import edu.umd.cs.findbugs.annotations.NonNull;
+
+@Execution(value = ExecutionMode.SAME_THREAD, reason = "Commands run by the server replace the console streams")
+class RemoteCommandTest {
+  @NonNull
+  private static final String MODULE = "../databind/src/test/resources/metaschema/fields_with_flags/metaschema.xml";
+
+  private HttpServer server;
+  private String token;
+
+  @BeforeEach
+  void startServer() throws IOException {
+    token = ServerToken.generate();
+    server = ServeCommand.newServer(
+        new InetSocketAddress(InetAddress.getLoopbackAddress(), 0),
+        ServeCommandTest.newProcessor(),
+        ObjectUtils.notNull(token));
+  }
+
+  @AfterEach
+  void stopServer() {
+    ServeCommand.stopServer(ObjectUtils.notNull(server));
+  }
+
+  @Test
+  void testSendRunsCommand() throws IOException, InterruptedException {
+    ByteArrayOutputStream out = new ByteArrayOutputStream();
+    ExitCode exitCode = RemoteCommand.send(
+        server.getAddress().getPort(),
+        ObjectUtils.notNull(token),
+        ObjectUtils.notNull(List.of("validate", MODULE)),
+        out);
+    assertEquals(ExitCode.OK, exitCode, out.toString(StandardCharsets.UTF_8));
+  }
+
+  @Test
+  void testSendReportsCommandFailure() throws IOException, InterruptedException {
+    ByteArrayOutputStream out = new ByteArrayOutputStream();
+    ExitCode exitCode = RemoteCommand.send(
+        server.getAddress().getPort(),
+        ObjectUtils.notNull(token),
+        ObjectUtils.notNull(List.of("validate", "does-not-exist.xml")),
+        out);
+    assertNotEquals(ExitCode.OK, exitCode);
+  }
+
+  @Test
+  void testSendWithWrongTokenIsRejected() throws IOException, InterruptedException {
+    ByteArrayOutputStream out = new ByteArrayOutputStream();
+    ExitCode exitCode = RemoteCommand.send(
+        server.getAddress().getPort(),
+        ServerToken.generate(),
+        ObjectUtils.notNull(List.of("validate", MODULE)),
+        out);
+    String output = out.toString(StandardCharsets.UTF_8);
+    assertAll(
+        () -> assertEquals(ExitCode.INVALID_COMMAND, exitCode),
+        () -> assertTrue(output.contains("token"), "unexpected output: " + output));
+  }
+
+  @Test
+  void testMissingTokenFileIsReported() {
+    // no server has been started on this port, so there is no token file
+    assertEquals(
+        ExitCode.IO_ERROR,
+        CLI.runCli("remote", "--port", "1", "--", "validate", MODULE).getExitCode());
+  }
+}
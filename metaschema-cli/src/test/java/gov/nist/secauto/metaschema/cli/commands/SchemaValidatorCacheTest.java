@@ -0,0 +1,113 @@
+/*
+ * SPDX-FileCopyrightText: none
+ * SPDX-License-Identifier: CC0-1.0
+ */
+
+package gov.nist.secauto.metaschema.cli.commands;
+
+import static org.junit.jupiter.api.Assertions.assertAll;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNotSame;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import gov.nist.secauto.metaschema.core.model.IModule;
+import gov.nist.secauto.metaschema.core.model.MetaschemaException;
+import gov.nist.secauto.metaschema.core.model.constraint.IConstraintSet;
+import gov.nist.secauto.metaschema.core.model.validation.JsonSchemaContentValidator;
+import gov.nist.secauto.metaschema.core.model.validation.XmlSchemaContentValidator;
+import gov.nist.secauto.metaschema.core.util.CollectionUtil;
+import gov.nist.secauto.metaschema.core.util.ObjectUtils;
+import gov.nist.secauto.metaschema.databind.IBindingContext;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.LinkedHashSet;
+import java.util.Set;
+
+import edu.umd.cs.findbugs.annotations.NonNull;
+
+class SchemaValidatorCacheTest {
+  @NonNull
+  private static final Path MODULE = ObjectUtils.notNull(
+      Paths.get("src/test/resources/content/schema-validation-module.xml"));
+  @NonNull
+  private static final Path CONSTRAINTS = ObjectUtils.notNull(
+      Paths.get("src/test/resources/content/constraint-constraints.xml"));
+
+  @TempDir
+  Path tempDir;
+
+  @Test
+  void testValidatorIsReusedForSameModule() throws IOException, MetaschemaException {
+    IModule module = loadModule();
+    SchemaValidatorCache cache = new SchemaValidatorCache(null);
+
+    XmlSchemaContentValidator xml = cache.getXmlSchemaValidator(module, CollectionUtil.emptySet());
+    JsonSchemaContentValidator json = cache.getJsonSchemaValidator(module, CollectionUtil.emptySet());
+    assertAll(
+        () -> assertSame(xml, cache.getXmlSchemaValidator(module, CollectionUtil.emptySet())),
+        () -> assertSame(json, cache.getJsonSchemaValidator(module, CollectionUtil.emptySet())));
+  }
+
+  @Test
+  void testValidatorIsNotReusedForOtherConstraints() throws IOException, MetaschemaException {
+    IModule module = loadModule();
+    Set<IConstraintSet> constraintSets = new LinkedHashSet<>(IBindingContext.getConstraintLoader().load(CONSTRAINTS));
+    SchemaValidatorCache cache = new SchemaValidatorCache(null);
+
+    String digest = cache.getDigest(module, CollectionUtil.emptySet());
+    String constrainedDigest = cache.getDigest(module, constraintSets);
+    assertAll(
+        () -> assertNotNull(digest),
+        () -> assertNotNull(constrainedDigest),
+        // the digest is memoized for each combination of module and constraints
+        () -> assertNotEquals(digest, constrainedDigest),
+        () -> assertEquals(digest, cache.getDigest(module, CollectionUtil.emptySet())),
+        () -> assertEquals(constrainedDigest, cache.getDigest(module, constraintSets)));
+
+    XmlSchemaContentValidator xml = cache.getXmlSchemaValidator(module, CollectionUtil.emptySet());
+    XmlSchemaContentValidator constrainedXml = cache.getXmlSchemaValidator(module, constraintSets);
+    assertAll(
+        () -> assertNotSame(xml, constrainedXml),
+        () -> assertSame(constrainedXml, cache.getXmlSchemaValidator(module, constraintSets)));
+  }
+
+  @Test
+  void testSchemaIsReusedFromCacheDirectory() throws IOException, MetaschemaException {
+    IModule module = loadModule();
+    Path cacheDir = ObjectUtils.notNull(tempDir.resolve("schemas"));
+
+    SchemaValidatorCache cache = new SchemaValidatorCache(cacheDir);
+    cache.getXmlSchemaValidator(module, CollectionUtil.emptySet());
+    Path file = cacheDir.resolve(cache.getDigest(module, CollectionUtil.emptySet()) + ".xml");
+    assertTrue(Files.isRegularFile(file), "the schema was not stored");
+
+    // replace the stored schema, which will fail to compile if it is used
+    Files.writeString(file, "<invalid", StandardCharsets.UTF_8);
+
+    // the same cache uses the validator in memory
+    cache.getXmlSchemaValidator(module, CollectionUtil.emptySet());
+
+    // a new cache, as used by another process, uses the stored schema
+    SchemaValidatorCache otherCache = new SchemaValidatorCache(cacheDir);
+    assertThrows(IOException.class, () -> otherCache.getXmlSchemaValidator(module, CollectionUtil.emptySet()));
+  }
+
+  @NonNull
+  private IModule loadModule() throws IOException, MetaschemaException {
+    return IBindingContext.builder()
+        .compilePath(ObjectUtils.notNull(Files.createTempDirectory(tempDir, "modules-")))
+        .build()
+        .loadMetaschema(MODULE);
+  }
+}
@@ -0,0 +1,180 @@
+/*
+ * SPDX-FileCopyrightText: none
+ * SPDX-License-Identifier: CC0-1.0
+ */
+
+package gov.nist.secauto.metaschema.cli.commands;
+
+import static org.junit.jupiter.api.Assertions.assertAll;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import com.sun.net.httpserver.HttpServer;
+
+import gov.nist.secauto.metaschema.cli.processor.CLIProcessor;
+import gov.nist.secauto.metaschema.cli.processor.ExitCode;
+import gov.nist.secauto.metaschema.core.MetaschemaJavaVersion;
+import gov.nist.secauto.metaschema.core.util.IVersionInfo;
+import gov.nist.secauto.metaschema.core.util.ObjectUtils;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.parallel.Execution;
+import org.junit.jupiter.api.parallel.ExecutionMode;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.CsvSource;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.net.InetAddress;
+import java.net.InetSocketAddress;
+import java.net.Socket;
+import java.net.URI;
+import java.net.URISyntaxException;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.charset.StandardCharsets;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+import edu.umd.cs.findbugs.annotations.NonNull;
+
+@Execution(value = ExecutionMode.SAME_THREAD, reason = "Commands run by the server replace the console streams")
+class ServeCommandTest {
+  private HttpServer server;
+  private String token;
+
+  @NonNull
+  static CLIProcessor newProcessor() {
+    @SuppressWarnings("PMD.UseConcurrentHashMap")
+    Map<String, IVersionInfo> versions = new LinkedHashMap<>();
+    versions.put(CLIProcessor.COMMAND_VERSION, new MetaschemaJavaVersion());
+
+    CLIProcessor processor = new CLIProcessor("metaschema-cli", versions);
+    MetaschemaCommands.COMMANDS.forEach(processor::addCommandHandler);
+    return processor;
+  }
+
+  @BeforeEach
+  void startServer() throws IOException {
+    token = ServerToken.generate();
+    server = ServeCommand.newServer(
+        new InetSocketAddress(InetAddress.getLoopbackAddress(), 0),
+        newProcessor(),
+        ObjectUtils.notNull(token));
+  }
+
+  @AfterEach
+  void stopServer() {
+    ServeCommand.stopServer(ObjectUtils.notNull(server));
+  }
+
+  @Test
+  void testRequestWithTokenIsAccepted() throws IOException, InterruptedException {
+    HttpResponse<String> response = send(newRequest().header(ServerToken.TOKEN_HEADER, token));
+    // the request is authorized, but has no command
+    assertAll(
+        () -> assertEquals(400, response.statusCode()),
+        () -> assertEquals(ExitCode.INVALID_COMMAND.name(),
+            response.headers().firstValue(ServeCommand.EXIT_CODE_HEADER).orElse(null)));
+  }
+
+  @Test
+  void testRequestWithoutTokenIsRejected() throws IOException, InterruptedException {
+    HttpResponse<String> response = send(newRequest());
+    assertAll(
+        () -> assertEquals(403, response.statusCode()),
+        () -> assertTrue(response.body().contains("token"), "unexpected message: " + response.body()));
+  }
+
+  @Test
+  void testRequestWithWrongTokenIsRejected() throws IOException, InterruptedException {
+    HttpResponse<String> response = send(newRequest().header(ServerToken.TOKEN_HEADER, ServerToken.generate()));
+    assertEquals(403, response.statusCode());
+  }
+
+  @Test
+  void testRequestWithOriginIsRejected() throws IOException, InterruptedException {
+    HttpResponse<String> response = send(newRequest()
+        .header(ServerToken.TOKEN_HEADER, token)
+        .header("Origin", "http://example.com"));
+    assertEquals(403, response.statusCode());
+  }
+
+  @Test
+  void testRequestWithGetIsRejected() throws IOException, InterruptedException {
+    HttpResponse<String> response = send(HttpRequest.newBuilder(runUri())
+        .header(ServerToken.TOKEN_HEADER, token)
+        .GET());
+    assertEquals(405, response.statusCode());
+  }
+
+  @Test
+  void testRequestWithNonLoopbackHostIsRejected() throws IOException {
+    // the HTTP client does not allow the host header to be changed
+    try (Socket socket = new Socket(InetAddress.getLoopbackAddress(), server.getAddress().getPort())) {
+      OutputStream os = socket.getOutputStream();
+      os.write(("POST " + ServeCommand.RUN_PATH + " HTTP/1.1\r\n"
+          + "Host: attacker.example:" + server.getAddress().getPort() + "\r\n"
+          + ServerToken.TOKEN_HEADER + ": " + token + "\r\n"
+          + "Content-Length: 0\r\n"
+          + "Connection: close\r\n"
+          + "\r\n").getBytes(StandardCharsets.US_ASCII));
+      os.flush();
+
+      InputStream is = socket.getInputStream();
+      String response = new String(is.readAllBytes(), StandardCharsets.US_ASCII);
+      assertTrue(response.startsWith("HTTP/1.1 403"), "unexpected response: " + response);
+    }
+  }
+
+  @ParameterizedTest
+  @CsvSource({
+      "localhost,true",
+      "localhost:8737,true",
+      "LOCALHOST:8737,true",
+      "127.0.0.1:8737,true",
+      "[::1]:8737,true",
+      "[::1],true",
+      "[0:0:0:0:0:0:0:1]:8737,true",
+      "attacker.example,false",
+      "attacker.example:8737,false",
+      "127.0.0.1.attacker.example,false",
+      "[::1.attacker.example,false",
+  })
+  void testIsLoopbackHost(String host, boolean expected) {
+    assertEquals(expected, ServeCommand.isLoopbackHost(host));
+  }
+
+  @Test
+  void testMissingHostIsNotLoopback() {
+    assertFalse(ServeCommand.isLoopbackHost(null));
+  }
+
+  @NonNull
+  private URI runUri() {
+    try {
+      return new URI("http", null, InetAddress.getLoopbackAddress().getHostAddress(), server.getAddress().getPort(),
+          ServeCommand.RUN_PATH, null, null);
+    } catch (URISyntaxException ex) {
+      throw new IllegalStateException(ex);
+    }
+  }
+
+  @NonNull
+  private HttpRequest.Builder newRequest() {
+    return ObjectUtils.notNull(HttpRequest.newBuilder(runUri())
+        .POST(HttpRequest.BodyPublishers.noBody()));
+  }
+
+  @NonNull
+  private static HttpResponse<String> send(@NonNull HttpRequest.Builder request)
+      throws IOException, InterruptedException {
+    return ObjectUtils.notNull(HttpClient.newHttpClient()
+        .send(request.build(), HttpResponse.BodyHandlers.ofString(StandardCharsets.UTF_8)));
+  }
+}
@@ -0,0 +1,63 @@
+/*
+ * SPDX-FileCopyrightText: none
+ * SPDX-License-Identifier: CC0-1.0
+ */
+
+package gov.nist.secauto.metaschema.cli.commands;
+
+import static org.junit.jupiter.api.Assertions.assertAll;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNotEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import gov.nist.secauto.metaschema.core.util.ObjectUtils;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.file.FileSystems;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.attribute.PosixFilePermissions;
+
+class ServerTokenTest {
+  @TempDir
+  Path tempDir;
+
+  @Test
+  void testWriteAndRead() throws IOException {
+    String token = ServerToken.generate();
+    Path file = ServerToken.tokenFile(ObjectUtils.notNull(tempDir.resolve("tokens")), 8737);
+
+    ServerToken.write(file, token);
+    assertEquals(token, ServerToken.read(file));
+
+    // a new server replaces the token
+    String newToken = ServerToken.generate();
+    ServerToken.write(file, newToken);
+    assertEquals(newToken, ServerToken.read(file));
+  }
+
+  @Test
+  void testFileIsOnlyReadableByOwner() throws IOException {
+    Path file = ServerToken.tokenFile(ObjectUtils.notNull(tempDir), 8737);
+    ServerToken.write(file, ServerToken.generate());
+
+    if (FileSystems.getDefault().supportedFileAttributeViews().contains("posix")) {
+      assertEquals("rw-------", PosixFilePermissions.toString(Files.getPosixFilePermissions(file)));
+    }
+  }
+
+  @Test
+  void testMatches() {
+    String token = ServerToken.generate();
+    assertAll(
+        () -> assertNotEquals(token, ServerToken.generate()),
+        () -> assertTrue(ServerToken.matches(token, token)),
+        () -> assertFalse(ServerToken.matches(token, token.substring(1))),
+        () -> assertFalse(ServerToken.matches(token, "")),
+        () -> assertFalse(ServerToken.matches(token, null)));
+  }
+}